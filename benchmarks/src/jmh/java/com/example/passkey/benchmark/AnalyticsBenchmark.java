@@ -0,0 +1,157 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.analytics.UsageAnalytics;
+import com.example.passkey.global.config.AnalyticsConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 스레드에서 본 사용량 집계 비용과 조회 비용
+ *
+ * 시작할 때 사용자 20만 명, AAGUID 50종(첫 번째가 가장 많음)의 이벤트를 넣고
+ * 활성 사용자 추정 오차가 3% 이내인지, 가장 많은 AAGUID가 1위인지, 재시작 후 같은 값이 복원되는지 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnalyticsBenchmark {
+
+    private static final int USERS = 200_000;
+    private static final int AUTHENTICATORS = 50;
+
+    private Path dir;
+    private UsageAnalytics analytics;
+    private UUID[] users;
+    private UUID[] aaguids;
+
+    @Setup
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("analytics-bench");
+        users = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = UUID.randomUUID();
+        }
+        aaguids = new UUID[AUTHENTICATORS];
+        for (int i = 0; i < AUTHENTICATORS; i++) {
+            aaguids[i] = UUID.randomUUID();
+        }
+        checkEstimates();
+        analytics = new UsageAnalytics(config(dir.resolve("bench")));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        analytics.shutdown();
+        System.out.printf("%ndropped=%d%n", analytics.getDroppedCount());
+        try (var files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void record() {
+        analytics.on(event(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public Map<String, Object> summary() {
+        return analytics.summary();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void checkEstimates() throws InterruptedException {
+        AnalyticsConfig config = config(dir.resolve("check"));
+        UsageAnalytics check = new UsageAnalytics(config);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < USERS; i++) {
+            // 모든 사용자가 한 번씩, 그 뒤 절반은 같은 사용자 반복
+            UUID user = users[i];
+            for (int repeat = 0; repeat < (i % 2 == 0 ? 2 : 1); repeat++) {
+                AuthEvent event = new AuthEvent(AuthEvent.Type.AUTHENTICATION, AuthEvent.Outcome.SUCCESS,
+                        System.currentTimeMillis(), user, credentialId(i), aaguid(random), i, 1_000_000);
+                check.on(event);
+            }
+            if (check.getQueueSize() > 60_000) {
+                Thread.sleep(1);
+            }
+        }
+        check.shutdown();
+        if (check.getDroppedCount() > 0) {
+            throw new IllegalStateException("Analytics dropped " + check.getDroppedCount() + " events");
+        }
+        verify(check.summary());
+
+        // 저장된 snapshot에서 같은 값 복원
+        UsageAnalytics restored = new UsageAnalytics(config);
+        Map<String, Object> before = (Map<String, Object>) check.summary().get("activeUsers");
+        Map<String, Object> after = (Map<String, Object>) restored.summary().get("activeUsers");
+        restored.shutdown();
+        if (!before.equals(after)) {
+            throw new IllegalStateException("Restored active users " + after + " != " + before);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verify(Map<String, Object> summary) {
+        long estimate = ((Number) ((Map<String, Object>) summary.get("activeUsers")).get("1d")).longValue();
+        double error = Math.abs(estimate - USERS) / (double) USERS;
+        System.out.printf("%nactive users: estimate=%d actual=%d error=%.2f%%%n", estimate, USERS, error * 100);
+        if (error > 0.03) {
+            throw new IllegalStateException("Active user estimate " + estimate + " is off by " + error);
+        }
+        List<Map<String, Object>> top = (List<Map<String, Object>>) ((Map<String, Object>) summary.get("today"))
+                .get("topAuthenticators");
+        if (top.isEmpty() || !top.get(0).get("aaguid").equals(aaguids[0].toString())) {
+            throw new IllegalStateException("Unexpected top authenticators: " + top);
+        }
+    }
+
+    private AuthEvent event(ThreadLocalRandom random) {
+        int user = random.nextInt(USERS);
+        boolean success = random.nextInt(100) != 0;
+        return new AuthEvent(AuthEvent.Type.AUTHENTICATION,
+                success ? AuthEvent.Outcome.SUCCESS : AuthEvent.Outcome.FAILURE,
+                System.currentTimeMillis(), success ? users[user] : null, credentialId(user),
+                success ? aaguid(random) : null, 1, 1_000_000);
+    }
+
+    // 첫 번째 AAGUID가 1/4, 나머지는 균등
+    private UUID aaguid(ThreadLocalRandom random) {
+        return random.nextInt(4) == 0 ? aaguids[0] : aaguids[1 + random.nextInt(AUTHENTICATORS - 1)];
+    }
+
+    private static String credentialId(int user) {
+        byte[] id = new byte[16];
+        id[0] = (byte) user;
+        id[1] = (byte) (user >>> 8);
+        id[2] = (byte) (user >>> 16);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+    }
+
+    private static AnalyticsConfig config(Path snapshotDir) {
+        AnalyticsConfig config = new AnalyticsConfig();
+        config.setEnabled(true);
+        config.setSnapshotDir(snapshotDir.toString());
+        return config;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.AuthenticationStartRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.auth.dto.response.AuthenticationStartResponse;
+import com.example.passkey.domain.auth.service.VerifiedAssertion;
+import com.example.passkey.domain.credential.cache.CredentialMaterial;
+import com.example.passkey.loadgen.VirtualAuthenticator;
+import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import com.webauthn4j.data.AuthenticationData;
+import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.AuthenticationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * assertion 1건 검증 비용: webauthn4j 전체 경로(parse + verify) vs 빠른 경로(FastAssertionVerifier)
+ *
+ * 비용만 측정합니다. 두 경로의 판정 비교(변조된 assertion 포함)는 {@code FastAssertionVerifierDifferentialTest}에 있습니다.
+ *
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=AssertionVerifyBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AssertionVerifyBenchmark {
+
+    private static final String USERNAME = "verify-user";
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Param({"ES256", "EdDSA"})
+    public VirtualAuthenticator.Algorithm algorithm;
+
+    PasskeyFixture fixture;
+    VirtualAuthenticator authenticator;
+    CredentialMaterial material;
+    final WebAuthnManager webAuthnManager = WebAuthnManager.createNonStrictWebAuthnManager();
+
+    Assertion assertion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = PasskeyFixture.create();
+        authenticator = new VirtualAuthenticator(algorithm, PasskeyFixture.ORIGIN);
+        RegistrationFinishRequest registration = authenticator.register(fixture.authService.startRegistration(
+                new RegistrationStartRequest(USERNAME, USERNAME)));
+        fixture.authService.finishRegistration(registration);
+        material = fixture.credentialMaterialCache.get(fixture.repositories.credentialRepository()
+                .findByCredentialId(registration.id())
+                .orElseThrow());
+
+        assertion = sign(authenticator);
+        if (verifyFast(assertion, assertion.challenge(), 0) == null) {
+            throw new IllegalStateException("Fast path did not verify a valid " + algorithm + " assertion");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public AuthenticationData webauthn4j() {
+        return verifyFull(assertion, assertion.challenge(), 0);
+    }
+
+    @Benchmark
+    public VerifiedAssertion fastPath() {
+        return verifyFast(assertion, assertion.challenge(), 0);
+    }
+
+    private Assertion sign(VirtualAuthenticator client) {
+        AuthenticationStartResponse start = fixture.authService.startAuthentication(
+                new AuthenticationStartRequest(USERNAME));
+        AuthenticationFinishRequest request = client.authenticate(start);
+        return new Assertion(
+                DECODER.decode(request.id()),
+                DECODER.decode(request.response().authenticatorData()),
+                DECODER.decode(request.response().clientDataJSON()),
+                DECODER.decode(request.response().signature()),
+                DECODER.decode(start.challenge())
+        );
+    }
+
+    private VerifiedAssertion verifyFast(Assertion assertion, byte[] challenge, long storedSignCount) {
+        return fixture.fastAssertionVerifier.verify(material, assertion.authenticatorData(), assertion.clientDataJSON(),
+                assertion.signature(), challenge, storedSignCount);
+    }
+
+    private AuthenticationData verifyFull(Assertion assertion, byte[] challenge, long storedSignCount) {
+        AuthenticationData data = webAuthnManager.parse(new AuthenticationRequest(
+                assertion.credentialId(), null, assertion.authenticatorData(), assertion.clientDataJSON(), null,
+                assertion.signature()));
+        webAuthnManager.verify(data, new AuthenticationParameters(
+                fixture.webAuthnConfig.createServerProperty(challenge),
+                new AuthenticatorImpl(material.attestedCredentialData(), null, storedSignCount),
+                null,
+                false
+        ));
+        return data;
+    }
+
+    record Assertion(byte[] credentialId, byte[] authenticatorData, byte[] clientDataJSON, byte[] signature,
+                     byte[] challenge) {
+    }
+}
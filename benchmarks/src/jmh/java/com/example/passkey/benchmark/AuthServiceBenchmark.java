@@ -0,0 +1,106 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.AuthenticationStartRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.auth.dto.response.AuthenticationStartResponse;
+import com.example.passkey.domain.auth.dto.response.RegistrationStartResponse;
+import com.example.passkey.domain.user.entity.User;
+import com.example.passkey.loadgen.VirtualAuthenticator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthService 등록/인증 4단계 벤치마크
+ * finish 단계는 매 호출마다 새 challenge가 필요하므로 start + 에뮬레이터 서명은 Invocation 단위 setup에서 준비합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthServiceBenchmark {
+
+    @State(Scope.Thread)
+    public static class Ceremony {
+
+        @Param({"ES256", "RS256", "EdDSA"})
+        public VirtualAuthenticator.Algorithm algorithm;
+
+        PasskeyFixture fixture;
+        VirtualAuthenticator authenticator;
+        final String username = "bench-user";
+        long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fixture = PasskeyFixture.create();
+            authenticator = new VirtualAuthenticator(algorithm, PasskeyFixture.ORIGIN);
+
+            // 인증 벤치마크용 사용자 1명 등록
+            RegistrationStartResponse start = fixture.authService.startRegistration(
+                    new RegistrationStartRequest(username, "Bench User"));
+            fixture.authService.finishRegistration(authenticator.register(start));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PendingRegistration {
+        RegistrationFinishRequest request;
+
+        @Setup(Level.Invocation)
+        public void prepare(Ceremony ceremony) {
+            String username = "reg-" + ceremony.sequence++;
+            request = ceremony.authenticator.register(ceremony.fixture.authService.startRegistration(
+                    new RegistrationStartRequest(username, username)));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PendingAuthentication {
+        AuthenticationFinishRequest request;
+
+        @Setup(Level.Invocation)
+        public void prepare(Ceremony ceremony) {
+            AuthenticationStartResponse start = ceremony.fixture.authService.startAuthentication(
+                    new AuthenticationStartRequest(ceremony.username));
+            request = ceremony.authenticator.authenticate(start);
+        }
+    }
+
+    @Benchmark
+    public RegistrationStartResponse startRegistration(Ceremony ceremony) {
+        // 사용자 수를 제한해 challenge 저장소가 가득 차지 않도록 합니다
+        return ceremony.fixture.authService.startRegistration(
+                new RegistrationStartRequest("start-" + (ceremony.sequence++ & 1023), "Bench User"));
+    }
+
+    @Benchmark
+    public void finishRegistration(Ceremony ceremony, PendingRegistration pending) {
+        ceremony.fixture.authService.finishRegistration(pending.request);
+    }
+
+    @Benchmark
+    public AuthenticationStartResponse startAuthentication(Ceremony ceremony) {
+        return ceremony.fixture.authService.startAuthentication(
+                new AuthenticationStartRequest(ceremony.username));
+    }
+
+    @Benchmark
+    public User finishAuthentication(Ceremony ceremony, PendingAuthentication pending) {
+        return ceremony.fixture.authService.finishAuthentication(pending.request);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.passkey.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ceremony에서 쓰는 Base64URL 인코딩/디코딩 비용
+ * 32 = challenge, 37 = 확장 없는 authenticatorData, 72 = ES256 서명, 256 = RS256 서명
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Base64Benchmark {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Param({"32", "37", "72", "256"})
+    public int size;
+
+    private byte[] raw;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        raw = new byte[size];
+        new Random(42).nextBytes(raw);
+        encoded = ENCODER.encodeToString(raw);
+    }
+
+    @Benchmark
+    public String encodeWithoutPadding() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    @Benchmark
+    public String encodeCachedEncoder() {
+        return ENCODER.encodeToString(raw);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return DECODER.decode(encoded);
+    }
+}
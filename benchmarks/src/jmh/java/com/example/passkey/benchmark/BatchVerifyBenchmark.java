@@ -0,0 +1,86 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.AuthenticationStartRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.auth.dto.response.BatchAuthenticationFinishResponse;
+import com.example.passkey.domain.auth.dto.response.RegistrationStartResponse;
+import com.example.passkey.loadgen.VirtualAuthenticator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 인증 처리량의 코어 수(검증 워커 수) 확장성
+ *
+ * 사용자마다 challenge가 하나씩이므로 배치 항목은 서로 다른 사용자로 구성하고,
+ * start + 인증기 서명은 Invocation 단위 setup에서 준비합니다. 결과는 초당 검증한 assertion 수입니다.
+ *
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=BatchVerifyBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchVerifyBenchmark {
+
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"ES256", "RS256", "EdDSA"})
+    public VirtualAuthenticator.Algorithm algorithm;
+
+    PasskeyFixture fixture;
+    final List<String> usernames = new ArrayList<>();
+    final List<VirtualAuthenticator> authenticators = new ArrayList<>();
+    List<AuthenticationFinishRequest> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = PasskeyFixture.withVerifyParallelism(parallelism);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String username = "batch-" + i;
+            VirtualAuthenticator authenticator = new VirtualAuthenticator(algorithm, PasskeyFixture.ORIGIN);
+            RegistrationStartResponse start = fixture.authService.startRegistration(
+                    new RegistrationStartRequest(username, username));
+            fixture.authService.finishRegistration(authenticator.register(start));
+            usernames.add(username);
+            authenticators.add(authenticator);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(authenticators.get(i).authenticate(fixture.authService.startAuthentication(
+                    new AuthenticationStartRequest(usernames.get(i)))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchAuthenticationFinishResponse finishAuthentications() {
+        return fixture.authService.finishAuthentications(batch);
+    }
+}
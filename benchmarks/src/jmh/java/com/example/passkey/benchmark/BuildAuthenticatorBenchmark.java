@@ -0,0 +1,68 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.credential.cache.CredentialMaterial;
+import com.example.passkey.domain.credential.cache.CredentialMaterialCache;
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.global.config.CredentialCacheConfig;
+import com.example.passkey.loadgen.VirtualAuthenticator;
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 credential로 Authenticator를 만드는 비용 (캐시 미사용 = 매번 CBOR 파싱, 캐시 사용 = 조회만)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BuildAuthenticatorBenchmark {
+
+    @Param({"ES256", "RS256", "EdDSA"})
+    public VirtualAuthenticator.Algorithm algorithm;
+
+    private Credential credential;
+    private CredentialMaterialCache uncached;
+    private CredentialMaterialCache cached;
+
+    @Setup
+    public void setUp() {
+        PasskeyFixture fixture = PasskeyFixture.create();
+        VirtualAuthenticator authenticator = new VirtualAuthenticator(algorithm, PasskeyFixture.ORIGIN);
+        var registration = authenticator.register(fixture.authService.startRegistration(
+                new RegistrationStartRequest("user", "User")));
+        fixture.authService.finishRegistration(registration);
+        credential = fixture.repositories.credentialRepository()
+                .findByCredentialId(registration.id())
+                .orElseThrow();
+        fixture.close();
+
+        CredentialCacheConfig disabled = new CredentialCacheConfig();
+        disabled.setEnabled(false);
+        uncached = new CredentialMaterialCache(disabled);
+        cached = new CredentialMaterialCache(new CredentialCacheConfig());
+        cached.get(credential);
+    }
+
+    @Benchmark
+    public AuthenticatorImpl parseEveryTime() {
+        return build(uncached.get(credential));
+    }
+
+    @Benchmark
+    public AuthenticatorImpl cachedMaterial() {
+        return build(cached.get(credential));
+    }
+
+    private AuthenticatorImpl build(CredentialMaterial material) {
+        return new AuthenticatorImpl(material.attestedCredentialData(), null, credential.getSignCount());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.service.ChallengePurpose;
+import com.example.passkey.domain.auth.service.ChallengeService;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * challenge 생성 및 STORE / SEALED 모드의 발급 + 소비 처리량
+ * 힙 사용량은 @TearDown에서 대기 중 challenge 10만 개를 채웠을 때의 증가량으로 출력합니다.
+ * 할당률 비교는 -prof gc 옵션을 함께 사용하세요.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ChallengeBenchmark {
+
+    private static final int PENDING = 100_000;
+
+    @Param({"STORE", "SEALED"})
+    public ChallengeConfig.Mode mode;
+
+    private PasskeyFixture fixture;
+    private ChallengeService challengeService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        fixture = PasskeyFixture.create(mode, true);
+        challengeService = fixture.challengeService;
+    }
+
+    @TearDown
+    public void reportHeap() {
+        PasskeyFixture fresh = PasskeyFixture.create(mode, true);
+        long before = usedHeap();
+        for (int i = 0; i < PENDING; i++) {
+            byte[] challenge = fresh.challengeService.issueChallenge(ChallengePurpose.AUTHENTICATION, "pending-" + i);
+            if (mode == ChallengeConfig.Mode.SEALED) {
+                // SEALED 모드는 사용된 nonce만 기억하므로 소비까지 수행
+                fresh.challengeService.consumeChallenge(ChallengePurpose.AUTHENTICATION, "pending-" + i, clientData(challenge));
+            }
+        }
+        long after = usedHeap();
+        System.out.printf("%n[%s] retained heap for %d challenges: %.1f KiB (%.1f bytes/challenge)%n",
+                mode, PENDING, (after - before) / 1024.0, (after - before) / (double) PENDING);
+        fresh.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public DefaultChallenge generateChallenge() {
+        byte[] challenge = new byte[32];
+        fixture.secureRandom.nextBytes(challenge);
+        return new DefaultChallenge(challenge);
+    }
+
+    @Benchmark
+    public byte[] issueAndConsume() {
+        String username = "user-" + sequence.incrementAndGet();
+        byte[] challenge = challengeService.issueChallenge(ChallengePurpose.AUTHENTICATION, username);
+        return challengeService.consumeChallenge(ChallengePurpose.AUTHENTICATION, username, clientData(challenge));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] issueAndConsumeContended() {
+        return issueAndConsume();
+    }
+
+    static byte[] clientData(byte[] challenge) {
+        String json = "{\"type\":\"webauthn.get\",\"challenge\":\""
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(challenge)
+                + "\",\"origin\":\"" + PasskeyFixture.ORIGIN + "\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
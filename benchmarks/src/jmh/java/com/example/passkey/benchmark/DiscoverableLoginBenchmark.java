@@ -0,0 +1,96 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationStartRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.auth.dto.response.AuthenticationStartResponse;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.example.passkey.loadgen.VirtualAuthenticator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시에 진행 중인 usernameless 로그인 수천 건의 처리량 측정
+ * (challenge가 서로 덮어쓰이지 않는지는 server의 DiscoverableCeremonyConcurrencyTest에서 검증)
+ *
+ * 스레드마다 start를 IN_FLIGHT번 먼저 호출한 뒤 역순으로 finish하므로, 스레드 수 x IN_FLIGHT개의 challenge가 동시에 대기합니다.
+ * 실패가 한 건이라도 있으면 trial 종료 시 예외로 실행을 실패시킵니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class DiscoverableLoginBenchmark {
+
+    private static final int IN_FLIGHT = 512;
+
+    @Param({"STORE", "SEALED"})
+    public ChallengeConfig.Mode mode;
+
+    private PasskeyFixture fixture;
+    private final AtomicInteger userSequence = new AtomicInteger();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ceremonies = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        fixture = PasskeyFixture.create(mode, true);
+    }
+
+    @TearDown
+    public void verify() {
+        fixture.close();
+        System.out.printf("%n[%s] usernameless ceremonies: %d, failures: %d%n",
+                mode, ceremonies.sum(), failures.sum());
+        if (failures.sum() > 0) {
+            throw new IllegalStateException(failures.sum() + " usernameless ceremonies failed");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        VirtualAuthenticator authenticator;
+
+        @Setup
+        public void register(DiscoverableLoginBenchmark benchmark) {
+            String username = "discoverable-" + benchmark.userSequence.incrementAndGet();
+            authenticator = new VirtualAuthenticator(VirtualAuthenticator.Algorithm.ES256, PasskeyFixture.ORIGIN);
+            benchmark.fixture.authService.finishRegistration(authenticator.register(
+                    benchmark.fixture.authService.startRegistration(new RegistrationStartRequest(username, username))));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public int concurrentCeremonies(Client client) {
+        AuthenticationStartResponse[] starts = new AuthenticationStartResponse[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            starts[i] = fixture.authService.startAuthentication(new AuthenticationStartRequest(null));
+        }
+
+        int succeeded = 0;
+        for (int i = IN_FLIGHT - 1; i >= 0; i--) {
+            try {
+                fixture.authService.finishAuthentication(client.authenticator.authenticate(starts[i]));
+                succeeded++;
+            } catch (RuntimeException e) {
+                failures.increment();
+            }
+        }
+        ceremonies.add(IN_FLIGHT);
+        return succeeded;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.credential.repository.CredentialDescriptor;
+import com.example.passkey.domain.credential.repository.CredentialRepository;
+import com.example.passkey.domain.user.entity.User;
+import com.example.passkey.domain.user.repository.UserRepository;
+import com.example.passkey.global.shard.ShardBuckets;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 메모리 저장소
+ * JpaRepository 전체를 구현하지 않고, AuthService가 호출하는 메서드만 동적 프록시로 처리합니다.
+ */
+public class InMemoryRepositories {
+
+    private final Map<String, User> usersByUsername = new ConcurrentHashMap<>();
+    private final Map<UUID, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, Credential> credentialsById = new ConcurrentHashMap<>();
+    private final AtomicLong credentialSequence = new AtomicLong();
+
+    private final UserRepository userRepository =
+            proxy(UserRepository.class, this::handleUser);
+    private final CredentialRepository credentialRepository =
+            proxy(CredentialRepository.class, this::handleCredential);
+
+    public UserRepository userRepository() {
+        return userRepository;
+    }
+
+    public CredentialRepository credentialRepository() {
+        return credentialRepository;
+    }
+
+    public int credentialCount() {
+        return credentialsById.size();
+    }
+
+    private Object handleUser(Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "save", "saveAndFlush" -> {
+                User user = (User) args[0];
+                if (user.getId() == null) {
+                    user.setId(ShardBuckets.newUserId(ShardBuckets.bucketOf(user.getUsername())));
+                }
+                usersByUsername.put(user.getUsername(), user);
+                usersById.put(user.getId(), user);
+                yield user;
+            }
+            case "findByUsername" -> Optional.ofNullable(usersByUsername.get((String) args[0]));
+            case "existsByUsername" -> usersByUsername.containsKey((String) args[0]);
+            case "findById" -> Optional.ofNullable(usersById.get((UUID) args[0]));
+            case "getReferenceById" -> usersById.get((UUID) args[0]);
+            default -> throw new UnsupportedOperationException("UserRepository." + method.getName());
+        };
+    }
+
+    private Object handleCredential(Method method, Object[] args) {
+        return credentialOperation(method.getName(), args);
+    }
+
+    private Object credentialOperation(String method, Object[] args) {
+        return switch (method) {
+            case "save" -> {
+                Credential credential = (Credential) args[0];
+                if (credential.getId() == null) {
+                    credential.setId(credentialSequence.incrementAndGet());
+                }
+                credentialsById.put(credential.getCredentialId(), credential);
+                yield credential;
+            }
+            case "saveAll" -> {
+                for (Object credential : (Iterable<?>) args[0]) {
+                    credentialOperation("save", new Object[]{credential});
+                }
+                yield args[0];
+            }
+            case "findByCredentialId", "findWithUserByCredentialId" ->
+                    Optional.ofNullable(credentialsById.get((String) args[0]));
+            case "findAllWithUserByCredentialIdIn" -> ((Collection<?>) args[0]).stream()
+                    .map(credentialsById::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            case "findDescriptorsByUsername" -> credentialsById.values().stream()
+                    .filter(c -> c.getUser() != null && c.getUser().getUsername().equals(args[0]))
+                    .map(c -> new CredentialDescriptor(c.getCredentialId(), c.getTransports()))
+                    .toList();
+            case "existsByCredentialId" -> credentialsById.containsKey((String) args[0]);
+            default -> throw new UnsupportedOperationException("CredentialRepository." + method);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.handle(method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.config.JournalConfig;
+import com.example.passkey.global.journal.AuthEventJournal;
+import com.example.passkey.global.journal.JournalReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 스레드에서 본 journal 기록 비용 (대기열 투입만, fsync는 writer 스레드)
+ *
+ * 시작할 때 이벤트를 기록하고 다시 열어 replay한 결과가 같은지 확인합니다.
+ * TearDown에서 기록/버림/fsync 횟수를 출력하므로 writer가 생산 속도를 따라가는지 볼 수 있습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JournalBenchmark {
+
+    private static final int CHECK_EVENTS = 10_000;
+
+    private Path dir;
+    private AuthEventJournal journal;
+    private AuthEvent event;
+    private AuthEvent replayed;  // journal에는 credential ID의 해시가 남음
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("journal-bench");
+        byte[] credentialId = new byte[32];
+        ThreadLocalRandom.current().nextBytes(credentialId);
+        event = AuthEvent.success(AuthEvent.Type.AUTHENTICATION, UUID.randomUUID(),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(credentialId),
+                UUID.randomUUID().toString(), 42, 1_500_000);
+        replayed = new AuthEvent(event.type(), event.outcome(), event.timestampMillis(), event.userId(),
+                JournalReader.credentialIdHash(event.credentialId()), event.aaguid(), event.signCount(),
+                event.latencyNanos());
+
+        checkReplay();
+        journal = new AuthEventJournal(config());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.shutdown();
+        System.out.printf("%nappended=%d dropped=%d commits=%d%n",
+                journal.getAppendedCount(), journal.getDroppedCount(), journal.getCommitCount());
+        try (var files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean append() {
+        return journal.append(event);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean appendContended() {
+        return journal.append(event);
+    }
+
+    // 작은 segment로 rollover를 거치며 기록하고, 재시작 후 이어 쓴 기록까지 순서대로 읽히는지 확인
+    private void checkReplay() throws IOException {
+        JournalConfig config = config();
+        config.setDir(dir.resolve("check").toString());
+        config.setSegmentSizeBytes(128 * 1000);
+        config.setMaxSegments(0);
+        for (int round = 0; round < 2; round++) {
+            AuthEventJournal check = new AuthEventJournal(config);
+            for (int i = 0; i < CHECK_EVENTS / 2; i++) {
+                while (!check.append(event)) {
+                    Thread.onSpinWait();
+                }
+            }
+            check.shutdown();
+        }
+
+        AtomicLong expected = new AtomicLong(1);
+        long last = JournalReader.scan(Path.of(config.getDir()), 0, (sequence, read) -> {
+            if (sequence != expected.getAndIncrement() || !read.equals(replayed)) {
+                throw new IllegalStateException("Journal replay mismatch at sequence " + sequence + ": " + read);
+            }
+        });
+        if (last != CHECK_EVENTS) {
+            throw new IllegalStateException("Journal replay returned " + last + " events, expected " + CHECK_EVENTS);
+        }
+    }
+
+    private JournalConfig config() {
+        JournalConfig config = new JournalConfig();
+        config.setEnabled(true);
+        config.setDir(dir.resolve("bench").toString());
+        config.setMaxSegments(4);
+        return config;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.service.AttestationTrustVerifier;
+import com.example.passkey.domain.auth.service.AuthService;
+import com.example.passkey.domain.auth.service.ChallengeService;
+import com.example.passkey.domain.auth.service.FastAssertionVerifier;
+import com.example.passkey.domain.auth.service.VerificationExecutor;
+import com.example.passkey.domain.auth.service.WebAuthnVerifier;
+import com.example.passkey.domain.credential.cache.AllowCredentialsCache;
+import com.example.passkey.domain.credential.cache.CredentialMaterialCache;
+import com.example.passkey.domain.credential.service.SignCountWriteBehind;
+import com.example.passkey.domain.user.cache.UserLookupCache;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.datasource.ReplicaReads;
+import com.example.passkey.global.shard.ShardRouter;
+import com.example.passkey.global.config.AllowCredentialsCacheConfig;
+import com.example.passkey.global.config.AttestationConfig;
+import com.example.passkey.global.config.BatchVerifyConfig;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.example.passkey.global.config.CredentialCacheConfig;
+import com.example.passkey.global.config.FastVerifyConfig;
+import com.example.passkey.global.config.ReplicaConfig;
+import com.example.passkey.global.config.SignCountConfig;
+import com.example.passkey.global.config.UserCacheConfig;
+import com.example.passkey.global.config.WebAuthnConfig;
+import com.example.passkey.global.metadata.MetadataService;
+import com.example.passkey.global.metrics.PasskeyMetrics;
+import com.example.passkey.global.random.StripedSecureRandom;
+import com.webauthn4j.WebAuthnManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Field;
+
+/**
+ * Spring 컨텍스트 없이 AuthService와 의존 객체를 조립합니다.
+ * 저장소는 {@link InMemoryRepositories}, sign count는 동기 저장(write-behind 비활성)을 사용합니다.
+ */
+public final class PasskeyFixture {
+
+    public static final String RP_ID = "localhost";
+    public static final String ORIGIN = "http://localhost:8080";
+
+    public final InMemoryRepositories repositories = new InMemoryRepositories();
+    public final WebAuthnConfig webAuthnConfig;
+    public final ChallengeConfig challengeConfig;
+    public final StripedSecureRandom secureRandom;
+    public final ChallengeService challengeService;
+    public final CredentialMaterialCache credentialMaterialCache;
+    public final FastAssertionVerifier fastAssertionVerifier;
+    public final SignCountWriteBehind signCountWriteBehind;
+    public final VerificationExecutor verificationExecutor;
+    public final UserLookupCache userLookupCache;
+    public final AuthService authService;
+
+    private PasskeyFixture(ChallengeConfig.Mode mode, boolean credentialCache, int verifyParallelism) {
+        this.webAuthnConfig = webAuthnConfig();
+
+        this.challengeConfig = new ChallengeConfig();
+        challengeConfig.setMode(mode);
+        challengeConfig.setMaxEntries(1_000_000);
+        ChallengeConfig.RandomConfig random = challengeConfig.getRandom();
+        secureRandom = new StripedSecureRandom(random.getAlgorithm(), random.getStripes(), random.getBufferBytes(),
+                random.getReseedIntervalMillis(), WorkerThreads.platform());
+        challengeService = new ChallengeService(challengeConfig, secureRandom);
+
+        CredentialCacheConfig cacheConfig = new CredentialCacheConfig();
+        cacheConfig.setEnabled(credentialCache);
+        credentialMaterialCache = new CredentialMaterialCache(cacheConfig);
+
+        fastAssertionVerifier = new FastAssertionVerifier(new FastVerifyConfig(), webAuthnConfig);
+
+        SignCountConfig signCountConfig = new SignCountConfig();
+        signCountConfig.setWriteBehind(false);
+        signCountWriteBehind = new SignCountWriteBehind(
+                signCountConfig, repositories.credentialRepository(), new JdbcTemplate(), ShardRouter.single(),
+                new ReplicaConfig(), WorkerThreads.platform());
+
+        BatchVerifyConfig batchVerifyConfig = new BatchVerifyConfig();
+        batchVerifyConfig.setParallelism(verifyParallelism);
+        verificationExecutor = new VerificationExecutor(batchVerifyConfig);
+
+        // Bloom filter는 ApplicationReadyEvent에서 적재하므로 여기서는 캐시만 사용
+        userLookupCache = new UserLookupCache(new UserCacheConfig(), repositories.userRepository(),
+                new JdbcTemplate(), ReplicaReads.withoutTransaction(), ShardRouter.single(), WorkerThreads.platform());
+
+        authService = new AuthService(
+                new WebAuthnVerifier(WebAuthnManager.createNonStrictWebAuthnManager(),
+                        webAuthnConfig, challengeService, credentialMaterialCache, fastAssertionVerifier,
+                        attestationTrustVerifier()),
+                webAuthnConfig,
+                repositories.userRepository(),
+                repositories.credentialRepository(),
+                challengeService,
+                challengeConfig,
+                new AllowCredentialsCache(new AllowCredentialsCacheConfig()),
+                userLookupCache,
+                signCountWriteBehind,
+                new PasskeyMetrics(new SimpleMeterRegistry()),
+                verificationExecutor,
+                ReplicaReads.withoutTransaction(),
+                ShardRouter.single(),
+                event -> {
+                    // 이벤트 journal은 JournalBenchmark에서 따로 측정
+                }
+        );
+    }
+
+    public static PasskeyFixture create() {
+        return new PasskeyFixture(ChallengeConfig.Mode.STORE, true, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static PasskeyFixture withVerifyParallelism(int parallelism) {
+        return new PasskeyFixture(ChallengeConfig.Mode.STORE, true, parallelism);
+    }
+
+    public static PasskeyFixture create(ChallengeConfig.Mode mode, boolean credentialCache) {
+        return new PasskeyFixture(mode, credentialCache, Runtime.getRuntime().availableProcessors());
+    }
+
+    public void close() {
+        signCountWriteBehind.shutdown();
+        verificationExecutor.shutdown();
+        userLookupCache.shutdown();
+        secureRandom.close();
+    }
+
+    // attestation 정책 NONE (MDS 미적재)
+    private static AttestationTrustVerifier attestationTrustVerifier() {
+        AttestationConfig config = new AttestationConfig();
+        return new AttestationTrustVerifier(config, new MetadataService(config, WorkerThreads.platform()));
+    }
+
+    static WebAuthnConfig webAuthnConfig() {
+        WebAuthnConfig config = new WebAuthnConfig();
+        setField(config, "rpId", RP_ID);
+        setField(config, "rpName", "Passkey Benchmark");
+        setField(config, "origin", ORIGIN);
+        return config;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+}
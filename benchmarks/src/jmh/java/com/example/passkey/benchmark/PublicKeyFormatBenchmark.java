@@ -0,0 +1,60 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.credential.key.PublicKeyCodec;
+import com.example.passkey.domain.credential.key.PublicKeyCodec.DecodedPublicKey;
+import com.example.passkey.loadgen.VirtualAuthenticator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 공개키 바이트 -> JCA 공개키 디코딩 비용 (이전 CBOR COSE_Key vs compact 형식)
+ * DB 쪽 차이(pg_largeobject 추가 조회 제거)는 포함하지 않으므로 loadgen으로 따로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PublicKeyFormatBenchmark {
+
+    @Param({"ES256", "RS256", "EdDSA"})
+    public VirtualAuthenticator.Algorithm algorithm;
+
+    private byte[] cbor;
+    private byte[] compact;
+
+    @Setup
+    public void setUp() {
+        PasskeyFixture fixture = PasskeyFixture.create();
+        VirtualAuthenticator authenticator = new VirtualAuthenticator(algorithm, PasskeyFixture.ORIGIN);
+        var registration = authenticator.register(fixture.authService.startRegistration(
+                new RegistrationStartRequest("user", "User")));
+        fixture.authService.finishRegistration(registration);
+        compact = fixture.repositories.credentialRepository()
+                .findByCredentialId(registration.id())
+                .orElseThrow()
+                .getPublicKey();
+        fixture.close();
+
+        cbor = PublicKeyCodec.encodeCbor(PublicKeyCodec.decode(compact).coseKey());
+        System.out.printf("%n%s stored size: cbor=%d bytes, compact=%d bytes%n",
+                algorithm, cbor.length, compact.length);
+    }
+
+    @Benchmark
+    public DecodedPublicKey decodeCbor() {
+        return PublicKeyCodec.decode(cbor);
+    }
+
+    @Benchmark
+    public DecodedPublicKey decodeCompact() {
+        return PublicKeyCodec.decode(compact);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.random.StripedSecureRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 동시에 32바이트 challenge를 만들 때의 처리량
+ *
+ * <ul>
+ *     <li>shared: DRBG 인스턴스 하나를 공유 (이전 secureRandom 빈)</li>
+ *     <li>striped: 코어 수만큼의 DRBG stripe</li>
+ *     <li>buffered: striped + stripe별 미리 채운 블록 (기본 설정)</li>
+ * </ul>
+ * 처리량만 측정합니다. 출력의 통계 검사(바이트 분포, 비트 비율, 중복, 예비 블록 교체)는 {@code StripedSecureRandomTest}에 있습니다.
+ *
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=SecureRandomBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecureRandomBenchmark {
+
+    private static final int CHALLENGE_LENGTH = 32;
+
+    @Param({"shared", "striped", "buffered"})
+    public String generator;
+
+    SecureRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchAlgorithmException {
+        random = switch (generator) {
+            case "shared" -> SecureRandom.getInstance("DRBG");
+            case "striped" -> new StripedSecureRandom("DRBG", 0, 0, 0, WorkerThreads.platform());
+            case "buffered" -> new StripedSecureRandom("DRBG", 0, 4096, 600_000, WorkerThreads.platform());
+            default -> throw new NoSuchAlgorithmException(generator);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (random instanceof StripedSecureRandom striped) {
+            System.out.printf("%n[%s] %d stripes, %d buffered requests, %d inline refills%n", generator,
+                    striped.stripeCount(), striped.bufferedRequests(), striped.inlineRefills());
+            striped.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] nextChallenge() {
+        byte[] challenge = new byte[CHALLENGE_LENGTH];
+        random.nextBytes(challenge);
+        return challenge;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] nextChallengeContended() {
+        return nextChallenge();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] nextChallengeAllCores() {
+        return nextChallenge();
+    }
+}
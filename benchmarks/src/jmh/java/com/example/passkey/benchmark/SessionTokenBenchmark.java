@@ -0,0 +1,166 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.SessionTokenConfig;
+import com.example.passkey.global.token.IssuedSessionToken;
+import com.example.passkey.global.token.SessionKeyManager;
+import com.example.passkey.global.token.SessionTokenIssuer;
+import com.example.passkey.token.InvalidSessionTokenException;
+import com.example.passkey.token.SessionClaims;
+import com.example.passkey.token.SessionKeySet;
+import com.example.passkey.token.SessionTokenVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다른 서비스에서 세션 토큰 1건을 검증하는 비용 (네트워크 호출 없음)과 서버의 발급 비용
+ *
+ * 시작할 때 JWKS JSON을 거쳐 만든 검증기로 정상 토큰, payload/서명 변조, alg 바꿔치기, 모르는 kid, 만료 토큰을 확인하고
+ * 재시작한 키 관리자가 같은 서명 키를 다시 쓰는지 확인합니다.
+ *
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=SessionTokenBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionTokenBenchmark {
+
+    private static final String USERNAME = "token-user";
+
+    @Param({"EdDSA", "ES256"})
+    public String algorithm;
+
+    private Path dir;
+    private SessionTokenConfig config;
+    private SessionKeyManager keyManager;
+    private SessionTokenIssuer issuer;
+    private SessionTokenVerifier verifier;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("session-token-bench");
+        config = new SessionTokenConfig();
+        config.setEnabled(true);
+        config.setAlgorithm(algorithm);
+        config.setKeyDir(dir.toString());
+        config.setIncludeCredentialId(true);
+        keyManager = new SessionKeyManager(config, WorkerThreads.platform(), new SecureRandom());
+        issuer = new SessionTokenIssuer(config, keyManager, new SecureRandom());
+
+        // 다른 서비스와 같은 경로: JWKS JSON -> 공개키
+        SessionKeySet keys = SessionKeySet.fromJwks(keyManager.keySet().toJwksJson());
+        verifier = new SessionTokenVerifier(keys, config.getIssuer(), config.getAudience(),
+                Duration.ofSeconds(config.getClockSkewSeconds()));
+        userId = UUID.randomUUID();
+        token = issuer.issue(userId, USERNAME, "credential-1").token();
+
+        check(keys);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        keyManager.shutdown();
+        try (var files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public SessionClaims verify() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SessionClaims verifyConcurrent() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public IssuedSessionToken issue() {
+        return issuer.issue(userId, USERNAME, "credential-1");
+    }
+
+    private void check(SessionKeySet keys) {
+        SessionClaims claims = verifier.verify(token);
+        if (!claims.subject().equals(userId.toString()) || !USERNAME.equals(claims.username())
+                || !"credential-1".equals(claims.credentialId())) {
+            throw new IllegalStateException("Unexpected claims: " + claims);
+        }
+
+        String[] parts = token.split("\\.");
+        String otherPayload = encode(new String(decode(parts[1]), StandardCharsets.UTF_8)
+                .replace(userId.toString(), UUID.randomUUID().toString()));
+        String otherAlgorithm = encode(new String(decode(parts[0]), StandardCharsets.UTF_8)
+                .replace(algorithm, algorithm.equals("EdDSA") ? "ES256" : "EdDSA"));
+        byte[] signature = decode(parts[2]);
+        signature[signature.length / 2] ^= 1;
+
+        rejects(verifier, parts[0] + "." + otherPayload + "." + parts[2], "payload tampered");
+        rejects(verifier, parts[0] + "." + parts[1] + "." + encode(signature), "signature tampered");
+        rejects(verifier, otherAlgorithm + "." + parts[1] + "." + parts[2], "algorithm swapped");
+        rejects(verifier, token + ".", "extra segment");
+        rejects(new SessionTokenVerifier(SessionKeySet.of(List.of()), null, null, Duration.ZERO),
+                token, "unknown kid");
+        rejects(new SessionTokenVerifier(keys, config.getIssuer(), "other-service", Duration.ZERO),
+                token, "other audience");
+        Instant later = Instant.now().plusSeconds(config.getTtlSeconds() + config.getClockSkewSeconds() + 1);
+        rejects(new SessionTokenVerifier(keys, config.getIssuer(), config.getAudience(),
+                Duration.ofSeconds(config.getClockSkewSeconds()), Clock.fixed(later, ZoneOffset.UTC)), token, "expired");
+
+        // 재시작 시 디렉터리의 키를 그대로 사용
+        SessionKeyManager restarted = new SessionKeyManager(config, WorkerThreads.platform(), new SecureRandom());
+        if (!restarted.signer().keyId().equals(keyManager.signer().keyId())) {
+            throw new IllegalStateException("Restarted key manager generated a new key "
+                    + restarted.signer().keyId() + " instead of " + keyManager.signer().keyId());
+        }
+    }
+
+    private static void rejects(SessionTokenVerifier verifier, String token, String description) {
+        try {
+            verifier.verify(token);
+        } catch (InvalidSessionTokenException e) {
+            return;
+        }
+        throw new IllegalStateException("Accepted session token with " + description);
+    }
+
+    private static byte[] decode(String value) {
+        return Base64.getUrlDecoder().decode(value);
+    }
+
+    private static String encode(String value) {
+        return encode(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.ShardingConfig;
+import com.example.passkey.global.shard.ShardBuckets;
+import com.example.passkey.global.shard.ShardRouter;
+import com.example.passkey.global.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * shard 수에 따른 userHandle 없는 assertion의 credential 조회 처리량
+ *
+ * 서버와 같은 구성({@link ShardRouter} + {@link ShardRoutingDataSource} + shard별 Hikari 풀 + Postgres)으로
+ * credential ID -> credential_shard_index(인덱스 shard) -> credentials(소유자 shard)의 두 번 조회를 측정합니다.
+ * indexCache=false면 인덱스 캐시 크기를 0으로 두어 매번 인덱스 shard를 거칩니다.
+ *
+ * shard k는 SHARD_URLS(쉼표 구분, 기본 docker compose의 5432)의 (k mod URL 수)번째 DB 안 shard_bench_k 스키마입니다.
+ * URL이 하나면 모든 shard가 같은 Postgres를 나눠 쓰므로, 결과는 라우팅/풀 수(shard당 10)에 따른 처리량이지
+ * DB 장비를 늘린 효과가 아닙니다. 장비 확장을 보려면 shard 수만큼 Postgres를 띄워 URL을 모두 넘기세요.
+ * 시작할 때 shard별 credential 수의 최대/평균 비율(불균형)을 출력하며, 스키마는 끝나면 지웁니다.
+ *
+ * <pre>
+ * docker compose up -d
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=ShardScalingBenchmark
+ * SHARD_URLS=jdbc:postgresql://localhost:5432/passkey,jdbc:postgresql://localhost:5434/passkey \
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=ShardScalingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ShardScalingBenchmark {
+
+    private static final int CONCURRENCY = 2_000;
+    private static final int CREDENTIALS = 20_000;
+    private static final int POOL_SIZE = 10;  // webauthn.sharding.shards[].maximum-pool-size 기본값
+    private static final String SCHEMA = "shard_bench_";
+    private static final String FIND_SQL = "SELECT sign_count FROM credentials WHERE credential_id = ?";
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    @Param({"true", "false"})
+    public boolean indexCache;
+
+    List<String> urls;
+    String username;
+    String password;
+    List<HikariDataSource> pools;
+    ShardRoutingDataSource routing;
+    JdbcTemplate jdbcTemplate;
+    ShardRouter router;
+    String[] credentialIds;
+    ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        urls = List.of(env("SHARD_URLS", "jdbc:postgresql://localhost:5432/passkey").split(","));
+        username = env("DB_USERNAME", "user");
+        password = env("DB_PASSWORD", "password");
+        dropSchemas();
+
+        pools = new ArrayList<>();
+        ShardingConfig config = new ShardingConfig();
+        config.setEnabled(true);
+        config.setIndexCacheSize(indexCache ? CREDENTIALS : 0);
+        for (int shard = 0; shard < shards; shard++) {
+            String url = urls.get(shard % urls.size());
+            execute(url, "CREATE SCHEMA " + SCHEMA + shard);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + shard);
+            pool.setJdbcUrl(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA + shard);
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(POOL_SIZE);
+            pools.add(pool);
+            if (shard > 0) {
+                config.getShards().add(new ShardingConfig.Node());
+            }
+        }
+        routing = new ShardRoutingDataSource(new ArrayList<DataSource>(pools));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 생성자가 모든 shard에 스키마와 카탈로그를 만듦 (비어 있으므로 bucket을 고르게 배치)
+        router = new ShardRouter(config, jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                WorkerThreads.platform(), new SimpleMeterRegistry());
+
+        populate();
+        executor = new WorkerThreads(true).newThreadPerTaskExecutor("request");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        executor.shutdownNow();
+        router.shutdown();
+        routing.close();
+        pools.get(0).close();
+        dropSchemas();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public void findCredential() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            String credentialId = credentialIds[ThreadLocalRandom.current().nextInt(CREDENTIALS)];
+            executor.execute(() -> {
+                try {
+                    int shard = router.shardForCredential(credentialId);
+                    router.onShard(shard, () -> jdbcTemplate.queryForObject(FIND_SQL, Long.class, credentialId));
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " lookups failed");
+        }
+    }
+
+    // 사용자/credential은 username bucket의 shard에, 인덱스는 credential ID bucket의 shard에 넣음
+    private void populate() {
+        List<List<Object[]>> users = perShard();
+        List<List<Object[]>> credentials = perShard();
+        List<List<Object[]>> index = perShard();
+        credentialIds = new String[CREDENTIALS];
+        int[] counts = new int[shards];
+        SplittableRandom random = new SplittableRandom(42);
+        byte[] raw = new byte[32];
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < CREDENTIALS; i++) {
+            random.nextBytes(raw);
+            String credentialId = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+            String name = "bench-" + i;
+            int bucket = ShardBuckets.bucketOf(name);
+            int owner = router.shardOf(bucket);
+            UUID userId = ShardBuckets.newUserId(bucket);
+            int indexBucket = ShardBuckets.bucketOf(credentialId);
+
+            users.get(owner).add(new Object[]{userId, name, name, bucket});
+            credentials.get(owner).add(new Object[]{credentialId, new byte[77], 0L, now, userId, bucket});
+            index.get(router.shardOf(indexBucket)).add(new Object[]{credentialId, indexBucket, bucket});
+            credentialIds[i] = credentialId;
+            counts[owner]++;
+        }
+        router.forEachShard(shard -> {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO users (id, username, display_name, shard_bucket) VALUES (?, ?, ?, ?)",
+                    users.get(shard));
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO credentials (credential_id, public_key, sign_count, created_at, user_id, shard_bucket)
+                    VALUES (?, ?, ?, ?, ?, ?)""", credentials.get(shard));
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO credential_shard_index (credential_id, index_bucket, owner_bucket) VALUES (?, ?, ?)",
+                    index.get(shard));
+            jdbcTemplate.execute("ANALYZE");
+        });
+
+        int max = 0;
+        for (int count : counts) {
+            max = Math.max(max, count);
+        }
+        System.out.printf("%n%d shards (%d databases), credentials per shard max/mean = %.3f%n",
+                shards, Math.min(shards, urls.size()), max / ((double) CREDENTIALS / shards));
+    }
+
+    private List<List<Object[]>> perShard() {
+        List<List<Object[]>> rows = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            rows.add(new ArrayList<>());
+        }
+        return rows;
+    }
+
+    // 이전 실행이 중간에 끝났어도 새로 시작하도록 만들기 전에도 지움
+    private void dropSchemas() throws SQLException {
+        for (int shard = 0; shard < shards; shard++) {
+            execute(urls.get(shard % urls.size()), "DROP SCHEMA IF EXISTS " + SCHEMA + shard + " CASCADE");
+        }
+    }
+
+    private void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        return Objects.requireNonNullElse(System.getenv(name), defaultValue);
+    }
+}
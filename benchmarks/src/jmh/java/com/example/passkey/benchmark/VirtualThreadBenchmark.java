@@ -0,0 +1,96 @@
+package com.example.passkey.benchmark;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationStartRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.auth.dto.response.RegistrationStartResponse;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.loadgen.VirtualAuthenticator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 높은 동시성에서 플랫폼 스레드 풀(Tomcat 기본 200개)과 가상 스레드의 처리량 비교
+ *
+ * 요청 하나는 blocking I/O 대기(DB 조회, reCAPTCHA 호출을 parkNanos로 모사) 후
+ * 실제 {@code AuthService.startAuthentication}을 실행합니다.
+ * 한 번의 호출에서 {@code concurrency}개의 요청을 동시에 보내고 모두 끝날 때까지 기다리므로 결과는 초당 요청 수입니다.
+ *
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.includes=VirtualThreadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadBenchmark {
+
+    private static final int CONCURRENCY = 2_000;
+    private static final int PLATFORM_POOL_SIZE = 200;  // server.tomcat.threads.max 기본값
+    private static final int USERS = 64;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    // 요청당 blocking I/O 시간 (ms)
+    @Param({"5", "20"})
+    public int ioMillis;
+
+    PasskeyFixture fixture;
+    ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = PasskeyFixture.create();
+        VirtualAuthenticator authenticator = new VirtualAuthenticator(
+                VirtualAuthenticator.Algorithm.ES256, PasskeyFixture.ORIGIN);
+        for (int i = 0; i < USERS; i++) {
+            RegistrationStartResponse start = fixture.authService.startRegistration(
+                    new RegistrationStartRequest("vt-" + i, "VT " + i));
+            fixture.authService.finishRegistration(authenticator.register(start));
+        }
+
+        executor = "virtual".equals(threads)
+                ? new WorkerThreads(true).newThreadPerTaskExecutor("request")
+                : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE, WorkerThreads.platform().factory("request"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        fixture.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public void startAuthentication() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENCY);
+        long ioNanos = TimeUnit.MILLISECONDS.toNanos(ioMillis);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            String username = "vt-" + (i % USERS);
+            executor.execute(() -> {
+                try {
+                    LockSupport.parkNanos(ioNanos);
+                    fixture.authService.startAuthentication(new AuthenticationStartRequest(username));
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.passkey.loadgen;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 항상 통과 응답을 돌려주는 reCAPTCHA siteverify 스텁
+ * 서버를 {@code RECAPTCHA_VERIFY_URL=http://localhost:{port}/siteverify} 로 띄우면 Google 없이 captcha 경로까지 측정할 수 있습니다.
+ * captcha 경로가 필요 없으면 서버를 {@code RECAPTCHA_ENABLED=false} 로 띄우면 됩니다.
+ *
+ * 응답 지연과 5xx 비율을 지정하면 서버의 deadline, circuit breaker, 헤지 요청 동작을 확인할 수 있습니다.
+ * 단독 실행: {@code ./gradlew :loadgen:captchaStub --args="--port=9999 --delay-ms=3000 --error-rate=0.5"}
+ */
+public class CaptchaStubServer implements AutoCloseable {
+
+    private static final byte[] PASS = """
+            {"success":true,"score":0.9,"action":"login","hostname":"localhost"}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    public CaptchaStubServer(int port) throws IOException {
+        this(port, 0, 0);
+    }
+
+    /**
+     * @param delayMillis 응답 전 대기 시간
+     * @param errorRate   500 응답 비율 (0.0 ~ 1.0)
+     */
+    public CaptchaStubServer(int port, long delayMillis, double errorRate) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/siteverify", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, PASS.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(PASS);
+            }
+        });
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 9999;
+        long delayMillis = 0;
+        double errorRate = 0;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(value);
+            } else if (arg.startsWith("--delay-ms=")) {
+                delayMillis = Long.parseLong(value);
+            } else if (arg.startsWith("--error-rate=")) {
+                errorRate = Double.parseDouble(value);
+            } else {
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+        }
+        new CaptchaStubServer(port, delayMillis, errorRate);
+        System.out.printf("reCAPTCHA stub listening on http://localhost:%d/siteverify (delay=%dms, errorRate=%.2f)%n",
+                port, delayMillis, errorRate);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.passkey.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 지연시간 히스토그램
+ *
+ * corrected: 요청이 "시작됐어야 하는" 시각부터 측정 (coordinated omission 보정)
+ * uncorrected: 실제 전송 시각부터 측정
+ * 서버가 느려져 다음 요청 시작이 밀리면 그 대기 시간까지 corrected 쪽에 반영됩니다.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Stage, Histogram> corrected = new EnumMap<>(Stage.class);
+    private final Map<Stage, Histogram> uncorrected = new EnumMap<>(Stage.class);
+    private final Map<Stage, LongAdder> errors = new EnumMap<>(Stage.class);
+
+    public LatencyReport() {
+        for (Stage stage : Stage.values()) {
+            corrected.put(stage, new ConcurrentHistogram(HIGHEST_TRACKABLE, 3));
+            uncorrected.put(stage, new ConcurrentHistogram(HIGHEST_TRACKABLE, 3));
+            errors.put(stage, new LongAdder());
+        }
+    }
+
+    /**
+     * @param intendedStartNanos 스케줄상 시작 시각 (closed 모델에서는 실제 시작 시각과 같음)
+     * @param expectedIntervalMicros closed 모델 보정용 기대 간격 (open 모델은 0)
+     */
+    public void record(Stage stage, long intendedStartNanos, long actualStartNanos, long endNanos,
+                       long expectedIntervalMicros) {
+        long fromIntended = TimeUnit.NANOSECONDS.toMicros(endNanos - intendedStartNanos);
+        long fromActual = TimeUnit.NANOSECONDS.toMicros(endNanos - actualStartNanos);
+        if (expectedIntervalMicros > 0) {
+            corrected.get(stage).recordValueWithExpectedInterval(Math.min(fromIntended, HIGHEST_TRACKABLE), expectedIntervalMicros);
+        } else {
+            corrected.get(stage).recordValue(Math.min(fromIntended, HIGHEST_TRACKABLE));
+        }
+        uncorrected.get(stage).recordValue(Math.min(fromActual, HIGHEST_TRACKABLE));
+    }
+
+    public void recordError(Stage stage) {
+        errors.get(stage).increment();
+    }
+
+    public void reset() {
+        corrected.values().forEach(Histogram::reset);
+        uncorrected.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    public void print(PrintStream out, double elapsedSeconds) {
+        out.printf("%n%-22s %9s %9s %9s %9s %9s %9s %10s %8s%n",
+                "stage", "count", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "ops/s", "errors");
+        for (Stage stage : Stage.values()) {
+            Histogram histogram = uncorrected.get(stage);
+            if (histogram.getTotalCount() == 0 && errors.get(stage).sum() == 0) {
+                continue;
+            }
+            printRow(out, stage + "", histogram, elapsedSeconds, errors.get(stage).sum());
+            printRow(out, stage + " (CO)", corrected.get(stage), elapsedSeconds, errors.get(stage).sum());
+        }
+    }
+
+    public void writeHistograms(Path directory) throws FileNotFoundException {
+        directory.toFile().mkdirs();
+        for (Stage stage : Stage.values()) {
+            writeHistogram(directory.resolve(stage.name().toLowerCase() + ".hgrm"), corrected.get(stage));
+            writeHistogram(directory.resolve(stage.name().toLowerCase() + "-uncorrected.hgrm"), uncorrected.get(stage));
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, double elapsedSeconds, long errors) {
+        out.printf("%-22s %9d %9.2f %9.2f %9.2f %9.2f %9.2f %10.1f %8d%n",
+                label,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                histogram.getTotalCount() / elapsedSeconds,
+                errors);
+    }
+
+    private static void writeHistogram(Path path, Histogram histogram) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(path.toFile())) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    public enum Stage {
+        REGISTER_START,
+        REGISTER_FINISH,
+        AUTHENTICATE_START,
+        AUTHENTICATE_FINISH,
+        LOGIN_CEREMONY
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.passkey.loadgen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 생성기 실행 옵션 ({@code --key=value} 형식)
+ *
+ * <pre>
+ * --target=http://localhost:8080   서버 주소
+ * --users=1000                     등록할 가상 사용자 수
+ * --model=open                     open: 목표 처리량으로 요청 시작 / closed: 워커마다 응답 후 다음 요청
+ * --rate=200                       open 모델의 초당 인증 ceremony 수
+ * --concurrency=64                 워커 스레드 수 (closed 모델의 동시 사용자 수)
+ * --think-time-ms=0                closed 모델에서 ceremony 사이 대기 시간
+ * --duration=60                    인증 부하 시간 (초)
+ * --warmup=10                      측정 전 워밍업 시간 (초)
+ * --usernameless-ratio=0.0         username 없이 시작하는 인증 비율
+ * --algorithm=ES256                ES256 | RS256 | EdDSA
+ * --origin=http://localhost:8080   clientDataJSON origin (서버 webauthn.rp.origin 과 같아야 함)
+ * --captcha-stub-port=0            0보다 크면 항상 통과하는 reCAPTCHA 스텁 서버를 띄움
+ * --captcha-stub-delay-ms=0        스텁 응답 지연 (서버 deadline/breaker 확인용)
+ * --captcha-stub-error-rate=0.0    스텁의 500 응답 비율
+ * --histogram-dir=                 지정하면 엔드포인트별 .hgrm 파일 저장
+ * </pre>
+ */
+public record LoadGenOptions(
+        String target,
+        int users,
+        Model model,
+        double rate,
+        int concurrency,
+        long thinkTimeMillis,
+        long durationSeconds,
+        long warmupSeconds,
+        double usernamelessRatio,
+        VirtualAuthenticator.Algorithm algorithm,
+        String origin,
+        int captchaStubPort,
+        long captchaStubDelayMillis,
+        double captchaStubErrorRate,
+        String histogramDir
+) {
+
+    public enum Model {
+        OPEN,
+        CLOSED
+    }
+
+    public static LoadGenOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        String target = values.getOrDefault("target", "http://localhost:8080");
+        return new LoadGenOptions(
+                target,
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Model.valueOf(values.getOrDefault("model", "open").toUpperCase()),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Long.parseLong(values.getOrDefault("think-time-ms", "0")),
+                Long.parseLong(values.getOrDefault("duration", "60")),
+                Long.parseLong(values.getOrDefault("warmup", "10")),
+                Double.parseDouble(values.getOrDefault("usernameless-ratio", "0")),
+                VirtualAuthenticator.Algorithm.valueOf(values.getOrDefault("algorithm", "ES256")),
+                values.getOrDefault("origin", target),
+                Integer.parseInt(values.getOrDefault("captcha-stub-port", "0")),
+                Long.parseLong(values.getOrDefault("captcha-stub-delay-ms", "0")),
+                Double.parseDouble(values.getOrDefault("captcha-stub-error-rate", "0")),
+                values.get("histogram-dir")
+        );
+    }
+}
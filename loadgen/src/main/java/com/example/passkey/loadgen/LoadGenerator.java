@@ -0,0 +1,219 @@
+package com.example.passkey.loadgen;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.AuthenticationStartRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.auth.dto.response.AuthenticationFinishResponse;
+import com.example.passkey.domain.auth.dto.response.AuthenticationStartResponse;
+import com.example.passkey.domain.auth.dto.response.RegistrationFinishResponse;
+import com.example.passkey.domain.auth.dto.response.RegistrationStartResponse;
+import com.example.passkey.loadgen.LatencyReport.Stage;
+import com.example.passkey.loadgen.PasskeyHttpClient.Endpoint;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실제 passkey ceremony로 서버에 부하를 주는 도구
+ *
+ * 1단계에서 가상 사용자 N명을 /register/* 로 등록하고,
+ * 2단계에서 /authenticate/* 로그인 트래픽을 open(목표 처리량) 또는 closed(고정 동시 사용자) 모델로 보냅니다.
+ * 각 가상 사용자는 자신만의 webauthn4j-test 인증기를 가지므로 서버는 실제 서명을 검증합니다.
+ *
+ * <pre>
+ * ./gradlew :loadgen:run --args="--users=1000 --model=open --rate=500 --concurrency=128 --duration=60"
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private final LoadGenOptions options;
+    private final PasskeyHttpClient client;
+    private final LatencyReport report = new LatencyReport();
+    private final ExecutorService workers;
+
+    private LoadGenerator(LoadGenOptions options) {
+        this.options = options;
+        this.workers = Executors.newFixedThreadPool(options.concurrency());
+        this.client = new PasskeyHttpClient(options.target(), Executors.newCachedThreadPool());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGenOptions options = LoadGenOptions.parse(args);
+        CaptchaStubServer captchaStub = options.captchaStubPort() > 0
+                ? new CaptchaStubServer(options.captchaStubPort(),
+                        options.captchaStubDelayMillis(), options.captchaStubErrorRate())
+                : null;
+        try {
+            new LoadGenerator(options).run();
+        } finally {
+            if (captchaStub != null) {
+                captchaStub.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Registering %d virtual users (%s) against %s%n",
+                options.users(), options.algorithm(), options.target());
+        long registrationStart = System.nanoTime();
+        BlockingQueue<VirtualUser> users = registerUsers();
+        double registrationSeconds = (System.nanoTime() - registrationStart) / 1e9;
+        report.print(System.out, registrationSeconds);
+        if (users.isEmpty()) {
+            System.out.println("No users registered, aborting");
+            return;
+        }
+
+        if (options.warmupSeconds() > 0) {
+            System.out.printf("%nWarming up for %ds%n", options.warmupSeconds());
+            login(users, options.warmupSeconds());
+        }
+        report.reset();
+
+        System.out.printf("%nRunning %s model for %ds (rate=%.1f/s, concurrency=%d)%n",
+                options.model(), options.durationSeconds(), options.rate(), options.concurrency());
+        double elapsed = login(users, options.durationSeconds());
+        report.print(System.out, elapsed);
+
+        if (options.histogramDir() != null) {
+            report.writeHistograms(Path.of(options.histogramDir()));
+        }
+        workers.shutdownNow();
+    }
+
+    private BlockingQueue<VirtualUser> registerUsers() throws InterruptedException {
+        BlockingQueue<VirtualUser> users = new ArrayBlockingQueue<>(options.users());
+        List<Future<?>> futures = new ArrayList<>();
+        String prefix = "loadgen-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+        for (int i = 0; i < options.users(); i++) {
+            String username = prefix + i;
+            futures.add(workers.submit(() -> {
+                VirtualUser user = new VirtualUser(username,
+                        new VirtualAuthenticator(options.algorithm(), options.origin()));
+                try {
+                    long start = System.nanoTime();
+                    RegistrationStartResponse startResponse = client.post(Endpoint.REGISTER_START,
+                            new RegistrationStartRequest(username, username), RegistrationStartResponse.class);
+                    long afterStart = System.nanoTime();
+                    report.record(Stage.REGISTER_START, start, start, afterStart, 0);
+
+                    RegistrationFinishRequest finish = user.authenticator().register(startResponse);
+                    long finishStart = System.nanoTime();
+                    client.post(Endpoint.REGISTER_FINISH, finish, RegistrationFinishResponse.class);
+                    report.record(Stage.REGISTER_FINISH, finishStart, finishStart, System.nanoTime(), 0);
+                    users.add(user);
+                } catch (Exception e) {
+                    report.recordError(Stage.REGISTER_FINISH);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception ignored) {
+                // 개별 실패는 errors 로 집계됨
+            }
+        }
+        return users;
+    }
+
+    /**
+     * @return 실제 경과 시간(초)
+     */
+    private double login(BlockingQueue<VirtualUser> users, long seconds) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong ticket = new AtomicLong();
+        long intervalNanos = options.rate() > 0 ? (long) (1e9 / options.rate()) : 0;
+        // closed 모델 보정용: 워커 하나가 기대하는 요청 간격
+        long expectedIntervalMicros = options.model() == LoadGenOptions.Model.CLOSED && options.rate() > 0
+                ? (long) (options.concurrency() * 1e6 / options.rate())
+                : 0;
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < options.concurrency(); w++) {
+            futures.add(workers.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long intended;
+                    if (options.model() == LoadGenOptions.Model.OPEN) {
+                        intended = start + ticket.getAndIncrement() * intervalNanos;
+                        if (intended >= end) {
+                            return null;
+                        }
+                        long wait = intended - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    } else {
+                        intended = System.nanoTime();
+                        if (intended >= end) {
+                            return null;
+                        }
+                    }
+
+                    VirtualUser user = users.take();
+                    try {
+                        loginOnce(user, intended, expectedIntervalMicros);
+                    } finally {
+                        users.add(user);
+                    }
+
+                    if (options.model() == LoadGenOptions.Model.CLOSED && options.thinkTimeMillis() > 0) {
+                        Thread.sleep(options.thinkTimeMillis());
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception ignored) {
+                // 워커 인터럽트
+            }
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private void loginOnce(VirtualUser user, long intendedNanos, long expectedIntervalMicros) {
+        boolean usernameless = ThreadLocalRandom.current().nextDouble() < options.usernamelessRatio();
+        Stage stage = Stage.AUTHENTICATE_START;
+        try {
+            long startAt = System.nanoTime();
+            AuthenticationStartResponse start = client.post(Endpoint.AUTHENTICATE_START,
+                    new AuthenticationStartRequest(usernameless ? null : user.username()),
+                    AuthenticationStartResponse.class);
+            long afterStart = System.nanoTime();
+            report.record(Stage.AUTHENTICATE_START, intendedNanos, startAt, afterStart, expectedIntervalMicros);
+
+            stage = Stage.AUTHENTICATE_FINISH;
+            AuthenticationFinishRequest finish = user.authenticator().authenticate(start);
+            long finishAt = System.nanoTime();
+            client.post(Endpoint.AUTHENTICATE_FINISH, finish, AuthenticationFinishResponse.class);
+            long end = System.nanoTime();
+            report.record(Stage.AUTHENTICATE_FINISH, finishAt, finishAt, end, 0);
+            report.record(Stage.LOGIN_CEREMONY, intendedNanos, startAt, end, expectedIntervalMicros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            report.recordError(stage);
+            report.recordError(Stage.LOGIN_CEREMONY);
+        }
+    }
+
+    private record VirtualUser(String username, VirtualAuthenticator authenticator) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.passkey.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * /api/auth 엔드포인트를 호출하는 JSON HTTP 클라이언트
+ */
+public class PasskeyHttpClient {
+
+    private static final String CAPTCHA_V3_HEADER = "X-Captcha-Token";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final String baseUrl;
+
+    public PasskeyHttpClient(String target, Executor executor) {
+        this.baseUrl = target + "/api/auth";
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public <T> T post(Endpoint endpoint, Object body, Class<T> responseType) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (endpoint.captcha) {
+            // 서버가 captcha 비활성화 상태이거나 스텁 서버를 쓰면 아무 토큰이나 통과합니다
+            // 서버는 토큰당 한 번만 통과시키므로 요청마다 다른 토큰을 보냄
+            request.header(CAPTCHA_V3_HEADER, "loadgen-" + UUID.randomUUID());
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException(endpoint + " returned " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return objectMapper.readValue(response.body(), responseType);
+    }
+
+    public enum Endpoint {
+        REGISTER_START("/register/start", true),
+        REGISTER_FINISH("/register/finish", false),
+        AUTHENTICATE_START("/authenticate/start", true),
+        AUTHENTICATE_FINISH("/authenticate/finish", false);
+
+        private final String path;
+        private final boolean captcha;
+
+        Endpoint(String path, boolean captcha) {
+            this.path = path;
+            this.captcha = captcha;
+        }
+    }
+}
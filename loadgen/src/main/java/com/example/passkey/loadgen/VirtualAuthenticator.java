@@ -0,0 +1,140 @@
+package com.example.passkey.loadgen;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.auth.dto.response.AuthenticationStartResponse;
+import com.example.passkey.domain.auth.dto.response.RegistrationStartResponse;
+import com.webauthn4j.data.AttestationConveyancePreference;
+import com.webauthn4j.data.AuthenticatorAssertionResponse;
+import com.webauthn4j.data.AuthenticatorAttestationResponse;
+import com.webauthn4j.data.PublicKeyCredential;
+import com.webauthn4j.data.PublicKeyCredentialCreationOptions;
+import com.webauthn4j.data.PublicKeyCredentialDescriptor;
+import com.webauthn4j.data.PublicKeyCredentialParameters;
+import com.webauthn4j.data.PublicKeyCredentialRequestOptions;
+import com.webauthn4j.data.PublicKeyCredentialRpEntity;
+import com.webauthn4j.data.PublicKeyCredentialType;
+import com.webauthn4j.data.PublicKeyCredentialUserEntity;
+import com.webauthn4j.data.UserVerificationRequirement;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
+import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.test.authenticator.webauthn.PackedAuthenticator;
+import com.webauthn4j.test.authenticator.webauthn.WebAuthnAuthenticatorAdaptor;
+import com.webauthn4j.test.client.ClientPlatform;
+
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * webauthn4j-test 에뮬레이터로 서버 응답(start)을 받아 클라이언트 요청(finish)을 만들어 주는 가상 인증기
+ * 알고리즘마다 하나의 packed 인증기를 사용합니다. 인스턴스는 스레드 안전하지 않으므로 가상 사용자마다 하나씩 사용합니다.
+ */
+public class VirtualAuthenticator {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final WebAuthnAuthenticatorAdaptor authenticatorAdaptor;
+    private final ClientPlatform clientPlatform;
+    private final COSEAlgorithmIdentifier algorithm;
+
+    public VirtualAuthenticator(Algorithm algorithm, String origin) {
+        this(new WebAuthnAuthenticatorAdaptor(new PackedAuthenticator()), algorithm.identifier, origin);
+    }
+
+    private VirtualAuthenticator(WebAuthnAuthenticatorAdaptor authenticatorAdaptor,
+                                 COSEAlgorithmIdentifier algorithm, String origin) {
+        this.authenticatorAdaptor = authenticatorAdaptor;
+        this.algorithm = algorithm;
+        this.clientPlatform = new ClientPlatform(new Origin(origin), authenticatorAdaptor);
+    }
+
+    /**
+     * 같은 인증기(등록된 키, sign count 공유)를 다른 origin의 클라이언트에서 사용합니다. (잘못된 origin 검증용)
+     */
+    public VirtualAuthenticator withOrigin(String origin) {
+        return new VirtualAuthenticator(authenticatorAdaptor, algorithm, origin);
+    }
+
+    public RegistrationFinishRequest register(RegistrationStartResponse start) {
+        PublicKeyCredentialCreationOptions options = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(start.rp().id(), start.rp().name()),
+                new PublicKeyCredentialUserEntity(
+                        DECODER.decode(start.user().id()),
+                        start.user().name(),
+                        start.user().displayName()
+                ),
+                new DefaultChallenge(DECODER.decode(start.challenge())),
+                List.of(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, algorithm)),
+                start.timeout(),
+                null,
+                null,
+                AttestationConveyancePreference.NONE,
+                null
+        );
+
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential =
+                clientPlatform.create(options);
+
+        String credentialId = ENCODER.encodeToString(credential.getRawId());
+        return new RegistrationFinishRequest(
+                start.user().name(),
+                credentialId,
+                credentialId,
+                new RegistrationFinishRequest.AuthenticatorResponse(
+                        ENCODER.encodeToString(credential.getResponse().getClientDataJSON()),
+                        ENCODER.encodeToString(credential.getResponse().getAttestationObject()),
+                        List.of("internal")
+                ),
+                "public-key"
+        );
+    }
+
+    public AuthenticationFinishRequest authenticate(AuthenticationStartResponse start) {
+        List<PublicKeyCredentialDescriptor> allowCredentials = start.allowCredentials().stream()
+                .map(c -> new PublicKeyCredentialDescriptor(PublicKeyCredentialType.PUBLIC_KEY, DECODER.decode(c.id()), null))
+                .toList();
+
+        PublicKeyCredentialRequestOptions options = new PublicKeyCredentialRequestOptions(
+                new DefaultChallenge(DECODER.decode(start.challenge())),
+                start.timeout(),
+                start.rpId(),
+                allowCredentials.isEmpty() ? null : allowCredentials,
+                UserVerificationRequirement.PREFERRED,
+                null
+        );
+
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential =
+                clientPlatform.get(options);
+
+        AuthenticatorAssertionResponse response = credential.getResponse();
+        String credentialId = ENCODER.encodeToString(credential.getRawId());
+        return new AuthenticationFinishRequest(
+                credentialId,
+                credentialId,
+                new AuthenticationFinishRequest.AuthenticatorAssertionResponse(
+                        ENCODER.encodeToString(response.getClientDataJSON()),
+                        ENCODER.encodeToString(response.getAuthenticatorData()),
+                        ENCODER.encodeToString(response.getSignature()),
+                        response.getUserHandle() != null ? ENCODER.encodeToString(response.getUserHandle()) : null
+                ),
+                "public-key",
+                start.challengeHandle()
+        );
+    }
+
+    public enum Algorithm {
+        ES256(COSEAlgorithmIdentifier.ES256),
+        RS256(COSEAlgorithmIdentifier.RS256),
+        EdDSA(COSEAlgorithmIdentifier.EdDSA);
+
+        private final COSEAlgorithmIdentifier identifier;
+
+        Algorithm(COSEAlgorithmIdentifier identifier) {
+            this.identifier = identifier;
+        }
+    }
+}
@@ -5,16 +5,22 @@ import com.example.passkey.domain.auth.dto.request.*;
 import com.example.passkey.domain.auth.dto.response.*;
 import com.example.passkey.domain.auth.service.AuthService;
 import com.example.passkey.global.captcha.RequireCaptcha;
+import com.example.passkey.global.ratelimit.RateLimit;
+import com.example.passkey.global.token.SessionTokenIssuer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Slf4j
@@ -23,19 +29,24 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final SessionTokenIssuer sessionTokenIssuer;
+
+    // start 메서드는 CompletableFuture를 반환하므로 reCAPTCHA 응답을 기다리는 동안 요청 스레드를 반납합니다 (CaptchaAspect)
 
     @Operation(summary = "등록 시작", description = "Passkey 등록을 시작하고 challenge를 발급받습니다")
     @PostMapping("/register/start")
+    @RateLimit("register-start")
     @RequireCaptcha
-    public ResponseEntity<RegistrationStartResponse> startRegistration(
+    public CompletableFuture<ResponseEntity<RegistrationStartResponse>> startRegistration(
             @Valid @RequestBody RegistrationStartRequest request) {
         log.info("Registration start for user: {}", request.username());
         RegistrationStartResponse response = authService.startRegistration(request);
-        return ResponseEntity.ok(response);
+        return CompletableFuture.completedFuture(ResponseEntity.ok(response));
     }
 
     @Operation(summary = "등록 완료", description = "클라이언트에서 생성한 credential을 검증하고 저장합니다")
     @PostMapping("/register/finish")
+    @RateLimit("register-finish")
     public ResponseEntity<RegistrationFinishResponse> finishRegistration(
             @Valid @RequestBody RegistrationFinishRequest request) {
         log.info("Registration finish for user: {}", request.username());
@@ -45,26 +56,38 @@ public class AuthController {
 
     @Operation(summary = "인증 시작", description = "Passkey 인증을 시작하고 challenge를 발급받습니다")
     @PostMapping("/authenticate/start")
+    @RateLimit("authenticate-start")
     @RequireCaptcha
-    public ResponseEntity<AuthenticationStartResponse> startAuthentication(
+    public CompletableFuture<ResponseEntity<AuthenticationStartResponse>> startAuthentication(
             @NotNull @RequestBody(required = false) AuthenticationStartRequest request) {
         log.info("Authentication start for user: {}", request != null ? request.username() : "null");
         AuthenticationStartResponse response = authService.startAuthentication(request);
-        return ResponseEntity.ok(response);
+        return CompletableFuture.completedFuture(ResponseEntity.ok(response));
     }
 
     @Operation(summary = "인증 완료", description = "서명을 검증하고 인증을 완료합니다")
     @PostMapping("/authenticate/finish")
+    @RateLimit("authenticate-finish")
     public ResponseEntity<AuthenticationFinishResponse> finishAuthentication(
             @Valid @RequestBody AuthenticationFinishRequest request) {
         log.info("Authentication finish for credentialId: {}", request.id());
         User user = authService.finishAuthentication(request);
         return ResponseEntity.ok(AuthenticationFinishResponse.success(
                 user.getId().toString(),
-                user.getUsername()
+                user.getUsername(),
+                sessionTokenIssuer.issue(user.getId(), user.getUsername(), request.id())
         ));
     }
 
+    @Operation(summary = "배치 인증 완료", description = "여러 assertion의 서명을 한 번에 검증하고 항목별 결과를 반환합니다")
+    @PostMapping("/authenticate/finish/batch")
+    @RateLimit("authenticate-finish-batch")
+    public ResponseEntity<BatchAuthenticationFinishResponse> finishAuthentications(
+            @Valid @RequestBody BatchAuthenticationFinishRequest request) {
+        log.info("Batch authentication finish for {} assertions", request.assertions().size());
+        return ResponseEntity.ok(authService.finishAuthentications(request.assertions()));
+    }
+
     @Operation(summary = "헬스 체크", description = "서버 상태를 확인합니다")
     @GetMapping("/health")
     public ResponseEntity<HealthResponse> health() {
@@ -0,0 +1,131 @@
+package com.example.passkey.domain.auth.controller;
+
+import com.example.passkey.domain.auth.dto.request.*;
+import com.example.passkey.domain.auth.dto.response.*;
+import com.example.passkey.domain.auth.service.ReactiveAuthService;
+import com.example.passkey.global.captcha.RecaptchaService;
+import com.example.passkey.global.captcha.RecaptchaService.CaptchaResult;
+import com.example.passkey.global.captcha.RequireV2CaptchaException;
+import com.example.passkey.global.ratelimit.RateLimitSubject;
+import com.example.passkey.global.ratelimit.RateLimiter;
+import com.example.passkey.global.token.SessionTokenIssuer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * {@link AuthController}의 WebFlux 버전 (reactive 프로필, 같은 경로와 요청/응답 형식)
+ *
+ * {@code @RateLimit}/{@code @RequireCaptcha} aspect는 서블릿 요청을 사용하므로, 여기서는 같은 검사를 직접 호출합니다.
+ * reCAPTCHA 검증은 {@link RecaptchaService}의 Mono를 그대로 이어 붙여 Google 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+ * 배치 인증 endpoint는 JPA 경로에만 있습니다.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "Auth", description = "Passkey(WebAuthn/FIDO2) 인증 API")
+public class ReactiveAuthController {
+
+    private static final String CAPTCHA_V3_HEADER = "X-Captcha-Token";
+    private static final String CAPTCHA_V2_HEADER = "X-Captcha-Token-V2";
+
+    private final ReactiveAuthService authService;
+    private final RecaptchaService recaptchaService;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final SessionTokenIssuer sessionTokenIssuer;
+
+    @Operation(summary = "등록 시작", description = "Passkey 등록을 시작하고 challenge를 발급받습니다")
+    @PostMapping("/register/start")
+    public Mono<ResponseEntity<RegistrationStartResponse>> startRegistration(
+            @Valid @RequestBody RegistrationStartRequest request, ServerWebExchange exchange) {
+        log.info("Registration start for user: {}", request.username());
+        return rateLimit("register-start", exchange, request)
+                .then(verifyCaptcha(exchange.getRequest()))
+                .then(authService.startRegistration(request))
+                .map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "등록 완료", description = "클라이언트에서 생성한 credential을 검증하고 저장합니다")
+    @PostMapping("/register/finish")
+    public Mono<ResponseEntity<RegistrationFinishResponse>> finishRegistration(
+            @Valid @RequestBody RegistrationFinishRequest request, ServerWebExchange exchange) {
+        log.info("Registration finish for user: {}", request.username());
+        return rateLimit("register-finish", exchange, request)
+                .then(authService.finishRegistration(request))
+                .thenReturn(ResponseEntity.ok(RegistrationFinishResponse.ok()));
+    }
+
+    @Operation(summary = "인증 시작", description = "Passkey 인증을 시작하고 challenge를 발급받습니다")
+    @PostMapping("/authenticate/start")
+    public Mono<ResponseEntity<AuthenticationStartResponse>> startAuthentication(
+            @RequestBody(required = false) AuthenticationStartRequest request, ServerWebExchange exchange) {
+        AuthenticationStartRequest body = request != null ? request : new AuthenticationStartRequest(null);
+        log.info("Authentication start for user: {}", body.username());
+        return rateLimit("authenticate-start", exchange, body)
+                .then(verifyCaptcha(exchange.getRequest()))
+                .then(authService.startAuthentication(body))
+                .map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "인증 완료", description = "서명을 검증하고 인증을 완료합니다")
+    @PostMapping("/authenticate/finish")
+    public Mono<ResponseEntity<AuthenticationFinishResponse>> finishAuthentication(
+            @Valid @RequestBody AuthenticationFinishRequest request, ServerWebExchange exchange) {
+        log.info("Authentication finish for credentialId: {}", request.id());
+        return rateLimit("authenticate-finish", exchange, request)
+                .then(authService.finishAuthentication(request))
+                .map(user -> ResponseEntity.ok(AuthenticationFinishResponse.success(
+                        user.getId().toString(),
+                        user.getUsername(),
+                        sessionTokenIssuer.issue(user.getId(), user.getUsername(), request.id())
+                )));
+    }
+
+    @Operation(summary = "헬스 체크", description = "서버 상태를 확인합니다")
+    @GetMapping("/health")
+    public Mono<ResponseEntity<HealthResponse>> health() {
+        return Mono.just(ResponseEntity.ok(HealthResponse.ok()));
+    }
+
+    private Mono<Void> rateLimit(String endpoint, ServerWebExchange exchange, RateLimitSubject subject) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        String clientIp = remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : null;
+        return Mono.fromRunnable(() -> rateLimiter.check(endpoint, clientIp, subject.rateLimitSubject()));
+    }
+
+    private Mono<Void> verifyCaptcha(ServerHttpRequest request) {
+        String v3Token = request.getHeaders().getFirst(CAPTCHA_V3_HEADER);
+        String v2Token = request.getHeaders().getFirst(CAPTCHA_V2_HEADER);
+
+        return Mono.defer(() -> recaptchaService.verify(v3Token, v2Token))
+                .doOnError(e -> recordDecision(CaptchaResult.FAIL, v2Token))
+                .flatMap(result -> {
+                    recordDecision(result, v2Token);
+                    return result == CaptchaResult.REQUIRE_V2
+                            ? Mono.error(new RequireV2CaptchaException())
+                            : Mono.empty();
+                });
+    }
+
+    private void recordDecision(CaptchaResult result, String v2Token) {
+        meterRegistry.counter("passkey.captcha.decisions",
+                "result", result.name().toLowerCase(),
+                "version", StringUtils.hasText(v2Token) ? "v2" : "v3").increment();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.passkey.domain.auth.dto.request;
 
+import com.example.passkey.global.ratelimit.RateLimitSubject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
@@ -7,8 +8,16 @@ public record AuthenticationFinishRequest(
         @NotBlank String id,      // credentialId (Base64URL)
         @NotBlank String rawId,   // credentialId raw (Base64URL)
         @Valid AuthenticatorAssertionResponse response,
-        @NotBlank String type     // "public-key"
-) {
+        @NotBlank String type,    // "public-key"
+        String challengeHandle    // start 응답의 challengeHandle (usernameless 인증일 때)
+) implements RateLimitSubject {
+
+    // 같은 credential로 반복되는 finish를 제한 (username은 finish 요청에 없음)
+    @Override
+    public String rateLimitSubject() {
+        return id;
+    }
+
     public record AuthenticatorAssertionResponse(
             String clientDataJSON,     // Base64URL
             String authenticatorData,  // Base64URL
@@ -1,6 +1,13 @@
 package com.example.passkey.domain.auth.dto.request;
 
+import com.example.passkey.global.ratelimit.RateLimitSubject;
+
 public record AuthenticationStartRequest(
         String username  // Optional: null이면 discoverable credential 사용
-) {
+) implements RateLimitSubject {
+
+    @Override
+    public String rateLimitSubject() {
+        return username;
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.passkey.domain.auth.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchAuthenticationFinishRequest(
+        @NotEmpty(message = "Assertions are required")
+        @Size(max = 100, message = "At most 100 assertions per batch")
+        List<@Valid AuthenticationFinishRequest> assertions
+) {
+}
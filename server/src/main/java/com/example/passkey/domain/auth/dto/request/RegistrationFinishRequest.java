@@ -1,17 +1,27 @@
 package com.example.passkey.domain.auth.dto.request;
 
+import com.example.passkey.global.ratelimit.RateLimitSubject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.List;
+
 public record RegistrationFinishRequest(
         @NotBlank String username,
         @NotBlank String id,      // credentialId (Base64URL)
         @NotBlank String rawId,   // credentialId raw (Base64URL)
         @Valid AuthenticatorResponse response,
         @NotBlank String type     // "public-key"
-) {
+) implements RateLimitSubject {
+
+    @Override
+    public String rateLimitSubject() {
+        return username;
+    }
+
     public record AuthenticatorResponse(
             String clientDataJSON,    // Base64URL
-            String attestationObject  // Base64URL
+            String attestationObject, // Base64URL
+            List<String> transports   // getTransports() 결과 (optional, 예: internal, hybrid)
     ) {}
 }
@@ -1,5 +1,6 @@
 package com.example.passkey.domain.auth.dto.request;
 
+import com.example.passkey.global.ratelimit.RateLimitSubject;
 import jakarta.validation.constraints.NotBlank;
 
 public record RegistrationStartRequest(
@@ -8,5 +9,10 @@ public record RegistrationStartRequest(
 
         @NotBlank(message = "Display name is required")
         String displayName
-) {
+) implements RateLimitSubject {
+
+    @Override
+    public String rateLimitSubject() {
+        return username;
+    }
 }
@@ -1,14 +1,21 @@
 package com.example.passkey.domain.auth.dto.response;
 
+import com.example.passkey.global.token.IssuedSessionToken;
+
 public record AuthenticationFinishResponse(
     boolean success,
     String message,
     String userId,
-    String username
+    String username,
+    String sessionToken,  // JWS compact, 세션 토큰이 비활성화되어 있으면 null
+    Long expiresAt        // sessionToken 만료 시각 (epoch seconds)
 ) {
 
-    public static AuthenticationFinishResponse success(String userId, String username) {
+    public static AuthenticationFinishResponse success(String userId, String username,
+        IssuedSessionToken sessionToken) {
         return new AuthenticationFinishResponse(true, "Authentication successful", userId,
-            username);
+            username,
+            sessionToken != null ? sessionToken.token() : null,
+            sessionToken != null ? sessionToken.expiresAt().getEpochSecond() : null);
     }
 }
@@ -7,12 +7,14 @@ public record AuthenticationStartResponse(
     long timeout,
     String rpId,
     List<AllowCredential> allowCredentials,
-    String userVerification
+    String userVerification,
+    String challengeHandle  // usernameless 인증일 때 finish에 그대로 돌려줄 값 (그 외에는 null)
 ) {
 
     public record AllowCredential(
         String type,
-        String id  // Base64URL encoded credentialId
+        String id,  // Base64URL encoded credentialId
+        List<String> transports  // 등록 시 받은 transports (없으면 빈 목록)
     ) {
 
     }
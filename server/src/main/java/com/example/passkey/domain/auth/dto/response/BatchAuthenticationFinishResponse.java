@@ -0,0 +1,33 @@
+package com.example.passkey.domain.auth.dto.response;
+
+import java.util.List;
+
+public record BatchAuthenticationFinishResponse(
+    int succeeded,
+    int failed,
+    List<Result> results  // 요청 순서와 동일
+) {
+
+    public static BatchAuthenticationFinishResponse of(List<Result> results) {
+        int succeeded = (int) results.stream().filter(Result::success).count();
+        return new BatchAuthenticationFinishResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    public record Result(
+        int index,
+        String credentialId,
+        boolean success,
+        String message,
+        String userId,
+        String username
+    ) {
+
+        public static Result success(int index, String credentialId, String userId, String username) {
+            return new Result(index, credentialId, true, "Authentication successful", userId, username);
+        }
+
+        public static Result failure(int index, String credentialId, String message) {
+            return new Result(index, credentialId, false, message, null, null);
+        }
+    }
+}
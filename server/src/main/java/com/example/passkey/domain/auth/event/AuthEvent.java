@@ -0,0 +1,57 @@
+package com.example.passkey.domain.auth.event;
+
+import java.util.UUID;
+
+/**
+ * 등록/인증 완료 1건의 결과 (감사 journal 기록용)
+ *
+ * 실패 이벤트의 credentialId는 검증되지 않은 요청 값이며, userId/aaguid는 알 수 없으면 null입니다.
+ *
+ * @param timestampMillis 완료 시각 (epoch millis)
+ * @param signCount       인증 성공 시 새 sign count, 등록 성공 시 초기 sign count
+ * @param latencyNanos    ceremony 시작부터 완료까지의 시간
+ */
+public record AuthEvent(
+        Type type,
+        Outcome outcome,
+        long timestampMillis,
+        UUID userId,
+        String credentialId,
+        UUID aaguid,
+        long signCount,
+        long latencyNanos
+) {
+
+    public enum Type {
+        REGISTRATION,
+        AUTHENTICATION
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        FAILURE
+    }
+
+    public static AuthEvent success(Type type, UUID userId, String credentialId, String aaguid,
+                                    long signCount, long latencyNanos) {
+        return new AuthEvent(type, Outcome.SUCCESS, System.currentTimeMillis(), userId, credentialId,
+                parseAaguid(aaguid), signCount, latencyNanos);
+    }
+
+    public static AuthEvent failure(Type type, String credentialId, long latencyNanos) {
+        return new AuthEvent(type, Outcome.FAILURE, System.currentTimeMillis(), null, credentialId,
+                null, 0, latencyNanos);
+    }
+
+    // Credential.aaguid 컬럼 값 (UUID 문자열, 없으면 null)
+    private static UUID parseAaguid(String aaguid) {
+        if (aaguid == null || aaguid.isEmpty()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(aaguid);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.passkey.domain.auth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 등록한 인증기가 attestation 정책(MDS 상태, 인증 수준, trust path)을 통과하지 못했을 때 발생하는 예외
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class AttestationRejectedException extends RuntimeException {
+
+    public AttestationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.passkey.domain.auth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Challenge 저장소가 가득 차 새 challenge를 발급할 수 없을 때 발생하는 예외
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ChallengeCapacityExceededException extends RuntimeException {
+
+    public ChallengeCapacityExceededException() {
+        super("Too many pending challenges");
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.auth.exception.AttestationRejectedException;
+import com.example.passkey.global.config.AttestationConfig;
+import com.example.passkey.global.config.AttestationConfig.Policy;
+import com.example.passkey.global.metadata.MetadataEntry;
+import com.example.passkey.global.metadata.MetadataService;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.statement.AttestationStatement;
+import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationStatement;
+import com.webauthn4j.verifier.attestation.trustworthiness.certpath.CertPathTrustworthinessVerifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 등록 attestation을 로컬 MDS 색인으로 검사합니다.
+ *
+ * 정책이 NONE이 아니면 webauthn4j가 형식별(packed, fido-u2f, tpm, android-key, apple) statement 서명을 검증하고,
+ * x5c가 있으면 이 클래스({@link CertPathTrustworthinessVerifier})를 호출합니다. NONE이면 non-strict 검증이라 statement를 보지 않습니다.
+ *
+ * <ul>
+ *     <li>METADATA: MDS에 있는 인증기면 상태를 확인하고, x5c가 있으면 MDS trust anchor까지 체인을 검증합니다.</li>
+ *     <li>REQUIRED: 추가로 MDS에 있어야 하고, x5c 체인이 있어야 하며, 인증 수준이 minCertificationLevel 이상이어야 합니다.</li>
+ *     <li>x5c 첫 인증서에 AAGUID 확장(id-fido-gen-ce-aaguid)이 있으면 authenticatorData의 AAGUID와 같아야 합니다.</li>
+ * </ul>
+ * 인증서 폐기 목록(CRL)은 확인하지 않습니다. 폐기된 인증기는 MDS status(REVOKED 등)로 거절합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttestationTrustVerifier implements CertPathTrustworthinessVerifier {
+
+    private static final String AAGUID_EXTENSION_OID = "1.3.6.1.4.1.45724.1.1.4";
+
+    private final AttestationConfig config;
+    private final MetadataService metadataService;
+
+    /**
+     * 클라이언트에 요청할 attestation conveyance
+     */
+    public String conveyance() {
+        return config.getPolicy() == Policy.NONE ? "none" : "direct";
+    }
+
+    /**
+     * webauthn4j 검증 후 MDS 상태와 인증 수준을 확인합니다. (trust path는 webauthn4j 검증 중에 확인)
+     *
+     * @throws AttestationRejectedException 정책을 통과하지 못하면
+     */
+    public void verify(AAGUID aaguid, AttestationStatement statement) {
+        Policy policy = config.getPolicy();
+        if (policy == Policy.NONE) {
+            return;
+        }
+        Optional<MetadataEntry> found = find(aaguid);
+        if (found.isEmpty()) {
+            if (policy == Policy.REQUIRED) {
+                throw new AttestationRejectedException("Authenticator is not listed in metadata: " + aaguid);
+            }
+            return;
+        }
+
+        MetadataEntry entry = found.get();
+        if (config.getRejectedStatuses().contains(entry.status())) {
+            throw new AttestationRejectedException("Authenticator status is " + entry.status());
+        }
+        if (policy == Policy.REQUIRED && entry.certificationLevel() < config.getMinCertificationLevel()) {
+            throw new AttestationRejectedException("Authenticator certification level " + entry.certificationLevel()
+                    + " is below " + config.getMinCertificationLevel());
+        }
+        // self attestation / none
+        if (policy == Policy.REQUIRED && certificates(statement).isEmpty()) {
+            throw new AttestationRejectedException("Attestation has no certificate path");
+        }
+    }
+
+    /**
+     * webauthn4j가 x5c가 있는 attestation(basic, attCA, anonCA)의 statement 서명을 검증한 뒤 호출합니다.
+     *
+     * @throws AttestationRejectedException AAGUID 확장이 다르거나 체인이 MDS trust anchor로 검증되지 않으면
+     */
+    @Override
+    public void verify(AAGUID aaguid, CertificateBaseAttestationStatement statement, Instant timestamp) {
+        List<X509Certificate> path = certificates(statement);
+        if (path.isEmpty()) {
+            throw new AttestationRejectedException("Attestation has no certificate path");
+        }
+        verifyAaguidExtension(path.get(0), aaguid);
+
+        Optional<MetadataEntry> found = find(aaguid);
+        if (found.isEmpty()) {
+            // METADATA 정책은 MDS에 없는 인증기를 허용, REQUIRED는 검증 후 verify(AAGUID, ...)에서 거절
+            return;
+        }
+        validatePath(path, found.get().trustAnchors(), timestamp);
+    }
+
+    private Optional<MetadataEntry> find(AAGUID aaguid) {
+        UUID id = aaguid != null ? aaguid.getValue() : null;
+        return id != null ? metadataService.find(id) : Optional.empty();
+    }
+
+    private static List<X509Certificate> certificates(AttestationStatement statement) {
+        return statement instanceof CertificateBaseAttestationStatement certificateBased
+                && certificateBased.getX5c() != null
+                ? List.copyOf(certificateBased.getX5c())
+                : List.of();
+    }
+
+    // 확장 값: OCTET STRING(OCTET STRING(16바이트 AAGUID))
+    private static void verifyAaguidExtension(X509Certificate certificate, AAGUID aaguid) {
+        byte[] extension = certificate.getExtensionValue(AAGUID_EXTENSION_OID);
+        if (extension == null) {
+            return;
+        }
+        if (certificate.getCriticalExtensionOIDs() != null
+                && certificate.getCriticalExtensionOIDs().contains(AAGUID_EXTENSION_OID)) {
+            throw new AttestationRejectedException("AAGUID extension must not be critical");
+        }
+        byte[] expected = aaguid != null ? aaguid.getBytes() : new byte[0];
+        if (extension.length != 20 || extension[0] != 0x04 || extension[1] != 18
+                || extension[2] != 0x04 || extension[3] != 16
+                || !Arrays.equals(extension, 4, 20, expected, 0, expected.length)) {
+            throw new AttestationRejectedException("Attestation certificate AAGUID does not match " + aaguid);
+        }
+    }
+
+    private static void validatePath(List<X509Certificate> path, List<X509Certificate> anchors, Instant timestamp) {
+        if (anchors.isEmpty()) {
+            throw new AttestationRejectedException("Metadata has no attestation root certificates");
+        }
+        Set<TrustAnchor> trustAnchors = anchors.stream()
+                .map(anchor -> new TrustAnchor(anchor, null))
+                .collect(Collectors.toSet());
+        // 인증기가 루트까지 보낸 경우 trust anchor와 중복되는 인증서는 제외
+        List<X509Certificate> certificates = path.stream().filter(certificate -> !anchors.contains(certificate)).toList();
+        if (certificates.isEmpty()) {
+            return;
+        }
+        try {
+            PKIXParameters parameters = new PKIXParameters(trustAnchors);
+            parameters.setRevocationEnabled(false);
+            parameters.setDate(timestamp != null ? Date.from(timestamp) : new Date());
+            CertPathValidator.getInstance("PKIX").validate(
+                    CertificateFactory.getInstance("X.509").generateCertPath(certificates), parameters);
+        } catch (GeneralSecurityException e) {
+            throw new AttestationRejectedException("Attestation certificate path is not trusted: " + e.getMessage());
+        }
+    }
+}
@@ -1,29 +1,42 @@
 package com.example.passkey.domain.auth.service;
 
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.domain.credential.cache.AllowCredentialsCache;
+import com.example.passkey.domain.credential.service.SignCountWriteBehind;
+import com.example.passkey.domain.auth.service.ChallengeService.IssuedChallenge;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.example.passkey.global.datasource.ReplicaReads;
+import com.example.passkey.global.shard.ShardBuckets;
+import com.example.passkey.global.shard.ShardRouter;
 import com.example.passkey.global.config.WebAuthnConfig;
+import com.example.passkey.global.metrics.CeremonyRecorder;
+import com.example.passkey.global.metrics.PasskeyMetrics;
 import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.user.cache.UserLookupCache;
+import com.example.passkey.domain.user.cache.UserSummary;
 import com.example.passkey.domain.user.entity.User;
 import com.example.passkey.domain.auth.dto.request.*;
 import com.example.passkey.domain.auth.dto.response.*;
+import com.example.passkey.domain.credential.repository.CredentialDescriptor;
 import com.example.passkey.domain.credential.repository.CredentialRepository;
 import com.example.passkey.domain.user.repository.UserRepository;
-import com.webauthn4j.WebAuthnManager;
-import com.webauthn4j.authenticator.Authenticator;
-import com.webauthn4j.authenticator.AuthenticatorImpl;
-import com.webauthn4j.converter.util.ObjectConverter;
-import com.webauthn4j.data.*;
-import com.webauthn4j.data.attestation.authenticator.AAGUID;
-import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
-import com.webauthn4j.data.attestation.authenticator.COSEKey;
-import com.webauthn4j.server.ServerProperty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,114 +44,116 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthService {
 
-    private final WebAuthnManager webAuthnManager;
+    private final WebAuthnVerifier webAuthnVerifier;
     private final WebAuthnConfig webAuthnConfig;
     private final UserRepository userRepository;
     private final CredentialRepository credentialRepository;
     private final ChallengeService challengeService;
-    private final ObjectConverter objectConverter = new ObjectConverter();
+    private final ChallengeConfig challengeConfig;
+    private final AllowCredentialsCache allowCredentialsCache;
+    private final UserLookupCache userLookupCache;
+    private final SignCountWriteBehind signCountWriteBehind;
+    private final PasskeyMetrics passkeyMetrics;
+    private final VerificationExecutor verificationExecutor;
+    private final ReplicaReads replicaReads;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 등록 시작: challenge 생성 및 옵션 반환
+     *
+     * 사용자는 username bucket이 배치된 shard에 만듭니다.
      */
     @Transactional
     public RegistrationStartResponse startRegistration(RegistrationStartRequest request) {
-        // 사용자 생성 또는 조회
-        User user = userRepository.findByUsername(request.username())
-                .orElseGet(() -> {
-                    User newUser = new User(request.username(), request.displayName());
-                    return userRepository.save(newUser);
-                });
-
-        // Challenge 생성 및 저장
-        byte[] challenge = webAuthnConfig.generateChallenge().getValue();
-        challengeService.storeChallenge(request.username(), challenge);
-
-        // 응답 생성
-        return new RegistrationStartResponse(
-                Base64.getUrlEncoder().withoutPadding().encodeToString(challenge),
-                new RegistrationStartResponse.RelyingParty(
-                        webAuthnConfig.getRpId(),
-                        webAuthnConfig.getRpName()
-                ),
-                new RegistrationStartResponse.UserInfo(
-                        Base64.getUrlEncoder().withoutPadding().encodeToString(user.getId().toString().getBytes()),
-                        user.getUsername(),
-                        user.getDisplayName()
-                ),
-                List.of(
-                        new RegistrationStartResponse.PubKeyCredParam("public-key", -7),  // ES256
-                        new RegistrationStartResponse.PubKeyCredParam("public-key", -257)  // RS256
-                ),
-                60000L,
-                "none"
-        );
+        CeremonyRecorder metrics = passkeyMetrics.start("registration.start");
+        try {
+            // 사용자 생성 또는 조회
+            int bucket = ShardBuckets.bucketOf(request.username());
+            UserSummary user = metrics.phase("user_lookup", () -> shardRouter.onShard(shardRouter.shardOf(bucket),
+                    () -> userLookupCache.findForUpdate(request.username())
+                            .orElseGet(() -> {
+                                shardRouter.checkWritable(bucket);
+                                // 커밋 시점이 아니라 지금(이 shard에서) INSERT
+                                User newUser = userRepository.saveAndFlush(
+                                        new User(request.username(), request.displayName()));
+                                UserSummary created = UserSummary.from(newUser);
+                                userLookupCache.registerCreated(created);
+                                return created;
+                            })));
+
+            // Challenge 발급
+            byte[] challenge = metrics.phase("challenge",
+                    () -> challengeService.issueChallenge(ChallengePurpose.REGISTRATION, request.username()));
+
+            // 응답 생성
+            RegistrationStartResponse response = new RegistrationStartResponse(
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(challenge),
+                    new RegistrationStartResponse.RelyingParty(
+                            webAuthnConfig.getRpId(),
+                            webAuthnConfig.getRpName()
+                    ),
+                    new RegistrationStartResponse.UserInfo(
+                            Base64.getUrlEncoder().withoutPadding().encodeToString(user.id().toString().getBytes()),
+                            user.username(),
+                            user.displayName()
+                    ),
+                    List.of(
+                            new RegistrationStartResponse.PubKeyCredParam("public-key", -7),  // ES256
+                            new RegistrationStartResponse.PubKeyCredParam("public-key", -257)  // RS256
+                    ),
+                    challengeConfig.getTimeout(),
+                    webAuthnVerifier.attestationConveyance()
+            );
+            metrics.success();
+            return response;
+        } catch (RuntimeException e) {
+            throw metrics.failure(e);
+        }
     }
 
     /**
      * 등록 완료: 클라이언트 응답 검증 및 credential 저장
+     *
+     * credential은 소유자 shard에 저장하고, 그 전에 credential ID 인덱스를 기록합니다.
      */
     @Transactional
     public void finishRegistration(RegistrationFinishRequest request) {
-        User user = userRepository.findByUsername(request.username())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        byte[] challenge = challengeService.getAndRemoveChallenge(request.username());
-        if (challenge == null) {
-            throw new RuntimeException("Challenge not found or expired");
+        CeremonyRecorder metrics = passkeyMetrics.start("registration.finish");
+        try {
+            int bucket = ShardBuckets.bucketOf(request.username());
+            int shard = shardRouter.shardOf(bucket);
+            shardRouter.checkWritable(bucket);
+
+            UserSummary user = metrics.phase("user_lookup", () -> shardRouter.onShard(shard,
+                    () -> userLookupCache.findForUpdate(request.username())
+                            .orElseThrow(() -> new RuntimeException("User not found"))));
+
+            // challenge 소비, 검증, 저장할 credential 생성
+            Credential credential = webAuthnVerifier.verifyRegistration(metrics, request);
+
+            metrics.phase("persist", () -> {
+                shardRouter.registerCredential(credential.getCredentialId(), bucket);
+                shardRouter.onShard(shard, () -> {
+                    // User 프록시만 연결 (users 조회, credentials 컬렉션 로딩 없음)
+                    credential.setUser(userRepository.getReferenceById(user.id()));
+                    credential.setShardBucket(bucket);
+                    return credentialRepository.save(credential);
+                });
+            });
+            // 커밋 전에 무효화하면 그 사이 다른 요청이 이전 목록을 다시 적재할 수 있음
+            allowCredentialsCache.invalidateAfterCommit(user.username());
+
+            metrics.success();
+            eventPublisher.publishEvent(AuthEvent.success(AuthEvent.Type.REGISTRATION, user.id(),
+                    credential.getCredentialId(), credential.getAaguid(), credential.getSignCount(),
+                    metrics.elapsedNanos()));
+            log.info("Passkey registered for user: {}", user.username());
+        } catch (RuntimeException e) {
+            eventPublisher.publishEvent(AuthEvent.failure(AuthEvent.Type.REGISTRATION, request.id(),
+                    metrics.elapsedNanos()));
+            throw metrics.failure(e);
         }
-
-        // Base64URL 디코딩
-        byte[] clientDataJSON = Base64.getUrlDecoder().decode(request.response().clientDataJSON());
-        byte[] attestationObject = Base64.getUrlDecoder().decode(request.response().attestationObject());
-
-        // 서버 속성 생성
-        ServerProperty serverProperty = webAuthnConfig.createServerProperty(challenge);
-
-        // 등록 데이터 생성
-        RegistrationRequest registrationRequest = new RegistrationRequest(
-                attestationObject,
-                clientDataJSON
-        );
-
-        RegistrationParameters registrationParameters = new RegistrationParameters(
-                serverProperty,
-                null,  // pubKeyCredParams
-                false  // userVerificationRequired
-        );
-
-        // WebAuthn 검증
-        RegistrationData registrationData = webAuthnManager.parse(registrationRequest);
-        webAuthnManager.verify(registrationData, registrationParameters);
-
-        // Credential 저장
-        AttestedCredentialData attestedCredentialData = registrationData
-                .getAttestationObject()
-                .getAuthenticatorData()
-                .getAttestedCredentialData();
-
-        byte[] credentialIdBytes = attestedCredentialData.getCredentialId();
-        String credentialId = Base64.getUrlEncoder().withoutPadding().encodeToString(credentialIdBytes);
-
-        // 공개키 직렬화
-        COSEKey coseKey = attestedCredentialData.getCOSEKey();
-        byte[] publicKeyBytes = objectConverter.getCborConverter().writeValueAsBytes(coseKey);
-
-        String aaguid = attestedCredentialData.getAaguid() != null
-                ? attestedCredentialData.getAaguid().toString()
-                : null;
-
-        Credential credential = new Credential(
-                credentialId,
-                publicKeyBytes,
-                registrationData.getAttestationObject().getAuthenticatorData().getSignCount(),
-                aaguid
-        );
-
-        user.addCredential(credential);
-        credentialRepository.save(credential);
-
-        log.info("Passkey registered for user: {}", user.getUsername());
     }
 
     /**
@@ -146,116 +161,200 @@ public class AuthService {
      */
     @Transactional(readOnly = true)
     public AuthenticationStartResponse startAuthentication(AuthenticationStartRequest request) {
-        // Challenge 생성
-        byte[] challenge = webAuthnConfig.generateChallenge().getValue();
-
-        List<AuthenticationStartResponse.AllowCredential> allowCredentials;
-        String challengeKey;
-
-        if (request.username() != null && !request.username().isEmpty()) {
-            // 특정 사용자의 credentials 조회
-            User user = userRepository.findByUsername(request.username())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            allowCredentials = user.getCredentials().stream()
-                    .map(c -> new AuthenticationStartResponse.AllowCredential("public-key", c.getCredentialId()))
-                    .collect(Collectors.toList());
-
-            challengeKey = request.username();
-        } else {
-            // Discoverable credential 사용 (allowCredentials 비움)
-            allowCredentials = Collections.emptyList();
-            challengeKey = "anonymous_" + System.currentTimeMillis();
+        CeremonyRecorder metrics = passkeyMetrics.start("authentication.start");
+        try {
+            List<AuthenticationStartResponse.AllowCredential> allowCredentials;
+            IssuedChallenge issued;
+
+            if (request.username() != null && !request.username().isEmpty()) {
+                // 특정 사용자의 credentials 조회
+                int shard = shardRouter.shardForUsername(request.username());
+                allowCredentials = metrics.phase("credential_lookup", () -> shardRouter.onShard(shard, () -> {
+                    // 없는 username은 Bloom filter / negative 캐시에서 DB 조회 없이 거절
+                    if (userLookupCache.find(request.username()).isEmpty()) {
+                        throw new RuntimeException("User not found");
+                    }
+
+                    // User 엔티티와 공개키(@Lob)를 읽지 않고 credential ID/transports만 조회
+                    // replica에 아직 없는 방금 등록된 credential은 primary에서 다시 조회
+                    List<CredentialDescriptor> descriptors = allowCredentialsCache.get(request.username(),
+                            username -> replicaReads.read(
+                                    () -> credentialRepository.findDescriptorsByUsername(username), List::isEmpty));
+
+                    return descriptors.stream()
+                            .map(c -> new AuthenticationStartResponse.AllowCredential(
+                                    "public-key", c.credentialId(), c.transportList()))
+                            .collect(Collectors.toList());
+                }));
+
+                // Challenge 발급
+                issued = metrics.phase("challenge", () -> new IssuedChallenge(
+                        challengeService.issueChallenge(ChallengePurpose.AUTHENTICATION, request.username()), null));
+            } else {
+                // Discoverable credential 사용 (allowCredentials 비움), finish는 handle로 challenge를 찾음
+                allowCredentials = Collections.emptyList();
+                issued = metrics.phase("challenge",
+                        () -> challengeService.issueDiscoverableChallenge(ChallengePurpose.AUTHENTICATION));
+            }
+
+            AuthenticationStartResponse response = new AuthenticationStartResponse(
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(issued.challenge()),
+                    challengeConfig.getTimeout(),
+                    webAuthnConfig.getRpId(),
+                    allowCredentials,
+                    "preferred",
+                    issued.handle()
+            );
+            metrics.success();
+            return response;
+        } catch (RuntimeException e) {
+            throw metrics.failure(e);
         }
-
-        challengeService.storeChallenge(challengeKey, challenge);
-
-        return new AuthenticationStartResponse(
-                Base64.getUrlEncoder().withoutPadding().encodeToString(challenge),
-                60000L,
-                webAuthnConfig.getRpId(),
-                allowCredentials,
-                "preferred"
-        );
     }
 
     /**
      * 인증 완료: 서명 검증
+     *
+     * credential 조회는 읽기 전용 트랜잭션(replica)에서 하고, 검증 중에는 DB 연결을 잡고 있지 않습니다.
+     * replica의 sign count는 최대 복제 지연만큼 이전 값일 수 있으므로, 이 노드가 최근 기록한 값을
+     * {@link SignCountWriteBehind#currentSignCount}가 하한으로 적용합니다.
+     * sign count는 write-behind 대기열에 넣거나(기본) 동기 모드에서는 별도 트랜잭션으로 저장합니다.
+     * credential이 있는 shard는 userHandle의 bucket으로, 없으면 credential ID 인덱스로 찾습니다.
      */
-    @Transactional
     public User finishAuthentication(AuthenticationFinishRequest request) {
-        // Credential 조회
-        Credential credential = credentialRepository.findByCredentialId(request.id())
-                .orElseThrow(() -> new RuntimeException("Credential not found"));
-
-        User user = credential.getUser();
-
-        byte[] challenge = challengeService.getAndRemoveChallenge(user.getUsername());
-        if (challenge == null) {
-            throw new RuntimeException("Challenge not found or expired");
+        CeremonyRecorder metrics = passkeyMetrics.start("authentication.finish");
+        try {
+            // Credential 조회 (replica에서 못 찾으면 primary)
+            Credential credential = metrics.phase("credential_lookup", () -> {
+                int shard = shardRouter.shardForAssertion(request.id(), request.response().userHandle());
+                if (shard < 0) {
+                    throw new RuntimeException("Credential not found");
+                }
+                return shardRouter.onShard(shard, () -> replicaReads.read(
+                                () -> credentialRepository.findWithUserByCredentialId(request.id()), Optional::isEmpty))
+                        .orElseThrow(() -> new RuntimeException("Credential not found"));
+            });
+
+            User user = credential.getUser();
+
+            VerifiedAssertion verified = verifyAssertion(
+                    metrics, request, credential, signCountWriteBehind.currentSignCount(credential));
+
+            // Sign count 업데이트 (write-behind)
+            metrics.phase("sign_count", () -> signCountWriteBehind.record(
+                    credential, verified.signCount()));
+
+            metrics.success();
+            eventPublisher.publishEvent(AuthEvent.success(AuthEvent.Type.AUTHENTICATION, user.getId(),
+                    credential.getCredentialId(), credential.getAaguid(), verified.signCount(),
+                    metrics.elapsedNanos()));
+            log.info("User authenticated: {}", user.getUsername());
+            return user;
+        } catch (RuntimeException e) {
+            eventPublisher.publishEvent(AuthEvent.failure(AuthEvent.Type.AUTHENTICATION, request.id(),
+                    metrics.elapsedNanos()));
+            throw metrics.failure(e);
         }
-
-        // Base64URL 디코딩
-        byte[] credentialId = Base64.getUrlDecoder().decode(request.id());
-        byte[] clientDataJSON = Base64.getUrlDecoder().decode(request.response().clientDataJSON());
-        byte[] authenticatorData = Base64.getUrlDecoder().decode(request.response().authenticatorData());
-        byte[] signature = Base64.getUrlDecoder().decode(request.response().signature());
-
-        // 서버 속성 생성
-        ServerProperty serverProperty = webAuthnConfig.createServerProperty(challenge);
-
-        // 인증 데이터 생성
-        AuthenticationRequest authenticationRequest = new AuthenticationRequest(
-                credentialId,
-                null,  // userHandle
-                authenticatorData,
-                clientDataJSON,
-                null,  // clientExtensionJSON
-                signature
-        );
-
-        AuthenticationParameters authenticationParameters = new AuthenticationParameters(
-                serverProperty,
-                buildAuthenticator(credential),
-                null,  // allowCredentials
-                false  // userVerificationRequired
-        );
-
-        // WebAuthn 검증
-        AuthenticationData authenticationData = webAuthnManager.parse(authenticationRequest);
-        webAuthnManager.verify(authenticationData, authenticationParameters);
-
-        // Sign count 업데이트
-        credential.updateSignCount(authenticationData.getAuthenticatorData().getSignCount());
-        credentialRepository.save(credential);
-
-        log.info("User authenticated: {}", user.getUsername());
-        return user;
     }
 
-    private Authenticator buildAuthenticator(Credential credential) {
-        COSEKey coseKey = objectConverter.getCborConverter()
-                .readValue(credential.getPublicKey(), COSEKey.class);
-
-        // AAGUID 생성 (저장된 값이 없으면 ZERO 사용)
-        AAGUID aaguid;
-        if (credential.getAaguid() != null && !credential.getAaguid().isEmpty()) {
-            aaguid = new AAGUID(credential.getAaguid());
-        } else {
-            aaguid = AAGUID.ZERO;
+    /**
+     * 배치 인증 완료: 여러 assertion을 한 번에 검증하고 항목별 결과를 돌려줍니다.
+     *
+     * credential은 IN 쿼리 한 번으로 조회하고, 서명 검증은 {@link VerificationExecutor}에서 병렬로 수행합니다.
+     * 같은 credential의 assertion은 sign count 순서가 있으므로 한 작업 안에서 요청 순서대로 검증합니다.
+     * sign count는 모든 검증이 끝난 뒤 한 번에 기록합니다.
+     * credential 조회는 읽기 전용 트랜잭션(replica)에서 하며, 하나라도 없으면 primary에서 다시 조회합니다.
+     * 샤딩 중에는 credential이 있는 shard별로 IN 쿼리를 한 번씩 실행합니다.
+     */
+    public BatchAuthenticationFinishResponse finishAuthentications(List<AuthenticationFinishRequest> requests) {
+        CeremonyRecorder metrics = passkeyMetrics.start("authentication.batch");
+        try {
+            Map<String, Credential> credentials = metrics.phase("credential_lookup", () -> {
+                // shard -> credential ID (어느 shard에도 없는 ID는 아래에서 "Credential not found")
+                Map<Integer, Set<String>> credentialIdsByShard = new HashMap<>();
+                for (AuthenticationFinishRequest request : requests) {
+                    int shard = shardRouter.shardForAssertion(request.id(), request.response().userHandle());
+                    if (shard >= 0) {
+                        credentialIdsByShard.computeIfAbsent(shard, s -> new HashSet<>()).add(request.id());
+                    }
+                }
+                Map<String, Credential> found = new HashMap<>();
+                credentialIdsByShard.forEach((shard, credentialIds) -> shardRouter.onShard(shard,
+                                () -> replicaReads.read(
+                                        () -> credentialRepository.findAllWithUserByCredentialIdIn(credentialIds),
+                                        loaded -> loaded.size() < credentialIds.size()))
+                        .forEach(credential -> found.put(credential.getCredentialId(), credential)));
+                return found;
+            });
+
+            // credentialId -> 요청 인덱스 목록
+            Map<String, List<Integer>> groups = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                groups.computeIfAbsent(requests.get(i).id(), id -> new ArrayList<>()).add(i);
+            }
+
+            BatchAuthenticationFinishResponse.Result[] results =
+                    new BatchAuthenticationFinishResponse.Result[requests.size()];
+            Map<Credential, Long> signCounts = new ConcurrentHashMap<>();
+
+            metrics.phase("verify", () -> verificationExecutor.map(List.copyOf(groups.values()), indexes -> {
+                Credential credential = credentials.get(requests.get(indexes.get(0)).id());
+                long signCount = credential != null ? signCountWriteBehind.currentSignCount(credential) : 0;
+                boolean verified = false;
+
+                for (int index : indexes) {
+                    AuthenticationFinishRequest request = requests.get(index);
+                    CeremonyRecorder item = passkeyMetrics.start("authentication.batch_item");
+                    try {
+                        if (credential == null) {
+                            throw new RuntimeException("Credential not found");
+                        }
+                        VerifiedAssertion assertion = verifyAssertion(item, request, credential, signCount);
+                        signCount = Math.max(signCount, assertion.signCount());
+                        verified = true;
+                        item.success();
+
+                        User user = credential.getUser();
+                        eventPublisher.publishEvent(AuthEvent.success(AuthEvent.Type.AUTHENTICATION, user.getId(),
+                                credential.getCredentialId(), credential.getAaguid(), assertion.signCount(),
+                                item.elapsedNanos()));
+                        results[index] = BatchAuthenticationFinishResponse.Result.success(
+                                index, request.id(), user.getId().toString(), user.getUsername());
+                    } catch (RuntimeException e) {
+                        item.failure(e);
+                        eventPublisher.publishEvent(AuthEvent.failure(AuthEvent.Type.AUTHENTICATION, request.id(),
+                                item.elapsedNanos()));
+                        results[index] = BatchAuthenticationFinishResponse.Result.failure(
+                                index, request.id(), e.getMessage());
+                    }
+                }
+
+                if (verified) {
+                    signCounts.put(credential, signCount);
+                }
+                return null;
+            }));
+
+            metrics.phase("sign_count", () -> signCountWriteBehind.recordAll(signCounts));
+
+            BatchAuthenticationFinishResponse response = BatchAuthenticationFinishResponse.of(List.of(results));
+            metrics.success();
+            log.info("Batch authentication: {} succeeded, {} failed", response.succeeded(), response.failed());
+            return response;
+        } catch (RuntimeException e) {
+            throw metrics.failure(e);
         }
+    }
 
-        // AttestedCredentialData 생성
-        AttestedCredentialData attestedCredentialData = new AttestedCredentialData(
-                aaguid,
-                Base64.getUrlDecoder().decode(credential.getCredentialId()),
-                coseKey
-        );
-
-        return new AuthenticatorImpl(
-                attestedCredentialData,
-                null,  // attestationStatement
-                credential.getSignCount()
-        );
+    /**
+     * assertion 1건을 검증합니다. User 프록시의 id만 넘기므로 usernameless 인증은 users를 조회하지 않습니다.
+     *
+     * @param storedSignCount 비교 기준 sign count
+     */
+    private VerifiedAssertion verifyAssertion(CeremonyRecorder metrics, AuthenticationFinishRequest request,
+                                              Credential credential, long storedSignCount) {
+        User user = credential.getUser();
+        return webAuthnVerifier.verifyAssertion(
+                metrics, request, credential, user.getId(), user::getUsername, storedSignCount);
     }
 }
@@ -0,0 +1,19 @@
+package com.example.passkey.domain.auth.service;
+
+/**
+ * Challenge 발급 목적 (등록 / 인증)
+ */
+public enum ChallengePurpose {
+    REGISTRATION((byte) 1),
+    AUTHENTICATION((byte) 2);
+
+    private final byte code;
+
+    ChallengePurpose(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+}
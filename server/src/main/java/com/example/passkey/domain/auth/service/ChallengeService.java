@@ -1,22 +1,140 @@
 package com.example.passkey.domain.auth.service;
 
+import com.example.passkey.domain.auth.exception.ChallengeCapacityExceededException;
+import com.example.passkey.domain.auth.service.ChallengeStore.ChallengeStoreStats;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.webauthn4j.converter.CollectedClientDataConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.client.CollectedClientData;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.security.SecureRandom;
+import java.util.Base64;
 
 /**
- * Challenge를 임시 저장하는 서비스
- * 실제 운영환경에서는 Redis 등을 사용해야 함
+ * Challenge를 발급하고 검증하는 서비스
+ *
+ * STORE 모드: 발급한 challenge를 메모리에 저장하며, timeout 이후 만료되고 최대 보관 개수를 넘으면 새 발급을 거부합니다.
+ * SEALED 모드: 서명된 self-contained challenge를 발급하므로 start/finish가 다른 노드로 가도 저장소 조회 없이 검증됩니다.
+ * 재사용은 노드별 nonce tombstone으로 막으므로, 노드 간 replay까지 막으려면 tombstone 공유가 필요합니다.
+ * usernameless 인증은 STORE 모드에서 username 대신 발급 시 돌려준 handle로 challenge를 찾습니다.
  */
 @Service
+@Slf4j
 public class ChallengeService {
 
-    // username -> challenge (Base64 encoded)
-    private final Map<String, byte[]> challengeStore = new ConcurrentHashMap<>();
+    // 저장소 key 네임스페이스 (username과 handle이 겹치지 않도록)
+    private static final String USER_KEY_PREFIX = "u:";
+    private static final String HANDLE_KEY_PREFIX = "h:";
+    private static final int HANDLE_LENGTH = 16;
+
+    private final ChallengeConfig challengeConfig;
+    private final SecureRandom secureRandom;
+
+    // key("u:"+username 또는 "h:"+handle) -> challenge
+    private final ChallengeStore challengeStore;
+
+    private final SealedChallengeCodec sealedChallengeCodec;
+    private final UsedNonceSet usedNonces;
+    private final CollectedClientDataConverter collectedClientDataConverter =
+            new CollectedClientDataConverter(new ObjectConverter());
+
+    public ChallengeService(ChallengeConfig challengeConfig, SecureRandom secureRandom) {
+        this.challengeConfig = challengeConfig;
+        this.secureRandom = secureRandom;
+        this.challengeStore = new ChallengeStore(
+                challengeConfig.getMaxEntries(),
+                challengeConfig.getTimeout(),
+                challengeConfig.getTickMillis()
+        );
+
+        ChallengeConfig.SealedConfig sealed = challengeConfig.getSealed();
+        if (isSealed() && !StringUtils.hasText(sealed.getSecret())) {
+            log.warn("webauthn.challenge.sealed.secret is not set, sealed challenges are only valid on this node");
+        }
+        this.sealedChallengeCodec = new SealedChallengeCodec(
+                resolveSealingSecret(sealed, secureRandom),
+                sealed.getKeyRotationMillis(),
+                challengeConfig.getTimeout(),
+                sealed.getClockSkewMillis(),
+                secureRandom,
+                System::currentTimeMillis
+        );
+        this.usedNonces = new UsedNonceSet(
+                challengeConfig.getTimeout() + sealed.getClockSkewMillis(),
+                challengeConfig.getTickMillis()
+        );
+    }
+
+    /**
+     * ceremony 시작 시 challenge를 발급합니다.
+     *
+     * @param username 대상 사용자 (usernameless 인증은 {@link #issueDiscoverableChallenge} 사용)
+     */
+    public byte[] issueChallenge(ChallengePurpose purpose, String username) {
+        if (isSealed()) {
+            return sealedChallengeCodec.seal(purpose, username);
+        }
+        if (username == null) {
+            throw new IllegalArgumentException("username is required, use issueDiscoverableChallenge");
+        }
+
+        byte[] challenge = newChallenge();
+        storeChallenge(USER_KEY_PREFIX + username, challenge);
+        return challenge;
+    }
+
+    /**
+     * usernameless(discoverable credential) 인증용 challenge를 발급합니다.
+     *
+     * STORE 모드에서는 임의의 handle을 만들어 그 값으로 저장하므로, 동시에 시작한 ceremony끼리 덮어쓰지 않고
+     * finish에서 handle 하나로 바로 찾습니다. SEALED 모드는 challenge 자체로 검증하므로 handle이 없습니다.
+     */
+    public IssuedChallenge issueDiscoverableChallenge(ChallengePurpose purpose) {
+        if (isSealed()) {
+            return new IssuedChallenge(sealedChallengeCodec.seal(purpose, null), null);
+        }
+
+        byte[] challenge = newChallenge();
+        byte[] handleBytes = new byte[HANDLE_LENGTH];
+        secureRandom.nextBytes(handleBytes);
+        String handle = Base64.getUrlEncoder().withoutPadding().encodeToString(handleBytes);
+        storeChallenge(HANDLE_KEY_PREFIX + handle, challenge);
+        return new IssuedChallenge(challenge, handle);
+    }
+
+    /**
+     * ceremony 완료 시 challenge를 한 번만 사용할 수 있도록 꺼냅니다.
+     *
+     * @param clientDataJSON SEALED 모드에서 challenge를 읽어 올 클라이언트 데이터
+     * @return 유효한 challenge, 없거나 만료/위조/재사용이면 null
+     */
+    public byte[] consumeChallenge(ChallengePurpose purpose, String username, byte[] clientDataJSON) {
+        if (!isSealed()) {
+            return getAndRemoveChallenge(USER_KEY_PREFIX + username);
+        }
+        return openSealed(purpose, username, clientDataJSON);
+    }
+
+    /**
+     * {@link #issueDiscoverableChallenge}로 발급한 challenge를 한 번만 사용할 수 있도록 꺼냅니다.
+     *
+     * @param handle 발급 시 돌려준 handle (SEALED 모드에서는 무시)
+     * @return 유효한 challenge, 없거나 만료/위조/재사용이면 null
+     */
+    public byte[] consumeDiscoverableChallenge(ChallengePurpose purpose, String handle, byte[] clientDataJSON) {
+        if (!isSealed()) {
+            return handle != null ? getAndRemoveChallenge(HANDLE_KEY_PREFIX + handle) : null;
+        }
+        return openSealed(purpose, null, clientDataJSON);
+    }
 
     public void storeChallenge(String key, byte[] challenge) {
-        challengeStore.put(key, challenge);
+        if (!challengeStore.put(key, challenge)) {
+            throw new ChallengeCapacityExceededException();
+        }
     }
 
     public byte[] getChallenge(String key) {
@@ -28,6 +146,59 @@ public class ChallengeService {
     }
 
     public boolean hasChallenge(String key) {
-        return challengeStore.containsKey(key);
+        return challengeStore.contains(key);
+    }
+
+    public ChallengeStoreStats getStats() {
+        return challengeStore.stats();
+    }
+
+    public int getUsedNonceCount() {
+        return usedNonces.size();
+    }
+
+    private byte[] openSealed(ChallengePurpose purpose, String username, byte[] clientDataJSON) {
+        CollectedClientData clientData = collectedClientDataConverter.convert(clientDataJSON);
+        if (clientData == null || clientData.getChallenge() == null) {
+            return null;
+        }
+        byte[] challenge = clientData.getChallenge().getValue();
+
+        long issuedAt = sealedChallengeCodec.open(challenge, purpose, username);
+        if (issuedAt < 0) {
+            log.warn("Invalid sealed challenge for user: {}", username);
+            return null;
+        }
+        if (!usedNonces.markUsed(SealedChallengeCodec.nonceFingerprint(challenge), issuedAt)) {
+            log.warn("Replayed sealed challenge for user: {}", username);
+            return null;
+        }
+        return challenge;
+    }
+
+    private byte[] newChallenge() {
+        byte[] challenge = new byte[ChallengeStore.CHALLENGE_LENGTH];
+        secureRandom.nextBytes(challenge);
+        return challenge;
+    }
+
+    private boolean isSealed() {
+        return challengeConfig.getMode() == ChallengeConfig.Mode.SEALED;
+    }
+
+    private static byte[] resolveSealingSecret(ChallengeConfig.SealedConfig sealed, SecureRandom secureRandom) {
+        if (StringUtils.hasText(sealed.getSecret())) {
+            return Base64.getDecoder().decode(sealed.getSecret());
+        }
+        // 비밀 키가 없으면 노드마다 임의 키를 사용 (단일 노드에서만 유효)
+        byte[] secret = new byte[32];
+        secureRandom.nextBytes(secret);
+        return secret;
+    }
+
+    /**
+     * @param handle usernameless 인증 finish에서 challenge를 찾을 값 (SEALED 모드면 null)
+     */
+    public record IssuedChallenge(byte[] challenge, String handle) {
     }
 }
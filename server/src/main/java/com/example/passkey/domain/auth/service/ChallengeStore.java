@@ -0,0 +1,354 @@
+package com.example.passkey.domain.auth.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 만료 시간과 최대 개수가 정해진 challenge 전용 저장소
+ *
+ * <ul>
+ *     <li>challenge 값은 32바이트 고정 슬롯으로 하나의 byte[]에 연속 저장합니다.</li>
+ *     <li>key 조회는 open addressing 해시 테이블(int[])로 처리해 엔트리당 객체 할당이 없습니다.</li>
+ *     <li>만료는 tick 단위 타이머 휠 버킷으로 처리하며, 지나간 버킷만 정리하므로 전체 스캔이 없습니다.</li>
+ *     <li>빈 슬롯이 없으면 새 key는 거부합니다(admission control). 기존 key 갱신은 항상 허용됩니다.</li>
+ * </ul>
+ */
+public class ChallengeStore {
+
+    public static final int CHALLENGE_LENGTH = 32;
+
+    private static final int EMPTY = 0;
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 슬롯 데이터
+    private final byte[] values;
+    private final String[] keys;
+    private final int[] hashes;
+    private final long[] expiresAt;
+    private final int[] freeSlots;
+    private int freeTop;
+    private int size;
+
+    // key -> slot + 1 (0 = 비어 있음)
+    private final int[] table;
+    private final int mask;
+
+    // 만료 타이머 휠: 버킷마다 slot 번호 목록
+    private final int[][] wheel;
+    private final int[] wheelSizes;
+    // slot이 마지막으로 들어간 버킷 (-1 = 없음). 같은 버킷에는 slot당 엔트리 하나만 둡니다.
+    private final int[] scheduledBucket;
+    private long sweptTick;
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ChallengeStore(int capacity, long ttlMillis, long tickMillis) {
+        this(capacity, ttlMillis, tickMillis, System::currentTimeMillis);
+    }
+
+    public ChallengeStore(int capacity, long ttlMillis, long tickMillis, LongSupplier clock) {
+        if (capacity <= 0 || ttlMillis <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("capacity, ttl and tick must be positive");
+        }
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+
+        this.values = new byte[capacity * CHALLENGE_LENGTH];
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.expiresAt = new long[capacity];
+        this.freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        this.freeTop = capacity;
+        this.scheduledBucket = new int[capacity];
+        Arrays.fill(scheduledBucket, -1);
+
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+
+        int wheelSize = (int) ((ttlMillis + tickMillis - 1) / tickMillis) + 2;
+        this.wheel = new int[wheelSize][];
+        this.wheelSizes = new int[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new int[8];
+        }
+        this.sweptTick = clock.getAsLong() / tickMillis;
+    }
+
+    /**
+     * challenge를 저장합니다.
+     *
+     * @return 저장소가 가득 차 새 key를 받을 수 없으면 false
+     */
+    public boolean put(String key, byte[] challenge) {
+        if (challenge.length != CHALLENGE_LENGTH) {
+            throw new IllegalArgumentException("Challenge must be " + CHALLENGE_LENGTH + " bytes");
+        }
+        int hash = spread(key.hashCode());
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            advance(now);
+
+            int slot = find(key, hash);
+            if (slot < 0) {
+                if (freeTop == 0) {
+                    rejected.increment();
+                    return false;
+                }
+                slot = freeSlots[--freeTop];
+                keys[slot] = key;
+                hashes[slot] = hash;
+                insertIndex(slot, hash);
+                size++;
+            }
+            System.arraycopy(challenge, 0, values, slot * CHALLENGE_LENGTH, CHALLENGE_LENGTH);
+            expiresAt[slot] = now + ttlMillis;
+            schedule(slot);
+            stored.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 만료되지 않은 challenge를 반환합니다. 저장소에서는 제거하지 않습니다.
+     */
+    public byte[] get(String key) {
+        return lookup(key, false);
+    }
+
+    /**
+     * 만료되지 않은 challenge를 반환하고 저장소에서 제거합니다.
+     */
+    public byte[] remove(String key) {
+        return lookup(key, true);
+    }
+
+    public boolean contains(String key) {
+        int hash = spread(key.hashCode());
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            advance(now);
+            int slot = find(key, hash);
+            return slot >= 0 && expiresAt[slot] > now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ChallengeStoreStats stats() {
+        int currentSize;
+        lock.lock();
+        try {
+            currentSize = size;
+        } finally {
+            lock.unlock();
+        }
+        return new ChallengeStoreStats(
+                currentSize,
+                capacity,
+                stored.sum(),
+                hits.sum(),
+                misses.sum(),
+                expired.sum(),
+                rejected.sum()
+        );
+    }
+
+    private byte[] lookup(String key, boolean consume) {
+        int hash = spread(key.hashCode());
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            advance(now);
+
+            int slot = find(key, hash);
+            if (slot < 0) {
+                misses.increment();
+                return null;
+            }
+            if (expiresAt[slot] <= now) {
+                // 아직 휠이 돌지 않은 현재 tick 버킷의 만료 엔트리
+                release(slot);
+                expired.increment();
+                misses.increment();
+                return null;
+            }
+
+            int offset = slot * CHALLENGE_LENGTH;
+            byte[] challenge = Arrays.copyOfRange(values, offset, offset + CHALLENGE_LENGTH);
+            if (consume) {
+                release(slot);
+            }
+            hits.increment();
+            return challenge;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 시각 이전의 tick 버킷들을 정리합니다. 지나간 버킷만 방문하므로 비용은 만료 엔트리 수에 비례합니다.
+     */
+    private void advance(long now) {
+        long nowTick = now / tickMillis;
+        if (nowTick - sweptTick > wheel.length) {
+            sweptTick = nowTick - wheel.length;
+        }
+        while (sweptTick < nowTick) {
+            sweepBucket((int) (sweptTick % wheel.length), now);
+            sweptTick++;
+        }
+    }
+
+    private void sweepBucket(int bucket, long now) {
+        int[] entries = wheel[bucket];
+        int count = wheelSizes[bucket];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = entries[i];
+            if (keys[slot] != null && bucketOf(expiresAt[slot]) == bucket && expiresAt[slot] > now) {
+                entries[kept++] = slot;
+                continue;
+            }
+            if (keys[slot] != null && bucketOf(expiresAt[slot]) == bucket) {
+                release(slot);
+                expired.increment();
+            }
+            // 만료, 이미 제거, 다른 버킷으로 재예약된 슬롯은 이 버킷에서 빠짐
+            if (scheduledBucket[slot] == bucket) {
+                scheduledBucket[slot] = -1;
+            }
+        }
+        wheelSizes[bucket] = kept;
+    }
+
+    /**
+     * 같은 key를 같은 tick 안에 다시 저장하거나 슬롯이 재사용되어도 버킷에 엔트리를 더 쌓지 않습니다.
+     * 다른 버킷으로 옮겨 가면 이전 버킷의 엔트리는 그 버킷을 정리할 때 빠집니다.
+     */
+    private void schedule(int slot) {
+        int bucket = bucketOf(expiresAt[slot]);
+        if (scheduledBucket[slot] == bucket) {
+            return;
+        }
+        scheduledBucket[slot] = bucket;
+        int count = wheelSizes[bucket];
+        if (count == wheel[bucket].length) {
+            wheel[bucket] = Arrays.copyOf(wheel[bucket], count * 2);
+        }
+        wheel[bucket][count] = slot;
+        wheelSizes[bucket] = count + 1;
+    }
+
+    /**
+     * 타이머 휠에 들어 있는 엔트리 수 (슬롯 수 x 버킷 수를 넘지 않음)
+     */
+    int scheduledEntries() {
+        lock.lock();
+        try {
+            int total = 0;
+            for (int count : wheelSizes) {
+                total += count;
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int bucketOf(long expiry) {
+        return (int) ((expiry / tickMillis) % wheel.length);
+    }
+
+    private void release(int slot) {
+        removeIndex(slot);
+        keys[slot] = null;
+        Arrays.fill(values, slot * CHALLENGE_LENGTH, (slot + 1) * CHALLENGE_LENGTH, (byte) 0);
+        freeSlots[freeTop++] = slot;
+        size--;
+    }
+
+    private int find(String key, int hash) {
+        int i = hash & mask;
+        int entry;
+        while ((entry = table[i]) != EMPTY) {
+            int slot = entry - 1;
+            if (hashes[slot] == hash && key.equals(keys[slot])) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertIndex(int slot, int hash) {
+        int i = hash & mask;
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    /**
+     * linear probing 테이블에서 backward-shift 방식으로 엔트리를 제거합니다(tombstone 없음).
+     */
+    private void removeIndex(int slot) {
+        int i = hashes[slot] & mask;
+        while (table[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        table[i] = EMPTY;
+
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int entry = table[j];
+            if (entry == EMPTY) {
+                return;
+            }
+            int home = hashes[entry - 1] & mask;
+            // home이 (i, j] 구간 밖이면 i 위치로 당겨옵니다
+            boolean between = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!between) {
+                table[i] = entry;
+                table[j] = EMPTY;
+                i = j;
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    public record ChallengeStoreStats(
+            int size,
+            int capacity,
+            long stored,
+            long hits,
+            long misses,
+            long expired,
+            long rejected
+    ) {
+    }
+}
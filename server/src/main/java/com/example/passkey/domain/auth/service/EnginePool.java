@@ -0,0 +1,51 @@
+package com.example.passkey.domain.auth.service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Signature/MessageDigest 같은 상태 있는 JCA 엔진을 스레드 간에 재사용하는 고정 크기 풀
+ *
+ * 가상 스레드는 요청마다 새로 생기므로 ThreadLocal 캐시는 매번 비어 있습니다. 대신 슬롯 배열에서 꺼내 쓰고 돌려놓으며,
+ * 스레드 id로 시작 슬롯을 골라 경합을 나눕니다. 비어 있으면 새로 만들고, 돌려놓을 자리가 없으면 버립니다.
+ */
+final class EnginePool<T> {
+
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final Supplier<T> factory;
+
+    EnginePool(int size, Supplier<T> factory) {
+        int capacity = Integer.highestOneBit(Math.max(1, size * 2 - 1));
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.factory = factory;
+    }
+
+    T acquire() {
+        int start = start();
+        for (int i = 0; i < Math.min(PROBES, slots.length()); i++) {
+            T engine = slots.getAndSet((start + i) & mask, null);
+            if (engine != null) {
+                return engine;
+            }
+        }
+        return factory.get();
+    }
+
+    void release(T engine) {
+        int start = start();
+        for (int i = 0; i < Math.min(PROBES, slots.length()); i++) {
+            if (slots.compareAndSet((start + i) & mask, null, engine)) {
+                return;
+            }
+        }
+    }
+
+    private int start() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
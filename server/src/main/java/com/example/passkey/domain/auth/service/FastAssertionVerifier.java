@@ -0,0 +1,370 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.credential.cache.CredentialMaterial;
+import com.example.passkey.global.config.FastVerifyConfig;
+import com.example.passkey.global.config.WebAuthnConfig;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.authenticator.Curve;
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.data.attestation.authenticator.EdDSACOSEKey;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.verifier.exception.BadSignatureException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ES256(P-256)/Ed25519 assertion을 webauthn4j 검증 체인 없이 원본 바이트에서 바로 검증합니다.
+ *
+ * <ul>
+ *     <li>authenticatorData: 37바이트(AT/ED 없음), rpIdHash, UP 플래그, BE/BS 조합, sign count 증가</li>
+ *     <li>clientDataJSON: 문자열/리터럴 값만 있는 평평한 객체에서 type, challenge, origin을 바이트 단위로 비교
+ *         (객체 생성이나 Base64 디코딩 없음)</li>
+ *     <li>서명: 캐시된 JCA 공개키와 풀에서 꺼낸 Signature/MessageDigest 엔진</li>
+ * </ul>
+ * 이 경로는 webauthn4j가 받아들이는 입력의 부분집합만 통과시킵니다. 다루지 않는 형식이거나 서명 외의 검사를 통과하지 못하면
+ * null을 돌려주고, 호출자가 전체 webauthn4j 경로로 다시 판정합니다(오류 메시지와 예외 타입도 그쪽을 따름).
+ * 서명 외의 검사를 모두 통과했다면 webauthn4j도 서명에서만 거부하므로, 서명이 틀리면 다시 검증하지 않고
+ * webauthn4j와 같은 {@link BadSignatureException}을 던집니다.
+ */
+@Component
+public class FastAssertionVerifier {
+
+    private static final int AUTHENTICATOR_DATA_LENGTH = 37;
+    private static final int RP_ID_HASH_LENGTH = 32;
+    private static final int FLAGS_OFFSET = 32;
+    private static final int SIGN_COUNT_OFFSET = 33;
+
+    private static final int FLAG_UP = 0x01;
+    private static final int FLAG_UV = 0x04;
+    private static final int FLAG_BE = 0x08;
+    private static final int FLAG_BS = 0x10;
+    private static final int FLAG_AT = 0x40;
+    private static final int FLAG_ED = 0x80;
+
+    private static final byte[] TYPE_GET = ascii("webauthn.get");
+    private static final byte[] KEY_TYPE = ascii("type");
+    private static final byte[] KEY_CHALLENGE = ascii("challenge");
+    private static final byte[] KEY_ORIGIN = ascii("origin");
+    private static final byte[] KEY_CROSS_ORIGIN = ascii("crossOrigin");
+    private static final byte[] KEY_TOP_ORIGIN = ascii("topOrigin");
+    private static final byte[] KEY_TOKEN_BINDING = ascii("tokenBinding");
+
+    private static final byte[][] LITERALS = {ascii("true"), ascii("false"), ascii("null")};
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final boolean enabled;
+    private final byte[] rpIdHash;
+    private final byte[] origin;
+    private final EnginePool<Signature> es256;
+    private final EnginePool<Signature> ed25519;
+    private final EnginePool<MessageDigest> sha256;
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder unsupported = new LongAdder();
+
+    public FastAssertionVerifier(FastVerifyConfig config, WebAuthnConfig webAuthnConfig) {
+        this.enabled = config.isEnabled();
+        this.origin = ascii(webAuthnConfig.getOriginUrl());
+        this.es256 = new EnginePool<>(config.getPoolSize(), () -> signature("SHA256withECDSA"));
+        this.ed25519 = new EnginePool<>(config.getPoolSize(), () -> signature("Ed25519"));
+        this.sha256 = new EnginePool<>(config.getPoolSize(), FastAssertionVerifier::sha256);
+        this.rpIdHash = sha256().digest(webAuthnConfig.getRpId().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param challenge       서버가 발급한 challenge
+     * @param storedSignCount 비교 기준 sign count
+     * @return 모든 검사를 통과하면 결과, 다루지 않는 형식이거나 서명 외의 검사를 통과하지 못하면 null (webauthn4j로 다시 판정)
+     * @throws BadSignatureException 서명 외의 검사를 모두 통과했지만 서명이 맞지 않으면
+     */
+    public VerifiedAssertion verify(CredentialMaterial material, byte[] authenticatorData, byte[] clientDataJSON,
+                                    byte[] signature, byte[] challenge, long storedSignCount) {
+        if (!enabled) {
+            return null;
+        }
+        EnginePool<Signature> engines = enginesFor(material.coseKey());
+        if (engines == null) {
+            unsupported.increment();
+            return null;
+        }
+        if (!authenticatorDataMatches(authenticatorData, storedSignCount)
+                || !clientDataMatches(clientDataJSON, ENCODER.encode(challenge))) {
+            fallbacks.increment();
+            return null;
+        }
+        if (!signatureMatches(engines, material.publicKey(), authenticatorData, clientDataJSON, signature)) {
+            rejected.increment();
+            // webauthn4j AssertionSignatureVerifier와 같은 예외/메시지
+            throw new BadSignatureException("Assertion signature is not valid.");
+        }
+        verified.increment();
+        return new VerifiedAssertion(signCount(authenticatorData), (authenticatorData[FLAGS_OFFSET] & FLAG_UV) != 0);
+    }
+
+    public long getVerifiedCount() {
+        return verified.sum();
+    }
+
+    /**
+     * 지원하는 알고리즘이지만 서명 외의 검사를 통과하지 못해 webauthn4j로 넘긴 횟수
+     */
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * 서명이 맞지 않아 빠른 경로에서 바로 거부한 횟수
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getUnsupportedCount() {
+        return unsupported.sum();
+    }
+
+    private EnginePool<Signature> enginesFor(COSEKey coseKey) {
+        if (coseKey instanceof EC2COSEKey ec && COSEAlgorithmIdentifier.ES256.equals(ec.getAlgorithm())
+                && ec.getCurve() == Curve.SECP256R1) {
+            return es256;
+        }
+        if (coseKey instanceof EdDSACOSEKey okp && COSEAlgorithmIdentifier.EdDSA.equals(okp.getAlgorithm())
+                && okp.getCurve() == Curve.ED25519) {
+            return ed25519;
+        }
+        return null;
+    }
+
+    private boolean authenticatorDataMatches(byte[] data, long storedSignCount) {
+        // AT/ED가 있으면 뒤에 CBOR가 붙으므로 전체 경로에서 파싱
+        if (data.length != AUTHENTICATOR_DATA_LENGTH
+                || !Arrays.equals(data, 0, RP_ID_HASH_LENGTH, rpIdHash, 0, RP_ID_HASH_LENGTH)) {
+            return false;
+        }
+        int flags = data[FLAGS_OFFSET] & 0xff;
+        if ((flags & FLAG_UP) == 0 || (flags & (FLAG_AT | FLAG_ED)) != 0) {
+            return false;
+        }
+        // 백업 가능(BE)하지 않은데 백업됨(BS)은 webauthn4j가 거부
+        if ((flags & FLAG_BS) != 0 && (flags & FLAG_BE) == 0) {
+            return false;
+        }
+        // webauthn4j 기본 동작: 둘 중 하나라도 0이 아니면 증가해야 함
+        long signCount = signCount(data);
+        return (signCount == 0 && storedSignCount == 0) || signCount > storedSignCount;
+    }
+
+    private static long signCount(byte[] data) {
+        return ((data[SIGN_COUNT_OFFSET] & 0xffL) << 24)
+                | ((data[SIGN_COUNT_OFFSET + 1] & 0xffL) << 16)
+                | ((data[SIGN_COUNT_OFFSET + 2] & 0xffL) << 8)
+                | (data[SIGN_COUNT_OFFSET + 3] & 0xffL);
+    }
+
+    /**
+     * 값이 이스케이프 없는 ASCII 문자열이나 true/false/null 리터럴인 한 단계 객체만 받습니다.
+     * 숫자, 중첩 객체/배열(tokenBinding 등), 중복된 필수 키, crossOrigin=true, topOrigin이 있으면 false입니다.
+     */
+    private boolean clientDataMatches(byte[] json, byte[] challenge) {
+        FlatJsonCursor cursor = new FlatJsonCursor(json);
+        if (!cursor.consume('{')) {
+            return false;
+        }
+        boolean type = false;
+        boolean challengeSeen = false;
+        boolean originSeen = false;
+        boolean crossOrigin = false;
+        boolean first = true;
+        while (!cursor.consume('}')) {
+            if (!first && !cursor.consume(',')) {
+                return false;
+            }
+            first = false;
+
+            int keyStart = cursor.string();
+            if (keyStart < 0 || !cursor.consume(':')) {
+                return false;
+            }
+            int keyEnd = cursor.stringEnd;
+            int valueStart = -1;
+            int valueEnd = -1;
+            byte literal = 0;
+            if (cursor.peek('"')) {
+                valueStart = cursor.string();
+                valueEnd = cursor.stringEnd;
+                if (valueStart < 0) {
+                    return false;
+                }
+            } else {
+                literal = cursor.literal();
+                if (literal == 0) {
+                    return false;
+                }
+            }
+
+            if (cursor.keyEquals(keyStart, keyEnd, KEY_TYPE)) {
+                if (type || valueStart < 0 || !Arrays.equals(json, valueStart, valueEnd, TYPE_GET, 0, TYPE_GET.length)) {
+                    return false;
+                }
+                type = true;
+            } else if (cursor.keyEquals(keyStart, keyEnd, KEY_CHALLENGE)) {
+                if (challengeSeen || valueStart < 0
+                        || !Arrays.equals(json, valueStart, valueEnd, challenge, 0, challenge.length)) {
+                    return false;
+                }
+                challengeSeen = true;
+            } else if (cursor.keyEquals(keyStart, keyEnd, KEY_ORIGIN)) {
+                if (originSeen || valueStart < 0
+                        || !Arrays.equals(json, valueStart, valueEnd, origin, 0, origin.length)) {
+                    return false;
+                }
+                originSeen = true;
+            } else if (cursor.keyEquals(keyStart, keyEnd, KEY_CROSS_ORIGIN)) {
+                if (crossOrigin || (literal != 'f' && literal != 'n')) {
+                    return false;
+                }
+                crossOrigin = true;
+            } else if (cursor.keyEquals(keyStart, keyEnd, KEY_TOP_ORIGIN)
+                    || cursor.keyEquals(keyStart, keyEnd, KEY_TOKEN_BINDING)) {
+                if (literal != 'n') {
+                    return false;
+                }
+            }
+        }
+        return cursor.atEnd() && type && challengeSeen && originSeen;
+    }
+
+    private boolean signatureMatches(EnginePool<Signature> engines, PublicKey publicKey, byte[] authenticatorData,
+                                     byte[] clientDataJSON, byte[] signature) {
+        MessageDigest digest = sha256.acquire();
+        byte[] clientDataHash = digest.digest(clientDataJSON);
+        sha256.release(digest);
+
+        Signature engine = engines.acquire();
+        try {
+            engine.initVerify(publicKey);
+            engine.update(authenticatorData);
+            engine.update(clientDataHash);
+            return engine.verify(signature);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            // 형식이 잘못된 서명 등: webauthn4j도 검증 실패로 처리 (다음 initVerify가 엔진 상태를 초기화)
+            return false;
+        } finally {
+            engines.release(engine);
+        }
+    }
+
+    private static Signature signature(String algorithm) {
+        try {
+            return Signature.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signature algorithm not available: " + algorithm, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * clientDataJSON 토큰 커서. 문자열은 복사하지 않고 위치만 돌려줍니다.
+     */
+    private static final class FlatJsonCursor {
+
+        private final byte[] json;
+        private int position;
+        private int stringEnd;
+
+        private FlatJsonCursor(byte[] json) {
+            this.json = json;
+        }
+
+        private boolean peek(char expected) {
+            skipWhitespace();
+            return position < json.length && json[position] == expected;
+        }
+
+        private boolean consume(char expected) {
+            if (peek(expected)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return 문자열 내용의 시작 위치 (끝은 stringEnd), 문자열이 아니거나 이스케이프/비ASCII/제어 문자가 있으면 -1
+         */
+        private int string() {
+            if (!consume('"')) {
+                return -1;
+            }
+            int start = position;
+            while (position < json.length) {
+                byte b = json[position];
+                if (b == '"') {
+                    stringEnd = position++;
+                    return start;
+                }
+                if (b == '\\' || b < 0x20) {  // 0x80 이상은 byte로 음수이므로 함께 걸러짐
+                    return -1;
+                }
+                position++;
+            }
+            return -1;
+        }
+
+        /**
+         * @return true/false/null 리터럴의 첫 글자, 리터럴이 아니면 0
+         */
+        private byte literal() {
+            skipWhitespace();
+            for (byte[] literal : LITERALS) {
+                int end = position + literal.length;
+                if (end <= json.length && Arrays.equals(json, position, end, literal, 0, literal.length)) {
+                    position = end;
+                    return literal[0];
+                }
+            }
+            return 0;
+        }
+
+        private boolean keyEquals(int start, int end, byte[] key) {
+            return Arrays.equals(json, start, end, key, 0, key.length);
+        }
+
+        private boolean atEnd() {
+            skipWhitespace();
+            return position == json.length;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length) {
+                byte b = json[position];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return;
+                }
+                position++;
+            }
+        }
+    }
+}
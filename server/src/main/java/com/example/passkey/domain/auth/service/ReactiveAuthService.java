@@ -0,0 +1,242 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.AuthenticationStartRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationStartRequest;
+import com.example.passkey.domain.auth.dto.response.AuthenticationStartResponse;
+import com.example.passkey.domain.auth.dto.response.RegistrationStartResponse;
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.domain.auth.service.ChallengeService.IssuedChallenge;
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.credential.repository.ReactiveCredentialRepository;
+import com.example.passkey.domain.user.entity.User;
+import com.example.passkey.domain.user.repository.ReactiveUserRepository;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.example.passkey.global.config.ReactiveConfig;
+import com.example.passkey.global.config.ShardingConfig;
+import com.example.passkey.global.config.WebAuthnConfig;
+import com.example.passkey.global.metrics.CeremonyRecorder;
+import com.example.passkey.global.metrics.PasskeyMetrics;
+import com.example.passkey.global.shard.ShardBuckets;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link AuthService}의 reactive 버전 (reactive 프로필)
+ *
+ * <ul>
+ *     <li>DB 접근은 R2DBC로 하므로 응답을 기다리는 동안 event loop 스레드를 점유하지 않습니다.
+ *         각 단계가 쿼리 1건이라 트랜잭션은 사용하지 않습니다.</li>
+ *     <li>challenge 발급/소비는 메모리 작업(짧은 락)이므로 event loop에서 바로 실행합니다.</li>
+ *     <li>webauthn4j 파싱/서명 검증은 CPU 작업이므로 크기와 대기열이 제한된 검증 스케줄러로 넘깁니다.
+ *         대기열이 가득 차면 RejectedExecutionException(503)으로 거절합니다.</li>
+ * </ul>
+ * 사용자/allowCredentials 캐시와 sign count write-behind는 JPA 경로 전용이며, 여기서는 매번 DB를 조회하고 sign count를 바로 기록합니다.
+ * shard 라우팅을 하지 않으므로 샤딩(webauthn.sharding.enabled)이 켜져 있으면 시작하지 않습니다.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveAuthService {
+
+    private final WebAuthnVerifier webAuthnVerifier;
+    private final WebAuthnConfig webAuthnConfig;
+    private final ChallengeService challengeService;
+    private final ChallengeConfig challengeConfig;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveCredentialRepository credentialRepository;
+    private final PasskeyMetrics passkeyMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Scheduler verifyScheduler;
+
+    public ReactiveAuthService(WebAuthnVerifier webAuthnVerifier,
+                               WebAuthnConfig webAuthnConfig,
+                               ChallengeService challengeService,
+                               ChallengeConfig challengeConfig,
+                               ReactiveUserRepository userRepository,
+                               ReactiveCredentialRepository credentialRepository,
+                               PasskeyMetrics passkeyMetrics,
+                               ApplicationEventPublisher eventPublisher,
+                               ReactiveConfig reactiveConfig,
+                               ShardingConfig shardingConfig) {
+        if (shardingConfig.isEnabled()) {
+            // 모든 사용자/credential이 shard 0에 쓰이고 credential_shard_index도 남지 않아 다른 노드에서 찾을 수 없음
+            throw new IllegalStateException(
+                    "The reactive profile does not route to shards, disable webauthn.sharding.enabled or drop the profile");
+        }
+        this.webAuthnVerifier = webAuthnVerifier;
+        this.webAuthnConfig = webAuthnConfig;
+        this.challengeService = challengeService;
+        this.challengeConfig = challengeConfig;
+        this.userRepository = userRepository;
+        this.credentialRepository = credentialRepository;
+        this.passkeyMetrics = passkeyMetrics;
+        this.eventPublisher = eventPublisher;
+
+        // CPU 작업이므로 가상 스레드 모드와 관계없이 플랫폼 스레드 사용
+        int threads = Math.max(1, reactiveConfig.getVerifyThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(reactiveConfig.getVerifyQueueCapacity()),
+                WorkerThreads.platform().factory("reactive-verify"));
+        this.verifyScheduler = Schedulers.fromExecutorService(executor, "reactive-verify");
+    }
+
+    /**
+     * 등록 시작: challenge 생성 및 옵션 반환
+     */
+    public Mono<RegistrationStartResponse> startRegistration(RegistrationStartRequest request) {
+        return ceremony("registration.start", metrics -> metrics.phase("user_lookup",
+                        userRepository.findByUsername(request.username())
+                                .switchIfEmpty(Mono.defer(() ->
+                                        userRepository.insert(request.username(), request.displayName()))))
+                .map(user -> {
+                    byte[] challenge = metrics.phase("challenge",
+                            () -> challengeService.issueChallenge(ChallengePurpose.REGISTRATION, request.username()));
+
+                    return new RegistrationStartResponse(
+                            Base64.getUrlEncoder().withoutPadding().encodeToString(challenge),
+                            new RegistrationStartResponse.RelyingParty(
+                                    webAuthnConfig.getRpId(),
+                                    webAuthnConfig.getRpName()
+                            ),
+                            new RegistrationStartResponse.UserInfo(
+                                    Base64.getUrlEncoder().withoutPadding().encodeToString(user.id().toString().getBytes()),
+                                    user.username(),
+                                    user.displayName()
+                            ),
+                            List.of(
+                                    new RegistrationStartResponse.PubKeyCredParam("public-key", -7),  // ES256
+                                    new RegistrationStartResponse.PubKeyCredParam("public-key", -257)  // RS256
+                            ),
+                            challengeConfig.getTimeout(),
+                            webAuthnVerifier.attestationConveyance()
+                    );
+                }));
+    }
+
+    /**
+     * 등록 완료: 클라이언트 응답 검증 및 credential 저장
+     */
+    public Mono<Void> finishRegistration(RegistrationFinishRequest request) {
+        return ceremony("registration.finish", metrics -> metrics.phase("user_lookup",
+                        userRepository.findByUsername(request.username())
+                                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found"))))
+                .flatMap(user -> offload(() -> webAuthnVerifier.verifyRegistration(metrics, request))
+                        .doOnNext(credential -> credential.setShardBucket(ShardBuckets.bucketOf(user.username())))
+                        .flatMap(credential -> metrics.phase("persist",
+                                        credentialRepository.insert(credential, user.id()))
+                                .doOnSuccess(ignored -> eventPublisher.publishEvent(AuthEvent.success(
+                                        AuthEvent.Type.REGISTRATION, user.id(), credential.getCredentialId(),
+                                        credential.getAaguid(), credential.getSignCount(), metrics.elapsedNanos()))))
+                        .doOnSuccess(ignored -> log.info("Passkey registered for user: {}", user.username())))
+                .doOnError(RuntimeException.class, e -> eventPublisher.publishEvent(AuthEvent.failure(
+                        AuthEvent.Type.REGISTRATION, request.id(), metrics.elapsedNanos()))));
+    }
+
+    /**
+     * 인증 시작: challenge 생성
+     */
+    public Mono<AuthenticationStartResponse> startAuthentication(AuthenticationStartRequest request) {
+        return ceremony("authentication.start", metrics -> {
+            Mono<List<AuthenticationStartResponse.AllowCredential>> allowCredentials;
+            boolean discoverable = request.username() == null || request.username().isEmpty();
+
+            if (!discoverable) {
+                // 특정 사용자의 credential ID/transports만 조회 (사용자가 없으면 empty)
+                allowCredentials = metrics.phase("credential_lookup",
+                        credentialRepository.findDescriptorsByUsername(request.username())
+                                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")))
+                                .map(descriptors -> descriptors.stream()
+                                        .map(c -> new AuthenticationStartResponse.AllowCredential(
+                                                "public-key", c.credentialId(), c.transportList()))
+                                        .toList()));
+            } else {
+                // Discoverable credential 사용 (allowCredentials 비움), finish는 handle로 challenge를 찾음
+                allowCredentials = Mono.just(Collections.emptyList());
+            }
+
+            return allowCredentials.map(credentials -> {
+                IssuedChallenge issued = metrics.phase("challenge", () -> discoverable
+                        ? challengeService.issueDiscoverableChallenge(ChallengePurpose.AUTHENTICATION)
+                        : new IssuedChallenge(challengeService.issueChallenge(
+                                ChallengePurpose.AUTHENTICATION, request.username()), null));
+
+                return new AuthenticationStartResponse(
+                        Base64.getUrlEncoder().withoutPadding().encodeToString(issued.challenge()),
+                        challengeConfig.getTimeout(),
+                        webAuthnConfig.getRpId(),
+                        credentials,
+                        "preferred",
+                        issued.handle()
+                );
+            });
+        });
+    }
+
+    /**
+     * 인증 완료: 서명 검증
+     *
+     * @return credential 소유자 (id, username만 채워진 비영속 객체)
+     */
+    public Mono<User> finishAuthentication(AuthenticationFinishRequest request) {
+        return ceremony("authentication.finish", metrics -> metrics.phase("credential_lookup",
+                        credentialRepository.findWithOwner(request.id())
+                                .switchIfEmpty(Mono.error(() -> new RuntimeException("Credential not found"))))
+                .flatMap(credential -> {
+                    User user = credential.getUser();
+                    return offload(() -> webAuthnVerifier.verifyAssertion(metrics, request, credential,
+                                    user.getId(), user::getUsername, credential.getSignCount()))
+                            .flatMap(verified -> metrics.phase("sign_count",
+                                            credentialRepository.updateSignCount(credential.getCredentialId(),
+                                                    verified.signCount()))
+                                    .then(Mono.fromSupplier(() -> {
+                                        eventPublisher.publishEvent(AuthEvent.success(AuthEvent.Type.AUTHENTICATION,
+                                                user.getId(), credential.getCredentialId(), credential.getAaguid(),
+                                                verified.signCount(), metrics.elapsedNanos()));
+                                        log.info("User authenticated: {}", user.getUsername());
+                                        return user;
+                                    })));
+                })
+                .doOnError(RuntimeException.class, e -> eventPublisher.publishEvent(AuthEvent.failure(
+                        AuthEvent.Type.AUTHENTICATION, request.id(), metrics.elapsedNanos()))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verifyScheduler.dispose();
+    }
+
+    /**
+     * 구독 시점에 ceremony 기록을 시작하고, 완료 시 성공/실패를 기록합니다.
+     */
+    private <T> Mono<T> ceremony(String name, Function<CeremonyRecorder, Mono<T>> body) {
+        return Mono.defer(() -> {
+            CeremonyRecorder metrics = passkeyMetrics.start(name);
+            return body.apply(metrics)
+                    .doOnSuccess(ignored -> metrics.success())
+                    .onErrorMap(RuntimeException.class, metrics::failure);
+        });
+    }
+
+    private <T> Mono<T> offload(Callable<T> verification) {
+        return Mono.fromCallable(verification).subscribeOn(verifyScheduler);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.passkey.domain.auth.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * 서버 저장소 없이 검증 가능한 self-contained challenge를 만들고 검증합니다.
+ *
+ * <pre>
+ * version(1) | purpose(1) | epoch(4) | issuedAt(8) | nonce(16) | mac(16)
+ * </pre>
+ *
+ * mac은 epoch 별로 마스터 키에서 파생한 키로 계산한 HMAC-SHA256의 앞 16바이트이며,
+ * 앞의 필드와 바인딩 값(username)을 함께 서명합니다. purpose의 최상위 비트는 username 바인딩 여부입니다.
+ * 현재 epoch와 직전 epoch의 키만 허용하므로 키는 keyRotationMillis 마다 자연스럽게 교체됩니다.
+ */
+public class SealedChallengeCodec {
+
+    public static final int LENGTH = 46;
+
+    private static final byte VERSION = 1;
+    private static final int BOUND_FLAG = 0x80;
+    private static final int NONCE_OFFSET = 14;
+    private static final int NONCE_LENGTH = 16;
+    private static final int MAC_OFFSET = 30;
+    private static final int MAC_LENGTH = 16;
+    private static final String HMAC = "HmacSHA256";
+
+    private final byte[] masterSecret;
+    private final long keyRotationMillis;
+    private final long timeoutMillis;
+    private final long clockSkewMillis;
+    private final SecureRandom secureRandom;
+    private final LongSupplier clock;
+
+    private volatile EpochKey currentKey;
+    private volatile EpochKey previousKey;
+
+    public SealedChallengeCodec(byte[] masterSecret, long keyRotationMillis, long timeoutMillis,
+                                long clockSkewMillis, SecureRandom secureRandom, LongSupplier clock) {
+        this.masterSecret = masterSecret.clone();
+        this.keyRotationMillis = keyRotationMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.clockSkewMillis = clockSkewMillis;
+        this.secureRandom = secureRandom;
+        this.clock = clock;
+    }
+
+    /**
+     * 새 challenge를 발급합니다.
+     *
+     * @param binding username (없으면 null)
+     */
+    public byte[] seal(ChallengePurpose purpose, String binding) {
+        long now = clock.getAsLong();
+        int epoch = epochOf(now);
+
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        buffer.put(VERSION);
+        buffer.put((byte) (purpose.getCode() | (binding != null ? BOUND_FLAG : 0)));
+        buffer.putInt(epoch);
+        buffer.putLong(now);
+        byte[] nonce = new byte[NONCE_LENGTH];
+        secureRandom.nextBytes(nonce);
+        buffer.put(nonce);
+
+        byte[] token = buffer.array();
+        byte[] mac = mac(keyFor(epoch), token, binding);
+        System.arraycopy(mac, 0, token, MAC_OFFSET, MAC_LENGTH);
+        return token;
+    }
+
+    /**
+     * challenge의 형식, 서명, 목적, 바인딩, 유효 시간을 검증합니다.
+     *
+     * @param binding finish 시점에 알고 있는 username. 발급 시 바인딩되지 않은 challenge라면 무시됩니다.
+     * @return 검증에 성공하면 발급 시각(ms), 실패하면 -1
+     */
+    public long open(byte[] token, ChallengePurpose purpose, String binding) {
+        if (token == null || token.length != LENGTH || token[0] != VERSION) {
+            return -1;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(token);
+        buffer.get();
+        int purposeByte = buffer.get() & 0xFF;
+        int epoch = buffer.getInt();
+        long issuedAt = buffer.getLong();
+
+        if ((purposeByte & ~BOUND_FLAG) != purpose.getCode()) {
+            return -1;
+        }
+        boolean bound = (purposeByte & BOUND_FLAG) != 0;
+        if (bound && binding == null) {
+            return -1;
+        }
+
+        long now = clock.getAsLong();
+        if (issuedAt > now + clockSkewMillis || now - issuedAt > timeoutMillis) {
+            return -1;
+        }
+        int currentEpoch = epochOf(now);
+        if (epoch != epochOf(issuedAt) || epoch > currentEpoch || epoch < currentEpoch - 1) {
+            return -1;
+        }
+
+        byte[] expected = mac(keyFor(epoch), token, bound ? binding : null);
+        byte[] actual = new byte[MAC_LENGTH];
+        System.arraycopy(token, MAC_OFFSET, actual, 0, MAC_LENGTH);
+        byte[] expectedPrefix = new byte[MAC_LENGTH];
+        System.arraycopy(expected, 0, expectedPrefix, 0, MAC_LENGTH);
+        return MessageDigest.isEqual(expectedPrefix, actual) ? issuedAt : -1;
+    }
+
+    /**
+     * replay 방지용 nonce 지문 (nonce 앞 8바이트)
+     */
+    public static long nonceFingerprint(byte[] token) {
+        return ByteBuffer.wrap(token, NONCE_OFFSET, 8).getLong();
+    }
+
+    private int epochOf(long timestamp) {
+        return (int) (timestamp / keyRotationMillis);
+    }
+
+    private byte[] keyFor(int epoch) {
+        EpochKey current = currentKey;
+        if (current != null && current.epoch() == epoch) {
+            return current.key();
+        }
+        EpochKey previous = previousKey;
+        if (previous != null && previous.epoch() == epoch) {
+            return previous.key();
+        }
+        EpochKey derived = new EpochKey(epoch, deriveKey(epoch));
+        if (current == null || epoch > current.epoch()) {
+            previousKey = current;
+            currentKey = derived;
+        }
+        return derived.key();
+    }
+
+    private byte[] deriveKey(int epoch) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(masterSecret, HMAC));
+            mac.update("passkey-challenge-key".getBytes(StandardCharsets.US_ASCII));
+            mac.update(ByteBuffer.allocate(4).putInt(epoch).array());
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to derive challenge key", e);
+        }
+    }
+
+    private static byte[] mac(byte[] key, byte[] token, String binding) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(key, HMAC));
+            mac.update(token, 0, MAC_OFFSET);
+            if (binding != null) {
+                mac.update(binding.getBytes(StandardCharsets.UTF_8));
+            }
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to compute challenge MAC", e);
+        }
+    }
+
+    private record EpochKey(int epoch, byte[] key) {
+    }
+}
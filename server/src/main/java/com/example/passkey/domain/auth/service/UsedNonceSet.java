@@ -0,0 +1,116 @@
+package com.example.passkey.domain.auth.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용된 sealed challenge nonce를 기록하는 시간 버킷 기반 tombstone 집합
+ *
+ * 발급 시각(issuedAt)의 tick 버킷에 64비트 nonce 지문을 저장합니다.
+ * 버킷 수는 challenge 유효 시간만큼만 유지하며, 오래된 버킷은 재사용될 때 통째로 비웁니다.
+ * 각 버킷은 long[] open addressing 집합이라 엔트리당 8~16바이트만 사용합니다.
+ */
+public class UsedNonceSet {
+
+    private static final long EMPTY = 0L;
+
+    private final long tickMillis;
+    private final Bucket[] buckets;
+
+    public UsedNonceSet(long lifetimeMillis, long tickMillis) {
+        this.tickMillis = tickMillis;
+        int count = (int) ((lifetimeMillis + tickMillis - 1) / tickMillis) + 2;
+        this.buckets = new Bucket[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * nonce를 사용 처리합니다.
+     *
+     * @return 처음 사용된 nonce면 true, 이미 사용된 nonce면 false
+     */
+    public boolean markUsed(long fingerprint, long issuedAt) {
+        long tick = issuedAt / tickMillis;
+        Bucket bucket = buckets[(int) (tick % buckets.length)];
+        bucket.lock.lock();
+        try {
+            if (bucket.tick != tick) {
+                bucket.clear(tick);
+            }
+            return bucket.add(fingerprint == EMPTY ? 1L : fingerprint);
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Bucket bucket : buckets) {
+            bucket.lock.lock();
+            try {
+                total += bucket.size;
+            } finally {
+                bucket.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private static final class Bucket {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long tick = -1;
+        private long[] table = new long[64];
+        private int size;
+
+        private void clear(long newTick) {
+            tick = newTick;
+            if (table.length > 64) {
+                table = new long[64];
+            } else {
+                Arrays.fill(table, EMPTY);
+            }
+            size = 0;
+        }
+
+        private boolean add(long value) {
+            if ((size + 1) * 2 > table.length) {
+                grow();
+            }
+            int mask = table.length - 1;
+            int i = (int) mix(value) & mask;
+            while (table[i] != EMPTY) {
+                if (table[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+            size++;
+            return true;
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            int mask = table.length - 1;
+            for (long value : old) {
+                if (value != EMPTY) {
+                    int i = (int) mix(value) & mask;
+                    while (table[i] != EMPTY) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = value;
+                }
+            }
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
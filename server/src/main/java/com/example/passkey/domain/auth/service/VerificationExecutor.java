@@ -0,0 +1,46 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.global.config.BatchVerifyConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * 배치 인증의 서명 검증을 병렬로 실행하는 전용 ForkJoinPool
+ *
+ * 검증은 CPU 작업이므로 워커 수를 코어 수 이하로 제한하고,
+ * 공용 풀(commonPool)과 분리해 다른 parallel stream이나 CompletableFuture 작업과 경쟁하지 않게 합니다.
+ */
+@Component
+public class VerificationExecutor {
+
+    private final ForkJoinPool pool;
+
+    public VerificationExecutor(BatchVerifyConfig config) {
+        this.pool = new ForkJoinPool(Math.max(1, config.getParallelism()));
+    }
+
+    /**
+     * 각 항목에 함수를 병렬로 적용하고 입력 순서대로 결과를 돌려줍니다.
+     * 함수는 예외를 던지지 않고 결과로 실패를 표현해야 합니다.
+     */
+    public <T, R> List<R> map(List<T> items, Function<T, R> function) {
+        if (items.size() <= 1 || pool.getParallelism() == 1) {
+            return items.stream().map(function).toList();
+        }
+        // 전용 풀 안에서 시작한 parallel stream은 그 풀의 워커로 분할 실행됨
+        return pool.submit(() -> items.parallelStream().map(function).toList()).join();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.passkey.domain.auth.service;
+
+/**
+ * 검증을 통과한 assertion에서 호출자가 사용하는 값
+ *
+ * @param signCount    authenticatorData의 sign count
+ * @param userVerified UV 플래그
+ */
+public record VerifiedAssertion(long signCount, boolean userVerified) {
+}
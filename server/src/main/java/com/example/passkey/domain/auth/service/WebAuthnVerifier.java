@@ -0,0 +1,209 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.credential.cache.CredentialMaterial;
+import com.example.passkey.domain.credential.cache.CredentialMaterialCache;
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.credential.key.PublicKeyCodec;
+import com.example.passkey.global.config.WebAuthnConfig;
+import com.example.passkey.global.metrics.CeremonyRecorder;
+import com.example.passkey.global.metrics.PasskeyMetrics;
+import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import com.webauthn4j.data.AuthenticationData;
+import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.RegistrationData;
+import com.webauthn4j.data.RegistrationParameters;
+import com.webauthn4j.data.RegistrationRequest;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.server.ServerProperty;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * challenge 소비와 webauthn4j 검증(CPU 작업)만 담당합니다. 저장소에 접근하지 않으므로
+ * MVC/JPA 경로({@link AuthService})와 reactive 경로({@link ReactiveAuthService})가 함께 사용합니다.
+ * assertion은 {@link FastAssertionVerifier}를 먼저 시도하고, 처리하지 못한 경우에만 webauthn4j로 검증합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebAuthnVerifier {
+
+    private final WebAuthnManager webAuthnManager;
+    private final WebAuthnConfig webAuthnConfig;
+    private final ChallengeService challengeService;
+    private final CredentialMaterialCache credentialMaterialCache;
+    private final FastAssertionVerifier fastAssertionVerifier;
+    private final AttestationTrustVerifier attestationTrustVerifier;
+
+    /**
+     * 등록 옵션의 attestation 값 (attestation 정책이 NONE이면 "none")
+     */
+    public String attestationConveyance() {
+        return attestationTrustVerifier.conveyance();
+    }
+
+    /**
+     * 등록 응답을 검증하고 저장할 credential을 만듭니다. (사용자는 호출자가 연결)
+     */
+    public Credential verifyRegistration(CeremonyRecorder metrics, RegistrationFinishRequest request) {
+        // Base64URL 디코딩
+        byte[] clientDataJSON = Base64.getUrlDecoder().decode(request.response().clientDataJSON());
+        byte[] attestationObject = Base64.getUrlDecoder().decode(request.response().attestationObject());
+
+        byte[] challenge = metrics.phase("challenge", () -> challengeService.consumeChallenge(
+                ChallengePurpose.REGISTRATION, request.username(), clientDataJSON));
+        if (challenge == null) {
+            throw new RuntimeException("Challenge not found or expired");
+        }
+
+        // 서버 속성 생성
+        ServerProperty serverProperty = webAuthnConfig.createServerProperty(challenge);
+
+        // 등록 데이터 생성
+        RegistrationRequest registrationRequest = new RegistrationRequest(
+                attestationObject,
+                clientDataJSON
+        );
+
+        RegistrationParameters registrationParameters = new RegistrationParameters(
+                serverProperty,
+                null,  // pubKeyCredParams
+                false  // userVerificationRequired
+        );
+
+        // WebAuthn 검증
+        RegistrationData registrationData = metrics.phase("parse",
+                () -> webAuthnManager.parse(registrationRequest));
+
+        AttestedCredentialData attestedCredentialData = registrationData
+                .getAttestationObject()
+                .getAuthenticatorData()
+                .getAttestedCredentialData();
+        COSEKey coseKey = attestedCredentialData.getCOSEKey();
+        metrics.algorithm(PasskeyMetrics.algorithmName(coseKey));
+
+        metrics.phase("verify", () -> webAuthnManager.verify(registrationData, registrationParameters));
+
+        // MDS 상태/trust path (attestation 정책이 NONE이면 건너뜀)
+        metrics.phase("attestation", () -> attestationTrustVerifier.verify(attestedCredentialData.getAaguid(),
+                registrationData.getAttestationObject().getAttestationStatement()));
+
+        byte[] credentialIdBytes = attestedCredentialData.getCredentialId();
+        String credentialId = Base64.getUrlEncoder().withoutPadding().encodeToString(credentialIdBytes);
+
+        // 공개키 직렬화 (알고리즘 태그 + raw 키, CBOR 아님)
+        byte[] publicKeyBytes = PublicKeyCodec.encode(coseKey);
+
+        String aaguid = attestedCredentialData.getAaguid() != null
+                ? attestedCredentialData.getAaguid().toString()
+                : null;
+
+        Credential credential = new Credential(
+                credentialId,
+                publicKeyBytes,
+                registrationData.getAttestationObject().getAuthenticatorData().getSignCount(),
+                aaguid
+        );
+
+        List<String> transports = request.response().transports();
+        if (transports != null && !transports.isEmpty()) {
+            credential.setTransports(String.join(",", transports));
+        }
+        return credential;
+    }
+
+    /**
+     * assertion 1건의 challenge, 서명, sign count를 검증합니다.
+     *
+     * @param ownerId         credential 소유자 id (userHandle 비교용)
+     * @param ownerUsername   username으로 발급한 challenge를 찾을 때만 호출됨
+     * @param storedSignCount 비교 기준 sign count
+     */
+    public VerifiedAssertion verifyAssertion(CeremonyRecorder metrics, AuthenticationFinishRequest request,
+                                             Credential credential, UUID ownerId, Supplier<String> ownerUsername,
+                                             long storedSignCount) {
+        // Base64URL 디코딩
+        byte[] credentialId = Base64.getUrlDecoder().decode(request.id());
+        byte[] clientDataJSON = Base64.getUrlDecoder().decode(request.response().clientDataJSON());
+        byte[] authenticatorData = Base64.getUrlDecoder().decode(request.response().authenticatorData());
+        byte[] signature = Base64.getUrlDecoder().decode(request.response().signature());
+        byte[] userHandle = StringUtils.hasText(request.response().userHandle())
+                ? Base64.getUrlDecoder().decode(request.response().userHandle())
+                : null;
+
+        // userHandle(등록 시 user.id)이 있으면 credential 소유자와 비교
+        if (userHandle != null && !MessageDigest.isEqual(
+                ownerId.toString().getBytes(StandardCharsets.UTF_8), userHandle)) {
+            throw new RuntimeException("User handle does not match credential owner");
+        }
+
+        // usernameless 인증은 start에서 받은 handle로, 그 외에는 credential 소유자의 username으로 challenge 조회
+        byte[] challenge = metrics.phase("challenge", () -> request.challengeHandle() != null
+                ? challengeService.consumeDiscoverableChallenge(
+                        ChallengePurpose.AUTHENTICATION, request.challengeHandle(), clientDataJSON)
+                : challengeService.consumeChallenge(
+                        ChallengePurpose.AUTHENTICATION, ownerUsername.get(), clientDataJSON));
+        if (challenge == null) {
+            throw new RuntimeException("Challenge not found or expired");
+        }
+
+        // 공개키/AAGUID는 캐시에서
+        CredentialMaterial material = metrics.phase("key_material", () -> credentialMaterialCache.get(credential));
+        metrics.algorithm(PasskeyMetrics.algorithmName(material.coseKey()));
+
+        // ES256/Ed25519는 원본 바이트에서 바로 검증 (서명 불일치는 BadSignatureException),
+        // 그 외 형식이나 서명 외의 검사를 통과하지 못한 assertion은 webauthn4j가 판정
+        VerifiedAssertion verified = metrics.phase("fast_verify", () -> fastAssertionVerifier.verify(
+                material, authenticatorData, clientDataJSON, signature, challenge, storedSignCount));
+        if (verified != null) {
+            return verified;
+        }
+
+        // 서버 속성 생성
+        ServerProperty serverProperty = webAuthnConfig.createServerProperty(challenge);
+
+        // 인증 데이터 생성
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(
+                credentialId,
+                userHandle,
+                authenticatorData,
+                clientDataJSON,
+                null,  // clientExtensionJSON
+                signature
+        );
+
+        // sign count는 호출자가 정한 기준값(DB 값과 아직 flush되지 않은 값 중 큰 값)을 사용
+        Authenticator authenticator = new AuthenticatorImpl(
+                material.attestedCredentialData(),
+                null,  // attestationStatement
+                storedSignCount
+        );
+
+        AuthenticationParameters authenticationParameters = new AuthenticationParameters(
+                serverProperty,
+                authenticator,
+                null,  // allowCredentials
+                false  // userVerificationRequired
+        );
+
+        // WebAuthn 검증
+        AuthenticationData authenticationData = metrics.phase("parse",
+                () -> webAuthnManager.parse(authenticationRequest));
+        metrics.phase("verify", () -> webAuthnManager.verify(authenticationData, authenticationParameters));
+        return new VerifiedAssertion(authenticationData.getAuthenticatorData().getSignCount(),
+                authenticationData.getAuthenticatorData().isFlagUV());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.passkey.domain.credential.cache;
+
+import com.example.passkey.domain.credential.repository.CredentialDescriptor;
+import com.example.passkey.global.config.AllowCredentialsCacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * username -> allowCredentials 목록 캐시 (짧은 TTL)
+ *
+ * 이 노드에서 credential이 저장되면 AuthService.finishRegistration이 커밋 후에 무효화하고,
+ * 삭제되면 {@link CredentialCacheInvalidator}가 즉시, 그리고 커밋 후 한 번 더 무효화합니다.
+ * 커밋 전에 다른 요청이 이전 목록을 다시 적재해도 커밋 후 무효화로 지워집니다.
+ * 다른 노드의 변경은 TTL이 지나야 반영됩니다.
+ */
+@Component
+public class AllowCredentialsCache {
+
+    private final AllowCredentialsCacheConfig config;
+    private final Cache<String, List<CredentialDescriptor>> cache;
+
+    public AllowCredentialsCache(AllowCredentialsCacheConfig config) {
+        this.config = config;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(config.getExpireAfterWriteMillis()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param loader 캐시에 없을 때 목록을 조회하는 함수 (엔티티 리스너가 이 캐시를 참조하므로 저장소를 직접 주입하지 않음)
+     */
+    public List<CredentialDescriptor> get(String username, Function<String, List<CredentialDescriptor>> loader) {
+        if (!config.isEnabled()) {
+            return loader.apply(username);
+        }
+        return cache.get(username, key -> List.copyOf(loader.apply(key)));
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+        invalidateAfterCommit(username);
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤에 무효화합니다. 트랜잭션 밖에서는 바로 무효화합니다.
+     */
+    public void invalidateAfterCommit(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(username);
+                }
+            });
+        } else {
+            cache.invalidate(username);
+        }
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.passkey.domain.credential.cache;
+
+import com.example.passkey.domain.credential.entity.Credential;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Credential 엔티티 변경 시 캐시를 무효화하는 JPA 엔티티 리스너
+ * 새로 저장된 credential은 같은 ID의 이전 캐시 항목을 대체하고, 삭제된 credential은 캐시에서 제거합니다.
+ * 소유자가 로딩되어 있으면 allowCredentials 목록도 함께 무효화합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CredentialCacheInvalidator {
+
+    private final CredentialMaterialCache credentialMaterialCache;
+    private final AllowCredentialsCache allowCredentialsCache;
+
+    @PostPersist
+    @PostRemove
+    public void invalidate(Credential credential) {
+        credentialMaterialCache.invalidate(credential.getCredentialId());
+        // finishRegistration은 User 프록시만 연결하므로 여기서 초기화하지 않고 AuthService가 직접 무효화
+        if (credential.getUser() != null && Hibernate.isInitialized(credential.getUser())) {
+            allowCredentialsCache.invalidate(credential.getUser().getUsername());
+        }
+    }
+}
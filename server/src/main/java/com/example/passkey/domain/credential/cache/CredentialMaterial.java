@@ -0,0 +1,19 @@
+package com.example.passkey.domain.credential.cache;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+
+import java.security.PublicKey;
+
+/**
+ * 등록 이후 변하지 않는 credential 검증 재료
+ * sign count 처럼 변하는 값은 포함하지 않습니다.
+ */
+public record CredentialMaterial(
+        AttestedCredentialData attestedCredentialData,  // AuthenticatorImpl 생성에 바로 사용
+        COSEKey coseKey,
+        PublicKey publicKey,                            // 서명 검증용 JCA 공개키
+        AAGUID aaguid
+) {
+}
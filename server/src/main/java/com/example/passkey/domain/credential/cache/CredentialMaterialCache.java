@@ -0,0 +1,76 @@
+package com.example.passkey.domain.credential.cache;
+
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.credential.key.PublicKeyCodec;
+import com.example.passkey.domain.credential.key.PublicKeyCodec.DecodedPublicKey;
+import com.example.passkey.global.config.CredentialCacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * credentialId -> 파싱된 공개키/AAGUID 캐시
+ * 로그인마다 반복되던 공개키 디코딩과 객체 생성을 없애기 위해 사용합니다.
+ * credential이 삭제되거나 같은 ID로 다시 저장되면 {@link CredentialCacheInvalidator}가 무효화합니다.
+ */
+@Component
+public class CredentialMaterialCache {
+
+    private final CredentialCacheConfig config;
+    private final Cache<String, CredentialMaterial> cache;
+
+    public CredentialMaterialCache(CredentialCacheConfig config) {
+        this.config = config;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterAccess(Duration.ofMillis(config.getExpireAfterAccessMillis()))
+                .recordStats()
+                .build();
+    }
+
+    public CredentialMaterial get(Credential credential) {
+        if (!config.isEnabled()) {
+            return load(credential);
+        }
+        return cache.get(credential.getCredentialId(), id -> load(credential));
+    }
+
+    public void invalidate(String credentialId) {
+        cache.invalidate(credentialId);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    private CredentialMaterial load(Credential credential) {
+        // compact 형식이면 CBOR 파싱 없이 바로 JCA 공개키를 만듦 (이전 CBOR 행도 읽음)
+        DecodedPublicKey decoded = PublicKeyCodec.decode(credential.getPublicKey());
+
+        // AAGUID 생성 (저장된 값이 없으면 ZERO 사용)
+        AAGUID aaguid;
+        if (credential.getAaguid() != null && !credential.getAaguid().isEmpty()) {
+            aaguid = new AAGUID(credential.getAaguid());
+        } else {
+            aaguid = AAGUID.ZERO;
+        }
+
+        AttestedCredentialData attestedCredentialData = new AttestedCredentialData(
+                aaguid,
+                Base64.getUrlDecoder().decode(credential.getCredentialId()),
+                decoded.coseKey()
+        );
+
+        return new CredentialMaterial(attestedCredentialData, decoded.coseKey(), decoded.publicKey(), aaguid);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.passkey.domain.credential.entity;
 
+import com.example.passkey.domain.credential.cache.CredentialCacheInvalidator;
 import com.example.passkey.domain.user.entity.User;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -9,7 +10,8 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "credentials")
+@Table(name = "credentials", indexes = @Index(name = "idx_credentials_user_id", columnList = "user_id"))
+@EntityListeners(CredentialCacheInvalidator.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,9 +24,8 @@ public class Credential {
     @Column(nullable = false, unique = true)
     private String credentialId;  // Base64 encoded
 
-    @Lob
-    @Column(nullable = false)
-    private byte[] publicKey;  // COSE 형식 공개키
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] publicKey;  // PublicKeyCodec 형식 공개키 (이전 행은 CBOR COSE_Key), 행 안에 inline 저장
 
     @Column(nullable = false)
     private long signCount;  // 서명 카운터 (리플레이 공격 방지)
@@ -32,6 +33,9 @@ public class Credential {
     @Column
     private String aaguid;  // 인증자 식별자
 
+    @Column
+    private String transports;  // 쉼표로 구분한 transport 목록 (예: internal,hybrid)
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -42,6 +46,9 @@ public class Credential {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column
+    private Integer shardBucket;  // 소유자의 shard bucket (bucket 이동 시 bucket 단위로 복사)
+
     public Credential(String credentialId, byte[] publicKey, long signCount, String aaguid) {
         this.credentialId = credentialId;
         this.publicKey = publicKey;
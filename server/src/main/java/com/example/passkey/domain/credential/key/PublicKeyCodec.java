@@ -0,0 +1,255 @@
+package com.example.passkey.domain.credential.key;
+
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.authenticator.Curve;
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.data.attestation.authenticator.EdDSACOSEKey;
+import com.webauthn4j.data.attestation.authenticator.RSACOSEKey;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+
+/**
+ * credentials.public_key 저장 형식 인코더/디코더
+ *
+ * 알고리즘 태그가 붙은 고정 레이아웃으로 저장해, 읽을 때 CBOR 파싱 없이 바로 JCA 공개키를 만듭니다.
+ * <pre>
+ * [type:1][alg:4 (COSE 알고리즘 ID, signed big-endian)][payload]
+ *   EC2 (0x01): [curve:1][0x04][X][Y]   - 비압축 EC point
+ *   RSA (0x02): [nLen:2][n][e]          - modulus/exponent (unsigned big-endian)
+ *   OKP (0x03): [curve:1][x]            - Ed25519/Ed448 공개키
+ * </pre>
+ * CBOR map(COSE_Key)은 첫 바이트가 0xA0~0xBF 이므로 태그와 겹치지 않아, 이전 형식 행도 같은 컬럼에서 구분해 읽습니다.
+ */
+public final class PublicKeyCodec {
+
+    public static final byte TYPE_EC2 = 0x01;
+    public static final byte TYPE_RSA = 0x02;
+    public static final byte TYPE_OKP = 0x03;
+
+    private static final int HEADER_LENGTH = 5;
+
+    // Ed25519/Ed448 SubjectPublicKeyInfo 접두사 (뒤에 raw 공개키가 붙음)
+    private static final byte[] ED25519_PREFIX = hex("302a300506032b6570032100");
+    private static final byte[] ED448_PREFIX = hex("3043300506032b6571033a00");
+
+    private static final ObjectConverter objectConverter = new ObjectConverter();
+
+    private static final ECParameterSpec P256 = ecParameters("secp256r1");
+    private static final ECParameterSpec P384 = ecParameters("secp384r1");
+    private static final ECParameterSpec P521 = ecParameters("secp521r1");
+
+    private PublicKeyCodec() {
+    }
+
+    /**
+     * COSE 공개키를 저장 형식으로 인코딩합니다.
+     * 지원하지 않는 키 형식이면 기존 CBOR 형식으로 인코딩합니다 (decode가 두 형식을 모두 읽음).
+     */
+    public static byte[] encode(COSEKey coseKey) {
+        if (coseKey instanceof EC2COSEKey ec && ec.getCurve() != null && ec.getX() != null && ec.getY() != null) {
+            byte[] x = ec.getX();
+            byte[] y = ec.getY();
+            return header(TYPE_EC2, coseKey, 2 + x.length + y.length)
+                    .put((byte) ec.getCurve().getValue())
+                    .put((byte) 0x04)
+                    .put(x)
+                    .put(y)
+                    .array();
+        }
+        if (coseKey instanceof RSACOSEKey rsa && rsa.getN() != null && rsa.getE() != null) {
+            byte[] n = unsigned(rsa.getN());
+            byte[] e = unsigned(rsa.getE());
+            return header(TYPE_RSA, coseKey, 2 + n.length + e.length)
+                    .putShort((short) n.length)
+                    .put(n)
+                    .put(e)
+                    .array();
+        }
+        if (coseKey instanceof EdDSACOSEKey okp && okp.getCurve() != null && okp.getX() != null) {
+            byte[] x = okp.getX();
+            return header(TYPE_OKP, coseKey, 1 + x.length)
+                    .put((byte) okp.getCurve().getValue())
+                    .put(x)
+                    .array();
+        }
+        return encodeCbor(coseKey);
+    }
+
+    /**
+     * 이전 형식(CBOR COSE_Key)으로 인코딩합니다. 마이그레이션 전 데이터와 벤치마크 비교용입니다.
+     */
+    public static byte[] encodeCbor(COSEKey coseKey) {
+        return objectConverter.getCborConverter().writeValueAsBytes(coseKey);
+    }
+
+    /**
+     * 저장 형식이 새 compact 형식인지 확인합니다.
+     */
+    public static boolean isCompact(byte[] encoded) {
+        if (encoded == null || encoded.length <= HEADER_LENGTH) {
+            return false;
+        }
+        byte type = encoded[0];
+        return type == TYPE_EC2 || type == TYPE_RSA || type == TYPE_OKP;
+    }
+
+    /**
+     * 저장된 바이트를 공개키로 디코딩합니다. compact 형식이면 CBOR 파싱을 거치지 않습니다.
+     *
+     * @throws IllegalArgumentException 손상되었거나 지원하지 않는 형식이면
+     */
+    public static DecodedPublicKey decode(byte[] encoded) {
+        if (!isCompact(encoded)) {
+            return decodeCbor(encoded);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            byte type = buffer.get();
+            COSEAlgorithmIdentifier algorithm = COSEAlgorithmIdentifier.create(buffer.getInt());
+            return switch (type) {
+                case TYPE_EC2 -> decodeEc2(buffer, algorithm);
+                case TYPE_RSA -> decodeRsa(buffer, algorithm);
+                default -> decodeOkp(buffer, algorithm);
+            };
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid stored public key", e);
+        }
+    }
+
+    /**
+     * 이전 형식을 compact 형식으로 변환합니다. 이미 compact 형식이면 그대로 반환합니다.
+     */
+    public static byte[] migrate(byte[] encoded) {
+        if (isCompact(encoded)) {
+            return encoded;
+        }
+        return encode(decodeCbor(encoded).coseKey());
+    }
+
+    private static DecodedPublicKey decodeCbor(byte[] encoded) {
+        COSEKey coseKey = objectConverter.getCborConverter().readValue(encoded, COSEKey.class);
+        if (coseKey == null) {
+            throw new IllegalArgumentException("Invalid stored public key");
+        }
+        return new DecodedPublicKey(coseKey, coseKey.getPublicKey());
+    }
+
+    private static DecodedPublicKey decodeEc2(ByteBuffer buffer, COSEAlgorithmIdentifier algorithm)
+            throws GeneralSecurityException {
+        Curve curve = Curve.create(buffer.get());
+        if (buffer.get() != 0x04) {
+            throw new IllegalArgumentException("Only uncompressed EC points are supported");
+        }
+        int coordinateLength = buffer.remaining() / 2;
+        byte[] x = new byte[coordinateLength];
+        byte[] y = new byte[coordinateLength];
+        buffer.get(x).get(y);
+
+        ECPublicKeySpec spec = new ECPublicKeySpec(
+                new ECPoint(new BigInteger(1, x), new BigInteger(1, y)), ecParameters(curve));
+        PublicKey publicKey = KeyFactory.getInstance("EC").generatePublic(spec);
+        return new DecodedPublicKey(new EC2COSEKey(null, algorithm, null, curve, x, y), publicKey);
+    }
+
+    private static DecodedPublicKey decodeRsa(ByteBuffer buffer, COSEAlgorithmIdentifier algorithm)
+            throws GeneralSecurityException {
+        byte[] n = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(n);
+        byte[] e = new byte[buffer.remaining()];
+        buffer.get(e);
+
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(new BigInteger(1, n), new BigInteger(1, e));
+        PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(spec);
+        return new DecodedPublicKey(new RSACOSEKey(null, algorithm, null, n, e), publicKey);
+    }
+
+    private static DecodedPublicKey decodeOkp(ByteBuffer buffer, COSEAlgorithmIdentifier algorithm)
+            throws GeneralSecurityException {
+        Curve curve = Curve.create(buffer.get());
+        byte[] x = new byte[buffer.remaining()];
+        buffer.get(x);
+
+        String jcaAlgorithm;
+        byte[] prefix;
+        if (curve == Curve.ED25519) {
+            jcaAlgorithm = "Ed25519";
+            prefix = ED25519_PREFIX;
+        } else {
+            jcaAlgorithm = "Ed448";
+            prefix = ED448_PREFIX;
+        }
+        byte[] spki = Arrays.copyOf(prefix, prefix.length + x.length);
+        System.arraycopy(x, 0, spki, prefix.length, x.length);
+
+        PublicKey publicKey = KeyFactory.getInstance(jcaAlgorithm).generatePublic(new X509EncodedKeySpec(spki));
+        return new DecodedPublicKey(new EdDSACOSEKey(null, algorithm, null, curve, x, null), publicKey);
+    }
+
+    private static ByteBuffer header(byte type, COSEKey coseKey, int payloadLength) {
+        if (coseKey.getAlgorithm() == null) {
+            throw new IllegalArgumentException("COSE key without algorithm");
+        }
+        return ByteBuffer.allocate(HEADER_LENGTH + payloadLength)
+                .put(type)
+                .putInt(Math.toIntExact(coseKey.getAlgorithm().getValue()));
+    }
+
+    private static ECParameterSpec ecParameters(Curve curve) {
+        return switch (curve) {
+            case SECP256R1 -> P256;
+            case SECP384R1 -> P384;
+            case SECP521R1 -> P521;
+            default -> throw new IllegalArgumentException("Unsupported EC curve: " + curve);
+        };
+    }
+
+    private static ECParameterSpec ecParameters(String name) {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(name));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC curve not available: " + name, e);
+        }
+    }
+
+    // BigInteger 부호 바이트(선행 0x00) 제거
+    private static byte[] unsigned(byte[] value) {
+        int offset = 0;
+        while (offset < value.length - 1 && value[offset] == 0) {
+            offset++;
+        }
+        return offset == 0 ? value : Arrays.copyOfRange(value, offset, value.length);
+    }
+
+    private static byte[] hex(String value) {
+        byte[] bytes = new byte[value.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(value.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    /**
+     * 디코딩 결과
+     *
+     * @param coseKey   webauthn4j 검증(AttestedCredentialData)에 넘길 COSE 키
+     * @param publicKey 바로 사용할 수 있는 JCA 공개키
+     */
+    public record DecodedPublicKey(COSEKey coseKey, PublicKey publicKey) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.passkey.domain.credential.repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * allowCredentials 응답에 필요한 credential 정보만 담은 projection (공개키 @Lob은 읽지 않음)
+ *
+ * @param transports 쉼표로 구분한 transport 목록 (없으면 null)
+ */
+public record CredentialDescriptor(String credentialId, String transports) {
+
+    public List<String> transportList() {
+        if (transports == null || transports.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(transports.split(","));
+    }
+}
@@ -2,10 +2,27 @@ package com.example.passkey.domain.credential.repository;
 
 import com.example.passkey.domain.credential.entity.Credential;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CredentialRepository extends JpaRepository<Credential, Long> {
     Optional<Credential> findByCredentialId(String credentialId);
     boolean existsByCredentialId(String credentialId);
+
+    // allowCredentials용: username으로 credential ID와 transports만 조회 (users.username, credentials.user_id 인덱스 사용)
+    @Query("select new com.example.passkey.domain.credential.repository.CredentialDescriptor(c.credentialId, c.transports) "
+            + "from Credential c where c.user.username = :username")
+    List<CredentialDescriptor> findDescriptorsByUsername(@Param("username") String username);
+
+    // 인증 완료용: 트랜잭션 밖(replica 조회 후)에서 사용자 정보를 읽으므로 user fetch join
+    @Query("select c from Credential c join fetch c.user where c.credentialId = :credentialId")
+    Optional<Credential> findWithUserByCredentialId(@Param("credentialId") String credentialId);
+
+    // 배치 인증용: credential과 사용자를 IN 쿼리 한 번으로 조회 (병렬 검증 중 지연 로딩이 일어나지 않도록 user fetch join)
+    @Query("select c from Credential c join fetch c.user where c.credentialId in :credentialIds")
+    List<Credential> findAllWithUserByCredentialIdIn(@Param("credentialIds") Collection<String> credentialIds);
 }
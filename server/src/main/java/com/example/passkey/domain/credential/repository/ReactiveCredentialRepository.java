@@ -0,0 +1,112 @@
+package com.example.passkey.domain.credential.repository;
+
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.user.entity.User;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * reactive 프로필의 credentials 테이블 접근 (R2DBC)
+ * 조회 결과는 영속성 컨텍스트 밖의 {@link Credential}/{@link User} 객체로 만들어 검증 코드({@code WebAuthnVerifier})를 그대로 사용합니다.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCredentialRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * credential과 소유자를 join 한 번으로 조회합니다.
+     */
+    public Mono<Credential> findWithOwner(String credentialId) {
+        return databaseClient.sql("""
+                        SELECT c.id, c.credential_id, c.public_key, c.sign_count, c.aaguid, c.transports,
+                               u.id AS user_id, u.username, u.display_name
+                        FROM credentials c JOIN users u ON u.id = c.user_id
+                        WHERE c.credential_id = :credentialId""")
+                .bind("credentialId", credentialId)
+                .map(ReactiveCredentialRepository::toCredential)
+                .one();
+    }
+
+    /**
+     * allowCredentials용 credential ID/transports 목록 (공개키는 읽지 않음)
+     * 사용자가 없으면 empty, 사용자는 있고 credential이 없으면 빈 목록입니다.
+     */
+    public Mono<List<CredentialDescriptor>> findDescriptorsByUsername(String username) {
+        return databaseClient.sql("""
+                        SELECT c.credential_id, c.transports
+                        FROM users u LEFT JOIN credentials c ON c.user_id = u.id
+                        WHERE u.username = :username""")
+                .bind("username", username)
+                .map(row -> new CredentialDescriptor(
+                        row.get("credential_id", String.class),
+                        row.get("transports", String.class)))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(rows -> rows.stream()
+                        .filter(descriptor -> Objects.nonNull(descriptor.credentialId()))
+                        .toList());
+    }
+
+    public Mono<Void> insert(Credential credential, UUID userId) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        INSERT INTO credentials (credential_id, public_key, sign_count, aaguid, transports, created_at,
+                                                 user_id, shard_bucket)
+                        VALUES (:credentialId, :publicKey, :signCount, :aaguid, :transports, :createdAt,
+                                :userId, :shardBucket)""")
+                .bind("credentialId", credential.getCredentialId())
+                .bind("publicKey", credential.getPublicKey())
+                .bind("signCount", credential.getSignCount())
+                .bind("createdAt", credential.getCreatedAt())
+                .bind("userId", userId)
+                .bind("shardBucket", credential.getShardBucket());
+        spec = bindNullable(spec, "aaguid", credential.getAaguid());
+        spec = bindNullable(spec, "transports", credential.getTransports());
+        return spec.then();
+    }
+
+    /**
+     * sign count를 올리고 마지막 사용 시각을 기록합니다. DB 값보다 작은 값으로는 되돌리지 않습니다.
+     */
+    public Mono<Void> updateSignCount(String credentialId, long signCount) {
+        return databaseClient.sql("""
+                        UPDATE credentials SET sign_count = GREATEST(sign_count, :signCount), last_used_at = :lastUsedAt
+                        WHERE credential_id = :credentialId""")
+                .bind("signCount", signCount)
+                .bind("lastUsedAt", LocalDateTime.now())
+                .bind("credentialId", credentialId)
+                .then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                   String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private static Credential toCredential(Readable row) {
+        User user = new User(row.get("username", String.class), row.get("display_name", String.class));
+        user.setId(row.get("user_id", UUID.class));
+
+        Credential credential = new Credential(
+                row.get("credential_id", String.class),
+                row.get("public_key", byte[].class),
+                row.get("sign_count", Long.class),
+                row.get("aaguid", String.class));
+        credential.setId(row.get("id", Long.class));
+        credential.setTransports(row.get("transports", String.class));
+        credential.setUser(user);
+        return credential;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.passkey.domain.credential.service;
+
+import com.example.passkey.domain.credential.key.PublicKeyCodec;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.PublicKeyFormatConfig;
+import com.example.passkey.global.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CBOR COSE_Key로 저장된 공개키를 {@link PublicKeyCodec} compact 형식으로 다시 저장합니다.
+ *
+ * 시작 후 백그라운드 스레드에서 id 순으로 batchSize개씩 읽어 변환하며, 요청 처리와 겹쳐도 안전합니다.
+ * UPDATE는 읽은 값과 같을 때만 적용하고, 읽기 경로는 두 형식을 모두 지원하므로 중간에 멈춰도 다음 시작 때 이어서 진행합니다.
+ * 첫 바이트가 CBOR map(0xA0 이상)인 행만 가져오므로, 변환이 끝난 뒤의 시작에서는 공개키를 읽어 오지 않습니다.
+ * oid -> bytea 컬럼 변환은 JPA 초기화 전에 db/credential-public-key-bytea.sql 이 처리합니다.
+ */
+@Component
+@Slf4j
+public class PublicKeyFormatMigrator {
+
+    private static final byte[] CBOR_MAP_MIN = {(byte) 0xA0};
+
+    private final PublicKeyFormatConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final WorkerThreads workerThreads;
+
+    public PublicKeyFormatMigrator(PublicKeyFormatConfig config, JdbcTemplate jdbcTemplate, ShardRouter shardRouter,
+                                   WorkerThreads workerThreads) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.workerThreads = workerThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (config.isMigrateOnStartup()) {
+            workerThreads.factory("public-key-migration").newThread(this::migrateQuietly).start();
+        }
+    }
+
+    /**
+     * 이전 형식 행을 모두 변환합니다. (샤딩 중에는 모든 shard)
+     *
+     * @return 변환한 행 수
+     */
+    public long migrate() {
+        long[] migrated = new long[1];
+        shardRouter.forEachShard(shard -> migrated[0] += migrateShard());
+        return migrated[0];
+    }
+
+    private long migrateShard() {
+        long lastId = 0;
+        long migrated = 0;
+        long failed = 0;
+        while (true) {
+            // 첫 바이트 비교 (get_byte와 달리 빈 값에서도 오류가 나지 않음)
+            List<Row> rows = jdbcTemplate.query("""
+                            SELECT id, public_key FROM credentials
+                            WHERE id > ? AND substring(public_key FROM 1 FOR 1) >= ?
+                            ORDER BY id LIMIT ?""",
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getBytes(2)),
+                    lastId, CBOR_MAP_MIN, config.getBatchSize());
+            if (rows.isEmpty()) {
+                break;
+            }
+            lastId = rows.get(rows.size() - 1).id();
+
+            List<Object[]> updates = new ArrayList<>();
+            for (Row row : rows) {
+                if (PublicKeyCodec.isCompact(row.publicKey())) {
+                    continue;
+                }
+                try {
+                    updates.add(new Object[]{PublicKeyCodec.migrate(row.publicKey()), row.id(), row.publicKey()});
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("Cannot convert public key of credential row {}", row.id(), e);
+                }
+            }
+            if (!updates.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(
+                        "UPDATE credentials SET public_key = ? WHERE id = ? AND public_key = ?", updates)) {
+                    migrated += Math.max(count, 0);
+                }
+            }
+        }
+        if (migrated > 0 || failed > 0) {
+            log.info("Public key format migration finished: {} converted, {} failed", migrated, failed);
+        }
+        return migrated;
+    }
+
+    private void migrateQuietly() {
+        try {
+            migrate();
+        } catch (RuntimeException e) {
+            log.warn("Public key format migration stopped, will resume on next start", e);
+        }
+    }
+
+    private record Row(long id, byte[] publicKey) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.passkey.domain.credential.service;
+
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.credential.repository.CredentialRepository;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.ReplicaConfig;
+import com.example.passkey.global.config.SignCountConfig;
+import com.example.passkey.global.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 인증 성공 후 sign count / lastUsedAt 갱신을 모아서 JDBC batch로 기록합니다.
+ *
+ * <ul>
+ *     <li>credential 별로 가장 큰 sign count만 남기므로 flush 전까지 여러 번의 로그인이 UPDATE 1건으로 합쳐집니다.</li>
+ *     <li>flush 전까지는 메모리 값이 기준입니다. {@link #currentSignCount(Credential)}가 DB 값과 대기 값 중 큰 값을 돌려주므로
+ *         복제(clone) 감지는 flush 여부와 관계없이 동일하게 동작합니다. 대기 값은 DB 반영이 끝난 뒤에만 제거합니다.</li>
+ *     <li>flush 전에 credential을 읽은 요청이 flush 뒤에 sign count를 확인할 수 있으므로, 기록한 값은
+ *         flushedFloorMillis 동안 하한으로 남겨 둡니다. replica를 쓰면 인증 완료의 credential 조회가 최대 복제 지연만큼
+ *         이전 값을 읽을 수 있으므로 하한 유지 시간은 replica 최대 지연 + 상태 확인 주기 이상으로 늘립니다.
+ *         동기 저장 모드에서도 같은 이유로 저장한 값을 하한으로 남깁니다.</li>
+ *     <li>UPDATE는 {@code sign_count <= ?} 조건을 걸어 DB 값이 뒤로 가지 않게 합니다.</li>
+ *     <li>정상 종료 시 {@link PreDestroy}에서 남은 값을 모두 flush합니다. 프로세스가 비정상 종료되면
+ *         최대 flushIntervalMillis 동안의 갱신이 유실될 수 있고, 이 경우 DB sign count가 그만큼 낮게 남습니다.
+ *         또한 메모리 값은 노드별이므로 여러 노드가 같은 credential을 처리하면 노드 간 감지는 flush 간격
+ *         (replica를 쓰면 복제 지연까지)만큼 늦어집니다.</li>
+ *     <li>샤딩 중에는 credential이 있는 shard별로 나눠 기록합니다.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SignCountWriteBehind {
+
+    private static final String UPDATE_SQL =
+            "UPDATE credentials SET sign_count = ?, last_used_at = ? WHERE credential_id = ? AND sign_count <= ?";
+
+    private final SignCountConfig config;
+    private final CredentialRepository credentialRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final long floorMillis;
+
+    private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Map<String, FlushedFloor> flushed = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    public SignCountWriteBehind(SignCountConfig config,
+                                CredentialRepository credentialRepository,
+                                JdbcTemplate jdbcTemplate,
+                                ShardRouter shardRouter,
+                                ReplicaConfig replicaConfig,
+                                WorkerThreads workerThreads) {
+        this.config = config;
+        this.credentialRepository = credentialRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        // replica는 최대 지연을 넘으면 다음 상태 확인에서 제외되므로 그때까지 이전 값을 읽을 수 있음
+        this.floorMillis = replicaConfig.isEnabled()
+                ? Math.max(config.getFlushedFloorMillis(),
+                        replicaConfig.getMaxLagMillis() + replicaConfig.getHealthCheckIntervalMillis())
+                : config.getFlushedFloorMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("sign-count-flush"));
+        if (config.isWriteBehind()) {
+            scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                    config.getFlushIntervalMillis(), config.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            // 동기 저장 모드에는 flush가 없으므로 만료된 하한만 주기적으로 정리
+            long purgeMillis = Math.max(floorMillis, 1);
+            scheduler.scheduleWithFixedDelay(this::purgeExpiredFloors, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 검증에 사용할 현재 sign count (DB 값, 아직 flush되지 않은 값, 최근 flush한 값 중 가장 큰 값)
+     */
+    public long currentSignCount(Credential credential) {
+        long current = credential.getSignCount();
+        // flush는 floor를 먼저 남기고 pending을 지우므로 pending → floor 순서로 읽어야 둘 다 놓치지 않음
+        PendingUpdate update = pending.get(credential.getCredentialId());
+        if (update != null) {
+            current = Math.max(current, update.signCount());
+        }
+        FlushedFloor floor = flushed.get(credential.getCredentialId());
+        if (floor != null && floor.expiresAtMillis() > System.currentTimeMillis()) {
+            current = Math.max(current, floor.signCount());
+        }
+        return current;
+    }
+
+    /**
+     * 인증 성공 후 새 sign count를 기록합니다.
+     */
+    public void record(Credential credential, long newSignCount) {
+        if (!config.isWriteBehind()) {
+            credential.updateSignCount(newSignCount);
+            shardRouter.onShard(shardOf(credential.getCredentialId()), () -> credentialRepository.save(credential));
+            keepFloor(credential.getCredentialId(), newSignCount);
+            return;
+        }
+
+        PendingUpdate update = new PendingUpdate(newSignCount, LocalDateTime.now());
+        pending.merge(credential.getCredentialId(), update, PendingUpdate::max);
+
+        if (pending.size() >= config.getBatchSize() && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * 배치 인증 결과의 sign count를 한 번에 기록합니다.
+     * write-behind 모드에서는 대기열에 합치고, 아니면 saveAll로 모아 Hibernate JDBC batch(hibernate.jdbc.batch_size)로 UPDATE합니다.
+     */
+    public void recordAll(Map<Credential, Long> newSignCounts) {
+        if (newSignCounts.isEmpty()) {
+            return;
+        }
+        if (!config.isWriteBehind()) {
+            newSignCounts.forEach(Credential::updateSignCount);
+            newSignCounts.keySet().stream()
+                    .collect(Collectors.groupingBy(credential -> shardOf(credential.getCredentialId())))
+                    .forEach((shard, credentials) ->
+                            shardRouter.onShard(shard, () -> credentialRepository.saveAll(credentials)));
+            newSignCounts.forEach((credential, signCount) -> keepFloor(credential.getCredentialId(), signCount));
+            return;
+        }
+        newSignCounts.forEach(this::record);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    int getFlushedFloorCount() {
+        return flushed.size();
+    }
+
+    /**
+     * 대기 중인 갱신을 batch UPDATE로 기록합니다.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Map.Entry<String, PendingUpdate>> snapshot = new ArrayList<>(pending.entrySet());
+            Map<Integer, List<Map.Entry<String, PendingUpdate>>> byShard = new HashMap<>();
+            for (Map.Entry<String, PendingUpdate> entry : snapshot) {
+                byShard.computeIfAbsent(shardOf(entry.getKey()), shard -> new ArrayList<>()).add(entry);
+            }
+            byShard.forEach((shard, entries) -> shardRouter.onShard(shard, () -> {
+                flushShard(entries);
+                return null;
+            }));
+            if (!snapshot.isEmpty()) {
+                log.debug("Flushed {} sign count updates", snapshot.size());
+            }
+            purgeExpiredFloors();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushShard(List<Map.Entry<String, PendingUpdate>> entries) {
+        for (int from = 0; from < entries.size(); from += config.getBatchSize()) {
+            List<Map.Entry<String, PendingUpdate>> batch =
+                    entries.subList(from, Math.min(from + config.getBatchSize(), entries.size()));
+
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setLong(1, entry.getValue().signCount());
+                ps.setTimestamp(2, Timestamp.valueOf(entry.getValue().lastUsedAt()));
+                ps.setString(3, entry.getKey());
+                ps.setLong(4, entry.getValue().signCount());
+            });
+
+            // flush 도중 더 큰 값이 들어왔다면 남겨 둡니다
+            for (Map.Entry<String, PendingUpdate> entry : batch) {
+                keepFloor(entry.getKey(), entry.getValue().signCount());
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void purgeExpiredFloors() {
+        long now = System.currentTimeMillis();
+        flushed.values().removeIf(floor -> floor.expiresAtMillis() <= now);
+    }
+
+    private void keepFloor(String credentialId, long signCount) {
+        long expiresAt = System.currentTimeMillis() + floorMillis;
+        flushed.merge(credentialId, new FlushedFloor(signCount, expiresAt), FlushedFloor::max);
+    }
+
+    // 인증에 성공한 credential이므로 인덱스에 있음 (인덱스 조회는 캐시됨)
+    private int shardOf(String credentialId) {
+        return Math.max(shardRouter.shardForCredential(credentialId), 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // 실패한 값은 pending에 남아 다음 주기에 재시도됩니다
+            log.error("Failed to flush sign count updates", e);
+        }
+    }
+
+    private record PendingUpdate(long signCount, LocalDateTime lastUsedAt) {
+
+        private static PendingUpdate max(PendingUpdate a, PendingUpdate b) {
+            return new PendingUpdate(
+                    Math.max(a.signCount(), b.signCount()),
+                    a.lastUsedAt().isAfter(b.lastUsedAt()) ? a.lastUsedAt() : b.lastUsedAt()
+            );
+        }
+    }
+
+    private record FlushedFloor(long signCount, long expiresAtMillis) {
+
+        private static FlushedFloor max(FlushedFloor a, FlushedFloor b) {
+            return new FlushedFloor(Math.max(a.signCount(), b.signCount()),
+                    Math.max(a.expiresAtMillis(), b.expiresAtMillis()));
+        }
+    }
+}
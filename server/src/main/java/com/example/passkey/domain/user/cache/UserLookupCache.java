@@ -0,0 +1,337 @@
+package com.example.passkey.domain.user.cache;
+
+import com.example.passkey.domain.user.repository.UserRepository;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.datasource.ReplicaReads;
+import com.example.passkey.global.config.UserCacheConfig;
+import com.example.passkey.global.shard.ShardRouter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * username -> {@link UserSummary} 조회 캐시
+ *
+ * <ul>
+ *     <li>존재하는 사용자(positive)와 없는 사용자(negative)를 모두 캐시하며, negative 항목은 TTL을 짧게 둡니다.</li>
+ *     <li>캐시에 없으면 username Bloom filter를 먼저 확인해, filter에 없는 username은 DB 조회 없이 없다고 답합니다.
+ *         credential stuffing처럼 없는 username 조회가 대부분인 트래픽이 Postgres까지 가지 않습니다.
+ *         filter를 통과했지만 DB에 없는 경우(오탐)만 negative 항목으로 캐시합니다.</li>
+ *     <li>filter는 시작 후 DB의 실제 사용자 수에 맞춰 크기를 정해 적재하고, 이 노드에서 생성한 사용자는 바로 추가합니다.
+ *         다른 노드에서 생성된 사용자는 shard별 created_at watermark 이후의 행만 짧은 주기로 읽어 추가하므로
+ *         refreshIntervalMillis 정도 늦게 보입니다. 전체 재생성은 크기 조정과 삭제된 사용자 정리를 위해 드물게 합니다.
+ *         그 사이에도 {@link #find}에서 잠깐 없는 것으로 보일 수 있으므로
+ *         사용자를 만들거나 갱신하는 경로는 filter를 쓰지 않는 {@link #findForUpdate}를 사용합니다.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class UserLookupCache {
+
+    private static final Optional<UserSummary> ABSENT = Optional.empty();
+
+    private final UserCacheConfig config;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReplicaReads replicaReads;
+    private final ShardRouter shardRouter;
+    private final ScheduledExecutorService scheduler;
+    private final Cache<String, Optional<UserSummary>> cache;
+
+    // null이면 아직 적재 전이므로 사용하지 않음
+    private volatile UsernameBloomFilter filter;
+    // 재생성 중인 filter (그 사이 생성된 username도 추가)
+    private volatile UsernameBloomFilter building;
+    // shard별로 filter에 반영한 가장 늦은 created_at (scheduler 스레드에서만 사용)
+    private Timestamp[] watermarks;
+
+    private final LongAdder positiveHits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder filterRejects = new LongAdder();
+    private final LongAdder databaseFound = new LongAdder();
+    private final LongAdder databaseMissing = new LongAdder();
+    private final LongAdder filterFalsePositives = new LongAdder();
+
+    public UserLookupCache(UserCacheConfig config,
+                           UserRepository userRepository,
+                           JdbcTemplate jdbcTemplate,
+                           ReplicaReads replicaReads,
+                           ShardRouter shardRouter,
+                           WorkerThreads workerThreads) {
+        this.config = config;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.replicaReads = replicaReads;
+        this.shardRouter = shardRouter;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("username-filter"));
+        long positiveTtlNanos = TimeUnit.MILLISECONDS.toNanos(config.getPositiveTtlMillis());
+        long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(config.getNegativeTtlMillis());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfter(new Expiry<String, Optional<UserSummary>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<UserSummary> value, long currentTime) {
+                        return value.isPresent() ? positiveTtlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<UserSummary> value,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<UserSummary> value,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (config.isEnabled() && config.getBloom().isEnabled()) {
+            UserCacheConfig.BloomConfig bloom = config.getBloom();
+            scheduler.scheduleWithFixedDelay(this::rebuildQuietly,
+                    0, bloom.getRebuildIntervalMillis(), TimeUnit.MILLISECONDS);
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly,
+                    bloom.getRefreshIntervalMillis(), bloom.getRefreshIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 조회 전용 경로(인증 시작)에서 사용자를 찾습니다. Bloom filter와 negative 캐시를 사용합니다.
+     */
+    public Optional<UserSummary> find(String username) {
+        if (!config.isEnabled()) {
+            return load(username);
+        }
+        Optional<UserSummary> cached = cache.getIfPresent(username);
+        if (cached != null) {
+            (cached.isPresent() ? positiveHits : negativeHits).increment();
+            return cached;
+        }
+
+        UsernameBloomFilter current = filter;
+        if (current != null && !current.mightContain(username)) {
+            filterRejects.increment();
+            return ABSENT;
+        }
+
+        Optional<UserSummary> loaded = cache.get(username, this::load);
+        if (loaded.isEmpty() && current != null) {
+            filterFalsePositives.increment();
+        }
+        return loaded;
+    }
+
+    /**
+     * 사용자를 만들거나 credential을 추가하는 경로에서 사용자를 찾습니다.
+     * 다른 노드에서 방금 생성된 사용자도 놓치지 않도록 filter와 negative 캐시를 쓰지 않습니다.
+     * 캐시에 없으면 현재 shard({@link ShardRouter#onShard})에서 조회하므로 호출자가 username의 shard를 지정합니다.
+     */
+    public Optional<UserSummary> findForUpdate(String username) {
+        if (!config.isEnabled()) {
+            return load(username);
+        }
+        Optional<UserSummary> cached = cache.getIfPresent(username);
+        if (cached != null && cached.isPresent()) {
+            positiveHits.increment();
+            return cached;
+        }
+        Optional<UserSummary> loaded = load(username);
+        cache.put(username, loaded);
+        return loaded;
+    }
+
+    /**
+     * 새로 생성한 사용자를 반영합니다. filter에는 바로 추가하고, positive 항목은 커밋 후에 넣습니다.
+     */
+    public void registerCreated(UserSummary user) {
+        UsernameBloomFilter current = filter;
+        if (current != null) {
+            current.add(user.username());
+        }
+        UsernameBloomFilter next = building;
+        if (next != null) {
+            next.add(user.username());
+        }
+
+        cache.invalidate(user.username());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(user.username(), Optional.of(user));
+                }
+            });
+        } else {
+            cache.put(user.username(), Optional.of(user));
+        }
+    }
+
+    /**
+     * DB의 username 전체로 filter를 다시 만들고 교체합니다. (샤딩 중에는 모든 shard)
+     * filter 크기는 현재 사용자 수에 여유분(capacityHeadroom)을 곱한 값과 설정값 중 큰 값으로 정합니다.
+     */
+    public void rebuildFilter() {
+        UserCacheConfig.BloomConfig bloom = config.getBloom();
+        long[] count = new long[1];
+        shardRouter.forEachShard(shard ->
+                count[0] += jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class));
+        long expected = Math.max(bloom.getExpectedInsertions(), (long) (count[0] * bloom.getCapacityHeadroom()));
+
+        UsernameBloomFilter next = new UsernameBloomFilter(expected, bloom.getFalsePositiveRate());
+        Timestamp[] nextWatermarks = new Timestamp[shardRouter.shardCount()];
+        building = next;
+        try {
+            shardRouter.forEachShard(shard -> jdbcTemplate.query("SELECT username, created_at FROM users",
+                    (RowCallbackHandler) rs -> {
+                        next.add(rs.getString(1));
+                        nextWatermarks[shard] = later(nextWatermarks[shard], rs.getTimestamp(2));
+                    }));
+            filter = next;
+            watermarks = nextWatermarks;
+        } finally {
+            building = null;
+        }
+        log.debug("Rebuilt username filter with {} names (sized for {})", next.getInsertions(), expected);
+    }
+
+    /**
+     * 마지막 반영 이후 생성된 username만 읽어 filter에 추가합니다.
+     * 먼저 시작했지만 늦게 커밋된 트랜잭션의 행도 놓치지 않도록 watermark보다 refreshLookbackMillis 앞부터 읽고,
+     * 이미 filter가 있다고 답하는 username은 다시 추가하지 않습니다.
+     * filter가 크기를 정할 때의 예상 원소 수를 넘으면 바로 다시 만듭니다.
+     */
+    public void refreshFilter() {
+        UsernameBloomFilter current = filter;
+        Timestamp[] marks = watermarks;
+        if (current == null || marks == null) {
+            return;
+        }
+        long lookback = config.getBloom().getRefreshLookbackMillis();
+        int[] added = new int[1];
+        shardRouter.forEachShard(shard -> {
+            Timestamp since = marks[shard] != null
+                    ? new Timestamp(marks[shard].getTime() - lookback)
+                    : new Timestamp(0);
+            jdbcTemplate.query("SELECT username, created_at FROM users WHERE created_at > ?",
+                    (RowCallbackHandler) rs -> {
+                        String username = rs.getString(1);
+                        if (!current.mightContain(username)) {
+                            current.add(username);
+                            added[0]++;
+                        }
+                        marks[shard] = later(marks[shard], rs.getTimestamp(2));
+                    }, since);
+        });
+        if (added[0] > 0) {
+            log.debug("Added {} usernames created since the last refresh", added[0]);
+        }
+        if (current.getInsertions() > current.getExpectedInsertions()) {
+            log.info("Username filter holds {} names, more than sized {}; rebuilding",
+                    current.getInsertions(), current.getExpectedInsertions());
+            rebuildFilter();
+        }
+    }
+
+    public UserLookupStats stats() {
+        UsernameBloomFilter current = filter;
+        return new UserLookupStats(
+                cache.estimatedSize(),
+                positiveHits.sum(),
+                negativeHits.sum(),
+                filterRejects.sum(),
+                databaseFound.sum(),
+                databaseMissing.sum(),
+                filterFalsePositives.sum(),
+                current != null ? current.getInsertions() : 0,
+                current != null ? current.expectedFalsePositiveRate() : 0
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private Optional<UserSummary> load(String username) {
+        // 읽기 전용 경로에서는 replica를 읽으므로, 복제 지연으로 생긴 negative 항목이 남지 않도록 miss는 primary에서 확인
+        Optional<UserSummary> user = replicaReads.read(
+                () -> userRepository.findByUsername(username).map(UserSummary::from), Optional::isEmpty);
+        (user.isPresent() ? databaseFound : databaseMissing).increment();
+        return user;
+    }
+
+    private static Timestamp later(Timestamp current, Timestamp candidate) {
+        return candidate != null && (current == null || candidate.after(current)) ? candidate : current;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refreshFilter();
+        } catch (Exception e) {
+            // 다음 주기에 같은 watermark부터 다시 읽음
+            log.error("Failed to refresh username filter", e);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuildFilter();
+        } catch (Exception e) {
+            // 이전 filter(또는 filter 없이 DB 조회)로 계속 동작
+            log.error("Failed to rebuild username filter", e);
+        }
+    }
+
+    /**
+     * @param filterFalsePositives filter는 통과했지만 DB에 없던 조회 수
+     */
+    public record UserLookupStats(
+            long size,
+            long positiveHits,
+            long negativeHits,
+            long filterRejects,
+            long databaseFound,
+            long databaseMissing,
+            long filterFalsePositives,
+            long filterInsertions,
+            double filterExpectedFalsePositiveRate
+    ) {
+        /**
+         * DB에 없던 username 중 filter가 걸러내지 못한 비율 (관측 오탐률)
+         */
+        public double filterObservedFalsePositiveRate() {
+            long absent = filterRejects + filterFalsePositives;
+            return absent == 0 ? 0 : (double) filterFalsePositives / absent;
+        }
+
+        /**
+         * DB 조회 없이 답한 비율
+         */
+        public double hitRatio() {
+            long answered = positiveHits + negativeHits + filterRejects;
+            long total = answered + databaseFound + databaseMissing;
+            return total == 0 ? 0 : (double) answered / total;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.passkey.domain.user.cache;
+
+import com.example.passkey.domain.user.entity.User;
+
+import java.util.UUID;
+
+/**
+ * ceremony에 필요한 사용자 정보 (User 엔티티와 credentials 컬렉션 없이 캐시에 보관)
+ */
+public record UserSummary(UUID id, String username, String displayName) {
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getDisplayName());
+    }
+}
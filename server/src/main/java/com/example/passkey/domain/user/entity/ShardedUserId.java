@@ -0,0 +1,17 @@
+package com.example.passkey.domain.user.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 사용자 shard bucket을 담은 UUID를 id로 생성합니다. ({@link ShardedUserIdGenerator})
+ */
+@IdGeneratorType(ShardedUserIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedUserId {
+}
@@ -0,0 +1,28 @@
+package com.example.passkey.domain.user.entity;
+
+import com.example.passkey.global.shard.ShardBuckets;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * INSERT 전에 username bucket으로 사용자 id를 만듭니다.
+ * userHandle(= 사용자 id)만으로 사용자가 있는 shard를 찾을 수 있도록 하기 위함입니다.
+ */
+public class ShardedUserIdGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        User user = (User) owner;
+        return ShardBuckets.newUserId(ShardBuckets.bucketOf(user.getUsername()));
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
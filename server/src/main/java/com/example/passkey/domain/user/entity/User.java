@@ -1,24 +1,26 @@
 package com.example.passkey.domain.user.entity;
 
 import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.global.shard.ShardBuckets;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_created_at", columnList = "created_at"))
 @Getter
 @Setter
 @NoArgsConstructor
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @ShardedUserId
     private UUID id;
 
     @Column(unique = true, nullable = false)
@@ -27,16 +29,25 @@ public class User {
     @Column(nullable = false)
     private String displayName;
 
+    @Column
+    private Integer shardBucket;  // username 해시 bucket (샤딩 전에 만든 행은 backfill 전까지 null)
+
+    // DB가 INSERT 시각으로 채움 (username filter의 증분 반영 기준, R2DBC INSERT도 같은 기본값 사용)
+    @Column(insertable = false, updatable = false, columnDefinition = "timestamp(6) DEFAULT now()")
+    private LocalDateTime createdAt;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Credential> credentials = new ArrayList<>();
 
     public User(String username, String displayName) {
         this.username = username;
         this.displayName = displayName;
+        this.shardBucket = ShardBuckets.bucketOf(username);
     }
 
     public void addCredential(Credential credential) {
         credentials.add(credential);
         credential.setUser(this);
+        credential.setShardBucket(ShardBuckets.bucketOf(username));
     }
 }
@@ -0,0 +1,58 @@
+package com.example.passkey.domain.user.repository;
+
+import com.example.passkey.domain.user.cache.UserSummary;
+import com.example.passkey.global.shard.ShardBuckets;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * reactive 프로필의 users 테이블 접근 (R2DBC)
+ * JPA 엔티티와 같은 테이블/컬럼을 사용하며, 스키마는 JPA(ddl-auto)가 관리합니다.
+ * shard 라우팅은 하지 않으므로 샤딩(webauthn.sharding)과 함께 사용할 수 없습니다. ({@link com.example.passkey.domain.auth.service.ReactiveAuthService}가 시작 시 거절)
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserSummary> findByUsername(String username) {
+        return databaseClient.sql("SELECT id, username, display_name FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(ReactiveUserRepository::toSummary)
+                .one();
+    }
+
+    /**
+     * 사용자를 생성합니다. 같은 username이 동시에 생성되면 먼저 생성된 행을 돌려줍니다.
+     */
+    public Mono<UserSummary> insert(String username, String displayName) {
+        int bucket = ShardBuckets.bucketOf(username);
+        UUID id = ShardBuckets.newUserId(bucket);  // JPA의 ShardedUserIdGenerator와 같은 형식
+        return databaseClient.sql("""
+                        INSERT INTO users (id, username, display_name, shard_bucket)
+                        VALUES (:id, :username, :displayName, :bucket)""")
+                .bind("id", id)
+                .bind("username", username)
+                .bind("displayName", displayName)
+                .bind("bucket", bucket)
+                .then()
+                .thenReturn(new UserSummary(id, username, displayName))
+                .onErrorResume(DataIntegrityViolationException.class, e -> findByUsername(username));
+    }
+
+    private static UserSummary toSummary(Readable row) {
+        return new UserSummary(
+                row.get("id", UUID.class),
+                row.get("username", String.class),
+                row.get("display_name", String.class));
+    }
+}
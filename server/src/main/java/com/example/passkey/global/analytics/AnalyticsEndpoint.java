@@ -0,0 +1,26 @@
+package com.example.passkey.global.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/analytics: 활성 사용자(1일/7일/30일 추정), 오늘의 상위 AAGUID/credential, 최근 실패율, 일별 횟수
+ *
+ * 집계 스레드가 summaryIntervalMillis마다 만든 결과를 그대로 돌려주므로 트래픽과 관계없이 조회 비용이 일정합니다.
+ */
+@Component
+@Endpoint(id = "analytics")
+@RequiredArgsConstructor
+public class AnalyticsEndpoint {
+
+    private final UsageAnalytics usageAnalytics;
+
+    @ReadOperation
+    public Map<String, Object> analytics() {
+        return usageAnalytics.summary();
+    }
+}
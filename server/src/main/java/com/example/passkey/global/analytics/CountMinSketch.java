@@ -0,0 +1,57 @@
+package com.example.passkey.global.analytics;
+
+/**
+ * 빈도 추정용 count-min sketch (집계 스레드 전용, 동기화 없음)
+ *
+ * 추정값은 실제 횟수 이상이며, 확률 1 - e^-depth로 실제 횟수 + (e / width) * 전체 횟수 이하입니다.
+ * (width 2048, depth 4면 전체의 0.13% 이내, 32KB)
+ * 입력은 이미 섞인 64비트 해시이며, 행마다 해시를 다르게 나눠 씁니다(h1 + i * h2).
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int[] counts;
+
+    CountMinSketch(int depth, int width) {
+        this(depth, width, new int[depth * width]);
+    }
+
+    CountMinSketch(int depth, int width, int[] counts) {
+        if (depth < 1 || Integer.bitCount(width) != 1 || counts.length != depth * width) {
+            throw new IllegalArgumentException("Invalid count-min sketch size: " + depth + "x" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = counts;
+    }
+
+    /**
+     * @return 더한 뒤의 추정 횟수
+     */
+    int add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + ((h1 + row * h2) & (width - 1));
+            if (counts[cell] < Integer.MAX_VALUE) {
+                counts[cell]++;
+            }
+            estimate = Math.min(estimate, counts[cell]);
+        }
+        return estimate;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    int width() {
+        return width;
+    }
+
+    int[] counts() {
+        return counts;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.passkey.global.analytics;
+
+import java.util.UUID;
+
+/**
+ * sketch 입력용 64비트 해시 (murmur3 finalizer로 섞음)
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    static long hash(UUID value) {
+        return mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+    }
+
+    // FNV-1a 64
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.passkey.global.analytics;
+
+/**
+ * 고유 원소 수 추정용 HyperLogLog (집계 스레드 전용, 동기화 없음)
+ *
+ * register는 2^precision개(precision 14면 16KB)이며 표준 오차는 1.04 / sqrt(2^precision)입니다.
+ * 입력은 이미 섞인 64비트 해시여야 합니다. 같은 precision의 sketch끼리 {@link #merge}로 합집합을 만들 수 있습니다.
+ */
+final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        this(precision, new byte[1 << precision]);
+    }
+
+    HyperLogLog(int precision, byte[] registers) {
+        if (precision < 4 || precision > 18 || registers.length != 1 << precision) {
+            throw new IllegalArgumentException("Invalid HyperLogLog precision: " + precision);
+        }
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    void add(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // 남은 비트의 선행 0 개수 + 1 (모두 0이어도 64 - precision + 1을 넘지 않게 표시 비트 추가)
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        // 작은 범위는 linear counting이 더 정확
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    HyperLogLog copy() {
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    int precision() {
+        return precision;
+    }
+
+    byte[] registers() {
+        return registers;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.passkey.global.analytics;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+
+import java.util.Arrays;
+
+/**
+ * 최근 1시간의 ceremony 종류/결과별 횟수 (10초 slot 360개의 ring, 집계 스레드 전용)
+ *
+ * slot은 처음 쓸 때 이전 주기의 값을 지우므로 따로 만료 작업이 없습니다.
+ */
+final class RollingCounters {
+
+    static final long SLOT_MILLIS = 10_000L;
+    static final int SLOTS = 360;
+
+    private static final int TYPES = AuthEvent.Type.values().length;
+    private static final int OUTCOMES = AuthEvent.Outcome.values().length;
+    private static final int WIDTH = TYPES * OUTCOMES;
+
+    private final long[] slotEpochs = new long[SLOTS];
+    private final long[] counts = new long[SLOTS * WIDTH];
+
+    RollingCounters() {
+        Arrays.fill(slotEpochs, -1);
+    }
+
+    void record(AuthEvent event) {
+        long epoch = event.timestampMillis() / SLOT_MILLIS;
+        int slot = (int) (epoch % SLOTS);
+        if (slotEpochs[slot] != epoch) {
+            if (slotEpochs[slot] > epoch) {
+                return;  // 1시간보다 오래된 이벤트
+            }
+            slotEpochs[slot] = epoch;
+            Arrays.fill(counts, slot * WIDTH, (slot + 1) * WIDTH, 0);
+        }
+        counts[slot * WIDTH + event.type().ordinal() * OUTCOMES + event.outcome().ordinal()]++;
+    }
+
+    /**
+     * 지금부터 windowMillis 이전까지(slot 단위) 해당 결과의 횟수
+     */
+    long sum(long nowMillis, long windowMillis, AuthEvent.Type type, AuthEvent.Outcome outcome) {
+        long current = nowMillis / SLOT_MILLIS;
+        long slots = Math.min(SLOTS, Math.max(1, windowMillis / SLOT_MILLIS));
+        int column = type.ordinal() * OUTCOMES + outcome.ordinal();
+        long sum = 0;
+        for (long epoch = current - slots + 1; epoch <= current; epoch++) {
+            int slot = (int) (epoch % SLOTS);
+            if (slotEpochs[slot] == epoch) {
+                sum += counts[slot * WIDTH + column];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.passkey.global.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * count-min 추정값 기준 상위 k개 후보 (집계 스레드 전용)
+ *
+ * 후보가 가득 찼을 때 새 키의 추정값이 후보 중 가장 작은 값보다 크면 그 후보를 밀어냅니다.
+ * k가 작으므로(기본 20) 최솟값은 선형으로 찾습니다.
+ */
+final class TopK<K> {
+
+    private final int k;
+    private final Map<K, Long> candidates;
+    private K minKey;
+    private long minEstimate;
+
+    TopK(int k) {
+        this.k = k;
+        this.candidates = new HashMap<>(k * 2);
+    }
+
+    void offer(K key, long estimate) {
+        if (candidates.containsKey(key)) {
+            candidates.put(key, estimate);
+            if (key.equals(minKey)) {
+                findMin();
+            }
+            return;
+        }
+        if (candidates.size() < k) {
+            candidates.put(key, estimate);
+            if (minKey == null || estimate < minEstimate) {
+                minKey = key;
+                minEstimate = estimate;
+            }
+            return;
+        }
+        if (estimate > minEstimate) {
+            candidates.remove(minKey);
+            candidates.put(key, estimate);
+            findMin();
+        }
+    }
+
+    /**
+     * 추정값 내림차순
+     */
+    List<Map.Entry<K, Long>> entries() {
+        List<Map.Entry<K, Long>> entries = new ArrayList<>(candidates.size());
+        candidates.forEach((key, estimate) -> entries.add(Map.entry(key, estimate)));
+        entries.sort(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries;
+    }
+
+    private void findMin() {
+        minKey = null;
+        minEstimate = Long.MAX_VALUE;
+        candidates.forEach((key, estimate) -> {
+            if (estimate < minEstimate) {
+                minKey = key;
+                minEstimate = estimate;
+            }
+        });
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.passkey.global.analytics;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.concurrent.EventQueue;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.AnalyticsConfig;
+import com.example.passkey.global.file.PrivateDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 등록/인증 결과({@link AuthEvent})로 사용량을 집계합니다. (credentials 테이블 조회 없음)
+ *
+ * <ul>
+ *     <li>요청 스레드는 lock-free 대기열에 넣기만 하고, 집계 스레드 1개가 sketch를 갱신하므로 sketch에는 동기화가 없습니다.</li>
+ *     <li>일별로 활성 사용자 HyperLogLog, AAGUID/credential ID별 count-min sketch와 상위 k 후보, 정확한 횟수를 둡니다.
+ *         credential ID는 조회 결과와 snapshot 파일에 원래 값이 남지 않도록 SHA-256으로만 셉니다.
+ *         7일/30일 활성 사용자는 일별 HyperLogLog의 합집합으로 계산합니다.</li>
+ *     <li>최근 1시간 실패율은 10초 slot ring으로 계산합니다.</li>
+ *     <li>조회 결과는 summaryIntervalMillis마다 미리 만들어 두므로 {@link #summary()}는 참조 하나만 읽습니다.</li>
+ *     <li>일별 sketch는 snapshotIntervalMillis마다 파일로 저장하고 시작할 때 다시 읽습니다. (최근 1시간 ring은 저장하지 않음)
+ *         snapshotDir는 서버 프로세스 전용 디렉터리여야 합니다({@link PrivateDirectory}). 다른 사용자가 넣은 snapshot을 읽지 않도록
+ *         켜면 필수이고, 아니면 시작하지 않습니다.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class UsageAnalytics {
+
+    private static final int MAGIC = 0x504B414E;  // "PKAN"
+    private static final int VERSION = 2;  // 2: credential ID 대신 SHA-256 저장
+    private static final String SNAPSHOT_FILE = "usage.snapshot";
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int[] RATE_WINDOW_MINUTES = {1, 5, 15, 60};
+
+    private final AnalyticsConfig config;
+    private final ZoneId zone;
+    private final Path snapshotFile;
+    private final EventQueue<AuthEvent> queue;
+    private final Thread aggregator;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile boolean parked;
+    private volatile Map<String, Object> summary = Map.of();
+    private volatile long activeUsersToday;
+
+    // 집계 스레드 전용
+    private final TreeMap<Long, UsageWindow> windows = new TreeMap<>();
+    private final RollingCounters rolling = new RollingCounters();
+    private UsageWindow current;
+    private long currentStartMillis;
+    private long currentEndMillis;
+
+    public UsageAnalytics(AnalyticsConfig config) {
+        this.config = config;
+        this.zone = ZoneId.of(config.getZone());
+        if (!config.isEnabled()) {
+            this.snapshotFile = null;
+            this.queue = null;
+            this.aggregator = null;
+            return;
+        }
+        try {
+            this.snapshotFile = PrivateDirectory.prepare(config.getSnapshotDir(), "webauthn.analytics.snapshot-dir")
+                    .resolve(SNAPSHOT_FILE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open usage analytics snapshot dir " + config.getSnapshotDir(), e);
+        }
+        this.queue = new EventQueue<>(config.getQueueCapacity());
+        restore();
+        this.summary = buildSummary(System.currentTimeMillis());
+
+        // 계속 CPU만 쓰는 단일 스레드이므로 가상 스레드 모드와 관계없이 플랫폼 스레드 사용
+        this.aggregator = WorkerThreads.platform().factory("usage-analytics").newThread(this::run);
+        aggregator.start();
+    }
+
+    @EventListener
+    public void on(AuthEvent event) {
+        if (queue == null || !running) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            dropped.increment();
+            return;
+        }
+        if (parked) {
+            LockSupport.unpark(aggregator);
+        }
+    }
+
+    /**
+     * 마지막으로 만든 집계 결과 (최대 summaryIntervalMillis 전 값)
+     */
+    public Map<String, Object> summary() {
+        return summary;
+    }
+
+    public long getActiveUsersToday() {
+        return activeUsersToday;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getQueueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (aggregator == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(aggregator);
+        try {
+            aggregator.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long nextSummary = 0;
+        long nextSnapshot = System.currentTimeMillis() + config.getSnapshotIntervalMillis();
+        while (running || !queue.isEmpty()) {
+            try {
+                AuthEvent event = queue.poll();
+                if (event != null) {
+                    record(event);
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextSummary) {
+                    summary = buildSummary(now);
+                    nextSummary = now + config.getSummaryIntervalMillis();
+                }
+                if (now >= nextSnapshot) {
+                    persist();
+                    nextSnapshot = now + config.getSnapshotIntervalMillis();
+                }
+                if (event == null) {
+                    parked = true;
+                    if (queue.isEmpty() && running) {
+                        LockSupport.parkNanos(Math.min(IDLE_PARK_NANOS,
+                                TimeUnit.MILLISECONDS.toNanos(Math.max(1, nextSummary - now))));
+                    }
+                    parked = false;
+                }
+            } catch (RuntimeException e) {
+                log.error("Usage analytics aggregator error", e);
+            }
+        }
+        summary = buildSummary(System.currentTimeMillis());
+        persist();
+    }
+
+    private void record(AuthEvent event) {
+        long timestamp = event.timestampMillis();
+        if (current == null || timestamp < currentStartMillis || timestamp >= currentEndMillis) {
+            LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(timestamp), zone);
+            UsageWindow window = window(day.toEpochDay());
+            if (window == null) {
+                return;  // 보관 기간보다 오래된 이벤트
+            }
+            current = window;
+            currentStartMillis = day.atStartOfDay(zone).toInstant().toEpochMilli();
+            currentEndMillis = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        current.record(event);
+        rolling.record(event);
+    }
+
+    private UsageWindow window(long epochDay) {
+        UsageWindow window = windows.get(epochDay);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= config.getRetainDays() && epochDay < windows.firstKey()) {
+            return null;
+        }
+        window = new UsageWindow(epochDay, config.getHllPrecision(), config.getSketchDepth(),
+                config.getSketchWidth(), config.getTopK());
+        windows.put(epochDay, window);
+        while (windows.size() > config.getRetainDays()) {
+            UsageWindow removed = windows.pollFirstEntry().getValue();
+            if (removed == current) {
+                current = null;
+            }
+        }
+        return window;
+    }
+
+    private Map<String, Object> buildSummary(long now) {
+        long today = LocalDate.ofInstant(Instant.ofEpochMilli(now), zone).toEpochDay();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("generatedAt", Instant.ofEpochMilli(now).toString());
+
+        UsageWindow todayWindow = windows.get(today);
+        long activeToday = todayWindow != null ? todayWindow.activeUsers().estimate() : 0;
+        activeUsersToday = activeToday;
+        Map<String, Object> activeUsers = new LinkedHashMap<>();
+        activeUsers.put("1d", activeToday);
+        activeUsers.put("7d", activeUsers(today, 7));
+        activeUsers.put("30d", activeUsers(today, 30));
+        body.put("activeUsers", activeUsers);
+
+        if (todayWindow != null) {
+            body.put("today", day(todayWindow, activeToday, true));
+        }
+
+        Map<String, Object> failureRate = new LinkedHashMap<>();
+        for (int minutes : RATE_WINDOW_MINUTES) {
+            long window = TimeUnit.MINUTES.toMillis(minutes);
+            Map<String, Object> rates = new LinkedHashMap<>();
+            for (AuthEvent.Type type : AuthEvent.Type.values()) {
+                long successes = rolling.sum(now, window, type, AuthEvent.Outcome.SUCCESS);
+                long failures = rolling.sum(now, window, type, AuthEvent.Outcome.FAILURE);
+                rates.put(type.name().toLowerCase(), Map.of(
+                        "attempts", successes + failures,
+                        "failureRate", successes + failures > 0 ? (double) failures / (successes + failures) : 0.0));
+            }
+            failureRate.put(minutes + "m", rates);
+        }
+        body.put("failureRate", failureRate);
+
+        List<Map<String, Object>> daily = new ArrayList<>();
+        for (UsageWindow window : windows.descendingMap().values()) {
+            if (window.epochDay() != today) {
+                daily.add(day(window, window.activeUsers().estimate(), false));
+            }
+        }
+        body.put("daily", daily);
+        body.put("dropped", dropped.sum());
+        return Collections.unmodifiableMap(body);
+    }
+
+    // 오늘을 포함한 최근 days일의 합집합
+    private long activeUsers(long today, int days) {
+        HyperLogLog union = null;
+        for (UsageWindow window : windows.subMap(today - days + 1, true, today, true).values()) {
+            if (union == null) {
+                union = window.activeUsers().copy();
+            } else {
+                union.merge(window.activeUsers());
+            }
+        }
+        return union != null ? union.estimate() : 0;
+    }
+
+    private static Map<String, Object> day(UsageWindow window, long activeUsers, boolean withTop) {
+        Map<String, Object> day = new LinkedHashMap<>();
+        day.put("date", LocalDate.ofEpochDay(window.epochDay()).toString());
+        day.put("activeUsers", activeUsers);
+        for (AuthEvent.Type type : AuthEvent.Type.values()) {
+            day.put(type.name().toLowerCase(), Map.of(
+                    "success", window.count(type, AuthEvent.Outcome.SUCCESS),
+                    "failure", window.count(type, AuthEvent.Outcome.FAILURE)));
+        }
+        if (withTop) {
+            List<Map<String, Object>> authenticators = new ArrayList<>();
+            for (Map.Entry<UUID, Long> entry : window.topAuthenticators().entries()) {
+                authenticators.add(Map.<String, Object>of(
+                        "aaguid", entry.getKey().toString(), "logins", entry.getValue()));
+            }
+            day.put("topAuthenticators", authenticators);
+            List<Map<String, Object>> credentials = new ArrayList<>();
+            for (Map.Entry<String, Long> entry : window.topCredentials().entries()) {
+                credentials.add(Map.<String, Object>of(
+                        "credentialIdSha256", entry.getKey(), "attempts", entry.getValue()));
+            }
+            day.put("topCredentials", credentials);
+        }
+        return day;
+    }
+
+    private void persist() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(config.getHllPrecision());
+                out.writeInt(config.getSketchDepth());
+                out.writeInt(config.getSketchWidth());
+                out.writeInt(config.getTopK());
+                out.writeInt(windows.size());
+                for (UsageWindow window : windows.values()) {
+                    window.write(out);
+                }
+            }
+            PrivateDirectory.write(snapshotFile, bytes.toByteArray());
+        } catch (IOException e) {
+            log.warn("Could not save usage analytics snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private void restore() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || in.readInt() != config.getHllPrecision()
+                    || in.readInt() != config.getSketchDepth()
+                    || in.readInt() != config.getSketchWidth()
+                    || in.readInt() != config.getTopK()) {
+                log.warn("Ignoring usage analytics snapshot {} written with different settings", snapshotFile);
+                return;
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                UsageWindow window = UsageWindow.read(in, config.getHllPrecision(), config.getSketchDepth(),
+                        config.getSketchWidth(), config.getTopK());
+                windows.put(window.epochDay(), window);
+            }
+            while (windows.size() > config.getRetainDays()) {
+                windows.pollFirstEntry();
+            }
+            log.info("Restored {} days of usage analytics from {}", windows.size(), snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            windows.clear();
+            log.warn("Ignoring unreadable usage analytics snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.passkey.global.analytics;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.journal.JournalReader;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 하루(설정한 시간대 기준) 동안의 사용량 sketch
+ *
+ * <ul>
+ *     <li>activeUsers: 등록/인증에 성공한 사용자 ID의 HyperLogLog</li>
+ *     <li>authenticators: AAGUID별 인증 성공 횟수 (count-min + 상위 k)</li>
+ *     <li>credentials: credential ID별 인증 시도 횟수 (실패 포함, count-min + 상위 k).
+ *         credential ID 대신 journal과 같은 SHA-256({@link JournalReader#credentialIdHash(String)})으로 셉니다.</li>
+ *     <li>counts: ceremony 종류/결과별 정확한 횟수</li>
+ * </ul>
+ */
+final class UsageWindow {
+
+    private static final AuthEvent.Type[] TYPES = AuthEvent.Type.values();
+    private static final AuthEvent.Outcome[] OUTCOMES = AuthEvent.Outcome.values();
+
+    private final long epochDay;
+    private final HyperLogLog activeUsers;
+    private final CountMinSketch authenticatorCounts;
+    private final CountMinSketch credentialCounts;
+    private final TopK<UUID> topAuthenticators;
+    private final TopK<String> topCredentials;
+    private final long[] counts = new long[TYPES.length * OUTCOMES.length];
+
+    UsageWindow(long epochDay, int precision, int depth, int width, int topK) {
+        this(epochDay, new HyperLogLog(precision), new CountMinSketch(depth, width),
+                new CountMinSketch(depth, width), new TopK<>(topK), new TopK<>(topK));
+    }
+
+    private UsageWindow(long epochDay, HyperLogLog activeUsers, CountMinSketch authenticatorCounts,
+                        CountMinSketch credentialCounts, TopK<UUID> topAuthenticators, TopK<String> topCredentials) {
+        this.epochDay = epochDay;
+        this.activeUsers = activeUsers;
+        this.authenticatorCounts = authenticatorCounts;
+        this.credentialCounts = credentialCounts;
+        this.topAuthenticators = topAuthenticators;
+        this.topCredentials = topCredentials;
+    }
+
+    void record(AuthEvent event) {
+        counts[event.type().ordinal() * OUTCOMES.length + event.outcome().ordinal()]++;
+        boolean success = event.outcome() == AuthEvent.Outcome.SUCCESS;
+        if (success && event.userId() != null) {
+            activeUsers.add(Hashing.hash(event.userId()));
+        }
+        if (event.type() != AuthEvent.Type.AUTHENTICATION) {
+            return;
+        }
+        if (success && event.aaguid() != null) {
+            UUID aaguid = event.aaguid();
+            topAuthenticators.offer(aaguid, authenticatorCounts.add(Hashing.hash(aaguid)));
+        }
+        if (event.credentialId() != null) {
+            String credentialIdHash = JournalReader.credentialIdHash(event.credentialId());
+            topCredentials.offer(credentialIdHash, credentialCounts.add(Hashing.hash(credentialIdHash)));
+        }
+    }
+
+    long count(AuthEvent.Type type, AuthEvent.Outcome outcome) {
+        return counts[type.ordinal() * OUTCOMES.length + outcome.ordinal()];
+    }
+
+    long epochDay() {
+        return epochDay;
+    }
+
+    HyperLogLog activeUsers() {
+        return activeUsers;
+    }
+
+    TopK<UUID> topAuthenticators() {
+        return topAuthenticators;
+    }
+
+    TopK<String> topCredentials() {
+        return topCredentials;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeLong(epochDay);
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+        out.write(activeUsers.registers());
+        writeCounts(out, authenticatorCounts);
+        writeCounts(out, credentialCounts);
+
+        var authenticators = topAuthenticators.entries();
+        out.writeInt(authenticators.size());
+        for (Map.Entry<UUID, Long> entry : authenticators) {
+            out.writeLong(entry.getKey().getMostSignificantBits());
+            out.writeLong(entry.getKey().getLeastSignificantBits());
+            out.writeLong(entry.getValue());
+        }
+        var credentials = topCredentials.entries();
+        out.writeInt(credentials.size());
+        for (Map.Entry<String, Long> entry : credentials) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    static UsageWindow read(DataInput in, int precision, int depth, int width, int topK) throws IOException {
+        long epochDay = in.readLong();
+        long[] counts = new long[TYPES.length * OUTCOMES.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = in.readLong();
+        }
+        byte[] registers = new byte[1 << precision];
+        in.readFully(registers);
+        CountMinSketch authenticatorCounts = new CountMinSketch(depth, width, readCounts(in, depth * width));
+        CountMinSketch credentialCounts = new CountMinSketch(depth, width, readCounts(in, depth * width));
+
+        TopK<UUID> topAuthenticators = new TopK<>(topK);
+        for (int i = in.readInt(); i > 0; i--) {
+            UUID aaguid = new UUID(in.readLong(), in.readLong());
+            topAuthenticators.offer(aaguid, in.readLong());
+        }
+        TopK<String> topCredentials = new TopK<>(topK);
+        for (int i = in.readInt(); i > 0; i--) {
+            String credentialIdHash = in.readUTF();
+            topCredentials.offer(credentialIdHash, in.readLong());
+        }
+
+        UsageWindow window = new UsageWindow(epochDay, new HyperLogLog(precision, registers),
+                authenticatorCounts, credentialCounts, topAuthenticators, topCredentials);
+        System.arraycopy(counts, 0, window.counts, 0, counts.length);
+        return window;
+    }
+
+    private static void writeCounts(DataOutput out, CountMinSketch sketch) throws IOException {
+        for (int count : sketch.counts()) {
+            out.writeInt(count);
+        }
+    }
+
+    private static int[] readCounts(DataInput in, int length) throws IOException {
+        int[] counts = new int[length];
+        for (int i = 0; i < length; i++) {
+            counts[i] = in.readInt();
+        }
+        return counts;
+    }
+}
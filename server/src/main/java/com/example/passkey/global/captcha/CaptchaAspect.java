@@ -1,19 +1,40 @@
 package com.example.passkey.global.captcha;
 
 import com.example.passkey.global.captcha.RecaptchaService.CaptchaResult;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.RecaptchaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequireCaptcha} 메서드 앞에서 reCAPTCHA를 검증합니다.
+ *
+ * 메서드가 {@link CompletionStage}를 반환하면 Google 응답을 기다리는 동안 요청 스레드를 반납하고,
+ * 응답이 오면 제한된 크기의 continuation 풀에서 메서드를 이어서 실행합니다.
+ * 검증 결과가 이미 있으면(비활성화, verdict 캐시 적중) 요청 스레드에서 바로 실행합니다.
+ * 그 외 반환 타입은 기존처럼 검증이 끝날 때까지 기다립니다.
+ */
 @Aspect
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class CaptchaAspect {
 
@@ -21,9 +42,32 @@ public class CaptchaAspect {
     private static final String CAPTCHA_V2_HEADER = "X-Captcha-Token-V2";
 
     private final RecaptchaService recaptchaService;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService continuationExecutor;
+
+    public CaptchaAspect(RecaptchaService recaptchaService,
+                         MeterRegistry meterRegistry,
+                         RecaptchaConfig recaptchaConfig,
+                         WorkerThreads workerThreads) {
+        this.recaptchaService = recaptchaService;
+        this.meterRegistry = meterRegistry;
+
+        if (workerThreads.isVirtual()) {
+            // 동시 처리량은 DB 커넥션 풀이 제한하므로 스레드 수를 따로 묶지 않음
+            this.continuationExecutor = workerThreads.newThreadPerTaskExecutor("captcha-continuation");
+        } else {
+            RecaptchaConfig.AsyncConfig async = recaptchaConfig.getAsync();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    async.getThreads(), async.getThreads(), 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(async.getQueueCapacity()),
+                    workerThreads.factory("captcha-continuation"));
+            executor.allowCoreThreadTimeOut(true);
+            this.continuationExecutor = executor;
+        }
+    }
 
-    @Before("@annotation(requireCaptcha)")
-    public void verifyCaptcha(JoinPoint joinPoint, RequireCaptcha requireCaptcha) {
+    @Around("@annotation(requireCaptcha)")
+    public Object verifyCaptcha(ProceedingJoinPoint joinPoint, RequireCaptcha requireCaptcha) throws Throwable {
         HttpServletRequest request = getCurrentHttpRequest();
 
         String v3Token = request.getHeader(CAPTCHA_V3_HEADER);
@@ -34,13 +78,57 @@ public class CaptchaAspect {
                 v3Token != null ? "present" : "null",
                 v2Token != null ? "present" : "null");
 
-        CaptchaResult result = recaptchaService.verify(v3Token, v2Token);
+        CompletableFuture<CaptchaResult> verdict = recaptchaService.verify(v3Token, v2Token)
+                .toFuture()
+                .whenComplete((result, e) -> recordDecision(e == null ? result : CaptchaResult.FAIL, v2Token));
 
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (verdict.isDone() || !CompletionStage.class.isAssignableFrom(returnType)) {
+            checkVerdict(await(verdict));
+            return joinPoint.proceed();
+        }
+
+        // 예외는 CompletionException으로 감싸져 전달되며, Spring MVC가 원인 예외로 풀어 ExceptionHandler에 넘깁니다
+        return verdict.thenComposeAsync(result -> {
+            checkVerdict(result);
+            return proceedAsync(joinPoint);
+        }, continuationExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        continuationExecutor.shutdown();
+    }
+
+    private static void checkVerdict(CaptchaResult result) {
         if (result == CaptchaResult.REQUIRE_V2) {
             throw new RequireV2CaptchaException();
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> proceedAsync(ProceedingJoinPoint joinPoint) {
+        try {
+            return ((CompletionStage<Object>) joinPoint.proceed()).toCompletableFuture();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static CaptchaResult await(CompletableFuture<CaptchaResult> verdict) throws Throwable {
+        try {
+            return verdict.get();
+        } catch (ExecutionException | CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private void recordDecision(CaptchaResult result, String v2Token) {
+        meterRegistry.counter("passkey.captcha.decisions",
+                "result", result.name().toLowerCase(),
+                "version", StringUtils.hasText(v2Token) ? "v2" : "v3").increment();
+    }
+
     private HttpServletRequest getCurrentHttpRequest() {
         ServletRequestAttributes attributes =
                 (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
@@ -0,0 +1,20 @@
+package com.example.passkey.global.captcha;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * reCAPTCHA circuit breaker가 열려 있고 degraded policy가 FAIL_CLOSED일 때 발생하는 예외
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class CaptchaUnavailableException extends CaptchaException {
+
+    private final long retryAfterSeconds;
+
+    public CaptchaUnavailableException(long retryAfterSeconds, Throwable cause) {
+        super("reCAPTCHA is temporarily unavailable", cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
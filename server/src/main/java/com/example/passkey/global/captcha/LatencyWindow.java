@@ -0,0 +1,41 @@
+package com.example.passkey.global.captcha;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 N개 호출의 지연 시간으로 p95를 추정합니다 (헤지 요청 대기 시간 계산용).
+ *
+ * 표본은 링 버퍼에 덮어쓰고, p95는 {@value #RECOMPUTE_EVERY}개 표본마다 한 번 정렬해 갱신합니다.
+ * 동시 기록 시 일부 표본이 섞일 수 있지만 추정치 용도로는 충분합니다.
+ */
+class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples;
+    private final AtomicLong count = new AtomicLong();
+    private volatile long p95Nanos = -1;
+
+    LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples[(int) (n % samples.length)] = nanos;
+        if ((n + 1) % RECOMPUTE_EVERY == 0) {
+            int length = (int) Math.min(n + 1, samples.length);
+            long[] sorted = Arrays.copyOf(samples, length);
+            Arrays.sort(sorted);
+            p95Nanos = sorted[(int) Math.ceil(length * 0.95) - 1];
+        }
+    }
+
+    /**
+     * @return 추정 p95 (ns), 표본이 부족하면 -1
+     */
+    long p95Nanos() {
+        return p95Nanos;
+    }
+}
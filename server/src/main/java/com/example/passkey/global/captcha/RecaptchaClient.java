@@ -1,6 +1,13 @@
 package com.example.passkey.global.captcha;
 
-import lombok.RequiredArgsConstructor;
+import com.example.passkey.global.config.RecaptchaConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -8,36 +15,127 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
 
 /**
  * Google reCAPTCHA API 호출을 담당하는 클라이언트
+ *
+ * 호출마다 deadline을 적용하고, 타임아웃/네트워크 오류/5xx가 쌓이면 circuit breaker가 열려
+ * Google을 호출하지 않고 바로 {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException}을 돌려줍니다.
+ * 열린 뒤 일정 시간이 지나면 half-open 상태에서 일부 호출만 보내 회복 여부를 확인합니다.
+ * v2 검증은 별도 breaker를 사용하므로, v3 breaker가 열려 v2를 요구하는 동안에도 v2 토큰은 실제로 검증됩니다.
+ * 헤지를 켜면 최근 p95 동안 응답이 없을 때 두 번째 요청을 보내 먼저 온 응답을 사용합니다.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RecaptchaClient {
 
+    private static final String DUPLICATE_ERROR = "timeout-or-duplicate";
+
     private final WebClient recaptchaWebClient;
+    private final MeterRegistry meterRegistry;
+    private final RecaptchaConfig.ResilienceConfig resilience;
+    private final CircuitBreaker circuitBreaker;
+    private final CircuitBreaker v2CircuitBreaker;
+    private final LatencyWindow latencies = new LatencyWindow(256);
+
+    public RecaptchaClient(WebClient recaptchaWebClient, RecaptchaConfig recaptchaConfig, MeterRegistry meterRegistry) {
+        this.recaptchaWebClient = recaptchaWebClient;
+        this.meterRegistry = meterRegistry;
+        this.resilience = recaptchaConfig.getResilience();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(resilience.getSlowCallThresholdMillis()))
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(Duration.ofMillis(resilience.getWaitInOpenStateMillis()))
+                .permittedNumberOfCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        this.circuitBreaker = registry.circuitBreaker("recaptcha");
+        this.v2CircuitBreaker = registry.circuitBreaker("recaptcha-v2");
+        for (CircuitBreaker breaker : new CircuitBreaker[]{circuitBreaker, v2CircuitBreaker}) {
+            breaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("reCAPTCHA circuit breaker {} {}", breaker.getName(), event.getStateTransition()));
+        }
+        // resilience4j.circuitbreaker.state / calls / failure.rate 등
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    }
 
     /**
-     * Google reCAPTCHA API를 호출하여 토큰을 검증합니다.ㄷ
+     * Google reCAPTCHA API를 호출하여 토큰을 검증합니다.
+     * 응답을 기다리는 동안 호출 스레드를 막지 않으며, 구독 시점에 요청을 보냅니다.
      *
+     * @param version   "v2" 또는 "v3" (버전별 circuit breaker 선택)
      * @param token     클라이언트에서 받은 reCAPTCHA 토큰
      * @param secretKey reCAPTCHA secret key (v2 또는 v3)
      * @return Google API 응답
      */
-    public RecaptchaResponse verify(String token, String secretKey) {
-        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-        formData.add("secret", secretKey);
-        formData.add("response", token);
-
-        log.debug("Calling Google reCAPTCHA API");
-
-        return recaptchaWebClient.post()
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(RecaptchaResponse.class)
-                .block();
+    public Mono<RecaptchaResponse> verify(String version, String token, String secretKey) {
+        Mono<RecaptchaResponse> call = resilience.isHedgingEnabled()
+                ? hedged(token, secretKey)
+                : request(token, secretKey, "primary");
+        // breaker가 deadline 초과까지 실패로 집계하도록 timeout 바깥에 적용
+        return call
+                .timeout(Duration.ofMillis(resilience.getDeadlineMillis()))
+                .transformDeferred(CircuitBreakerOperator.of("v2".equals(version) ? v2CircuitBreaker : circuitBreaker));
+    }
+
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getWaitInOpenStateMillis() {
+        return resilience.getWaitInOpenStateMillis();
+    }
+
+    private Mono<RecaptchaResponse> hedged(String token, String secretKey) {
+        Mono<RecaptchaResponse> hedge = Mono.delay(hedgeDelay())
+                .then(request(token, secretKey, "hedge"))
+                // 먼저 보낸 요청이 토큰을 이미 소비했다면 두 번째 응답은 중복 거절이므로 버림
+                .filter(response -> response.errorCodes() == null || !response.errorCodes().contains(DUPLICATE_ERROR));
+        return Mono.firstWithValue(request(token, secretKey, "primary"), hedge);
+    }
+
+    private Duration hedgeDelay() {
+        long p95 = latencies.p95Nanos();
+        long min = Duration.ofMillis(resilience.getHedgeMinDelayMillis()).toNanos();
+        return Duration.ofNanos(Math.max(p95, min));
+    }
+
+    private Mono<RecaptchaResponse> request(String token, String secretKey, String attempt) {
+        return Mono.defer(() -> {
+            MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+            formData.add("secret", secretKey);
+            formData.add("response", token);
+
+            log.debug("Calling Google reCAPTCHA API ({})", attempt);
+
+            long start = System.nanoTime();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return recaptchaWebClient.post()
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(BodyInserters.fromFormData(formData))
+                    .retrieve()
+                    .bodyToMono(RecaptchaResponse.class)
+                    .doOnSuccess(response -> {
+                        latencies.record(System.nanoTime() - start);
+                        record(sample, attempt, response != null && response.isValid() ? "success" : "rejected");
+                    })
+                    .doOnError(e -> record(sample, attempt, "error"))
+                    .doOnCancel(() -> record(sample, attempt, "cancelled"));
+        });
+    }
+
+    private void record(Timer.Sample sample, String attempt, String outcome) {
+        sample.stop(Timer.builder("passkey.recaptcha.request")
+                .description("Google reCAPTCHA siteverify 호출 시간")
+                .tag("attempt", attempt)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
     }
 }
@@ -1,21 +1,71 @@
 package com.example.passkey.global.captcha;
 
 import com.example.passkey.global.config.RecaptchaConfig;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * reCAPTCHA 검증 비즈니스 로직을 담당하는 서비스
+ *
+ * 검증은 {@link Mono}로 돌려주므로 Google 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+ * 최근 토큰의 Google 응답은 verdict 캐시에 보관해, 같은 토큰으로 재시도한 요청은 Google을 다시 호출하지 않습니다.
+ * 통과(PASS) 판정은 토큰당 한 번만 내줍니다. Google도 같은 토큰을 두 번 검증하지 않으므로(timeout-or-duplicate),
+ * 캐시가 토큰 하나로 여러 요청을 통과시키는 재사용 경로가 되지 않게 합니다. 통과하지 못한 판정은 재시도에 그대로 돌려줍니다.
+ * {@link RecaptchaClient}의 circuit breaker가 열려 있으면 설정된 degraded policy로 판단합니다.
+ * v2 토큰은 어떤 정책에서도 검증 없이 통과시키지 않으며, v2 breaker까지 열려 있으면 REQUIRE_V2 정책은 fail closed로 동작합니다.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RecaptchaService {
 
     private final RecaptchaConfig recaptchaConfig;
     private final RecaptchaClient recaptchaClient;
+    private final MeterRegistry meterRegistry;
+
+    // "v2:token" / "v3:token" -> Google 응답
+    private final AsyncCache<String, Verdict> verdictCache;
+
+    public RecaptchaService(RecaptchaConfig recaptchaConfig, RecaptchaClient recaptchaClient,
+                            MeterRegistry meterRegistry) {
+        this.recaptchaConfig = recaptchaConfig;
+        this.recaptchaClient = recaptchaClient;
+        this.meterRegistry = meterRegistry;
+
+        RecaptchaConfig.VerdictCacheConfig cacheConfig = recaptchaConfig.getVerdictCache();
+        this.verdictCache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(cacheConfig.getExpireAfterWriteMillis()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Google 응답과 통과 판정을 이미 내줬는지 여부
+     */
+    private record Verdict(RecaptchaResponse response, AtomicBoolean spent) {
+
+        Verdict(RecaptchaResponse response) {
+            this(response, new AtomicBoolean());
+        }
+
+        CaptchaResult pass(String version) {
+            if (!spent.compareAndSet(false, true)) {
+                log.warn("reCAPTCHA {} token reused", version);
+                throw new CaptchaException("reCAPTCHA token already used");
+            }
+            return CaptchaResult.PASS;
+        }
+    }
 
     public enum CaptchaResult {
         PASS,
@@ -23,10 +73,10 @@ public class RecaptchaService {
         FAIL
     }
 
-    public CaptchaResult verify(String v3Token, String v2Token) {
+    public Mono<CaptchaResult> verify(String v3Token, String v2Token) {
         if (!recaptchaConfig.isEnabled()) {
             log.debug("reCAPTCHA is disabled, skipping verification");
-            return CaptchaResult.PASS;
+            return Mono.just(CaptchaResult.PASS);
         }
 
         // v2 토큰이 있으면 v2 검증 우선
@@ -40,59 +90,97 @@ public class RecaptchaService {
         }
 
         log.warn("No CAPTCHA token provided");
-        throw new CaptchaException("CAPTCHA token is required");
+        return Mono.error(new CaptchaException("CAPTCHA token is required"));
     }
 
-    private CaptchaResult verifyV3(String token) {
-        try {
-            RecaptchaResponse response = recaptchaClient.verify(
-                    token,
-                    recaptchaConfig.getV3().getSecretKey()
-            );
-
-            if (!response.isValid()) {
-                log.warn("reCAPTCHA v3 verification failed: {}", response.errorCodes());
-                throw new CaptchaException("reCAPTCHA verification failed");
-            }
-
-            double threshold = recaptchaConfig.getV3().getThreshold();
-            if (response.meetsThreshold(threshold)) {
-                log.info("reCAPTCHA v3 passed with score: {}", response.score());
-                return CaptchaResult.PASS;
-            }
+    public CacheStats getVerdictCacheStats() {
+        return verdictCache.synchronous().stats();
+    }
 
-            log.info("reCAPTCHA v3 score {} below threshold {}, requiring v2",
-                    response.score(), threshold);
-            return CaptchaResult.REQUIRE_V2;
+    public long getVerdictCacheSize() {
+        return verdictCache.synchronous().estimatedSize();
+    }
 
-        } catch (CaptchaException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("reCAPTCHA v3 verification error", e);
-            throw new CaptchaException("reCAPTCHA verification failed", e);
-        }
+    private Mono<CaptchaResult> verifyV3(String token) {
+        return siteVerify("v3", token, recaptchaConfig.getV3().getSecretKey())
+                .map(verdict -> {
+                    RecaptchaResponse response = verdict.response();
+                    if (!response.isValid()) {
+                        log.warn("reCAPTCHA v3 verification failed: {}", response.errorCodes());
+                        throw new CaptchaException("reCAPTCHA verification failed");
+                    }
+
+                    double threshold = recaptchaConfig.getV3().getThreshold();
+                    if (response.meetsThreshold(threshold)) {
+                        log.info("reCAPTCHA v3 passed with score: {}", response.score());
+                        return verdict.pass("v3");
+                    }
+
+                    log.info("reCAPTCHA v3 score {} below threshold {}, requiring v2",
+                            response.score(), threshold);
+                    return CaptchaResult.REQUIRE_V2;
+                })
+                .onErrorResume(CallNotPermittedException.class, e -> degraded("v3", e))
+                .onErrorMap(e -> !(e instanceof CaptchaException), e -> {
+                    log.error("reCAPTCHA v3 verification error", e);
+                    return new CaptchaException("reCAPTCHA verification failed", e);
+                });
     }
 
-    private CaptchaResult verifyV2(String token) {
-        try {
-            RecaptchaResponse response = recaptchaClient.verify(
-                    token,
-                    recaptchaConfig.getV2().getSecretKey()
-            );
+    private Mono<CaptchaResult> verifyV2(String token) {
+        return siteVerify("v2", token, recaptchaConfig.getV2().getSecretKey())
+                .map(verdict -> {
+                    if (verdict.response().isValid()) {
+                        log.info("reCAPTCHA v2 verification passed");
+                        return verdict.pass("v2");
+                    }
+
+                    log.warn("reCAPTCHA v2 verification failed: {}", verdict.response().errorCodes());
+                    throw new CaptchaException("reCAPTCHA v2 verification failed");
+                })
+                .onErrorResume(CallNotPermittedException.class, e -> degraded("v2", e))
+                .onErrorMap(e -> !(e instanceof CaptchaException), e -> {
+                    log.error("reCAPTCHA v2 verification error", e);
+                    return new CaptchaException("reCAPTCHA verification failed", e);
+                });
+    }
 
-            if (response.isValid()) {
-                log.info("reCAPTCHA v2 verification passed");
-                return CaptchaResult.PASS;
-            }
+    /**
+     * Google을 호출할 수 없을 때(circuit breaker open) degraded policy에 따라 판단합니다.
+     */
+    private Mono<CaptchaResult> degraded(String version, CallNotPermittedException cause) {
+        RecaptchaConfig.DegradedPolicy policy = recaptchaConfig.getResilience().getDegradedPolicy();
+        meterRegistry.counter("passkey.recaptcha.degraded",
+                "policy", policy.name().toLowerCase(),
+                "version", version).increment();
+        log.warn("reCAPTCHA circuit breaker is open, applying {} to {} token", policy, version);
+
+        return switch (policy) {
+            case ALLOW -> Mono.just(CaptchaResult.PASS);
+            // v2 토큰은 v2 전용 breaker로 검증하므로 여기에 왔다면 v2도 검증할 수 없는 상태
+            case REQUIRE_V2 -> "v3".equals(version) ? Mono.just(CaptchaResult.REQUIRE_V2) : unavailable(cause);
+            case FAIL_CLOSED -> unavailable(cause);
+        };
+    }
 
-            log.warn("reCAPTCHA v2 verification failed: {}", response.errorCodes());
-            throw new CaptchaException("reCAPTCHA v2 verification failed");
+    private Mono<CaptchaResult> unavailable(CallNotPermittedException cause) {
+        return Mono.error(new CaptchaUnavailableException(
+                Math.max(1, recaptchaClient.getWaitInOpenStateMillis() / 1000), cause));
+    }
 
-        } catch (CaptchaException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("reCAPTCHA v2 verification error", e);
-            throw new CaptchaException("reCAPTCHA verification failed", e);
+    /**
+     * verdict 캐시를 거쳐 Google siteverify를 호출합니다.
+     * 같은 토큰의 동시 요청은 호출 하나와 판정 하나를 공유하고(통과는 그중 한 요청만),
+     * 호출이 실패(타임아웃, 네트워크 오류)하면 캐시에 남기지 않습니다.
+     */
+    private Mono<Verdict> siteVerify(String version, String token, String secretKey) {
+        Mono<Verdict> call = recaptchaClient.verify(version, token, secretKey)
+                .switchIfEmpty(Mono.error(() -> new CaptchaException("Empty reCAPTCHA response")))
+                .map(Verdict::new);
+        if (!recaptchaConfig.getVerdictCache().isEnabled()) {
+            return call;
         }
+        // 한 요청이 취소되어도 같은 토큰을 기다리는 다른 요청의 호출은 취소하지 않음
+        return Mono.fromFuture(() -> verdictCache.get(version + ":" + token, (key, executor) -> call.toFuture()), true);
     }
 }
@@ -0,0 +1,84 @@
+package com.example.passkey.global.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 크기가 고정된 lock-free 다중 생산자/단일 소비자 대기열 (배열 기반, slot별 sequence)
+ *
+ * 생산자는 tail을 CAS로 한 칸 예약한 뒤 값을 쓰고 slot sequence를 올려 공개합니다.
+ * 소비자 스레드(journal writer, 사용량 집계기) 1개만 head를 움직이므로 poll에는 CAS가 없습니다.
+ */
+public final class EventQueue<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> values;
+    // slot이 비어 있으면 다음에 쓸 위치, 채워져 있으면 위치 + 1
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public EventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.mask = size - 1;
+        this.values = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return 대기열이 가득 차 넣지 못하면 false
+     */
+    public boolean offer(T value) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    values.lazySet(slot, value);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 소비자 스레드에서만 호출합니다.
+     *
+     * @return 비어 있으면 null
+     */
+    public T poll() {
+        long position = head;
+        int slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        T value = values.get(slot);
+        values.lazySet(slot, null);
+        sequences.set(slot, position + mask + 1);
+        head = position + 1;
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.passkey.global.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서버가 직접 만드는 백그라운드 스레드(reCAPTCHA HttpClient, continuation, sign count flush)의 생성 방식
+ *
+ * spring.threads.virtual.enabled=true 이면 Tomcat 요청 스레드와 함께 이 스레드들도 가상 스레드로 만듭니다.
+ * 가상 스레드 모드에서는 스레드 수가 아니라 DB 커넥션 풀이 동시 처리량의 상한이 됩니다.
+ */
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public static WorkerThreads platform() {
+        return new WorkerThreads(false);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * @param name 스레드 이름 접두어 (name-1, name-2, ...)
+     */
+    public ThreadFactory factory(String name) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name + "-", 1).factory();
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 작업마다 새 스레드를 만드는 실행기 (가상 스레드 모드에서만 사용)
+     */
+    public ExecutorService newThreadPerTaskExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(factory(name));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 사용자별 allowCredentials 목록 캐시 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.allow-credentials-cache")
+@Getter
+@Setter
+public class AllowCredentialsCacheConfig {
+
+    private boolean enabled = false;
+    private long maxSize = 100_000;              // 최대 보관 사용자 수
+    private long expireAfterWriteMillis = 30_000L; // 다른 노드에서 등록한 credential이 반영되기까지의 최대 지연
+}
@@ -0,0 +1,28 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 사용량 집계(DAU, AAGUID/credential별 횟수, 실패율) 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.analytics")
+@Getter
+@Setter
+public class AnalyticsConfig {
+
+    private boolean enabled;
+    private String zone = "UTC";                // 하루 경계 시간대
+    private int retainDays = 31;                // 보관할 일별 sketch 수 (30일 활성 사용자 계산에 사용)
+    private int hllPrecision = 14;              // 활성 사용자 추정 표준 오차 1.04 / sqrt(2^p) (14면 약 0.8%, 16KB/일)
+    private int sketchDepth = 4;                // count-min 행 수
+    private int sketchWidth = 2048;             // count-min 열 수 (2의 거듭제곱, 오차 e / width * 전체 횟수)
+    private int topK = 20;                      // 상위 AAGUID / credential 목록 크기
+    private int queueCapacity = 65536;          // 가득 차면 이벤트를 버림
+    private long summaryIntervalMillis = 1000L; // 조회 결과 갱신 주기
+    private String snapshotDir;                 // 켜면 필수, 서버 프로세스 전용 디렉터리 (없으면 0700으로 만듦)
+    private long snapshotIntervalMillis = 60_000L; // sketch 저장 주기 = 비정상 종료 시 최대 유실 구간
+}
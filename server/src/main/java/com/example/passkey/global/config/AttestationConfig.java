@@ -0,0 +1,47 @@
+package com.example.passkey.global.config;
+
+import com.example.passkey.global.metadata.AuthenticatorStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 등록 시 attestation 정책과 로컬 FIDO MDS3 blob 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.attestation")
+@Getter
+@Setter
+public class AttestationConfig {
+
+    private Policy policy = Policy.NONE;
+    // REQUIRED 정책에서 요구하는 최소 인증 수준 (0: 제한 없음, 1: L1, 2: L1+, 3: L2, ...)
+    private int minCertificationLevel = 0;
+    // 마지막 status report가 이 값이면 등록 거절
+    private Set<AuthenticatorStatus> rejectedStatuses = EnumSet.of(
+            AuthenticatorStatus.REVOKED,
+            AuthenticatorStatus.ATTESTATION_KEY_COMPROMISE,
+            AuthenticatorStatus.USER_KEY_REMOTE_COMPROMISE,
+            AuthenticatorStatus.USER_KEY_PHYSICAL_COMPROMISE,
+            AuthenticatorStatus.USER_VERIFICATION_BYPASS);
+    private Metadata metadata = new Metadata();
+
+    public enum Policy {
+        NONE,      // attestation "none" 요청, 검사하지 않음
+        METADATA,  // "direct" 요청, MDS에 있는 인증기만 상태/trust path 검사 (없는 인증기는 허용)
+        REQUIRED   // "direct" 요청, MDS에 있고 trust anchor로 검증되는 인증기만 허용
+    }
+
+    @Getter
+    @Setter
+    public static class Metadata {
+        private String blobPath;             // MDS3 blob (JWS) 파일, 새 파일로 교체(rename)하면 다시 적재
+        private String rootCertificatePath;  // blob 서명 체인의 루트 인증서 (PEM)
+        private String indexDir;             // 검증 후 만든 색인 파일 위치 (blob-path를 쓰면 필수, 서버 전용 디렉터리)
+        private long reloadIntervalMillis = 60000L;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 배치 인증(/authenticate/finish/batch) 서명 검증 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.batch")
+@Getter
+@Setter
+public class BatchVerifyConfig {
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();  // 서명 검증 워커 수 (CPU 작업)
+}
@@ -0,0 +1,48 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Challenge 저장소 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.challenge")
+@Getter
+@Setter
+public class ChallengeConfig {
+
+    private Mode mode = Mode.STORE;
+    private long timeout = 60000L;        // 클라이언트에 안내하는 timeout 이자 저장소 TTL (ms)
+    private int maxEntries = 100_000;     // 동시에 보관할 수 있는 최대 challenge 수
+    private long tickMillis = 1000L;      // 만료 버킷 단위 (ms)
+    private SealedConfig sealed = new SealedConfig();
+    private RandomConfig random = new RandomConfig();
+
+    public enum Mode {
+        STORE,   // 서버 메모리에 challenge 저장
+        SEALED   // 서명된 self-contained challenge 발급 (저장소 조회 없음)
+    }
+
+    @Getter
+    @Setter
+    public static class SealedConfig {
+        private String secret;                      // Base64 마스터 키, 모든 노드가 같은 값을 사용해야 함
+        private long keyRotationMillis = 3600000L;  // 파생 키 교체 주기 (ms)
+        private long clockSkewMillis = 5000L;       // 노드 간 허용 시계 오차 (ms)
+    }
+
+    /**
+     * challenge/nonce 난수 생성기 ({@code StripedSecureRandom})
+     */
+    @Getter
+    @Setter
+    public static class RandomConfig {
+        private String algorithm = "DRBG";           // SecureRandom 알고리즘 (DRBG, NativePRNGNonBlocking, ...)
+        private int stripes = 0;                     // 생성기 인스턴스 수 (0이면 코어 수)
+        private int bufferBytes = 4096;              // stripe별로 미리 채워 둘 바이트 수 (0이면 사용 안 함)
+        private long reseedIntervalMillis = 600000L; // 백그라운드 reseed 주기 (0이면 provider 기본 동작)
+    }
+}
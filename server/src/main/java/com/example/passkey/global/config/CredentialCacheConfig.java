@@ -0,0 +1,20 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 파싱된 credential 공개키 캐시 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.credential-cache")
+@Getter
+@Setter
+public class CredentialCacheConfig {
+
+    private boolean enabled = true;
+    private long maxSize = 100_000;              // 최대 보관 credential 수 (W-TinyLFU 방출)
+    private long expireAfterAccessMillis = 3600000L;
+}
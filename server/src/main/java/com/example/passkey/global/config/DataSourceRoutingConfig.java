@@ -0,0 +1,49 @@
+package com.example.passkey.global.config;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.datasource.ReplicaRoutingDataSource;
+import com.example.passkey.global.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * webauthn.replica.enabled=true 이면 기본 DataSource를 primary/replica 라우팅 DataSource로 바꿉니다.
+ * JPA, JdbcTemplate, spring.sql.init 모두 이 DataSource를 사용하며, 쓰기와 일반 트랜잭션은 계속 primary로 갑니다.
+ * 샤딩(webauthn.sharding.enabled)이 켜져 있으면 적용하지 않습니다. ({@link ShardingDataSourceConfig})
+ */
+@Configuration
+@ConditionalOnExpression("${webauthn.replica.enabled:false} and !${webauthn.sharding.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(ReplicaConfig replicaConfig, MeterRegistry meterRegistry, WorkerThreads workerThreads) {
+        return new ReplicaSet(replicaConfig, meterRegistry, workerThreads);
+    }
+
+    /**
+     * 트랜잭션 시작 시점이 아니라 첫 쿼리 때 연결을 얻어야 readOnly 속성을 보고 라우팅할 수 있습니다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaSet, meterRegistry));
+    }
+}
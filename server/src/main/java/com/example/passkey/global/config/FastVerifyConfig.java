@@ -0,0 +1,19 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ES256/Ed25519 assertion 빠른 검증 경로 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.fast-verify")
+@Getter
+@Setter
+public class FastVerifyConfig {
+
+    private boolean enabled = true;
+    private int poolSize = Runtime.getRuntime().availableProcessors() * 2;  // 알고리즘별로 재사용할 Signature 엔진 수
+}
@@ -0,0 +1,23 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 등록/인증 이벤트 journal 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.journal")
+@Getter
+@Setter
+public class JournalConfig {
+
+    private boolean enabled;
+    private String dir;                      // 켜면 필수, 서버 프로세스 전용 디렉터리 (없으면 0700으로 만듦)
+    private long segmentSizeBytes = 64L * 1024 * 1024;  // segment 1개 크기 (기록 약 52만 건)
+    private int maxSegments = 64;            // 넘으면 가장 오래된 segment 삭제 (0이면 삭제하지 않음)
+    private int queueCapacity = 65536;       // 가득 차면 이벤트를 버림 (요청 스레드는 기다리지 않음)
+    private long commitIntervalMillis = 10L; // fsync 간격 = 비정상 종료 시 최대 유실 구간
+}
@@ -0,0 +1,20 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 저장된 공개키를 CBOR COSE_Key에서 compact 형식으로 옮기는 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.public-key")
+@Getter
+@Setter
+public class PublicKeyFormatConfig {
+
+    // 시작 후 백그라운드에서 이전 형식 행을 변환 (읽기는 두 형식 모두 지원하므로 끄거나 중단돼도 안전)
+    private boolean migrateOnStartup = true;
+    private int batchSize = 500;
+}
@@ -0,0 +1,59 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 클라이언트 IP / 사용자(username, credential ID) 단위 token bucket 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+    // key 종류(IP, 사용자)별 bucket 슬롯 수 (슬롯당 16바이트, 2의 거듭제곱으로 올림)
+    private int maxKeys = 65_536;
+    // 이 시간 동안 쓰이지 않은 bucket만 새 key에 자리를 내줌
+    private long idleEvictMillis = 60_000L;
+    // endpoints에 없는 endpoint에 적용할 한도
+    private EndpointConfig defaults = new EndpointConfig();
+    // @RateLimit 이름 -> 한도
+    private Map<String, EndpointConfig> endpoints = new HashMap<>();
+
+    public EndpointConfig endpoint(String name) {
+        return endpoints.getOrDefault(name, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class EndpointConfig {
+        private BucketConfig ip = new BucketConfig(30, 10);
+        private BucketConfig subject = new BucketConfig(10, 1);
+    }
+
+    @Getter
+    @Setter
+    public static class BucketConfig {
+        private int capacity;            // 최대 연속 요청 수 (0이면 이 key 종류는 제한하지 않음)
+        private double refillPerSecond;  // 초당 보충 토큰 수 (지속 허용 처리량)
+
+        public BucketConfig() {
+        }
+
+        public BucketConfig(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public boolean isEnabled() {
+            return capacity > 0 && refillPerSecond > 0;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * reactive 프로필(WebFlux + R2DBC) ceremony 경로 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.reactive")
+@Getter
+@Setter
+public class ReactiveConfig {
+
+    private int verifyThreads = Runtime.getRuntime().availableProcessors();  // 서명 검증 워커 수 (CPU 작업)
+    private int verifyQueueCapacity = 1000;  // 대기 중인 검증 작업 상한 (초과 시 503)
+}
@@ -1,5 +1,6 @@
 package com.example.passkey.global.config;
 
+import com.example.passkey.global.concurrent.WorkerThreads;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -9,6 +10,7 @@ import org.springframework.http.client.reactive.JdkClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.net.http.HttpClient;
+import java.time.Duration;
 
 @Configuration
 @ConfigurationProperties(prefix = "recaptcha")
@@ -20,6 +22,18 @@ public class RecaptchaConfig {
     private String verifyUrl;
     private V3Config v3 = new V3Config();
     private V2Config v2 = new V2Config();
+    private VerdictCacheConfig verdictCache = new VerdictCacheConfig();
+    private AsyncConfig async = new AsyncConfig();
+    private ResilienceConfig resilience = new ResilienceConfig();
+
+    /**
+     * circuit breaker가 열려 Google을 호출할 수 없을 때의 처리 방식
+     */
+    public enum DegradedPolicy {
+        FAIL_CLOSED,   // 503으로 거부
+        REQUIRE_V2,    // v3 요청은 v2를 요구하고, v2 토큰은 별도 breaker로 검증 (v2 breaker도 열리면 503)
+        ALLOW          // 검증 없이 통과 (rate limit 등 다른 방어에 의존)
+    }
 
     @Getter
     @Setter
@@ -36,12 +50,66 @@ public class RecaptchaConfig {
         private String secretKey;
     }
 
+    /**
+     * 같은 토큰으로 재시도한 start 요청이 Google을 다시 호출하지 않도록 최근 검증 결과를 보관합니다.
+     * 통과 판정은 토큰당 한 번만 쓰이고, 이후 같은 토큰은 거부됩니다.
+     * 보관 시간은 reCAPTCHA 토큰 유효 시간(2분)을 넘지 않아야 합니다.
+     */
+    @Getter
+    @Setter
+    public static class VerdictCacheConfig {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+        private long expireAfterWriteMillis = 60_000L;
+    }
+
+    /**
+     * Google 응답을 기다린 뒤 컨트롤러를 이어서 실행하는 스레드 풀
+     * Google 호출 중에는 어떤 스레드도 점유하지 않습니다.
+     */
+    @Getter
+    @Setter
+    public static class AsyncConfig {
+        private int threads = Runtime.getRuntime().availableProcessors() * 2;
+        private int queueCapacity = 1_000;    // 초과 시 503 (가상 스레드 모드에서는 사용하지 않음)
+    }
+
+    /**
+     * Google siteverify 호출의 제한 시간, circuit breaker, 헤지 요청 설정
+     */
+    @Getter
+    @Setter
+    public static class ResilienceConfig {
+        private long connectTimeoutMillis = 1_000;
+        private long deadlineMillis = 2_000;            // 헤지 요청을 포함한 호출 1회의 전체 제한 시간
+        private float failureRateThreshold = 50;        // % (타임아웃, 네트워크 오류, 5xx)
+        private long slowCallThresholdMillis = 1_500;
+        private float slowCallRateThreshold = 80;       // %
+        private int slidingWindowSize = 50;             // 최근 호출 수
+        private int minimumNumberOfCalls = 20;
+        private long waitInOpenStateMillis = 10_000;    // 이후 half-open으로 전환
+        private int permittedCallsInHalfOpenState = 5;  // half-open 상태에서 보내 보는 호출 수
+        // 헤지: 최근 p95 만큼 응답이 없으면 같은 토큰으로 두 번째 요청을 보냄
+        // 토큰은 한 번만 검증되므로 늦게 도착한 쪽의 timeout-or-duplicate 응답은 무시합니다
+        private boolean hedgingEnabled = false;
+        private long hedgeMinDelayMillis = 100;         // p95 표본이 부족하거나 더 작을 때의 최소 대기 시간
+        private DegradedPolicy degradedPolicy = DegradedPolicy.FAIL_CLOSED;
+    }
+
     @Bean
-    public WebClient recaptchaWebClient() {
+    public WebClient recaptchaWebClient(WorkerThreads workerThreads) {
         // JDK HttpClient 사용 (macOS에서 Netty DNS resolver 문제 회피)
-        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(resilience.getConnectTimeoutMillis()));
+        if (workerThreads.isVirtual()) {
+            // 기본 실행기(플랫폼 스레드 cached pool) 대신 응답 처리도 가상 스레드에서 수행
+            builder.executor(workerThreads.newThreadPerTaskExecutor("recaptcha-http"));
+        }
+        HttpClient httpClient = builder.build();
+        JdkClientHttpConnector connector = new JdkClientHttpConnector(httpClient);
+        connector.setReadTimeout(Duration.ofMillis(resilience.getDeadlineMillis()));
         return WebClient.builder()
-                .clientConnector(new JdkClientHttpConnector(httpClient))
+                .clientConnector(connector)
                 .baseUrl(verifyUrl)
                 .build();
     }
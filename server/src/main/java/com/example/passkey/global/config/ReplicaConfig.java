@@ -0,0 +1,38 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 트랜잭션을 보낼 replica 설정 (primary는 spring.datasource)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.replica")
+@Getter
+@Setter
+public class ReplicaConfig {
+
+    private boolean enabled = false;
+    // replica 상태/지연 확인 주기
+    private long healthCheckIntervalMillis = 1000L;
+    // 이보다 뒤처진 replica는 복구될 때까지 제외
+    private long maxLagMillis = 1000L;
+    // 상태 확인 쿼리 제한 시간
+    private int healthCheckTimeoutSeconds = 2;
+    private List<Node> nodes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Node {
+        private String name;  // 메트릭 태그 (없으면 replica-1, replica-2, ...)
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 인증 완료 시 발급하는 세션 토큰 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.session-token")
+@Getter
+@Setter
+public class SessionTokenConfig {
+
+    private boolean enabled;
+    private String algorithm = "EdDSA";      // EdDSA | ES256
+    private String issuer = "passkey";       // iss
+    private String audience = "passkey";     // aud
+    private long ttlSeconds = 900L;          // 토큰 유효기간
+    private long clockSkewSeconds = 30L;     // 검증 시 허용하는 시계 차이 (키 보관 기간 계산에도 사용)
+    private boolean includeUsername = true;      // preferred_username claim
+    private boolean includeCredentialId = false; // credential_id claim
+    private Map<String, String> claims = new LinkedHashMap<>(); // 모든 토큰에 넣을 고정 claim (예: scope)
+
+    private String keyDir;                          // 켜면 필수, 인스턴스 간 공유하는 서버 전용 디렉터리 (없으면 0700으로 만듦)
+    private long rotationIntervalSeconds = 86_400L; // 서명 키 교체 주기
+    private long publishAheadSeconds = 600L;        // 새 키를 JWKS에 먼저 올려 두는 시간 (다른 서비스의 JWKS 갱신 주기보다 길게)
+    private long reloadIntervalMillis = 60_000L;    // 키 디렉터리 확인 주기
+}
@@ -0,0 +1,38 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * users/credentials 샤딩 설정
+ * shard 0은 spring.datasource이고 shard 카탈로그(bucket 배치)를 보관하며, shards에는 shard 1부터 나열합니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.sharding")
+@Getter
+@Setter
+public class ShardingConfig {
+
+    private boolean enabled = false;
+    // 다른 노드가 바꾼 bucket 배치(이동 시작/완료)를 다시 읽는 주기
+    private long mapRefreshMillis = 5000L;
+    // credential ID -> 소유자 bucket 캐시 (값이 바뀌지 않으므로 크기로만 제한)
+    private long indexCacheSize = 1_000_000L;
+    // bucket 이동 시 한 번에 복사하는 행 수
+    private int moveBatchSize = 1000;
+    private List<Node> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
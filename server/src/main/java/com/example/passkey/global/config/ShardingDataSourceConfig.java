@@ -0,0 +1,68 @@
+package com.example.passkey.global.config;
+
+import com.example.passkey.global.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * webauthn.sharding.enabled=true 이면 기본 DataSource를 shard 라우팅 DataSource로 바꿉니다.
+ * shard 0은 spring.datasource이며 JPA 스키마 관리(ddl-auto)와 spring.sql.init도 shard 0에만 적용됩니다.
+ * 샤딩과 read replica 라우팅은 함께 사용할 수 없으며, 샤딩이 켜져 있으면 webauthn.replica는 무시됩니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "webauthn.sharding", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource primaryDataSource, ShardingConfig config,
+                                                         ReplicaConfig replicaConfig, MeterRegistry meterRegistry) {
+        if (replicaConfig.isEnabled()) {
+            log.warn("webauthn.replica is ignored while sharding is enabled");
+        }
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(primaryDataSource);
+        List<ShardingConfig.Node> nodes = config.getShards();
+        for (int i = 0; i < nodes.size(); i++) {
+            ShardingConfig.Node node = nodes.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + (i + 1));
+            pool.setJdbcUrl(node.getUrl());
+            pool.setUsername(node.getUsername());
+            pool.setPassword(node.getPassword());
+            pool.setMaximumPoolSize(node.getMaximumPoolSize());
+            pool.setMetricRegistry(meterRegistry);
+            shards.add(pool);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * 트랜잭션 시작 시점이 아니라 첫 쿼리 때 연결을 얻어야 {@code ShardRouter.onShard}로 정한 shard를 사용할 수 있습니다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
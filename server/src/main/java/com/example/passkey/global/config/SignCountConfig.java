@@ -0,0 +1,23 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * sign count / lastUsedAt write-behind 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.sign-count")
+@Getter
+@Setter
+public class SignCountConfig {
+
+    private boolean writeBehind = true;      // false면 요청 트랜잭션 안에서 바로 UPDATE
+    private int batchSize = 500;             // 대기 중인 credential 수가 이 값에 도달하면 즉시 flush
+    private long flushIntervalMillis = 1000L; // 최대 flush 간격 = 비정상 종료 시 최대 유실 구간
+    // 기록한 값을 하한으로 유지하는 시간 (flush 전이나 replica에서 이전 값을 읽은 요청 보호)
+    // replica를 쓰면 최대 지연 + 상태 확인 주기보다 짧게 설정해도 그 값으로 늘어남
+    private long flushedFloorMillis = 5000L;
+}
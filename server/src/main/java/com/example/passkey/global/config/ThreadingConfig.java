@@ -0,0 +1,20 @@
+package com.example.passkey.global.config;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 가상 스레드 모드 설정 (spring.threads.virtual.enabled)
+ * Tomcat 요청 처리는 Spring Boot가 전환하고, 서버가 직접 만드는 스레드는 {@link WorkerThreads}로 맞춥니다.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    public WorkerThreads workerThreads(Environment environment) {
+        return new WorkerThreads(Threading.VIRTUAL.isActive(environment));
+    }
+}
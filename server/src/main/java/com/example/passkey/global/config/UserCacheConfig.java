@@ -0,0 +1,36 @@
+package com.example.passkey.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * username -> 사용자 조회 캐시와 username Bloom filter 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webauthn.user-cache")
+@Getter
+@Setter
+public class UserCacheConfig {
+
+    private boolean enabled = true;
+    private long maxSize = 100_000;
+    private long positiveTtlMillis = 600_000L;  // 존재하는 사용자
+    private long negativeTtlMillis = 30_000L;   // 없는 사용자 (다른 노드에서 생성되면 이 시간만큼 늦게 보임)
+    private BloomConfig bloom = new BloomConfig();
+
+    @Getter
+    @Setter
+    public static class BloomConfig {
+        private boolean enabled = true;
+        private long expectedInsertions = 1_000_000;   // 최소 크기 (실제 사용자 수 x capacityHeadroom이 더 크면 그 값)
+        private double capacityHeadroom = 1.5;
+        private double falsePositiveRate = 0.01;
+        // 다른 노드에서 생성된 사용자를 created_at watermark 이후만 읽어 반영하는 주기
+        private long refreshIntervalMillis = 1_000L;
+        private long refreshLookbackMillis = 30_000L;  // 늦게 커밋된 INSERT를 놓치지 않도록 다시 읽는 구간
+        // 크기 조정과 삭제된 사용자 정리를 위한 전체 재생성 주기
+        private long rebuildIntervalMillis = 3_600_000L;
+    }
+}
@@ -1,14 +1,24 @@
 package com.example.passkey.global.config;
 
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.random.StripedSecureRandom;
 import com.webauthn4j.WebAuthnManager;
 import com.webauthn4j.data.client.Origin;
 import com.webauthn4j.data.client.challenge.DefaultChallenge;
 import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.verifier.attestation.statement.androidkey.AndroidKeyAttestationStatementVerifier;
+import com.webauthn4j.verifier.attestation.statement.apple.AppleAnonymousAttestationStatementVerifier;
+import com.webauthn4j.verifier.attestation.statement.none.NoneAttestationStatementVerifier;
+import com.webauthn4j.verifier.attestation.statement.packed.PackedAttestationStatementVerifier;
+import com.webauthn4j.verifier.attestation.statement.tpm.TPMAttestationStatementVerifier;
+import com.webauthn4j.verifier.attestation.statement.u2f.FIDOU2FAttestationStatementVerifier;
+import com.webauthn4j.verifier.attestation.trustworthiness.certpath.CertPathTrustworthinessVerifier;
+import com.webauthn4j.verifier.attestation.trustworthiness.self.DefaultSelfAttestationTrustworthinessVerifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.security.SecureRandom;
+import java.util.List;
 
 @Configuration
 public class WebAuthnConfig {
@@ -23,13 +33,47 @@ public class WebAuthnConfig {
     private String origin;
 
     @Bean
-    public WebAuthnManager webAuthnManager() {
-        return WebAuthnManager.createNonStrictWebAuthnManager();
+    public WebAuthnManager webAuthnManager(AttestationConfig attestationConfig,
+                                           CertPathTrustworthinessVerifier certPathTrustworthinessVerifier) {
+        return createWebAuthnManager(attestationConfig.getPolicy(), certPathTrustworthinessVerifier);
     }
 
+    /**
+     * attestation 정책이 NONE이면 statement를 검증하지 않는 non-strict 매니저를,
+     * 아니면 형식별 statement 서명 검증과 MDS trust anchor 기반 체인 검증(certPath)을 하는 매니저를 만듭니다.
+     * 목록에 없는 형식(android-safetynet 등)의 attestation은 거절됩니다.
+     */
+    public static WebAuthnManager createWebAuthnManager(AttestationConfig.Policy policy,
+                                                        CertPathTrustworthinessVerifier certPath) {
+        if (policy == AttestationConfig.Policy.NONE) {
+            return WebAuthnManager.createNonStrictWebAuthnManager();
+        }
+        return new WebAuthnManager(
+                List.of(
+                        new NoneAttestationStatementVerifier(),
+                        new PackedAttestationStatementVerifier(),
+                        new FIDOU2FAttestationStatementVerifier(),
+                        new TPMAttestationStatementVerifier(),
+                        new AndroidKeyAttestationStatementVerifier(),
+                        new AppleAnonymousAttestationStatementVerifier()
+                ),
+                certPath,
+                // self attestation은 statement 서명만 확인, REQUIRED 정책은 AttestationTrustVerifier가 x5c 없음으로 거절
+                new DefaultSelfAttestationTrustworthinessVerifier()
+        );
+    }
+
+    /**
+     * challenge/nonce 생성용 난수 생성기
+     * 기본 NativePRNG는 synchronized 블록 안에서 /dev/urandom을 읽어 가상 스레드를 carrier에 고정(pinning)시키므로,
+     * 시드 이후 메모리 연산만 하는 DRBG를 사용합니다. 인스턴스 하나를 모든 요청이 공유하면 내부 잠금에서 직렬화되므로
+     * 코어 수만큼 나눠 사용합니다. (webauthn.challenge.random)
+     */
     @Bean
-    public SecureRandom secureRandom() {
-        return new SecureRandom();
+    public StripedSecureRandom secureRandom(ChallengeConfig challengeConfig, WorkerThreads workerThreads) {
+        ChallengeConfig.RandomConfig random = challengeConfig.getRandom();
+        return new StripedSecureRandom(random.getAlgorithm(), random.getStripes(), random.getBufferBytes(),
+                random.getReseedIntervalMillis(), workerThreads);
     }
 
     public String getRpId() {
@@ -44,10 +88,11 @@ public class WebAuthnConfig {
         return new Origin(origin);
     }
 
-    public DefaultChallenge generateChallenge() {
-        byte[] challengeBytes = new byte[32];
-        secureRandom().nextBytes(challengeBytes);
-        return new DefaultChallenge(challengeBytes);
+    /**
+     * clientDataJSON의 origin과 그대로 비교할 설정 문자열
+     */
+    public String getOriginUrl() {
+        return origin;
     }
 
     public ServerProperty createServerProperty(byte[] challenge) {
@@ -0,0 +1,33 @@
+package com.example.passkey.global.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 연결을 primary로 고정합니다. (replica에서 못 찾은 행을 다시 읽을 때)
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    /**
+     * body 안에서 새로 얻는 연결은 읽기 전용 트랜잭션이어도 primary를 사용합니다.
+     */
+    public static <T> T onPrimary(Supplier<T> body) {
+        if (isPrimaryForced()) {
+            return body.get();
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return body.get();
+        } finally {
+            PRIMARY_FORCED.remove();
+        }
+    }
+}
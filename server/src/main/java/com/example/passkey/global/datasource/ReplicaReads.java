@@ -0,0 +1,91 @@
+package com.example.passkey.global.datasource;
+
+import com.example.passkey.global.config.ReplicaConfig;
+import com.example.passkey.global.config.ShardingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * replica에서 읽고, 복제 지연으로 못 찾았으면 primary에서 다시 읽습니다.
+ *
+ * 방금 primary에 등록된 credential/사용자는 replica에 아직 없을 수 있으므로, 결과가 비어 있으면(miss)
+ * primary로 고정한 새 읽기 전용 트랜잭션에서 같은 조회를 한 번 더 실행합니다.
+ * 이미 읽기/쓰기 트랜잭션 안이면 처음부터 primary를 읽으므로 다시 읽지 않습니다.
+ */
+@Component
+public class ReplicaReads {
+
+    private final boolean routing;
+    private final TransactionOperations readOnly;
+    private final TransactionOperations primaryReadOnly;
+    private final Counter fallbacks;
+
+    @Autowired
+    public ReplicaReads(ReplicaConfig config, ShardingConfig shardingConfig,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        TransactionTemplate primaryReadOnly = new TransactionTemplate(transactionManager);
+        primaryReadOnly.setReadOnly(true);
+        // 바깥 트랜잭션이 이미 replica 연결을 잡았을 수 있으므로 새 트랜잭션(새 연결)으로 읽음
+        primaryReadOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // 샤딩 중에는 replica 라우팅을 하지 않음 (ShardingDataSourceConfig)
+        this.routing = config.isEnabled() && !config.getNodes().isEmpty() && !shardingConfig.isEnabled();
+        this.readOnly = readOnly;
+        this.primaryReadOnly = primaryReadOnly;
+        this.fallbacks = Counter.builder("passkey.db.replica.fallbacks")
+                .description("replica에서 찾지 못해 primary에서 다시 읽은 조회 수")
+                .register(meterRegistry);
+    }
+
+    private ReplicaReads() {
+        this.routing = false;
+        this.readOnly = TransactionOperations.withoutTransaction();
+        this.primaryReadOnly = TransactionOperations.withoutTransaction();
+        this.fallbacks = Counter.builder("passkey.db.replica.fallbacks").register(new SimpleMeterRegistry());
+    }
+
+    /**
+     * 트랜잭션 없이 바로 실행합니다. (Spring 컨텍스트 밖, 벤치마크용)
+     */
+    public static ReplicaReads withoutTransaction() {
+        return new ReplicaReads();
+    }
+
+    /**
+     * @param miss 결과가 이 조건을 만족하면 primary에서 다시 읽음 (예: {@code Optional::isEmpty})
+     */
+    public <T> T read(Supplier<T> query, Predicate<T> miss) {
+        boolean[] onReplica = new boolean[1];
+        T result = readOnly.execute(status -> {
+            onReplica[0] = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    && !DataSourceRouting.isPrimaryForced();
+            return query.get();
+        });
+        if (!routing || !onReplica[0] || !miss.test(result)) {
+            return result;
+        }
+        fallbacks.increment();
+        return readOnPrimary(query);
+    }
+
+    /**
+     * primary에서 읽습니다.
+     */
+    public <T> T readOnPrimary(Supplier<T> query) {
+        return DataSourceRouting.onPrimary(() -> primaryReadOnly.execute(status -> query.get()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.passkey.global.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션의 연결은 replica로, 나머지는 primary로 보냅니다.
+ *
+ * 트랜잭션 속성은 연결을 얻는 시점에 확인하므로 {@code LazyConnectionDataSourceProxy}로 감싸서
+ * 첫 쿼리 때 연결을 얻도록 해야 합니다. replica 연결에 실패하면 그 replica를 제외하고 primary 연결을 돌려줍니다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaSet replicaSet;
+    private final Map<String, Counter> routes = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicaSet = replicaSet;
+
+        Map<Object, Object> targets = new HashMap<>(replicaSet.dataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        for (Object name : targets.keySet()) {
+            routes.put((String) name, Counter.builder("passkey.db.routes")
+                    .tag("target", (String) name)
+                    .register(meterRegistry));
+        }
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = null;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !DataSourceRouting.isPrimaryForced()) {
+            target = replicaSet.select();
+        }
+        return target != null ? target : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String target = (String) determineCurrentLookupKey();
+        routes.get(target).increment();
+        if (PRIMARY.equals(target)) {
+            return primary.getConnection();
+        }
+        try {
+            return getResolvedDataSources().get(target).getConnection();
+        } catch (SQLException e) {
+            replicaSet.markDown(target, e);
+            routes.get(PRIMARY).increment();
+            return primary.getConnection();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.passkey.global.datasource;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.ReplicaConfig;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * replica 커넥션 풀과 상태를 관리하고, 읽기 전용 트랜잭션에 쓸 replica를 고릅니다.
+ *
+ * <ul>
+ *     <li>주기적으로 각 replica에 연결해 복제 지연을 확인하고, 연결 실패나 max-lag-millis 초과면 제외합니다.
+ *         시작 직후 첫 확인 전까지는 모든 replica를 제외하므로 primary를 사용합니다.</li>
+ *     <li>정상 replica 중 사용 중인 연결과 연결 대기 스레드 수가 가장 적은 곳을 고르며,
+ *         같으면 시작 위치를 돌려 한 replica에 몰리지 않게 합니다.</li>
+ * </ul>
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    // 복제 중이 아니거나 받은 WAL을 모두 적용했으면 0, 아니면 마지막 적용 트랜잭션 이후 경과 시간
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END""";
+
+    private final ReplicaConfig config;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public ReplicaSet(ReplicaConfig config, MeterRegistry meterRegistry, WorkerThreads workerThreads) {
+        this.config = config;
+        List<ReplicaConfig.Node> nodes = config.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            ReplicaConfig.Node node = nodes.get(i);
+            String name = node.getName() != null ? node.getName() : "replica-" + (i + 1);
+            Replica replica = new Replica(name, createPool(name, node, meterRegistry), config.getHealthCheckTimeoutSeconds());
+            replicas.add(replica);
+            bindMetrics(replica, meterRegistry);
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("replica-health"));
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, config.getHealthCheckIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 이름 -> replica DataSource (라우팅 대상)
+     */
+    public Map<String, DataSource> dataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            dataSources.put(replica.name, replica.dataSource);
+        }
+        return dataSources;
+    }
+
+    /**
+     * 가장 한가한 정상 replica 이름, 정상 replica가 없으면 null
+     */
+    public String select() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        Replica best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            int load = replica.load();
+            if (load < bestLoad) {
+                best = replica;
+                bestLoad = load;
+            }
+        }
+        return best != null ? best.name : null;
+    }
+
+    /**
+     * 연결에 실패한 replica를 다음 상태 확인 전까지 제외합니다.
+     */
+    public void markDown(String name, Exception cause) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name) && replica.healthy) {
+                replica.healthy = false;
+                log.warn("Replica {} is unavailable, routing reads to other nodes: {}", name, cause.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private void checkAll() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try {
+                Double lag = replica.jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+                replica.lagMillis = lag != null ? Math.round(lag) : 0;
+                replica.healthy = replica.lagMillis <= config.getMaxLagMillis();
+            } catch (Exception e) {
+                replica.healthy = false;
+                if (wasHealthy) {
+                    log.warn("Replica {} health check failed: {}", replica.name, e.getMessage());
+                }
+            }
+            if (!wasHealthy && replica.healthy) {
+                log.info("Replica {} is healthy (lag {} ms)", replica.name, replica.lagMillis);
+            } else if (wasHealthy && !replica.healthy && replica.lagMillis > config.getMaxLagMillis()) {
+                log.warn("Replica {} lags {} ms behind primary, excluding", replica.name, replica.lagMillis);
+            }
+        }
+    }
+
+    private static HikariDataSource createPool(String name, ReplicaConfig.Node node, MeterRegistry meterRegistry) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(name);
+        hikari.setJdbcUrl(node.getUrl());
+        hikari.setUsername(node.getUsername());
+        hikari.setPassword(node.getPassword());
+        hikari.setMaximumPoolSize(node.getMaximumPoolSize());
+        hikari.setReadOnly(true);
+        hikari.setMetricRegistry(meterRegistry);  // hikaricp_connections_* {pool=name}
+        hikari.setInitializationFailTimeout(-1);  // replica가 내려가 있어도 서버는 시작 (상태 확인이 제외)
+        return new HikariDataSource(hikari);
+    }
+
+    private static void bindMetrics(Replica replica, MeterRegistry meterRegistry) {
+        Gauge.builder("passkey.db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+        Gauge.builder("passkey.db.replica.lag", replica, r -> r.lagMillis)
+                .description("마지막 상태 확인 시점의 복제 지연")
+                .baseUnit("milliseconds")
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+        Gauge.builder("passkey.db.replica.load", replica, Replica::load)
+                .description("사용 중인 연결 + 연결 대기 스레드")
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        private Replica(String name, HikariDataSource dataSource, int timeoutSeconds) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(timeoutSeconds);
+        }
+
+        private int load() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() + pool.getThreadsAwaitingConnection() : 0;
+        }
+    }
+}
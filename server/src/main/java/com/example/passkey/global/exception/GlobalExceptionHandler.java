@@ -1,14 +1,21 @@
 package com.example.passkey.global.exception;
 
+import com.example.passkey.domain.auth.exception.AttestationRejectedException;
+import com.example.passkey.domain.auth.exception.ChallengeCapacityExceededException;
 import com.example.passkey.global.captcha.CaptchaException;
+import com.example.passkey.global.captcha.CaptchaUnavailableException;
 import com.example.passkey.global.captcha.RequireV2CaptchaException;
+import com.example.passkey.global.ratelimit.RateLimitExceededException;
+import com.example.passkey.global.shard.ShardMovingException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 @Slf4j
@@ -30,4 +37,67 @@ public class GlobalExceptionHandler {
                         "message", e.getMessage()
                 ));
     }
+
+    @ExceptionHandler(CaptchaUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleCaptchaUnavailable(CaptchaUnavailableException e) {
+        log.warn("reCAPTCHA unavailable, rejecting request");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "error", "CAPTCHA_UNAVAILABLE",
+                        "message", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimitExceeded(RateLimitExceededException e) {
+        log.debug("Rate limit exceeded, retry after {}s", e.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "error", "RATE_LIMITED",
+                        "message", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ChallengeCapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleChallengeCapacityExceeded(ChallengeCapacityExceededException e) {
+        log.warn("Challenge store is full, rejecting new ceremony");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of(
+                        "error", "CHALLENGE_CAPACITY_EXCEEDED",
+                        "message", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(AttestationRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleAttestationRejected(AttestationRejectedException e) {
+        log.warn("Attestation rejected: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of(
+                        "error", "ATTESTATION_REJECTED",
+                        "message", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ShardMovingException.class)
+    public ResponseEntity<Map<String, Object>> handleShardMoving(ShardMovingException e) {
+        log.info("Rejecting write during shard move: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "error", "SHARD_MOVING",
+                        "message", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejectedExecution(RejectedExecutionException e) {
+        log.warn("Worker queue is full, rejecting request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of(
+                        "error", "SERVER_BUSY",
+                        "message", "Server is busy, retry later"
+                ));
+    }
 }
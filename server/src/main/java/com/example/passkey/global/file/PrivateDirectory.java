@@ -0,0 +1,92 @@
+package com.example.passkey.global.file;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Set;
+
+/**
+ * 서버 프로세스만 읽고 쓰는 디렉터리 (서명 키, 검증 결과 색인, journal 등)
+ *
+ * 없으면 0700으로 만들고, 이미 있으면 프로세스 사용자 소유이고 그룹/다른 사용자가 쓸 수 없을 때만 사용합니다.
+ * 심볼릭 링크는 따라가지 않습니다. POSIX 권한이 없는 파일 시스템에서는 소유자만 확인합니다.
+ */
+public final class PrivateDirectory {
+
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private PrivateDirectory() {
+    }
+
+    /**
+     * @param property 오류 메시지에 넣을 설정 이름
+     * @return 절대 경로
+     * @throws IllegalArgumentException 경로가 비어 있거나, 다른 사용자 소유이거나, 그룹/다른 사용자가 쓸 수 있으면
+     */
+    public static Path prepare(String dir, String property) throws IOException {
+        if (dir == null || dir.isBlank()) {
+            throw new IllegalArgumentException(property + " is required");
+        }
+        Path path = Path.of(dir).toAbsolutePath();
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            Files.createDirectories(path.getParent());
+            try {
+                if (POSIX) {
+                    Files.createDirectory(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+                } else {
+                    Files.createDirectory(path);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // 다른 프로세스가 먼저 만들었으면 아래에서 같은 검사
+            }
+        }
+        if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IllegalArgumentException(property + " is not a directory: " + path);
+        }
+        UserPrincipal owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS);
+        if (!owner.equals(processUser(path))) {
+            throw new IllegalArgumentException(property + " " + path + " is owned by " + owner.getName()
+                    + ", not the server process user");
+        }
+        if (POSIX) {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS);
+            if (permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                throw new IllegalArgumentException(property + " " + path + " is writable by other users ("
+                        + PosixFilePermissions.toString(permissions) + ")");
+            }
+        }
+        return path;
+    }
+
+    /**
+     * 같은 디렉터리의 임시 파일(0600)에 쓴 뒤 rename합니다. 읽는 쪽은 완성된 파일만 봅니다.
+     */
+    public static void write(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 새 파일의 소유자가 실제(effective) 프로세스 사용자 (user.name은 컨테이너에서 다를 수 있음)
+    private static UserPrincipal processUser(Path dir) throws IOException {
+        Path probe = Files.createTempFile(dir, ".owner", ".tmp");
+        try {
+            return Files.getOwner(probe);
+        } finally {
+            Files.deleteIfExists(probe);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.passkey.global.journal;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.concurrent.EventQueue;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.JournalConfig;
+import com.example.passkey.global.file.PrivateDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 등록/인증 이벤트를 append-only journal 파일에 기록합니다. (감사 기록, DB 쓰기 없음)
+ *
+ * <ul>
+ *     <li>요청 스레드는 {@link AuthEvent}를 lock-free 대기열에 넣기만 하고 기다리지 않습니다.
+ *         대기열이 가득 차면 이벤트를 버리고 dropped로 셉니다.</li>
+ *     <li>writer 스레드 1개가 대기열을 비우며 memory-mapped segment에 고정 크기 기록을 씁니다.</li>
+ *     <li>fsync는 commitIntervalMillis마다 그 사이에 쓴 기록을 한 번에 반영합니다(group commit).
+ *         비정상 종료 시 최대 commitIntervalMillis 동안의 기록이 유실될 수 있습니다.</li>
+ *     <li>segment가 가득 차면 다음 sequence로 새 파일을 만들고, maxSegments를 넘는 오래된 파일은 지웁니다.
+ *         재시작하면 마지막 segment의 마지막 유효 기록 다음부터 이어 씁니다.</li>
+ *     <li>dir는 서버 프로세스 전용 디렉터리여야 하며({@link PrivateDirectory}), 디렉터리의 lock 파일을 잡은 프로세스 하나만 씁니다.
+ *         같은 dir로 두 번째 서버를 띄우면 시작하지 않습니다.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class AuthEventJournal {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String LOCK_FILE = "journal.lock";
+
+    private final JournalConfig config;
+    private final Path dir;
+    private final EventQueue<AuthEvent> queue;
+    private final long commitIntervalNanos;
+    private final Thread writer;
+    private final FileChannel lockChannel;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile boolean parked;
+    private volatile long appended;
+    private volatile long commits;
+    private volatile long lastSequence;
+
+    // writer 스레드 전용
+    private JournalSegment segment;
+    private boolean uncommitted;
+    private long uncommittedSince;
+    private boolean failing;
+
+    public AuthEventJournal(JournalConfig config) {
+        this.config = config;
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getCommitIntervalMillis()));
+        if (!config.isEnabled()) {
+            this.dir = null;
+            this.queue = null;
+            this.writer = null;
+            this.lockChannel = null;
+            return;
+        }
+        this.queue = new EventQueue<>(config.getQueueCapacity());
+        try {
+            this.dir = PrivateDirectory.prepare(config.getDir(), "webauthn.journal.dir");
+            this.lockChannel = lock(dir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open auth journal in " + config.getDir(), e);
+        }
+        try {
+            this.segment = recover();
+        } catch (IOException e) {
+            unlock();
+            throw new IllegalStateException("Cannot open auth journal in " + dir, e);
+        }
+        this.lastSequence = segment.nextSequence() - 1;
+        log.info("Auth journal {} resumes at sequence {}", dir, segment.nextSequence());
+
+        // fsync와 mmap page fault는 가상 스레드의 carrier를 붙잡으므로 플랫폼 스레드 사용
+        this.writer = WorkerThreads.platform().factory("auth-journal").newThread(this::run);
+        writer.start();
+    }
+
+    @EventListener
+    public void on(AuthEvent event) {
+        append(event);
+    }
+
+    /**
+     * 이벤트를 기록 대기열에 넣습니다. (기다리지 않음)
+     *
+     * @return 비활성화되었거나 대기열이 가득 차 버렸으면 false
+     */
+    public boolean append(AuthEvent event) {
+        if (queue == null || !running) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        if (parked) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * 기록된 이벤트를 sequence 순서로 읽습니다. (아직 fsync되지 않은 기록 포함)
+     *
+     * @see JournalReader#scan(Path, long, JournalReader.Visitor)
+     */
+    public long replay(long fromSequence, JournalReader.Visitor visitor) throws IOException {
+        if (dir == null) {
+            return fromSequence - 1;
+        }
+        return JournalReader.scan(dir, fromSequence, visitor);
+    }
+
+    public long getAppendedCount() {
+        return appended;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getCommitCount() {
+        return commits;
+    }
+
+    public int getQueueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unlock();
+    }
+
+    // 다른 프로세스가 같은 dir에 쓰고 있으면 실패 (lock은 프로세스가 죽으면 OS가 풀어 줌)
+    private static FileChannel lock(Path dir) throws IOException {
+        FileChannel channel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.tryLock() != null) {
+                return channel;
+            }
+        } catch (OverlappingFileLockException e) {
+            // 같은 JVM의 다른 journal이 잡고 있음
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        channel.close();
+        throw new IllegalStateException("Auth journal " + dir + " is in use by another process");
+    }
+
+    // channel을 닫으면 lock도 풀림
+    private void unlock() {
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Could not release auth journal lock in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private void run() {
+        byte[] scratch = new byte[JournalSegment.RECORD_LENGTH];
+        while (running || !queue.isEmpty()) {
+            try {
+                AuthEvent event = queue.poll();
+                if (event != null) {
+                    write(event, scratch);
+                }
+                long elapsed = System.nanoTime() - uncommittedSince;
+                if (uncommitted && elapsed >= commitIntervalNanos) {
+                    commit();
+                }
+                if (event == null) {
+                    parked = true;
+                    if (queue.isEmpty() && running) {
+                        LockSupport.parkNanos(uncommitted ? commitIntervalNanos - elapsed : IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                }
+            } catch (RuntimeException e) {
+                log.error("Auth journal writer error", e);
+            }
+        }
+        commit();
+    }
+
+    private void write(AuthEvent event, byte[] scratch) {
+        try {
+            if (segment.isFull()) {
+                roll();
+            }
+        } catch (IOException e) {
+            dropped.increment();
+            if (!failing) {
+                failing = true;
+                log.error("Cannot create auth journal segment in {}, dropping events", dir, e);
+            }
+            return;
+        }
+        failing = false;
+        long sequence = segment.nextSequence();
+        segment.append(sequence, event, scratch);
+        if (!uncommitted) {
+            uncommitted = true;
+            uncommittedSince = System.nanoTime();
+        }
+        lastSequence = sequence;
+        appended++;
+    }
+
+    private void commit() {
+        if (segment != null && segment.force() > 0) {
+            commits++;
+        }
+        uncommitted = false;
+    }
+
+    private void roll() throws IOException {
+        commit();
+        segment = JournalSegment.create(dir, segment.nextSequence(), config.getSegmentSizeBytes());
+        deleteOldSegments();
+    }
+
+    private JournalSegment recover() throws IOException {
+        List<Path> segments = JournalSegment.list(dir);
+        if (segments.isEmpty()) {
+            return JournalSegment.create(dir, 1, config.getSegmentSizeBytes());
+        }
+        JournalSegment last = JournalSegment.openForAppend(segments.get(segments.size() - 1));
+        return last.isFull()
+                ? JournalSegment.create(dir, last.nextSequence(), config.getSegmentSizeBytes())
+                : last;
+    }
+
+    private void deleteOldSegments() {
+        if (config.getMaxSegments() <= 0) {
+            return;
+        }
+        try {
+            List<Path> segments = JournalSegment.list(dir);
+            for (int i = 0; i < segments.size() - config.getMaxSegments(); i++) {
+                if (!segments.get(i).equals(segment.file())) {
+                    Files.deleteIfExists(segments.get(i));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete old auth journal segments in {}: {}", dir, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.passkey.global.journal;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * journal 디렉터리의 기록을 sequence 순서로 읽습니다. (오프라인 분석용, 서버가 쓰는 중에도 읽을 수 있음)
+ *
+ * JDK 클래스만 사용하므로 서버를 띄우지 않고 실행할 수 있습니다.
+ * <pre>
+ * java -cp server/build/classes/java/main com.example.passkey.global.journal.JournalReader /var/lib/passkey/journal [fromSequence]
+ * </pre>
+ * journal에는 credential ID 대신 SHA-256만 있으므로 읽은 이벤트의 credentialId는 그 해시(Base64URL)입니다.
+ * 특정 credential의 기록을 찾으려면 {@link #credentialIdHash(String)}로 바꿔 비교합니다.
+ */
+public final class JournalReader {
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long sequence, AuthEvent event);
+    }
+
+    private JournalReader() {
+    }
+
+    /**
+     * @param fromSequence 이 sequence 이상인 기록만 전달 (처음부터는 0)
+     * @return 마지막으로 읽은 sequence (없으면 fromSequence - 1), 다음 호출의 fromSequence는 이 값 + 1
+     */
+    public static long scan(Path dir, long fromSequence, Visitor visitor) throws IOException {
+        List<Path> segments = JournalSegment.list(dir);
+        long last = fromSequence - 1;
+        for (int i = 0; i < segments.size(); i++) {
+            // 다음 segment가 fromSequence 이하에서 시작하면 이 segment는 건너뜀
+            if (i + 1 < segments.size() && JournalSegment.firstSequenceOf(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            last = Math.max(last, JournalSegment.scan(segments.get(i), Math.max(fromSequence, last + 1), visitor));
+        }
+        return last;
+    }
+
+    /**
+     * credential ID(Base64URL)를 journal에서 읽히는 값으로 바꿉니다.
+     */
+    public static String credentialIdHash(String credentialId) {
+        return JournalSegment.credentialIdHash(credentialId);
+    }
+
+    /**
+     * 기록을 CSV로 출력합니다.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: JournalReader <journal-dir> [fromSequence]");
+            System.exit(2);
+        }
+        PrintStream out = System.out;
+        out.println("sequence,timestamp,type,outcome,user_id,credential_id_sha256,aaguid,sign_count,latency_micros");
+        scan(Path.of(args[0]), args.length > 1 ? Long.parseLong(args[1]) : 0, (sequence, event) ->
+                out.println(sequence + "," + Instant.ofEpochMilli(event.timestampMillis())
+                        + "," + event.type() + "," + event.outcome()
+                        + "," + orEmpty(event.userId()) + "," + orEmpty(event.credentialId())
+                        + "," + orEmpty(event.aaguid()) + "," + event.signCount()
+                        + "," + event.latencyNanos() / 1000));
+    }
+
+    private static String orEmpty(Object value) {
+        return value != null ? value.toString() : "";
+    }
+}
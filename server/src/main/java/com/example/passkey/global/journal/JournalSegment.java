@@ -0,0 +1,324 @@
+package com.example.passkey.global.journal;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * 고정 크기(128바이트) 기록을 순서대로 담는 memory-mapped segment 파일 1개
+ *
+ * <pre>
+ * header(128): magic(4) version(4) recordLength(4) reserved(4) firstSequence(8) createdMillis(8)
+ * record(128): crc32c(4) type(1) outcome(1) flags(1) reserved(1) sequence(8) timestampMillis(8)
+ *              userId(16) aaguid(16) signCount(8) latencyNanos(8) credentialIdSha256(32) reserved(24)
+ * </pre>
+ * 파일은 만들 때 전체 크기로 매핑하므로 아직 쓰지 않은 기록은 0입니다. crc32c는 기록의 나머지 124바이트에 대한 값이며,
+ * 처음으로 crc가 맞지 않거나 sequence가 이어지지 않는 기록이 segment의 끝입니다(비정상 종료로 일부만 쓰인 기록 포함).
+ * 이어 쓸 때는 그 뒤를 0으로 지웁니다. page는 순서 없이 디스크에 반영되므로 끝 뒤에 이전 실행의 기록이 남아 있을 수 있고,
+ * 그대로 두면 다시 쓴 기록과 sequence가 이어져 유효한 기록으로 읽힙니다.
+ * credential ID는 원래 값 대신 고정 크기 SHA-256만 저장합니다. 길이와 관계없이 서로 다른 ID가 같은 기록이 되지 않고,
+ * 파일에 credential ID가 그대로 남지 않습니다. (Base64URL을 푼 바이트의 해시, Base64URL이 아니면 UTF-8 문자열의 해시)
+ */
+final class JournalSegment {
+
+    static final int RECORD_LENGTH = 128;
+    static final String PREFIX = "auth-";
+    static final String SUFFIX = ".journal";
+
+    private static final int MAGIC = 0x41454A31;  // "AEJ1"
+    private static final int VERSION = 2;
+    private static final int CREDENTIAL_ID_HASH_OFFSET = 72;
+    private static final int CREDENTIAL_ID_HASH_LENGTH = 32;
+
+    static final int FLAG_CREDENTIAL_ID = 1;   // credential ID 해시가 있음
+    static final int FLAG_INVALID_ID = 1 << 1; // 요청의 credential ID가 Base64URL이 아님
+
+    private static final AuthEvent.Type[] TYPES = AuthEvent.Type.values();
+    private static final AuthEvent.Outcome[] OUTCOMES = AuthEvent.Outcome.values();
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final long firstSequence;
+    private final int capacity;
+    private int count;
+    private int forcedCount;
+
+    private JournalSegment(Path file, MappedByteBuffer buffer, long firstSequence, int count) {
+        this.file = file;
+        this.buffer = buffer;
+        this.firstSequence = firstSequence;
+        this.capacity = buffer.capacity() / RECORD_LENGTH - 1;
+        this.count = count;
+        this.forcedCount = count;
+    }
+
+    /**
+     * 새 segment 파일을 만들어 쓰기용으로 매핑합니다.
+     */
+    static JournalSegment create(Path dir, long firstSequence, long sizeBytes) throws IOException {
+        long records = Math.max(1, Math.min(sizeBytes, Integer.MAX_VALUE) / RECORD_LENGTH - 1);
+        Path file = dir.resolve(fileName(firstSequence));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (records + 1) * RECORD_LENGTH);
+            channel.force(true);  // 늘어난 파일 크기(metadata) 반영
+        }
+        buffer.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(8, RECORD_LENGTH)
+                .putLong(16, firstSequence)
+                .putLong(24, System.currentTimeMillis());
+        buffer.force(0, RECORD_LENGTH);
+        return new JournalSegment(file, buffer, firstSequence, 0);
+    }
+
+    /**
+     * 기존 segment를 열어 마지막 유효 기록 다음 위치부터 이어 쓸 수 있게 합니다.
+     */
+    static JournalSegment openForAppend(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        long firstSequence = readHeader(buffer, file);
+        int count = validCount(buffer, firstSequence);
+        clearAfter(buffer, count);
+        return new JournalSegment(file, buffer, firstSequence, count);
+    }
+
+    /**
+     * segment의 유효한 기록을 순서대로 읽습니다. (읽기 전용 매핑, 쓰는 중인 segment도 읽을 수 있음)
+     *
+     * @param fromSequence 이 sequence 이상인 기록만 전달
+     * @return 마지막으로 읽은 sequence (없으면 fromSequence - 1)
+     */
+    static long scan(Path file, long fromSequence, JournalReader.Visitor visitor) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        long firstSequence = readHeader(buffer, file);
+        int capacity = buffer.capacity() / RECORD_LENGTH - 1;
+        byte[] record = new byte[RECORD_LENGTH];
+        long last = fromSequence - 1;
+        for (int i = (int) Math.max(0, Math.min(capacity, fromSequence - firstSequence)); i < capacity; i++) {
+            buffer.get((i + 1) * RECORD_LENGTH, record);
+            if (!isValid(record, firstSequence + i)) {
+                break;
+            }
+            last = firstSequence + i;
+            visitor.visit(last, decode(record));
+        }
+        return last;
+    }
+
+    /**
+     * @return 가득 차서 쓰지 못하면 false
+     */
+    boolean append(long sequence, AuthEvent event, byte[] scratch) {
+        if (count == capacity) {
+            return false;
+        }
+        encode(sequence, event, scratch);
+        buffer.put((count + 1) * RECORD_LENGTH, scratch);
+        count++;
+        return true;
+    }
+
+    /**
+     * 마지막 force 이후 쓴 기록을 디스크에 반영합니다.
+     *
+     * @return 반영한 기록 수
+     */
+    int force() {
+        int pending = count - forcedCount;
+        if (pending > 0) {
+            buffer.force((forcedCount + 1) * RECORD_LENGTH, pending * RECORD_LENGTH);
+            forcedCount = count;
+        }
+        return pending;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    long nextSequence() {
+        return firstSequence + count;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    static String fileName(long firstSequence) {
+        return PREFIX + String.format("%020d", firstSequence) + SUFFIX;
+    }
+
+    /**
+     * 디렉터리의 segment 파일 (첫 sequence 순)
+     */
+    static List<Path> list(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (var stream = Files.list(dir)) {
+            stream.filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(files::add);
+        }
+        // 파일 이름의 sequence가 0으로 채운 고정 길이이므로 이름 순서 = sequence 순서
+        files.sort(null);
+        return files;
+    }
+
+    static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static long readHeader(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.capacity() < 2 * RECORD_LENGTH || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != RECORD_LENGTH) {
+            throw new IOException("Not an auth journal segment: " + file);
+        }
+        return buffer.getLong(16);
+    }
+
+    private static int validCount(ByteBuffer buffer, long firstSequence) {
+        int capacity = buffer.capacity() / RECORD_LENGTH - 1;
+        byte[] record = new byte[RECORD_LENGTH];
+        for (int i = 0; i < capacity; i++) {
+            buffer.get((i + 1) * RECORD_LENGTH, record);
+            if (!isValid(record, firstSequence + i)) {
+                return i;
+            }
+        }
+        return capacity;
+    }
+
+    // 유효한 기록 뒤의 남은 바이트를 지우고 디스크에 반영
+    private static void clearAfter(MappedByteBuffer buffer, int count) {
+        int capacity = buffer.capacity() / RECORD_LENGTH - 1;
+        byte[] empty = new byte[RECORD_LENGTH];
+        byte[] record = new byte[RECORD_LENGTH];
+        boolean cleared = false;
+        for (int i = count; i < capacity; i++) {
+            buffer.get((i + 1) * RECORD_LENGTH, record);
+            if (!Arrays.equals(record, empty)) {
+                buffer.put((i + 1) * RECORD_LENGTH, empty);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            buffer.force();
+        }
+    }
+
+    private static boolean isValid(byte[] record, long expectedSequence) {
+        ByteBuffer view = ByteBuffer.wrap(record);
+        return view.getLong(8) == expectedSequence && view.getInt(0) == crc(record);
+    }
+
+    private static int crc(byte[] record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record, Integer.BYTES, RECORD_LENGTH - Integer.BYTES);
+        return (int) crc.getValue();
+    }
+
+    private static void encode(long sequence, AuthEvent event, byte[] record) {
+        Arrays.fill(record, (byte) 0);
+        ByteBuffer view = ByteBuffer.wrap(record);
+        int flags = 0;
+        if (event.credentialId() != null) {
+            byte[] id;
+            try {
+                id = Base64.getUrlDecoder().decode(event.credentialId());
+                flags |= FLAG_CREDENTIAL_ID;
+            } catch (IllegalArgumentException e) {
+                id = event.credentialId().getBytes(StandardCharsets.UTF_8);
+                flags |= FLAG_CREDENTIAL_ID | FLAG_INVALID_ID;
+            }
+            view.put(CREDENTIAL_ID_HASH_OFFSET, sha256(id));
+        }
+        view.put(4, (byte) event.type().ordinal())
+                .put(5, (byte) event.outcome().ordinal())
+                .put(6, (byte) flags)
+                .putLong(8, sequence)
+                .putLong(16, event.timestampMillis())
+                .putLong(56, event.signCount())
+                .putLong(64, event.latencyNanos());
+        putUuid(view, 24, event.userId());
+        putUuid(view, 40, event.aaguid());
+        view.putInt(0, crc(record));
+    }
+
+    // credentialId 자리에는 credential ID의 SHA-256 (Base64URL)
+    private static AuthEvent decode(byte[] record) {
+        ByteBuffer view = ByteBuffer.wrap(record);
+        String credentialId = (view.get(6) & FLAG_CREDENTIAL_ID) != 0
+                ? Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOfRange(
+                        record, CREDENTIAL_ID_HASH_OFFSET, CREDENTIAL_ID_HASH_OFFSET + CREDENTIAL_ID_HASH_LENGTH))
+                : null;
+        return new AuthEvent(
+                TYPES[Math.min(view.get(4), TYPES.length - 1)],
+                OUTCOMES[Math.min(view.get(5), OUTCOMES.length - 1)],
+                view.getLong(16),
+                getUuid(view, 24),
+                credentialId,
+                getUuid(view, 40),
+                view.getLong(56),
+                view.getLong(64));
+    }
+
+    /**
+     * journal에 남는 credential ID 값 (SHA-256의 Base64URL)
+     */
+    static String credentialIdHash(String credentialId) {
+        byte[] id;
+        try {
+            id = Base64.getUrlDecoder().decode(credentialId);
+        } catch (IllegalArgumentException e) {
+            id = credentialId.getBytes(StandardCharsets.UTF_8);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(id));
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // null은 0 UUID로 저장
+    private static void putUuid(ByteBuffer view, int offset, UUID value) {
+        if (value != null) {
+            view.putLong(offset, value.getMostSignificantBits()).putLong(offset + 8, value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID getUuid(ByteBuffer view, int offset) {
+        long msb = view.getLong(offset);
+        long lsb = view.getLong(offset + 8);
+        return msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.passkey.global.metadata;
+
+/**
+ * MDS3 status report의 status 값
+ * 색인 파일에는 ordinal을 1바이트로 저장하므로 새 값은 끝에만 추가합니다.
+ */
+public enum AuthenticatorStatus {
+    UNKNOWN,
+    NOT_FIDO_CERTIFIED,
+    FIDO_CERTIFIED,
+    USER_VERIFICATION_BYPASS,
+    ATTESTATION_KEY_COMPROMISE,
+    USER_KEY_REMOTE_COMPROMISE,
+    USER_KEY_PHYSICAL_COMPROMISE,
+    UPDATE_AVAILABLE,
+    REVOKED,
+    SELF_ASSERTION_SUBMITTED,
+    FIDO_CERTIFIED_L1,
+    FIDO_CERTIFIED_L1plus,
+    FIDO_CERTIFIED_L2,
+    FIDO_CERTIFIED_L2plus,
+    FIDO_CERTIFIED_L3,
+    FIDO_CERTIFIED_L3plus;
+
+    static AuthenticatorStatus parse(String value) {
+        try {
+            return valueOf(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * 인증 수준 (인증 상태가 아니면 0, FIDO_CERTIFIED/L1: 1, L1+: 2, L2: 3, L2+: 4, L3: 5, L3+: 6)
+     */
+    int certificationLevel() {
+        return switch (this) {
+            case FIDO_CERTIFIED, FIDO_CERTIFIED_L1 -> 1;
+            case FIDO_CERTIFIED_L1plus -> 2;
+            case FIDO_CERTIFIED_L2 -> 3;
+            case FIDO_CERTIFIED_L2plus -> 4;
+            case FIDO_CERTIFIED_L3 -> 5;
+            case FIDO_CERTIFIED_L3plus -> 6;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.passkey.global.metadata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MDS3 blob(JWS compact 형식)의 서명을 검증하고 payload를 돌려줍니다.
+ *
+ * header.x5c 체인을 설정한 루트 인증서까지 PKIX로 검증한 뒤, 첫 인증서의 공개키로 JWS 서명을 확인합니다.
+ * 오프라인 적재이므로 인증서 폐기 목록(CRL)은 확인하지 않습니다.
+ */
+final class MetadataBlobVerifier {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MetadataBlobVerifier() {
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 잘못되었거나 서명/체인 검증에 실패하면
+     */
+    static JsonNode verify(byte[] blob, X509Certificate root) {
+        String jws = new String(blob, StandardCharsets.US_ASCII).trim();
+        String[] parts = jws.split("\\.");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Metadata blob is not a JWS compact serialization");
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            JsonNode header = objectMapper.readTree(decoder.decode(parts[0]));
+            List<X509Certificate> chain = certificates(header.path("x5c"));
+            if (chain.isEmpty()) {
+                throw new IllegalArgumentException("Metadata blob has no x5c chain");
+            }
+            validateChain(chain, root);
+
+            Signature signature = Signature.getInstance(jcaAlgorithm(header.path("alg").asText()));
+            signature.initVerify(chain.get(0).getPublicKey());
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(decoder.decode(parts[2]))) {
+                throw new IllegalArgumentException("Metadata blob signature is invalid");
+            }
+            return objectMapper.readTree(decoder.decode(parts[1]));
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalArgumentException("Metadata blob verification failed: " + e.getMessage(), e);
+        }
+    }
+
+    static X509Certificate certificate(byte[] der) throws GeneralSecurityException {
+        return (X509Certificate) CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(der));
+    }
+
+    private static List<X509Certificate> certificates(JsonNode x5c) throws GeneralSecurityException {
+        List<X509Certificate> certificates = new ArrayList<>();
+        for (JsonNode node : x5c) {
+            // x5c는 표준 Base64 (URL-safe 아님)
+            certificates.add(certificate(Base64.getMimeDecoder().decode(node.asText())));
+        }
+        return certificates;
+    }
+
+    private static void validateChain(List<X509Certificate> chain, X509Certificate root)
+            throws GeneralSecurityException {
+        // 체인에 루트가 함께 들어 있으면 trust anchor와 중복되므로 제외
+        List<X509Certificate> path = chain.stream().filter(certificate -> !certificate.equals(root)).toList();
+        PKIXParameters parameters = new PKIXParameters(Set.of(new TrustAnchor(root, null)));
+        parameters.setRevocationEnabled(false);
+        CertPathValidator.getInstance("PKIX").validate(
+                CertificateFactory.getInstance("X.509").generateCertPath(path), parameters);
+    }
+
+    private static String jcaAlgorithm(String alg) {
+        return switch (alg) {
+            case "RS256" -> "SHA256withRSA";
+            case "ES256" -> "SHA256withECDSAinP1363Format";  // JWS ECDSA 서명은 r||s 고정 길이
+            default -> throw new IllegalArgumentException("Unsupported metadata blob algorithm: " + alg);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.passkey.global.metadata;
+
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * AAGUID 하나의 MDS 정보
+ *
+ * @param status             가장 최근 status report의 status
+ * @param certificationLevel status report 중 가장 높은 인증 수준 ({@link AuthenticatorStatus} 참고, 0이면 인증 없음)
+ * @param trustAnchors       metadataStatement.attestationRootCertificates
+ */
+public record MetadataEntry(
+        UUID aaguid,
+        AuthenticatorStatus status,
+        int certificationLevel,
+        List<X509Certificate> trustAnchors
+) {
+}
@@ -0,0 +1,270 @@
+package com.example.passkey.global.metadata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 검증된 MDS3 payload에서 만든 AAGUID 색인 파일 (memory-mapped, 읽기 전용)
+ *
+ * <pre>
+ * header(64): magic(4) version(4) blobNumber(4) entryCount(4) slotCount(4) reserved(4) nextUpdate(8, epoch day) blobSha256(32)
+ * slot(32) x slotCount: aaguid(16) status(1) level(1) anchorCount(2) anchorsOffset(4) anchorsLength(4) reserved(4)
+ * anchors: ([length:4][DER]) ...
+ * </pre>
+ * slot은 AAGUID 해시로 찾는 open addressing 테이블(부하율 0.5 이하, linear probing)이므로 조회는 O(1)입니다.
+ * 빈 slot은 AAGUID가 0이며, 0 AAGUID(U2F 등)는 색인하지 않습니다.
+ */
+public final class MetadataIndex {
+
+    private static final int MAGIC = 0x4D445358;  // "MDSX"
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 64;
+    private static final int SLOT_LENGTH = 32;
+    private static final int DIGEST_OFFSET = 32;
+    private static final int DIGEST_LENGTH = 32;
+
+    private static final MetadataIndex EMPTY = new MetadataIndex(null, 0, 0, 0, LocalDate.MIN, new byte[0]);
+
+    private final ByteBuffer buffer;
+    private final int blobNumber;
+    private final int entryCount;
+    private final int mask;
+    private final LocalDate nextUpdate;
+    private final byte[] blobDigest;
+
+    private MetadataIndex(ByteBuffer buffer, int blobNumber, int entryCount, int slotCount, LocalDate nextUpdate,
+                          byte[] blobDigest) {
+        this.buffer = buffer;
+        this.blobNumber = blobNumber;
+        this.entryCount = entryCount;
+        this.mask = slotCount - 1;
+        this.nextUpdate = nextUpdate;
+        this.blobDigest = blobDigest;
+    }
+
+    public static MetadataIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * payload로 색인 파일을 만듭니다. 같은 디렉터리의 임시 파일에 쓴 뒤 rename하므로 읽는 쪽은 완성된 파일만 봅니다.
+     *
+     * @return 색인한 AAGUID 수
+     */
+    static int write(Path target, JsonNode payload, byte[] blobDigest) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        for (JsonNode entry : payload.path("entries")) {
+            Row row = Row.from(entry);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+
+        int slotCount = Integer.highestOneBit(Math.max(1, rows.size() * 4 - 1));
+        int anchorsLength = rows.stream()
+                .flatMap(row -> row.anchors().stream())
+                .mapToInt(der -> Integer.BYTES + der.length)
+                .sum();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + slotCount * SLOT_LENGTH + anchorsLength);
+
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(payload.path("no").asInt())
+                .putInt(rows.size())
+                .putInt(slotCount)
+                .putInt(0)
+                .putLong(LocalDate.parse(payload.path("nextUpdate").asText("9999-12-31")).toEpochDay())
+                .put(blobDigest, 0, DIGEST_LENGTH);
+
+        int anchorsOffset = HEADER_LENGTH + slotCount * SLOT_LENGTH;
+        int written = 0;
+        for (Row row : rows) {
+            int slot = probe(buffer, slotCount - 1, row.aaguid());
+            if (slot < 0) {
+                continue;  // 중복 AAGUID: 처음 항목 유지
+            }
+            int start = anchorsOffset;
+            for (byte[] der : row.anchors()) {
+                buffer.putInt(anchorsOffset, der.length).put(anchorsOffset + Integer.BYTES, der);
+                anchorsOffset += Integer.BYTES + der.length;
+            }
+            int offset = HEADER_LENGTH + slot * SLOT_LENGTH;
+            buffer.putLong(offset, row.aaguid().getMostSignificantBits())
+                    .putLong(offset + 8, row.aaguid().getLeastSignificantBits())
+                    .put(offset + 16, (byte) row.status().ordinal())
+                    .put(offset + 17, (byte) row.certificationLevel())
+                    .putShort(offset + 18, (short) row.anchors().size())
+                    .putInt(offset + 20, start)
+                    .putInt(offset + 24, anchorsOffset - start);
+            written++;
+        }
+        buffer.putInt(12, written);
+
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return written;
+    }
+
+    /**
+     * @throws IOException 파일이 없거나 형식이 맞지 않으면
+     */
+    static MetadataIndex open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지되며, 마지막 참조가 사라지면 해제됨
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a metadata index: " + file);
+        }
+        int slotCount = buffer.getInt(16);
+        if (Integer.bitCount(slotCount) != 1 || HEADER_LENGTH + (long) slotCount * SLOT_LENGTH > buffer.capacity()) {
+            throw new IOException("Corrupt metadata index: " + file);
+        }
+        byte[] digest = new byte[DIGEST_LENGTH];
+        buffer.get(DIGEST_OFFSET, digest);
+        return new MetadataIndex(buffer, buffer.getInt(8), buffer.getInt(12), slotCount,
+                LocalDate.ofEpochDay(buffer.getLong(24)), digest);
+    }
+
+    /**
+     * @throws IllegalStateException 색인에 저장된 인증서를 읽을 수 없으면 (손상된 파일)
+     */
+    public Optional<MetadataEntry> find(UUID aaguid) {
+        if (buffer == null || (aaguid.getMostSignificantBits() == 0 && aaguid.getLeastSignificantBits() == 0)) {
+            return Optional.empty();
+        }
+        long msb = aaguid.getMostSignificantBits();
+        long lsb = aaguid.getLeastSignificantBits();
+        for (int i = 0, slot = hash(aaguid) & mask; i <= mask; i++, slot = (slot + 1) & mask) {
+            int offset = HEADER_LENGTH + slot * SLOT_LENGTH;
+            long slotMsb = buffer.getLong(offset);
+            long slotLsb = buffer.getLong(offset + 8);
+            if (slotMsb == 0 && slotLsb == 0) {
+                return Optional.empty();
+            }
+            if (slotMsb == msb && slotLsb == lsb) {
+                return Optional.of(entry(aaguid, offset));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int blobNumber() {
+        return blobNumber;
+    }
+
+    public int entryCount() {
+        return entryCount;
+    }
+
+    public LocalDate nextUpdate() {
+        return nextUpdate;
+    }
+
+    boolean isFor(byte[] digest) {
+        return Arrays.equals(blobDigest, digest);
+    }
+
+    private MetadataEntry entry(UUID aaguid, int offset) {
+        AuthenticatorStatus[] statuses = AuthenticatorStatus.values();
+        int statusOrdinal = buffer.get(offset + 16);
+        AuthenticatorStatus status = statusOrdinal >= 0 && statusOrdinal < statuses.length
+                ? statuses[statusOrdinal]
+                : AuthenticatorStatus.UNKNOWN;
+        int anchorCount = Short.toUnsignedInt(buffer.getShort(offset + 18));
+        int position = buffer.getInt(offset + 20);
+
+        List<X509Certificate> anchors = new ArrayList<>(anchorCount);
+        try {
+            for (int i = 0; i < anchorCount; i++) {
+                byte[] der = new byte[buffer.getInt(position)];
+                buffer.get(position + Integer.BYTES, der);
+                position += Integer.BYTES + der.length;
+                anchors.add(MetadataBlobVerifier.certificate(der));
+            }
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("Corrupt metadata index entry: " + aaguid, e);
+        }
+        return new MetadataEntry(aaguid, status, buffer.get(offset + 17), List.copyOf(anchors));
+    }
+
+    // 쓰기용: 비어 있는 slot 위치, 같은 AAGUID가 이미 있으면 -1
+    private static int probe(ByteBuffer buffer, int mask, UUID aaguid) {
+        for (int slot = hash(aaguid) & mask; ; slot = (slot + 1) & mask) {
+            int offset = HEADER_LENGTH + slot * SLOT_LENGTH;
+            long msb = buffer.getLong(offset);
+            long lsb = buffer.getLong(offset + 8);
+            if (msb == 0 && lsb == 0) {
+                return slot;
+            }
+            if (msb == aaguid.getMostSignificantBits() && lsb == aaguid.getLeastSignificantBits()) {
+                return -1;
+            }
+        }
+    }
+
+    private static int hash(UUID aaguid) {
+        long h = (aaguid.getMostSignificantBits() ^ Long.rotateLeft(aaguid.getLeastSignificantBits(), 32))
+                * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32);
+    }
+
+    /**
+     * payload entries[] 항목 하나 (색인할 값만)
+     */
+    private record Row(UUID aaguid, AuthenticatorStatus status, int certificationLevel, List<byte[]> anchors) {
+
+        static Row from(JsonNode entry) {
+            String aaguid = entry.path("aaguid").asText("");
+            if (aaguid.isEmpty()) {
+                return null;  // U2F 인증기는 attestationCertificateKeyIdentifiers로 식별되므로 제외
+            }
+            UUID id = UUID.fromString(aaguid);
+            if (id.getMostSignificantBits() == 0 && id.getLeastSignificantBits() == 0) {
+                return null;
+            }
+
+            // 가장 최근(effectiveDate, 같으면 뒤쪽) report의 status와 가장 높은 인증 수준
+            AuthenticatorStatus status = AuthenticatorStatus.UNKNOWN;
+            String latest = "";
+            int level = 0;
+            for (JsonNode report : entry.path("statusReports")) {
+                AuthenticatorStatus reported = AuthenticatorStatus.parse(report.path("status").asText(null));
+                String effectiveDate = report.path("effectiveDate").asText("");
+                if (effectiveDate.compareTo(latest) >= 0) {
+                    latest = effectiveDate;
+                    status = reported;
+                }
+                level = Math.max(level, reported.certificationLevel());
+            }
+
+            List<byte[]> anchors = new ArrayList<>();
+            for (JsonNode certificate : entry.path("metadataStatement").path("attestationRootCertificates")) {
+                anchors.add(Base64.getMimeDecoder().decode(certificate.asText()));
+            }
+            return new Row(id, status, level, anchors);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.passkey.global.metadata;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.AttestationConfig;
+import com.example.passkey.global.file.PrivateDirectory;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 MDS3 blob을 적재해 AAGUID로 조회합니다.
+ *
+ * <ul>
+ *     <li>blob 서명은 새 blob을 처음 볼 때 한 번만 검증하고, 결과를 blob SHA-256 이름의 색인 파일로 남깁니다.
+ *         색인 파일에는 index-dir의 키로 만든 HMAC을 함께 남기고, 재시작 시 같은 blob이고 HMAC이 맞을 때만
+ *         검증/파싱 없이 색인 파일을 매핑합니다. 맞지 않으면 blob을 다시 검증합니다.</li>
+ *     <li>index-dir는 서버 프로세스 전용 디렉터리여야 합니다({@link PrivateDirectory}). 다른 사용자가 색인이나 키를 바꿀 수 없어야
+ *         캐시된 검증 결과를 믿을 수 있습니다.</li>
+ *     <li>reloadIntervalMillis마다 blob 파일의 수정 시각/크기를 확인해 바뀌었으면 새 색인으로 교체합니다.
+ *         운영자는 새 blob을 같은 디렉터리에 쓴 뒤 rename으로 바꿔 넣습니다. 검증에 실패하면 기존 색인을 유지합니다.</li>
+ *     <li>조회는 volatile 참조 하나를 읽으므로 교체 중에도 잠금이 없습니다.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class MetadataService {
+
+    private static final String INDEX_PREFIX = "mds-";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String MAC_SUFFIX = ".mac";
+    private static final String KEY_FILE = "index.key";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final AttestationConfig.Metadata config;
+    private final WorkerThreads workerThreads;
+
+    private volatile MetadataIndex index = MetadataIndex.empty();
+    private FileTime loadedModified;
+    private long loadedSize = -1;
+    private Path indexDir;
+    private SecretKeySpec indexKey;
+    private ScheduledExecutorService scheduler;
+
+    public MetadataService(AttestationConfig config, WorkerThreads workerThreads) {
+        this.config = config.getMetadata();
+        this.workerThreads = workerThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!StringUtils.hasText(config.getBlobPath())) {
+            return;
+        }
+        // 디렉터리 설정 오류는 blob 오류와 달리 시작을 막음
+        indexDir();
+        reloadQuietly();
+        if (config.getReloadIntervalMillis() > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("mds-reload"));
+            scheduler.scheduleWithFixedDelay(this::reloadQuietly,
+                    config.getReloadIntervalMillis(), config.getReloadIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public Optional<MetadataEntry> find(UUID aaguid) {
+        return index.find(aaguid);
+    }
+
+    public MetadataIndex index() {
+        return index;
+    }
+
+    /**
+     * blob 파일이 바뀌었으면 다시 적재합니다.
+     *
+     * @return 색인을 교체했으면 true
+     * @throws IllegalArgumentException blob 서명/체인 검증에 실패하거나 index-dir가 전용 디렉터리가 아니면
+     */
+    public synchronized boolean reload() throws IOException {
+        Path blobPath = Path.of(config.getBlobPath());
+        FileTime modified = Files.getLastModifiedTime(blobPath);
+        long size = Files.size(blobPath);
+        if (modified.equals(loadedModified) && size == loadedSize) {
+            return false;
+        }
+
+        byte[] blob = Files.readAllBytes(blobPath);
+        byte[] digest = sha256(blob);
+        if (index.isFor(digest)) {
+            remember(modified, size);
+            return false;
+        }
+
+        Path indexDir = indexDir();
+        SecretKeySpec key = indexKey(indexDir);
+        Path indexFile = indexDir.resolve(INDEX_PREFIX + HexFormat.of().formatHex(digest) + INDEX_SUFFIX);
+        MetadataIndex loaded = openExisting(indexFile, digest, key);
+        if (loaded == null) {
+            JsonNode payload = MetadataBlobVerifier.verify(blob, rootCertificate());
+            int entries = MetadataIndex.write(indexFile, payload, digest);
+            PrivateDirectory.write(macFile(indexFile), mac(Files.readAllBytes(indexFile), key));
+            loaded = MetadataIndex.open(indexFile);
+            log.info("Verified metadata blob #{} and indexed {} authenticators", loaded.blobNumber(), entries);
+        }
+        if (loaded.nextUpdate().isBefore(LocalDate.now())) {
+            log.warn("Metadata blob #{} is past its nextUpdate ({}), replace {}",
+                    loaded.blobNumber(), loaded.nextUpdate(), blobPath);
+        }
+
+        index = loaded;
+        remember(modified, size);
+        deleteOtherIndexes(indexDir, indexFile);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load metadata blob {}, keeping blob #{}",
+                    config.getBlobPath(), index.blobNumber(), e);
+        }
+    }
+
+    private void remember(FileTime modified, long size) {
+        loadedModified = modified;
+        loadedSize = size;
+    }
+
+    // 이전에 검증해 만든 색인 (없거나, HMAC이 맞지 않거나, 손상되었으면 null)
+    private MetadataIndex openExisting(Path indexFile, byte[] digest, SecretKeySpec key) {
+        Path macFile = macFile(indexFile);
+        if (!Files.exists(indexFile) || !Files.exists(macFile)) {
+            return null;
+        }
+        try {
+            if (!MessageDigest.isEqual(Files.readAllBytes(macFile), mac(Files.readAllBytes(indexFile), key))) {
+                log.warn("Ignoring metadata index {} with a bad MAC, verifying the blob again", indexFile);
+                return null;
+            }
+            MetadataIndex existing = MetadataIndex.open(indexFile);
+            return existing.isFor(digest) ? existing : null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable metadata index {}: {}", indexFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private void deleteOtherIndexes(Path indexDir, Path current) {
+        Path currentMac = macFile(current);
+        try (var files = Files.list(indexDir)) {
+            files.filter(file -> file.getFileName().toString().startsWith(INDEX_PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(INDEX_SUFFIX)
+                            || file.getFileName().toString().endsWith(MAC_SUFFIX))
+                    .filter(file -> !file.equals(current) && !file.equals(currentMac))
+                    .forEach(file -> {
+                        try {
+                            // 매핑된 이전 색인은 파일을 지워도 참조가 남아 있는 동안 읽을 수 있음
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            log.debug("Could not delete old metadata index {}", file);
+                        }
+                    });
+        } catch (IOException e) {
+            log.debug("Could not list metadata index directory {}", indexDir);
+        }
+    }
+
+    private Path indexDir() throws IOException {
+        if (indexDir == null) {
+            indexDir = PrivateDirectory.prepare(config.getIndexDir(), "webauthn.attestation.metadata.index-dir");
+        }
+        return indexDir;
+    }
+
+    // 색인 HMAC 키: index-dir에 없으면 만듦 (키가 바뀌면 이전 색인은 HMAC이 맞지 않아 다시 만듦)
+    private SecretKeySpec indexKey(Path indexDir) throws IOException {
+        if (indexKey != null) {
+            return indexKey;
+        }
+        Path keyFile = indexDir.resolve(KEY_FILE);
+        if (!Files.exists(keyFile)) {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            PrivateDirectory.write(keyFile, key);
+        }
+        byte[] key = Files.readAllBytes(keyFile);
+        if (key.length < 32) {
+            throw new IOException("Metadata index key is too short: " + keyFile);
+        }
+        indexKey = new SecretKeySpec(key, MAC_ALGORITHM);
+        return indexKey;
+    }
+
+    private static Path macFile(Path indexFile) {
+        return indexFile.resolveSibling(indexFile.getFileName() + MAC_SUFFIX);
+    }
+
+    private static byte[] mac(byte[] content, SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(content);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    private X509Certificate rootCertificate() throws IOException {
+        if (!StringUtils.hasText(config.getRootCertificatePath())) {
+            throw new IllegalArgumentException("webauthn.attestation.metadata.root-certificate-path is required");
+        }
+        try (InputStream in = Files.newInputStream(Path.of(config.getRootCertificatePath()))) {
+            return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid metadata root certificate", e);
+        }
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
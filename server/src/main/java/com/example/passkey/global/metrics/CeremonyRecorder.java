@@ -0,0 +1,101 @@
+package com.example.passkey.global.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ceremony 1회의 단계별 시간과 결과를 기록합니다.
+ * 실패 시에는 마지막으로 실행 중이던 단계와 예외 타입을 원인으로 태깅합니다.
+ */
+public class CeremonyRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final String ceremony;
+    private final long startNanos;
+    private String phase = "init";
+    private String algorithm = PasskeyMetrics.UNKNOWN;
+
+    CeremonyRecorder(MeterRegistry meterRegistry, String ceremony) {
+        this.meterRegistry = meterRegistry;
+        this.ceremony = ceremony;
+        this.startNanos = System.nanoTime();
+    }
+
+    public <T> T phase(String name, Supplier<T> body) {
+        phase = name;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return body.get();
+        } finally {
+            sample.stop(Timer.builder("passkey.ceremony.phase")
+                    .tag("ceremony", ceremony)
+                    .tag("phase", name)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void phase(String name, Runnable body) {
+        phase(name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * 구독 시점부터 완료(성공, 오류, 취소)까지를 단계 시간으로 기록합니다. (reactive 경로용)
+     */
+    public <T> Mono<T> phase(String name, Mono<T> body) {
+        return Mono.defer(() -> {
+            phase = name;
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return body.doFinally(signal -> sample.stop(Timer.builder("passkey.ceremony.phase")
+                    .tag("ceremony", ceremony)
+                    .tag("phase", name)
+                    .register(meterRegistry)));
+        });
+    }
+
+    public void algorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * ceremony 시작부터 지금까지의 시간
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public void success() {
+        record("success");
+    }
+
+    /**
+     * 실패를 기록하고 같은 예외를 돌려줍니다. ({@code throw recorder.failure(e)})
+     */
+    public RuntimeException failure(RuntimeException e) {
+        record("failure");
+        Counter.builder("passkey.ceremony.failures")
+                .tag("ceremony", ceremony)
+                .tag("phase", phase)
+                .tag("cause", e.getClass().getSimpleName())
+                .tag("algorithm", algorithm)
+                .register(meterRegistry)
+                .increment();
+        return e;
+    }
+
+    private void record(String outcome) {
+        Timer.builder("passkey.ceremony")
+                .tag("ceremony", ceremony)
+                .tag("outcome", outcome)
+                .tag("algorithm", algorithm)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.passkey.global.metrics;
+
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * ceremony 단계별 지연시간/결과 메트릭 진입점
+ *
+ * <ul>
+ *     <li>passkey.ceremony.phase{ceremony, phase}: 단계별 소요 시간</li>
+ *     <li>passkey.ceremony{ceremony, outcome, algorithm}: ceremony 전체 소요 시간</li>
+ *     <li>passkey.ceremony.failures{ceremony, phase, cause, algorithm}: 실패 원인별 횟수</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class PasskeyMetrics {
+
+    public static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public CeremonyRecorder start(String ceremony) {
+        return new CeremonyRecorder(meterRegistry, ceremony);
+    }
+
+    public static String algorithmName(COSEKey coseKey) {
+        if (coseKey == null || coseKey.getAlgorithm() == null) {
+            return UNKNOWN;
+        }
+        COSEAlgorithmIdentifier algorithm = coseKey.getAlgorithm();
+        if (COSEAlgorithmIdentifier.ES256.equals(algorithm)) {
+            return "ES256";
+        }
+        if (COSEAlgorithmIdentifier.RS256.equals(algorithm)) {
+            return "RS256";
+        }
+        if (COSEAlgorithmIdentifier.EdDSA.equals(algorithm)) {
+            return "EdDSA";
+        }
+        return String.valueOf(algorithm.getValue());
+    }
+}
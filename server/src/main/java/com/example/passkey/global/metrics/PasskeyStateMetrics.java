@@ -0,0 +1,193 @@
+package com.example.passkey.global.metrics;
+
+import com.example.passkey.domain.auth.service.ChallengeService;
+import com.example.passkey.domain.auth.service.FastAssertionVerifier;
+import com.example.passkey.domain.auth.service.ChallengeStore.ChallengeStoreStats;
+import com.example.passkey.domain.credential.cache.AllowCredentialsCache;
+import com.example.passkey.domain.credential.cache.CredentialMaterialCache;
+import com.example.passkey.domain.credential.service.SignCountWriteBehind;
+import com.example.passkey.domain.user.cache.UserLookupCache;
+import com.example.passkey.domain.user.cache.UserLookupCache.UserLookupStats;
+import com.example.passkey.global.analytics.UsageAnalytics;
+import com.example.passkey.global.captcha.RecaptchaService;
+import com.example.passkey.global.journal.AuthEventJournal;
+import com.example.passkey.global.metadata.MetadataService;
+import com.example.passkey.global.token.SessionKeyManager;
+import com.example.passkey.global.token.SessionTokenIssuer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 메모리 상태(challenge 저장소, 공개키 캐시, assertion 검증 경로, sign count 대기열, 이벤트 journal, 사용량 집계, 세션 토큰 키, reCAPTCHA verdict 캐시)를 scrape 시점에 읽어 노출합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasskeyStateMetrics implements MeterBinder {
+
+    private final ChallengeService challengeService;
+    private final CredentialMaterialCache credentialMaterialCache;
+    private final AllowCredentialsCache allowCredentialsCache;
+    private final SignCountWriteBehind signCountWriteBehind;
+    private final RecaptchaService recaptchaService;
+    private final UserLookupCache userLookupCache;
+    private final FastAssertionVerifier fastAssertionVerifier;
+    private final MetadataService metadataService;
+    private final AuthEventJournal authEventJournal;
+    private final UsageAnalytics usageAnalytics;
+    private final SessionTokenIssuer sessionTokenIssuer;
+    private final SessionKeyManager sessionKeyManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Challenge 저장소
+        Gauge.builder("passkey.challenge.store.size", challengeService, s -> s.getStats().size())
+                .register(registry);
+        Gauge.builder("passkey.challenge.store.capacity", challengeService, s -> s.getStats().capacity())
+                .register(registry);
+        challengeCounter(registry, "stored", ChallengeStoreStats::stored);
+        challengeCounter(registry, "hit", ChallengeStoreStats::hits);
+        challengeCounter(registry, "miss", ChallengeStoreStats::misses);
+        challengeCounter(registry, "expired", ChallengeStoreStats::expired);
+        challengeCounter(registry, "rejected", ChallengeStoreStats::rejected);
+        Gauge.builder("passkey.challenge.used.nonces", challengeService, ChallengeService::getUsedNonceCount)
+                .register(registry);
+
+        // 공개키 캐시
+        Gauge.builder("passkey.credential.cache.size", credentialMaterialCache, CredentialMaterialCache::getSize)
+                .register(registry);
+        FunctionCounter.builder("passkey.credential.cache.requests", credentialMaterialCache,
+                        c -> c.getStats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("passkey.credential.cache.requests", credentialMaterialCache,
+                        c -> c.getStats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("passkey.credential.cache.evictions", credentialMaterialCache,
+                        c -> c.getStats().evictionCount())
+                .register(registry);
+
+        // allowCredentials 캐시
+        Gauge.builder("passkey.allow.credentials.cache.size", allowCredentialsCache, AllowCredentialsCache::getSize)
+                .register(registry);
+        FunctionCounter.builder("passkey.allow.credentials.cache.requests", allowCredentialsCache,
+                        c -> c.getStats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("passkey.allow.credentials.cache.requests", allowCredentialsCache,
+                        c -> c.getStats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+
+        // username 조회 캐시 / Bloom filter
+        Gauge.builder("passkey.user.cache.size", userLookupCache, c -> c.stats().size())
+                .register(registry);
+        userLookupCounter(registry, "positive_hit", UserLookupStats::positiveHits);
+        userLookupCounter(registry, "negative_hit", UserLookupStats::negativeHits);
+        userLookupCounter(registry, "filter_reject", UserLookupStats::filterRejects);
+        userLookupCounter(registry, "db_found", UserLookupStats::databaseFound);
+        userLookupCounter(registry, "db_missing", UserLookupStats::databaseMissing);
+        userLookupCounter(registry, "filter_false_positive", UserLookupStats::filterFalsePositives);
+        Gauge.builder("passkey.user.cache.hit.ratio", userLookupCache, c -> c.stats().hitRatio())
+                .description("DB 조회 없이 답한 username 조회 비율")
+                .register(registry);
+        Gauge.builder("passkey.user.filter.size", userLookupCache, c -> c.stats().filterInsertions())
+                .register(registry);
+        Gauge.builder("passkey.user.filter.fpp", userLookupCache, c -> c.stats().filterExpectedFalsePositiveRate())
+                .tag("kind", "expected")
+                .register(registry);
+        Gauge.builder("passkey.user.filter.fpp", userLookupCache, c -> c.stats().filterObservedFalsePositiveRate())
+                .tag("kind", "observed")
+                .register(registry);
+
+        // assertion 검증 경로 (fast: 빠른 경로에서 검증, rejected: 빠른 경로에서 서명 불일치로 거부,
+        // fallback: 서명 외 검사 실패로 webauthn4j 재판정, unsupported: 다른 알고리즘)
+        FunctionCounter.builder("passkey.assertion.verify.path", fastAssertionVerifier,
+                        FastAssertionVerifier::getVerifiedCount)
+                .tag("path", "fast")
+                .register(registry);
+        FunctionCounter.builder("passkey.assertion.verify.path", fastAssertionVerifier,
+                        FastAssertionVerifier::getFallbackCount)
+                .tag("path", "fallback")
+                .register(registry);
+        FunctionCounter.builder("passkey.assertion.verify.path", fastAssertionVerifier,
+                        FastAssertionVerifier::getRejectedCount)
+                .tag("path", "rejected")
+                .register(registry);
+        FunctionCounter.builder("passkey.assertion.verify.path", fastAssertionVerifier,
+                        FastAssertionVerifier::getUnsupportedCount)
+                .tag("path", "unsupported")
+                .register(registry);
+
+        // 로컬 MDS 색인
+        Gauge.builder("passkey.metadata.entries", metadataService, s -> s.index().entryCount())
+                .register(registry);
+        Gauge.builder("passkey.metadata.blob.number", metadataService, s -> s.index().blobNumber())
+                .register(registry);
+
+        // sign count write-behind
+        Gauge.builder("passkey.sign.count.pending", signCountWriteBehind, SignCountWriteBehind::getPendingCount)
+                .register(registry);
+
+        // 등록/인증 이벤트 journal
+        FunctionCounter.builder("passkey.journal.events", authEventJournal, AuthEventJournal::getAppendedCount)
+                .tag("result", "appended")
+                .register(registry);
+        FunctionCounter.builder("passkey.journal.events", authEventJournal, AuthEventJournal::getDroppedCount)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("passkey.journal.commits", authEventJournal, AuthEventJournal::getCommitCount)
+                .description("group commit(fsync) 횟수")
+                .register(registry);
+        Gauge.builder("passkey.journal.queue", authEventJournal, AuthEventJournal::getQueueSize)
+                .register(registry);
+
+        // 사용량 집계
+        Gauge.builder("passkey.analytics.active.users", usageAnalytics, UsageAnalytics::getActiveUsersToday)
+                .description("오늘 활성 사용자 추정값 (HyperLogLog)")
+                .register(registry);
+        FunctionCounter.builder("passkey.analytics.dropped", usageAnalytics, UsageAnalytics::getDroppedCount)
+                .register(registry);
+        Gauge.builder("passkey.analytics.queue", usageAnalytics, UsageAnalytics::getQueueSize)
+                .register(registry);
+
+        // 세션 토큰
+        FunctionCounter.builder("passkey.session.tokens.issued", sessionTokenIssuer, SessionTokenIssuer::getIssuedCount)
+                .register(registry);
+        Gauge.builder("passkey.session.keys", sessionKeyManager, SessionKeyManager::getKeyCount)
+                .description("JWKS에 올라간 공개키 수")
+                .register(registry);
+
+        // reCAPTCHA verdict 캐시
+        Gauge.builder("passkey.recaptcha.verdict.cache.size", recaptchaService, RecaptchaService::getVerdictCacheSize)
+                .register(registry);
+        FunctionCounter.builder("passkey.recaptcha.verdict.cache.requests", recaptchaService,
+                        s -> s.getVerdictCacheStats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("passkey.recaptcha.verdict.cache.requests", recaptchaService,
+                        s -> s.getVerdictCacheStats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private void userLookupCounter(MeterRegistry registry, String result, ToDoubleFunction<UserLookupStats> value) {
+        FunctionCounter.builder("passkey.user.cache.lookups", userLookupCache,
+                        c -> value.applyAsDouble(c.stats()))
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void challengeCounter(MeterRegistry registry, String event, ToDoubleFunction<ChallengeStoreStats> value) {
+        FunctionCounter.builder("passkey.challenge.store.events", challengeService,
+                        s -> value.applyAsDouble(s.getStats()))
+                .tag("event", event)
+                .register(registry);
+    }
+}
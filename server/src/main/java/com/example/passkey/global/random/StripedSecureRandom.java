@@ -0,0 +1,251 @@
+package com.example.passkey.global.random;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.security.DrbgParameters;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 여러 난수 생성기 인스턴스(stripe)에 나눠 요청하는 SecureRandom
+ *
+ * <ul>
+ *     <li>SecureRandom 하나를 모든 요청이 공유하면 provider 내부 잠금에서 직렬화됩니다. 스레드 id로 stripe를 골라 경합을 나눕니다.
+ *         가상 스레드는 요청마다 새로 생기므로 스레드별 인스턴스 대신 코어 수 기준의 고정 stripe를 사용합니다.</li>
+ *     <li>각 stripe는 시스템 엔트로피로 따로 시드되며(DRBG면 stripe별 personalization 문자열 포함),
+ *         reseedIntervalMillis마다 백그라운드에서 다시 시드합니다.</li>
+ *     <li>bufferBytes > 0 이면 stripe마다 미리 생성한 난수 블록에서 {@value #BUFFERED_MAX_LENGTH}바이트 이하 요청을 잘라 주고,
+ *         다 쓰면 백그라운드에서 채워 둔 예비 블록으로 바꿉니다. 내준 영역은 바로 0으로 지우며, 같은 바이트를 두 번 내주지 않습니다.</li>
+ * </ul>
+ */
+@Slf4j
+public class StripedSecureRandom extends SecureRandom implements AutoCloseable {
+
+    static final int BUFFERED_MAX_LENGTH = 64;
+
+    private final String algorithm;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int bufferBytes;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder bufferedRequests = new LongAdder();
+    private final LongAdder inlineRefills = new LongAdder();
+
+    /**
+     * @param stripes              stripe 수 (2의 거듭제곱으로 올림, 0 이하면 코어 수)
+     * @param bufferBytes          stripe별 미리 채울 바이트 수 (0이면 사용하지 않음)
+     * @param reseedIntervalMillis 다시 시드하는 주기 (0이면 provider 기본 동작만)
+     */
+    public StripedSecureRandom(String algorithm, int stripes, int bufferBytes, long reseedIntervalMillis,
+                               WorkerThreads workerThreads) {
+        int requested = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        int count = Integer.highestOneBit(Math.max(1, requested * 2 - 1));
+        this.algorithm = algorithm;
+        this.stripes = new Stripe[count];
+        this.mask = count - 1;
+        this.bufferBytes = bufferBytes > 0 ? Math.max(bufferBytes, BUFFERED_MAX_LENGTH) : 0;
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(newInstance(algorithm, i), this.bufferBytes);
+        }
+
+        boolean background = this.bufferBytes > 0 || reseedIntervalMillis > 0;
+        this.scheduler = background
+                ? Executors.newSingleThreadScheduledExecutor(workerThreads.factory("secure-random"))
+                : null;
+        if (reseedIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::reseedQuietly,
+                    reseedIntervalMillis, reseedIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        Stripe stripe = stripe();
+        if (bufferBytes == 0 || bytes.length > BUFFERED_MAX_LENGTH) {
+            stripe.random.nextBytes(bytes);
+            return;
+        }
+        bufferedRequests.increment();
+        stripe.lock.lock();
+        try {
+            if (stripe.buffer.length - stripe.position < bytes.length) {
+                swap(stripe);
+            }
+            System.arraycopy(stripe.buffer, stripe.position, bytes, 0, bytes.length);
+            Arrays.fill(stripe.buffer, stripe.position, stripe.position + bytes.length, (byte) 0);
+            stripe.position += bytes.length;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] generateSeed(int numBytes) {
+        return stripe().random.generateSeed(numBytes);
+    }
+
+    /**
+     * 모든 stripe에 시드를 더합니다. (기존 상태를 대체하지 않음)
+     */
+    @Override
+    public void setSeed(byte[] seed) {
+        if (stripes == null) {
+            return;
+        }
+        for (Stripe stripe : stripes) {
+            stripe.random.setSeed(seed);
+        }
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // 상위 클래스 생성자에서 호출될 때는 아직 stripe가 없음
+        if (stripes != null) {
+            setSeed(ByteBuffer.allocate(Long.BYTES).putLong(seed).array());
+        }
+    }
+
+    @Override
+    public void reseed() {
+        for (Stripe stripe : stripes) {
+            reseed(stripe.random);
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return algorithm + " x" + stripes.length;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * 예비 블록이 아직 준비되지 않아 요청 스레드에서 직접 채운 횟수
+     */
+    public long inlineRefills() {
+        return inlineRefills.sum();
+    }
+
+    public long bufferedRequests() {
+        return bufferedRequests.sum();
+    }
+
+    /**
+     * stripe의 예비 블록이 백그라운드에서 채워져 있는지
+     */
+    boolean spareReady(int stripe) {
+        return stripes[stripe].spare != null;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StripedSecureRandom(" + getAlgorithm() + ")";
+    }
+
+    private Stripe stripe() {
+        long id = Thread.currentThread().threadId();
+        return stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask];
+    }
+
+    // stripe 잠금을 잡은 상태에서 호출
+    private void swap(Stripe stripe) {
+        byte[] used = stripe.buffer;
+        byte[] next = stripe.spare;
+        stripe.spare = null;
+        if (next == null) {
+            inlineRefills.increment();
+            next = new byte[bufferBytes];
+            stripe.random.nextBytes(next);
+        }
+        stripe.buffer = next;
+        stripe.position = 0;
+
+        // 남은 바이트는 버리고, 다 쓴 배열을 다음 예비 블록으로 채움
+        Arrays.fill(used, (byte) 0);
+        try {
+            scheduler.execute(() -> {
+                stripe.random.nextBytes(used);
+                stripe.spare = used;
+            });
+        } catch (RuntimeException e) {
+            // 종료 중: 다음 교체 때 요청 스레드에서 채움
+        }
+    }
+
+    private void reseedQuietly() {
+        try {
+            reseed();
+        } catch (RuntimeException e) {
+            log.warn("Failed to reseed {}: {}", algorithm, e.getMessage());
+        }
+    }
+
+    private static void reseed(SecureRandom random) {
+        try {
+            random.reseed();
+        } catch (UnsupportedOperationException e) {
+            // reseed를 지원하지 않는 알고리즘은 시스템 엔트로피를 시드로 더함
+            random.setSeed(SeedSource.INSTANCE.generateSeed(32));
+        }
+    }
+
+    private static SecureRandom newInstance(String algorithm, int stripe) {
+        try {
+            if ("DRBG".equals(algorithm)) {
+                // stripe마다 다른 personalization 문자열: 엔트로피 소스가 같은 값을 주더라도 stripe 출력이 겹치지 않음
+                byte[] personalization = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                        .putLong(ProcessHandle.current().pid())
+                        .putInt(stripe)
+                        .array();
+                return SecureRandom.getInstance(algorithm, DrbgParameters.instantiation(
+                        256, DrbgParameters.Capability.RESEED_ONLY, personalization));
+            }
+            return SecureRandom.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("SecureRandom algorithm not available: " + algorithm, e);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random;
+        private byte[] buffer;
+        private int position;
+        private volatile byte[] spare;
+
+        private Stripe(SecureRandom random, int bufferBytes) {
+            this.random = random;
+            this.buffer = new byte[bufferBytes];
+            this.position = bufferBytes;  // 첫 요청 때 채움
+            if (bufferBytes > 0) {
+                byte[] initial = new byte[bufferBytes];
+                random.nextBytes(initial);
+                this.spare = initial;
+            }
+        }
+    }
+
+    // 시스템 엔트로피(reseed를 지원하지 않는 알고리즘용), 필요할 때만 생성
+    private static final class SeedSource {
+        private static final SecureRandom INSTANCE = new SecureRandom();
+    }
+}
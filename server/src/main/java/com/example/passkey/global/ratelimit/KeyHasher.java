@@ -0,0 +1,75 @@
+package com.example.passkey.global.ratelimit;
+
+import java.security.SecureRandom;
+
+/**
+ * rate limit key의 64비트 해시 (SipHash-2-4, 프로세스마다 임의 비밀 키)
+ *
+ * 비밀 키를 모르면 같은 probe 구간에 모이는 key를 미리 만들 수 없으므로, 특정 구간을 채워 다른 key를 밀어내거나
+ * 추적을 피하는 공격을 막습니다. 입력은 seed(8바이트)와 key의 UTF-16LE 바이트이며, 호출마다 할당이 없습니다.
+ */
+final class KeyHasher {
+
+    private final long k0;
+    private final long k1;
+
+    KeyHasher(SecureRandom random) {
+        this(random.nextLong(), random.nextLong());
+    }
+
+    KeyHasher(long k0, long k1) {
+        this.k0 = k0;
+        this.k1 = k1;
+    }
+
+    /**
+     * @param seed endpoint 등 key 공간을 나누는 값
+     */
+    long hash(long seed, CharSequence key) {
+        long v0 = 0x736f6d6570736575L ^ k0;
+        long v1 = 0x646f72616e646f6dL ^ k1;
+        long v2 = 0x6c7967656e657261L ^ k0;
+        long v3 = 0x7465646279746573L ^ k1;
+
+        int length = key.length();
+        int blocks = length >>> 2;
+        // 0번 word는 seed, 이후 문자 4개씩, 마지막 word는 남은 문자와 전체 바이트 길이
+        for (int word = 0; word <= blocks + 1; word++) {
+            long m = word == 0 ? seed
+                    : word <= blocks ? block(key, (word - 1) << 2)
+                    : tail(key, blocks << 2, length);
+            v3 ^= m;
+            for (int round = 0; round < 2; round++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+
+        v2 ^= 0xff;
+        for (int round = 0; round < 4; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    private static long block(CharSequence key, int from) {
+        return key.charAt(from)
+                | (long) key.charAt(from + 1) << 16
+                | (long) key.charAt(from + 2) << 32
+                | (long) key.charAt(from + 3) << 48;
+    }
+
+    private static long tail(CharSequence key, int from, int length) {
+        long m = (long) ((8 + 2 * length) & 0xff) << 56;
+        for (int i = from, shift = 0; i < length; i++, shift += 16) {
+            m |= (long) key.charAt(i) << shift;
+        }
+        return m;
+    }
+}
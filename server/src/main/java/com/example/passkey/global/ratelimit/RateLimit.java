@@ -0,0 +1,20 @@
+package com.example.passkey.global.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 이 어노테이션이 붙은 메서드는 reCAPTCHA 검증과 본문 실행 전에 token bucket 한도를 확인합니다.
+ * 클라이언트 IP 한도는 항상, 사용자 한도는 파라미터 중 {@link RateLimitSubject}를 구현한 객체가 있을 때 적용합니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * webauthn.rate-limit.endpoints 아래의 endpoint 이름
+     */
+    String value();
+}
@@ -0,0 +1,49 @@
+package com.example.passkey.global.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@link RateLimit} 메서드 앞에서 한도를 확인합니다.
+ *
+ * 가장 먼저 실행되므로(HIGHEST_PRECEDENCE) 한도를 넘은 요청은 reCAPTCHA 호출(CaptchaAspect)과
+ * DB 조회/서명 검증(AuthService)까지 가지 않습니다.
+ * 클라이언트 IP는 getRemoteAddr()를 사용하므로 프록시 뒤에서는 server.forward-headers-strategy를 설정해야 합니다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RateLimitAspect {
+
+    private final RateLimiter rateLimiter;
+
+    @Around("@annotation(rateLimit)")
+    public Object limit(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
+        rateLimiter.check(rateLimit.value(), getCurrentHttpRequest().getRemoteAddr(), subject(joinPoint.getArgs()));
+        return joinPoint.proceed();
+    }
+
+    private static String subject(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof RateLimitSubject subject) {
+                return subject.rateLimitSubject();
+            }
+        }
+        return null;
+    }
+
+    private HttpServletRequest getCurrentHttpRequest() {
+        ServletRequestAttributes attributes =
+                (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        return attributes.getRequest();
+    }
+}
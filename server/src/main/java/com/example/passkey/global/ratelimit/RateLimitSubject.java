@@ -0,0 +1,12 @@
+package com.example.passkey.global.ratelimit;
+
+/**
+ * 사용자 단위 rate limit key(username 또는 credential ID)를 제공하는 요청 객체
+ */
+public interface RateLimitSubject {
+
+    /**
+     * @return key, 없으면 null (사용자 한도를 적용하지 않음)
+     */
+    String rateLimitSubject();
+}
@@ -0,0 +1,132 @@
+package com.example.passkey.global.ratelimit;
+
+import com.example.passkey.global.config.RateLimitConfig;
+import com.example.passkey.global.config.RateLimitConfig.BucketConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * endpoint별 한도로 클라이언트 IP와 사용자(username/credential ID) token bucket을 확인합니다.
+ *
+ * key 종류마다 {@link TokenBucketTable} 하나를 모든 endpoint가 함께 쓰며, endpoint 이름을 해시 seed로 섞어 bucket을 나눕니다.
+ * key 해시는 프로세스마다 임의로 만든 비밀 키로 계산합니다. 메모리는 key 종류별 슬롯 수(max-keys)로 고정됩니다.
+ * 테이블에 자리가 없어 추적하지 못한 요청은, 사용자 key면 이미 통과한 IP 한도만 적용하고 IP key(또는 IP 한도가 없는 요청)면 거부합니다.
+ */
+@Component
+public class RateLimiter {
+
+    public enum KeyClass {
+        IP, SUBJECT
+    }
+
+    private final RateLimitConfig config;
+    private final MeterRegistry meterRegistry;
+    private final TokenBucketTable ipBuckets;
+    private final TokenBucketTable subjectBuckets;
+    private final Map<String, EndpointLimit> endpoints = new ConcurrentHashMap<>();
+    private final KeyHasher hasher = new KeyHasher(new SecureRandom());
+
+    public RateLimiter(RateLimitConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.ipBuckets = new TokenBucketTable(config.getMaxKeys(), config.getIdleEvictMillis());
+        this.subjectBuckets = new TokenBucketTable(config.getMaxKeys(), config.getIdleEvictMillis());
+        bindTableMetrics(KeyClass.IP, ipBuckets);
+        bindTableMetrics(KeyClass.SUBJECT, subjectBuckets);
+    }
+
+    /**
+     * 요청 하나를 한도에 반영합니다. IP 한도를 먼저 확인하고, 통과하면 사용자 한도를 확인합니다.
+     *
+     * @param subject username 또는 credential ID (없으면 null)
+     * @throws RateLimitExceededException 한도를 넘었으면
+     */
+    public void check(String endpoint, String clientIp, String subject) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        EndpointLimit limit = endpoints.computeIfAbsent(endpoint, this::createLimit);
+        boolean ipLimited = clientIp != null && limit.ip != null;
+        if (ipLimited) {
+            acquire(limit.ip, ipBuckets, limit.seed, clientIp, false);
+        }
+        if (subject != null && !subject.isEmpty()) {
+            acquire(limit.subject, subjectBuckets, limit.seed, subject, ipLimited);
+        }
+    }
+
+    /**
+     * @param allowUntracked 테이블에 자리가 없을 때 허용할지 (다른 한도가 이미 적용된 경우에만 true)
+     */
+    private void acquire(KeyLimit limit, TokenBucketTable table, long seed, String key, boolean allowUntracked) {
+        if (limit == null) {
+            return;
+        }
+        long waitMillis = table.tryAcquire(hasher.hash(seed, key), limit.capacity, limit.refillPerSecond);
+        if (waitMillis == TokenBucketTable.UNTRACKED) {
+            if (!allowUntracked) {
+                limit.rejected.increment();
+                throw new RateLimitExceededException(1);
+            }
+        } else if (waitMillis > 0) {
+            limit.rejected.increment();
+            throw new RateLimitExceededException((waitMillis + 999) / 1000);
+        }
+        limit.allowed.increment();
+    }
+
+    private EndpointLimit createLimit(String endpoint) {
+        RateLimitConfig.EndpointConfig endpointConfig = config.endpoint(endpoint);
+        return new EndpointLimit(
+                hasher.hash(0, endpoint),
+                keyLimit(endpoint, KeyClass.IP, endpointConfig.getIp()),
+                keyLimit(endpoint, KeyClass.SUBJECT, endpointConfig.getSubject()));
+    }
+
+    private KeyLimit keyLimit(String endpoint, KeyClass keyClass, BucketConfig bucket) {
+        if (bucket == null || !bucket.isEnabled()) {
+            return null;
+        }
+        String key = keyClass.name().toLowerCase();
+        return new KeyLimit(
+                Math.min(bucket.getCapacity(), TokenBucketTable.MAX_CAPACITY),
+                bucket.getRefillPerSecond(),
+                Counter.builder("passkey.ratelimit.decisions")
+                        .tag("endpoint", endpoint).tag("key", key).tag("result", "allowed")
+                        .register(meterRegistry),
+                Counter.builder("passkey.ratelimit.decisions")
+                        .tag("endpoint", endpoint).tag("key", key).tag("result", "rejected")
+                        .register(meterRegistry));
+    }
+
+    private void bindTableMetrics(KeyClass keyClass, TokenBucketTable table) {
+        String key = keyClass.name().toLowerCase();
+        Gauge.builder("passkey.ratelimit.keys", table, TokenBucketTable::activeKeys)
+                .description("idle 기준 안에 사용된 bucket 수")
+                .tag("key", key)
+                .register(meterRegistry);
+        Gauge.builder("passkey.ratelimit.slots", table, TokenBucketTable::slotCount)
+                .tag("key", key)
+                .register(meterRegistry);
+        FunctionCounter.builder("passkey.ratelimit.evictions", table, TokenBucketTable::evictions)
+                .tag("key", key)
+                .register(meterRegistry);
+        FunctionCounter.builder("passkey.ratelimit.overflows", table, TokenBucketTable::overflows)
+                .description("테이블에 자리가 없어 추적하지 못한 요청 수 (IP는 거부, 사용자는 IP 한도만 적용)")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    private record EndpointLimit(long seed, KeyLimit ip, KeyLimit subject) {
+    }
+
+    private record KeyLimit(int capacity, double refillPerSecond, Counter allowed, Counter rejected) {
+    }
+}
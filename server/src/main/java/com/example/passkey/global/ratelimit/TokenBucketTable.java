@@ -0,0 +1,190 @@
+package com.example.passkey.global.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 고정 크기 lock-free token bucket 테이블
+ *
+ * <ul>
+ *     <li>key는 64비트 해시 지문으로만 저장하며, 슬롯마다 지문 1개와 상태 1개(long 두 개)만 사용합니다.</li>
+ *     <li>상태 long 하나에 마지막 보충 시각(상위 40비트, ms)과 토큰 수(하위 24비트, 1/1024 단위)를 함께 담아
+ *         슬롯 단위 CAS로 갱신합니다. 락과 요청당 객체 할당이 없고, 서로 다른 key는 서로 다른 슬롯에서 경합하지 않습니다.</li>
+ *     <li>key 위치는 해시에서 시작하는 {@value #PROBE}칸 안에서 찾습니다. 빈 슬롯이 없으면 가장 오래 쓰이지 않은 슬롯이
+ *         idle 기준을 넘었을 때만 교체하고, 아니면 새 key를 기록하지 않고 {@link #UNTRACKED}를 돌려줍니다(overflow).
+ *         기존 key의 한도는 유지되며, 추적하지 못한 요청을 어떻게 처리할지는 호출자가 정합니다.</li>
+ *     <li>key 해시는 {@link KeyHasher}(비밀 키 SipHash)로 만들어야 외부에서 probe 구간을 노릴 수 없습니다.</li>
+ * </ul>
+ * 정책(용량, 보충 속도)은 슬롯에 저장하지 않고 호출마다 넘기므로, 같은 key에는 항상 같은 정책을 넘겨야 합니다.
+ */
+public class TokenBucketTable {
+
+    public static final int MAX_CAPACITY = (1 << 14) - 1;
+
+    /**
+     * 테이블에 자리가 없어 key를 추적하지 못했을 때의 {@link #tryAcquire} 결과
+     */
+    public static final long UNTRACKED = -1;
+
+    static final int PROBE = 8;
+
+    private static final long EMPTY = 0L;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long SCALE = 1024;
+
+    private final AtomicLongArray fingerprints;
+    private final AtomicLongArray states;
+    private final int mask;
+    private final long idleMillis;
+    private final LongSupplier clock;
+    private final long epoch;
+
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public TokenBucketTable(int maxKeys, long idleMillis) {
+        this(maxKeys, idleMillis, System::currentTimeMillis);
+    }
+
+    public TokenBucketTable(int maxKeys, long idleMillis, LongSupplier clock) {
+        if (maxKeys <= 0 || idleMillis <= 0) {
+            throw new IllegalArgumentException("maxKeys and idleMillis must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(PROBE, maxKeys - 1)) << 1;
+        this.fingerprints = new AtomicLongArray(size);
+        this.states = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.idleMillis = idleMillis;
+        this.clock = clock;
+        // 상태에는 이 시각 기준 상대 시간을 저장 (40비트 = 약 34년)
+        this.epoch = clock.getAsLong() - idleMillis;
+    }
+
+    /**
+     * key의 bucket에서 토큰 하나를 꺼냅니다.
+     *
+     * @param keyHash {@link KeyHasher}로 만든 key 해시
+     * @return 허용이면 0, 거부면 토큰이 생길 때까지 남은 시간(ms), 추적하지 못했으면 {@link #UNTRACKED}
+     */
+    public long tryAcquire(long keyHash, int capacity, double refillPerSecond) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be 1.." + MAX_CAPACITY + " and refill positive");
+        }
+        long fingerprint = keyHash == EMPTY ? 1L : keyHash;
+        long now = clock.getAsLong() - epoch;
+        long full = capacity * SCALE;
+        double refillPerMilli = refillPerSecond * SCALE / 1000.0;
+
+        int start = (int) (mix(fingerprint) & mask);
+        int victim = -1;
+        long victimFingerprint = EMPTY;
+        long victimTouched = Long.MAX_VALUE;
+
+        for (int i = 0; i < PROBE; i++) {
+            int slot = (start + i) & mask;
+            long current = fingerprints.get(slot);
+            if (current == fingerprint) {
+                return consume(slot, now, full, refillPerMilli);
+            }
+            if (current == EMPTY) {
+                if (fingerprints.compareAndSet(slot, EMPTY, fingerprint)) {
+                    states.set(slot, pack(now, full));
+                    return consume(slot, now, full, refillPerMilli);
+                }
+                // 다른 스레드가 먼저 차지함: 같은 key일 수 있으므로 같은 슬롯을 다시 확인
+                i--;
+                continue;
+            }
+            long touched = states.get(slot) >>> TOKEN_BITS;
+            if (touched < victimTouched) {
+                victim = slot;
+                victimFingerprint = current;
+                victimTouched = touched;
+            }
+        }
+
+        // 빈 슬롯이 없음: 충분히 쉬고 있던 bucket만 교체
+        if (victim >= 0 && now - victimTouched >= idleMillis
+                && fingerprints.compareAndSet(victim, victimFingerprint, fingerprint)) {
+            evictions.increment();
+            states.set(victim, pack(now, full));
+            return consume(victim, now, full, refillPerMilli);
+        }
+        overflows.increment();
+        return UNTRACKED;
+    }
+
+    /**
+     * idle 기준 안에 사용된 bucket 수 (전체 슬롯을 훑으므로 메트릭 수집 주기에서만 호출)
+     */
+    public int activeKeys() {
+        long threshold = clock.getAsLong() - epoch - idleMillis;
+        int active = 0;
+        for (int i = 0; i <= mask; i++) {
+            if (fingerprints.get(i) != EMPTY && (states.get(i) >>> TOKEN_BITS) >= threshold) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    public int slotCount() {
+        return mask + 1;
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 테이블에 자리가 없어 추적하지 못한 요청 수
+     */
+    public long overflows() {
+        return overflows.sum();
+    }
+
+    private long consume(int slot, long now, long full, double refillPerMilli) {
+        while (true) {
+            long state = states.get(slot);
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+
+            double added = Math.max(0, now - last) * refillPerMilli;
+            long refilled;
+            long touched;
+            if (tokens + added >= full) {
+                refilled = full;
+                touched = Math.max(now, last);
+            } else if (added >= 1) {
+                refilled = tokens + (long) added;  // 1/1024 토큰 미만 자투리만 버림
+                touched = Math.max(now, last);
+            } else {
+                // 보충 단위에 못 미친 시간은 다음 호출에 이어서 계산되도록 시각을 그대로 둠
+                refilled = tokens;
+                touched = last;
+            }
+            if (refilled < SCALE) {
+                // 토큰 1개가 될 때까지 남은 시간
+                return Math.max(1, (long) Math.ceil((SCALE - refilled) / refillPerMilli));
+            }
+            if (states.compareAndSet(slot, state, pack(touched, refilled - SCALE))) {
+                return 0;
+            }
+        }
+    }
+
+    private static long pack(long time, long tokens) {
+        return (time << TOKEN_BITS) | tokens;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
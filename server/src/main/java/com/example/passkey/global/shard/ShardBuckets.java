@@ -0,0 +1,78 @@
+package com.example.passkey.global.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 사용자를 가상 bucket에 배치하는 고정 해시
+ *
+ * bucket은 username만으로 정해지고 바뀌지 않으며, bucket이 놓일 shard는 {@link ShardMap}이 정합니다.
+ * 새 사용자 id(= WebAuthn userHandle)는 UUID version 8로 만들고 상위 16비트에 bucket을 넣어,
+ * usernameless 인증에서도 userHandle만으로 shard를 찾을 수 있게 합니다.
+ * <pre>
+ * [bucket:16][random:32][ver=8:4][random:12] [variant=10:2][random:62]
+ * </pre>
+ * 해시는 JVM/버전과 관계없이 같아야 하므로 String.hashCode 대신 UTF-8 바이트의 FNV-1a를 사용합니다.
+ */
+public final class ShardBuckets {
+
+    public static final int BUCKETS = 1024;
+
+    private static final int ID_VERSION = 8;
+
+    private ShardBuckets() {
+    }
+
+    public static int bucketOf(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) Long.remainderUnsigned(h, BUCKETS);
+    }
+
+    /**
+     * bucket을 담은 새 사용자 id
+     */
+    public static UUID newUserId(int bucket) {
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IllegalArgumentException("bucket out of range: " + bucket);
+        }
+        UUID random = UUID.randomUUID();
+        long msb = ((long) bucket << 48)
+                | (random.getMostSignificantBits() & 0x0000_FFFF_FFFF_0FFFL)
+                | ((long) ID_VERSION << 12);
+        return new UUID(msb, random.getLeastSignificantBits());  // variant 비트는 v4 값 그대로 (10)
+    }
+
+    /**
+     * id에 담긴 bucket, 이전 방식(v4) id면 -1
+     */
+    public static int bucketOf(UUID userId) {
+        if (userId == null || userId.version() != ID_VERSION) {
+            return -1;
+        }
+        int bucket = (int) (userId.getMostSignificantBits() >>> 48);
+        return bucket < BUCKETS ? bucket : -1;
+    }
+
+    /**
+     * assertion의 userHandle(Base64URL, 등록 시 user.id 문자열)에 담긴 bucket, 없거나 알 수 없으면 -1
+     */
+    public static int bucketOfUserHandle(String userHandle) {
+        if (userHandle == null || userHandle.isEmpty()) {
+            return -1;
+        }
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(userHandle), StandardCharsets.UTF_8);
+            return bucketOf(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.passkey.global.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * shard 0의 bucket 배치 카탈로그(shard_buckets)와 최초 샤딩 전환 시 backfill
+ * 모든 메서드는 shard 0에서 실행해야 합니다. ({@link ShardRouter}가 감싸서 호출)
+ */
+@Slf4j
+final class ShardCatalog {
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    ShardCatalog(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 카탈로그가 없으면 만듭니다.
+     * 샤딩 전 데이터가 shard 0에 있으면 모든 bucket을 shard 0에 두고(이후 rebalance로 분산) bucket 컬럼과 credential 인덱스를 채우고,
+     * 비어 있으면 처음부터 고르게 나눕니다.
+     */
+    void initialize(int shardCount) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT count(*) FROM shard_buckets", Integer.class);
+        if (existing != null && existing == ShardBuckets.BUCKETS) {
+            return;
+        }
+        boolean legacy = Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM users)", Boolean.class));
+        if (legacy) {
+            backfill();
+        }
+        ShardMap initial = legacy ? ShardMap.single() : ShardMap.even(shardCount);
+
+        List<Object[]> rows = new ArrayList<>(ShardBuckets.BUCKETS);
+        for (int bucket = 0; bucket < ShardBuckets.BUCKETS; bucket++) {
+            rows.add(new Object[]{bucket, initial.shardOf(bucket)});
+        }
+        // 여러 노드가 동시에 시작해도 먼저 기록한 배치를 사용
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO shard_buckets (bucket, shard, moving) VALUES (?, ?, false) ON CONFLICT (bucket) DO NOTHING",
+                rows);
+        log.info("Created shard catalog: {} buckets on {} shard(s){}", ShardBuckets.BUCKETS,
+                legacy ? 1 : shardCount, legacy ? ", existing data kept on shard 0 until rebalanced" : "");
+    }
+
+    ShardMap load(int shardCount) {
+        return ShardMap.load(jdbcTemplate, shardCount);
+    }
+
+    void setMoving(int bucket, boolean moving) {
+        jdbcTemplate.update("UPDATE shard_buckets SET moving = ? WHERE bucket = ?", moving, bucket);
+    }
+
+    void assign(int bucket, int shard) {
+        jdbcTemplate.update("UPDATE shard_buckets SET shard = ?, moving = false WHERE bucket = ?", shard, bucket);
+    }
+
+    // bucket은 Java 해시라 SQL로 계산할 수 없으므로 읽어서 채움
+    private void backfill() {
+        long users = 0;
+        UUID lastId = MIN_UUID;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, username FROM users WHERE shard_bucket IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{ShardBuckets.bucketOf(rs.getString(2)), rs.getObject(1, UUID.class)},
+                    lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            lastId = (UUID) rows.get(rows.size() - 1)[1];
+            jdbcTemplate.batchUpdate("UPDATE users SET shard_bucket = ? WHERE id = ?", rows);
+            users += rows.size();
+        }
+        int credentials = jdbcTemplate.update("""
+                UPDATE credentials c SET shard_bucket = u.shard_bucket
+                FROM users u WHERE u.id = c.user_id AND c.shard_bucket IS NULL""");
+
+        long indexed = 0;
+        String lastCredentialId = "";
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query("""
+                            SELECT c.credential_id, c.shard_bucket FROM credentials c
+                            WHERE c.credential_id > ? AND NOT EXISTS
+                                (SELECT 1 FROM credential_shard_index i WHERE i.credential_id = c.credential_id)
+                            ORDER BY c.credential_id LIMIT ?""",
+                    (rs, rowNum) -> new Object[]{
+                            rs.getString(1), ShardBuckets.bucketOf(rs.getString(1)), rs.getInt(2)},
+                    lastCredentialId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            lastCredentialId = (String) rows.get(rows.size() - 1)[0];
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO credential_shard_index (credential_id, index_bucket, owner_bucket) VALUES (?, ?, ?)
+                    ON CONFLICT (credential_id) DO NOTHING""", rows);
+            indexed += rows.size();
+        }
+        log.info("Backfilled shard buckets: {} users, {} credentials, {} index entries", users, credentials, indexed);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.passkey.global.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 shard ({@link ShardRoutingDataSource}가 연결을 얻을 때 확인)
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 지정하지 않았으면 null (shard 0 사용)
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * body 안에서 새로 얻는 연결은 이 shard를 사용합니다. 끝나면 이전 shard로 되돌립니다.
+     */
+    public static <T> T on(int shard, Supplier<T> body) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return body.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
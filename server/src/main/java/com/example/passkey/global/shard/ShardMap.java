@@ -0,0 +1,103 @@
+package com.example.passkey.global.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * bucket -> shard 배치 스냅샷 (shard 0의 shard_buckets 테이블)
+ *
+ * 이동 중(moving)인 bucket은 읽기는 기존 shard에서 계속하고, 사용자/credential 생성만 잠시 거절합니다.
+ */
+public final class ShardMap {
+
+    private final int[] shards;
+    private final boolean[] moving;
+
+    private ShardMap(int[] shards, boolean[] moving) {
+        this.shards = shards;
+        this.moving = moving;
+    }
+
+    /**
+     * 모든 bucket이 shard 0에 있는 배치
+     */
+    public static ShardMap single() {
+        return new ShardMap(new int[ShardBuckets.BUCKETS], new boolean[ShardBuckets.BUCKETS]);
+    }
+
+    /**
+     * bucket을 shard 수로 고르게 나눈 배치 (연속 구간)
+     */
+    public static ShardMap even(int shardCount) {
+        int[] shards = new int[ShardBuckets.BUCKETS];
+        for (int bucket = 0; bucket < shards.length; bucket++) {
+            shards[bucket] = (int) ((long) bucket * shardCount / ShardBuckets.BUCKETS);
+        }
+        return new ShardMap(shards, new boolean[ShardBuckets.BUCKETS]);
+    }
+
+    /**
+     * 카탈로그에서 읽습니다. (현재 스레드가 shard 0에 있어야 함)
+     *
+     * @throws IllegalStateException 카탈로그가 비어 있거나 설정에 없는 shard를 가리키면
+     */
+    static ShardMap load(JdbcTemplate jdbcTemplate, int shardCount) {
+        int[] shards = new int[ShardBuckets.BUCKETS];
+        boolean[] moving = new boolean[ShardBuckets.BUCKETS];
+        Arrays.fill(shards, -1);
+        jdbcTemplate.query("SELECT bucket, shard, moving FROM shard_buckets", (RowCallbackHandler) rs -> {
+            shards[rs.getInt(1)] = rs.getInt(2);
+            moving[rs.getInt(1)] = rs.getBoolean(3);
+        });
+        for (int bucket = 0; bucket < shards.length; bucket++) {
+            if (shards[bucket] < 0 || shards[bucket] >= shardCount) {
+                throw new IllegalStateException("Shard catalog maps bucket " + bucket + " to shard " + shards[bucket]
+                        + ", but " + shardCount + " shards are configured");
+            }
+        }
+        return new ShardMap(shards, moving);
+    }
+
+    public int shardOf(int bucket) {
+        return shards[bucket];
+    }
+
+    public boolean isMoving(int bucket) {
+        return moving[bucket];
+    }
+
+    /**
+     * shard별 bucket 수
+     */
+    public int[] bucketCounts(int shardCount) {
+        int[] counts = new int[shardCount];
+        for (int shard : shards) {
+            counts[shard]++;
+        }
+        return counts;
+    }
+
+    public List<Integer> bucketsOn(int shard) {
+        List<Integer> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < shards.length; bucket++) {
+            if (shards[bucket] == shard) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    public List<Integer> movingBuckets() {
+        List<Integer> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < moving.length; bucket++) {
+            if (moving[bucket]) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+}
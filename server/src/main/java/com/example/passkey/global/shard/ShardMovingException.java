@@ -0,0 +1,20 @@
+package com.example.passkey.global.shard;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 다른 shard로 옮기는 중인 bucket에 사용자/credential을 만들려고 할 때 발생합니다. (잠시 후 재시도)
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class ShardMovingException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ShardMovingException(int bucket, long retryAfterSeconds) {
+        super("Shard bucket " + bucket + " is being moved, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
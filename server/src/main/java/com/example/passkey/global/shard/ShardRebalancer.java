@@ -0,0 +1,235 @@
+package com.example.passkey.global.shard;
+
+import com.example.passkey.global.config.ShardingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * bucket을 다른 shard로 옮깁니다. (온라인, 한 번에 bucket 하나)
+ *
+ * <ol>
+ *     <li>카탈로그에 이동 중으로 표시하고 모든 노드가 다시 읽을 때까지 기다립니다. 이후 이 bucket의 사용자/credential 생성은 503으로 거절되고,
+ *         인증과 sign count 갱신은 기존 shard에서 계속됩니다.</li>
+ *     <li>users, credentials, credential 인덱스를 bucket 단위로 나눠 복사합니다. (대상에 이미 있는 행은 sign count가 큰 값을 유지)</li>
+ *     <li>배치를 대상 shard로 바꾸고 다시 기다린 뒤, bucket의 모든 credential sign count를 대상에 한 번 더 반영합니다(큰 값 유지).
+ *         sign count write-behind는 인증 시각을 last_used_at으로 쓰므로 시각으로 거르면 복사 뒤 늦게 반영된 값을 놓칩니다.</li>
+ *     <li>기존 shard의 행을 삭제합니다.</li>
+ * </ol>
+ * 복사 중 실패하면 배치를 바꾸지 않고 이동 표시만 해제하며, 대상에 복사된 행은 지웁니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "webauthn.sharding", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardRebalancer {
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final ShardRouter router;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long settleMillis;
+
+    public ShardRebalancer(ShardRouter router, JdbcTemplate jdbcTemplate, ShardingConfig config) {
+        this.router = router;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = config.getMoveBatchSize();
+        // 모든 노드가 카탈로그를 한 번 이상 다시 읽을 시간
+        this.settleMillis = 2 * config.getMapRefreshMillis();
+    }
+
+    /**
+     * 현재 배치에서 shard별 bucket 수를 고르게 맞추는 이동 목록
+     * 새 shard를 추가했을 때 기존 shard에서 가장 적게 옮기도록 넘치는 shard의 bucket만 옮깁니다.
+     */
+    public List<Move> plan() {
+        ShardMap map = router.refreshMap();
+        int shardCount = router.shardCount();
+        int[] counts = map.bucketCounts(shardCount);
+
+        Deque<Integer> surplus = new ArrayDeque<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            List<Integer> buckets = map.bucketsOn(shard);
+            for (int i = target(shard, shardCount); i < buckets.size(); i++) {
+                surplus.add(buckets.get(i));
+            }
+        }
+        List<Move> moves = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int i = counts[shard]; i < target(shard, shardCount); i++) {
+                int bucket = surplus.remove();
+                moves.add(new Move(bucket, map.shardOf(bucket), shard));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * {@link #plan()}의 이동을 차례로 실행합니다.
+     *
+     * @return 옮긴 bucket 수
+     */
+    public int rebalance() {
+        List<Move> moves = plan();
+        log.info("Rebalancing shards: {} bucket moves", moves.size());
+        for (Move move : moves) {
+            moveBucket(move.bucket(), move.target());
+        }
+        return moves.size();
+    }
+
+    /**
+     * bucket 하나를 target shard로 옮깁니다. 이미 그 shard에 있으면 아무것도 하지 않습니다.
+     *
+     * @return 복사한 users, credentials, 인덱스 행 수
+     */
+    public synchronized MoveResult moveBucket(int bucket, int target) {
+        if (bucket < 0 || bucket >= ShardBuckets.BUCKETS || target < 0 || target >= router.shardCount()) {
+            throw new IllegalArgumentException("Invalid bucket " + bucket + " or shard " + target);
+        }
+        int source = router.refreshMap().shardOf(bucket);
+        if (source == target) {
+            return new MoveResult(bucket, source, target, 0, 0, 0);
+        }
+        ShardCatalog catalog = router.catalog();
+        log.info("Moving shard bucket {} from shard {} to {}", bucket, source, target);
+
+        onCatalog(() -> catalog.setMoving(bucket, true));
+        MoveResult result;
+        try {
+            settle();
+            result = new MoveResult(bucket, source, target,
+                    copy(bucket, source, target, """
+                                    SELECT id, username, display_name, shard_bucket FROM users
+                                    WHERE shard_bucket = ? AND id > ? ORDER BY id LIMIT ?""", MIN_UUID, """
+                                    INSERT INTO users (id, username, display_name, shard_bucket) VALUES (?, ?, ?, ?)
+                                    ON CONFLICT (id) DO NOTHING"""),
+                    copy(bucket, source, target, """
+                                    SELECT credential_id, public_key, sign_count, aaguid, transports,
+                                           created_at, last_used_at, user_id, shard_bucket
+                                    FROM credentials WHERE shard_bucket = ? AND credential_id > ?
+                                    ORDER BY credential_id LIMIT ?""", "", """
+                                    INSERT INTO credentials (credential_id, public_key, sign_count, aaguid, transports,
+                                                             created_at, last_used_at, user_id, shard_bucket)
+                                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                                    ON CONFLICT (credential_id) DO UPDATE SET
+                                        sign_count = GREATEST(credentials.sign_count, EXCLUDED.sign_count),
+                                        last_used_at = GREATEST(credentials.last_used_at, EXCLUDED.last_used_at)"""),
+                    copy(bucket, source, target, """
+                                    SELECT credential_id, index_bucket, owner_bucket FROM credential_shard_index
+                                    WHERE index_bucket = ? AND credential_id > ? ORDER BY credential_id LIMIT ?""", "", """
+                                    INSERT INTO credential_shard_index (credential_id, index_bucket, owner_bucket)
+                                    VALUES (?, ?, ?) ON CONFLICT (credential_id) DO NOTHING"""));
+        } catch (RuntimeException e) {
+            log.error("Failed to copy shard bucket {}, keeping it on shard {}", bucket, source, e);
+            deleteBucket(bucket, target);
+            onCatalog(() -> catalog.setMoving(bucket, false));
+            router.refreshMap();
+            throw e;
+        }
+
+        onCatalog(() -> catalog.assign(bucket, target));
+        router.refreshMap();
+        settle();
+
+        // 배치가 바뀌기 전까지 기존 shard에서 처리된 인증의 sign count
+        long reconciled = reconcileSignCounts(bucket, source, target);
+        deleteBucket(bucket, source);
+        log.info("Moved shard bucket {} to shard {}: {} users, {} credentials, {} index entries, {} sign counts reconciled",
+                bucket, target, result.users(), result.credentials(), result.indexEntries(), reconciled);
+        return result;
+    }
+
+    // 각 shard가 가질 bucket 수 (나머지는 앞 shard부터 하나씩)
+    private static int target(int shard, int shardCount) {
+        return ShardBuckets.BUCKETS / shardCount + (shard < ShardBuckets.BUCKETS % shardCount ? 1 : 0);
+    }
+
+    /**
+     * select의 첫 컬럼을 keyset으로 batchSize개씩 읽어 insert로 대상 shard에 씁니다.
+     */
+    private long copy(int bucket, int source, int target, String select, Object firstKey, String insert) {
+        long copied = 0;
+        Object lastKey = firstKey;
+        while (true) {
+            Object after = lastKey;
+            List<Object[]> rows = router.onShard(source, () -> jdbcTemplate.query(select, (rs, rowNum) -> {
+                Object[] row = new Object[rs.getMetaData().getColumnCount()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                return row;
+            }, bucket, after, batchSize));
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            router.onShard(target, () -> jdbcTemplate.batchUpdate(insert, rows));
+            copied += rows.size();
+            lastKey = rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    /**
+     * 기존 shard에 있는 bucket의 모든 credential sign count를 대상 shard에 반영합니다. (대상 값이 더 크면 유지)
+     *
+     * @return 확인한 credential 수
+     */
+    long reconcileSignCounts(int bucket, int source, int target) {
+        long reconciled = 0;
+        String lastCredentialId = "";
+        while (true) {
+            String after = lastCredentialId;
+            List<Object[]> rows = router.onShard(source, () -> jdbcTemplate.query("""
+                            SELECT sign_count, last_used_at, credential_id FROM credentials
+                            WHERE shard_bucket = ? AND credential_id > ? ORDER BY credential_id LIMIT ?""",
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getTimestamp(2), rs.getString(3)},
+                    bucket, after, batchSize));
+            if (rows.isEmpty()) {
+                return reconciled;
+            }
+            router.onShard(target, () -> jdbcTemplate.batchUpdate("""
+                    UPDATE credentials SET sign_count = GREATEST(sign_count, ?),
+                                           last_used_at = GREATEST(last_used_at, ?)
+                    WHERE credential_id = ?""", rows));
+            reconciled += rows.size();
+            lastCredentialId = (String) rows.get(rows.size() - 1)[2];
+        }
+    }
+
+    private void deleteBucket(int bucket, int shard) {
+        router.onShard(shard, () -> {
+            jdbcTemplate.update("DELETE FROM credential_shard_index WHERE index_bucket = ?", bucket);
+            jdbcTemplate.update("DELETE FROM credentials WHERE shard_bucket = ?", bucket);
+            return jdbcTemplate.update("DELETE FROM users WHERE shard_bucket = ?", bucket);
+        });
+    }
+
+    private void onCatalog(Runnable change) {
+        router.onShard(0, () -> {
+            change.run();
+            return null;
+        });
+    }
+
+    private void settle() {
+        try {
+            Thread.sleep(settleMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard map refresh", e);
+        }
+    }
+
+    public record Move(int bucket, int source, int target) {
+    }
+
+    public record MoveResult(int bucket, int source, int target, long users, long credentials, long indexEntries) {
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.passkey.global.shard;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.ShardingConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 사용자/credential이 어느 shard에 있는지 정하고, 그 shard에서 작업을 실행합니다.
+ *
+ * <ul>
+ *     <li>사용자의 bucket은 username 해시이고, 사용자 id(UUIDv8)에 bucket을 넣어 두므로 userHandle만으로 shard를 찾습니다.</li>
+ *     <li>credential ID는 인증기가 정하므로 shard 정보를 넣을 수 없습니다. 대신 credential ID의 bucket이 가리키는 shard에
+ *         credential ID -> 소유자 bucket 인덱스(credential_shard_index)를 두고, 조회 결과는 바뀌지 않으므로 메모리에 캐시합니다.</li>
+ *     <li>bucket 배치는 shard 0의 카탈로그를 주기적으로 다시 읽으므로, bucket 이동이 노드 재시작 없이 반영됩니다.</li>
+ * </ul>
+ * webauthn.sharding.enabled=false 이면 모든 작업을 shard 0(기본 DataSource)에서 그대로 실행합니다.
+ */
+@Component
+@Slf4j
+public class ShardRouter {
+
+    private static final String LOOKUP_SQL = "SELECT owner_bucket FROM credential_shard_index WHERE credential_id = ?";
+    private static final String INDEX_SQL = """
+            INSERT INTO credential_shard_index (credential_id, index_bucket, owner_bucket) VALUES (?, ?, ?)
+            ON CONFLICT (credential_id) DO NOTHING""";
+
+    private final boolean sharded;
+    private final int shardCount;
+    private final long retryAfterSeconds;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations newTransaction;
+    private final TransactionOperations newReadOnlyTransaction;
+    private final ShardCatalog catalog;
+    private final Cache<String, Integer> ownerBuckets;
+    private final ScheduledExecutorService scheduler;
+    private final Counter indexLookups;
+
+    private volatile ShardMap map = ShardMap.single();
+
+    @Autowired
+    public ShardRouter(ShardingConfig config, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       WorkerThreads workerThreads, MeterRegistry meterRegistry) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        // 바깥 트랜잭션이 이미 다른 shard 연결을 잡았을 수 있으므로 인덱스/카탈로그는 새 트랜잭션(새 연결)으로 처리
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        TransactionTemplate newReadOnlyTransaction = new TransactionTemplate(transactionManager, newTransaction);
+        newReadOnlyTransaction.setReadOnly(true);
+
+        this.sharded = config.isEnabled();
+        this.shardCount = sharded ? config.getShards().size() + 1 : 1;
+        this.retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(2 * config.getMapRefreshMillis()));
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = newTransaction;
+        this.newReadOnlyTransaction = newReadOnlyTransaction;
+        this.catalog = new ShardCatalog(jdbcTemplate, config.getMoveBatchSize());
+        this.ownerBuckets = Caffeine.newBuilder().maximumSize(config.getIndexCacheSize()).build();
+        this.indexLookups = Counter.builder("passkey.shard.index.lookups")
+                .description("캐시에 없어 DB에서 읽은 credential shard 인덱스 조회 수")
+                .register(meterRegistry);
+
+        if (!sharded) {
+            this.scheduler = null;
+            return;
+        }
+        initialize(jdbcTemplate);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            Gauge.builder("passkey.shard.buckets", this, router -> router.map.bucketCounts(router.shardCount)[target])
+                    .description("shard에 배치된 bucket 수")
+                    .tag("shard", String.valueOf(shard))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("passkey.shard.moving", this, router -> router.map.movingBuckets().size())
+                .description("다른 shard로 옮기는 중인 bucket 수")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("shard-map"));
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly,
+                config.getMapRefreshMillis(), config.getMapRefreshMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private ShardRouter() {
+        this.sharded = false;
+        this.shardCount = 1;
+        this.retryAfterSeconds = 1;
+        this.jdbcTemplate = null;
+        this.newTransaction = TransactionOperations.withoutTransaction();
+        this.newReadOnlyTransaction = TransactionOperations.withoutTransaction();
+        this.catalog = null;
+        this.ownerBuckets = Caffeine.newBuilder().maximumSize(0).build();
+        this.scheduler = null;
+        this.indexLookups = null;
+    }
+
+    /**
+     * 샤딩 없이 모든 작업을 그대로 실행합니다. (Spring 컨텍스트 밖, 벤치마크용)
+     */
+    public static ShardRouter single() {
+        return new ShardRouter();
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public ShardMap map() {
+        return map;
+    }
+
+    public int shardOf(int bucket) {
+        return map.shardOf(bucket);
+    }
+
+    public int shardForUsername(String username) {
+        return sharded ? shardOf(ShardBuckets.bucketOf(username)) : 0;
+    }
+
+    /**
+     * assertion의 credential 소유자가 있는 shard
+     * userHandle이 있으면 그 안의 bucket을, 없으면(또는 샤딩 전 id면) credential 인덱스를 사용합니다.
+     *
+     * @return 인덱스에도 없으면 -1
+     */
+    public int shardForAssertion(String credentialId, String userHandle) {
+        if (!sharded) {
+            return 0;
+        }
+        int bucket = ShardBuckets.bucketOfUserHandle(userHandle);
+        return bucket >= 0 ? shardOf(bucket) : shardForCredential(credentialId);
+    }
+
+    /**
+     * credential이 있는 shard
+     *
+     * @return 인덱스에 없으면 -1
+     */
+    public int shardForCredential(String credentialId) {
+        if (!sharded) {
+            return 0;
+        }
+        Integer owner = ownerBuckets.getIfPresent(credentialId);
+        if (owner == null) {
+            indexLookups.increment();
+            owner = onShard(shardOf(ShardBuckets.bucketOf(credentialId)), () -> newReadOnlyTransaction.execute(
+                    status -> jdbcTemplate.query(LOOKUP_SQL, rs -> rs.next() ? rs.getInt(1) : null, credentialId)));
+            if (owner == null) {
+                // 없는 ID는 캐시하지 않음 (곧 등록될 수 있음)
+                return -1;
+            }
+            ownerBuckets.put(credentialId, owner);
+        }
+        return shardOf(owner);
+    }
+
+    /**
+     * body 안의 트랜잭션/쿼리를 지정한 shard에서 실행합니다.
+     * 트랜잭션은 body 안에서 시작해야 합니다. (이미 연결을 잡은 바깥 트랜잭션은 shard를 바꾸지 않음)
+     */
+    public <T> T onShard(int shard, Supplier<T> body) {
+        return sharded ? ShardContext.on(shard, body) : body.get();
+    }
+
+    public void forEachShard(IntConsumer body) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            onShard(target, () -> {
+                body.accept(target);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * bucket이 이동 중이면 새 행을 만들지 않도록 거절합니다.
+     *
+     * @throws ShardMovingException 이동 중이면
+     */
+    public void checkWritable(int bucket) {
+        if (sharded && map.isMoving(bucket)) {
+            throw new ShardMovingException(bucket, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * credential 저장 전에 인덱스를 기록합니다. 인덱스가 먼저 있어야 다른 shard에 같은 ID가 생기지 않습니다.
+     */
+    public void registerCredential(String credentialId, int ownerBucket) {
+        if (!sharded) {
+            return;
+        }
+        int indexBucket = ShardBuckets.bucketOf(credentialId);
+        checkWritable(indexBucket);
+        int inserted = onShard(shardOf(indexBucket), () -> newTransaction.execute(
+                status -> jdbcTemplate.update(INDEX_SQL, credentialId, indexBucket, ownerBucket)));
+        if (inserted == 0) {
+            Integer existing = onShard(shardOf(indexBucket), () -> newReadOnlyTransaction.execute(
+                    status -> jdbcTemplate.query(LOOKUP_SQL, rs -> rs.next() ? rs.getInt(1) : null, credentialId)));
+            if (existing == null || existing != ownerBucket) {
+                throw new RuntimeException("Credential already registered");
+            }
+        }
+        ownerBuckets.put(credentialId, ownerBucket);
+    }
+
+    /**
+     * 카탈로그를 다시 읽습니다.
+     */
+    public ShardMap refreshMap() {
+        if (sharded) {
+            map = onShard(0, () -> catalog.load(shardCount));
+        }
+        return map;
+    }
+
+    ShardCatalog catalog() {
+        return catalog;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // 모든 shard에 스키마를 만들고, 카탈로그가 없으면 만든 뒤 읽음
+    private void initialize(JdbcTemplate jdbcTemplate) {
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql"));
+        forEachShard(shard -> DatabasePopulatorUtils.execute(schema, jdbcTemplate.getDataSource()));
+        onShard(0, () -> newTransaction.execute(status -> {
+            // 여러 노드가 동시에 시작해도 카탈로그를 한 번만 만들도록 잠금
+            jdbcTemplate.execute("LOCK TABLE shard_buckets IN EXCLUSIVE MODE");
+            catalog.initialize(shardCount);
+            return null;
+        }));
+        refreshMap();
+        int[] counts = map.bucketCounts(shardCount);
+        log.info("Sharding enabled: {} shards, buckets per shard {}", shardCount, Arrays.toString(counts));
+    }
+
+    private void refreshQuietly() {
+        try {
+            refreshMap();
+        } catch (Exception e) {
+            // 이전 배치를 계속 사용
+            log.warn("Failed to refresh shard map: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.passkey.global.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ShardContext}의 shard로 연결을 보냅니다. 지정하지 않았으면 shard 0(spring.datasource)입니다.
+ *
+ * 트랜잭션 시작이 아니라 첫 쿼리 때 shard를 정하도록 {@code LazyConnectionDataSourceProxy}로 감싸서 사용합니다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    /**
+     * @param shards index가 shard 번호 (0은 primary)
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        return shard != null ? shard : 0;
+    }
+
+    /**
+     * shard 1.. 의 풀을 닫습니다. (shard 0은 Spring 빈으로 따로 닫힘)
+     */
+    @Override
+    public void close() {
+        for (int shard = 1; shard < shards.size(); shard++) {
+            if (shards.get(shard) instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
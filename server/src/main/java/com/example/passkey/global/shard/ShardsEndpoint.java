@@ -0,0 +1,96 @@
+package com.example.passkey.global.shard;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * /actuator/shards: bucket 배치 조회와 bucket 이동/rebalance 실행
+ *
+ * <pre>
+ * GET  /actuator/shards                          shard별 bucket 수, 이동 중인 bucket, 마지막 작업 결과
+ * POST /actuator/shards {"bucket":1,"shard":2}  bucket 하나 이동
+ * POST /actuator/shards                          shard별 bucket 수를 고르게 맞춤
+ * </pre>
+ * 이동은 백그라운드에서 한 번에 하나만 실행합니다.
+ * 인증이 없으므로 기본 web 노출 목록에 넣지 않으며, 노출할 때도 localhost에 묶인 관리 포트에서만 받습니다.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(prefix = "webauthn.sharding", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardsEndpoint {
+
+    private final ShardRouter router;
+    private final ShardRebalancer rebalancer;
+    private final ExecutorService executor;
+
+    private volatile String running;
+    private volatile String lastResult;
+
+    public ShardsEndpoint(ShardRouter router, ShardRebalancer rebalancer, WorkerThreads workerThreads) {
+        this.router = router;
+        this.rebalancer = rebalancer;
+        this.executor = Executors.newSingleThreadExecutor(workerThreads.factory("shard-move"));
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        ShardMap map = router.map();
+        Map<String, Object> body = new LinkedHashMap<>();
+        int[] counts = map.bucketCounts(router.shardCount());
+        Map<String, Integer> buckets = new LinkedHashMap<>();
+        for (int shard = 0; shard < counts.length; shard++) {
+            buckets.put(String.valueOf(shard), counts[shard]);
+        }
+        body.put("buckets", buckets);
+        body.put("moving", map.movingBuckets());
+        body.put("running", running);
+        body.put("lastResult", lastResult);
+        return body;
+    }
+
+    /**
+     * bucket과 shard를 주면 그 bucket만, 생략하면 전체 rebalance를 시작합니다.
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> move(@Nullable Integer bucket, @Nullable Integer shard) {
+        if (running != null) {
+            return Map.of("accepted", false, "running", running);
+        }
+        if ((bucket == null) != (shard == null)) {
+            throw new IllegalArgumentException("bucket and shard must be given together");
+        }
+        String job = bucket != null ? "move bucket " + bucket + " to shard " + shard : "rebalance";
+        running = job;
+        executor.execute(() -> {
+            try {
+                lastResult = bucket != null
+                        ? rebalancer.moveBucket(bucket, shard).toString()
+                        : "rebalanced " + rebalancer.rebalance() + " buckets";
+            } catch (RuntimeException e) {
+                log.error("Shard job failed: {}", job, e);
+                lastResult = job + " failed: " + e.getMessage();
+            } finally {
+                running = null;
+            }
+        });
+        return Map.of("accepted", true, "running", job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
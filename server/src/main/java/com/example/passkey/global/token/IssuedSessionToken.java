@@ -0,0 +1,9 @@
+package com.example.passkey.global.token;
+
+import java.time.Instant;
+
+/**
+ * 발급한 세션 토큰과 만료 시각
+ */
+public record IssuedSessionToken(String token, Instant expiresAt) {
+}
@@ -0,0 +1,37 @@
+package com.example.passkey.global.token;
+
+import com.example.passkey.global.config.SessionTokenConfig;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 세션 토큰 검증용 공개키 (servlet/reactive 프로필 공통)
+ *
+ * 캐시된 JWKS를 그대로 돌려줍니다. 새 키는 서명에 쓰기 publish-ahead 전에 올라오므로 max-age는 그 절반으로 둡니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Session token", description = "세션 토큰 검증 공개키")
+public class JwksController {
+
+    private final SessionKeyManager keyManager;
+    private final SessionTokenConfig config;
+
+    @Operation(summary = "JWKS", description = "세션 토큰 서명 검증에 쓰는 공개키 목록을 반환합니다")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(config.getPublishAheadSeconds() / 2)).cachePublic())
+                .body(keyManager.jwks());
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.passkey.global.token;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.SessionTokenConfig;
+import com.example.passkey.global.file.PrivateDirectory;
+import com.example.passkey.token.SessionKeySet;
+import com.example.passkey.token.SessionTokenAlgorithm;
+import com.example.passkey.token.SessionTokenSigner;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션 토큰 서명 키를 관리합니다.
+ *
+ * <ul>
+ *     <li>키는 keyDir에 kid 이름의 파일(PKCS#8 개인키, 생성 시각)로 두고, 여러 인스턴스가 같은 디렉터리를 공유합니다.
+ *         keyDir는 서버 프로세스 사용자 전용이어야 합니다({@link PrivateDirectory}). 다른 사용자가 키 파일을 넣을 수 있으면
+ *         그 키로 서명된 토큰이 JWKS로 검증됩니다.
+ *         파싱한 키와 서명기, JWKS는 volatile 참조 하나로 캐시하므로 발급/조회 경로에서 파일을 읽지 않습니다.</li>
+ *     <li>가장 최근 키가 rotationInterval보다 오래되면 새 키를 만듭니다. 새 키는 JWKS에 먼저 올라가고
+ *         publishAhead가 지난 뒤부터 서명에 쓰이므로, 다른 서비스가 그 사이에 JWKS를 다시 읽으면 검증이 끊기지 않습니다.</li>
+ *     <li>이전 키는 다음 키가 서명을 시작한 뒤 ttl + clockSkew 동안 JWKS에 남았다가 삭제됩니다.</li>
+ * </ul>
+ * 두 인스턴스가 동시에 새 키를 만들어도 둘 다 JWKS에 올라가므로 검증에는 문제가 없습니다.
+ */
+@Component
+@Slf4j
+public class SessionKeyManager {
+
+    private static final String KEY_SUFFIX = ".key";
+
+    private final SessionTokenConfig config;
+    private final WorkerThreads workerThreads;
+    private final SecureRandom secureRandom;
+    private final SessionTokenAlgorithm algorithm;
+    private final Clock clock;
+
+    private volatile KeyState state;
+    private ScheduledExecutorService scheduler;
+
+    private record StoredKey(String keyId, SessionTokenAlgorithm algorithm, Instant createdAt,
+                             PrivateKey privateKey, PublicKey publicKey) {
+    }
+
+    private record KeyState(SessionTokenSigner signer, SessionKeySet keySet, Map<String, Object> jwks) {
+    }
+
+    @Autowired
+    public SessionKeyManager(SessionTokenConfig config, WorkerThreads workerThreads, SecureRandom secureRandom) {
+        this(config, workerThreads, secureRandom, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock 키 생성 시각과 교체/보관 기간 계산에 쓰는 시계 (테스트에서 교체)
+     */
+    public SessionKeyManager(SessionTokenConfig config, WorkerThreads workerThreads, SecureRandom secureRandom,
+                             Clock clock) {
+        this.config = config;
+        this.workerThreads = workerThreads;
+        this.secureRandom = secureRandom;
+        this.clock = clock;
+        this.algorithm = SessionTokenAlgorithm.fromJwsName(config.getAlgorithm());
+        if (config.isEnabled()) {
+            try {
+                // 키를 만들거나 읽을 수 없으면 시작 단계에서 실패
+                reload();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load session token keys from " + config.getKeyDir(), e);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled() || config.getReloadIntervalMillis() <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("session-keys"));
+        scheduler.scheduleWithFixedDelay(this::reloadQuietly,
+                config.getReloadIntervalMillis(), config.getReloadIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @throws IllegalStateException 세션 토큰이 비활성화되어 있으면
+     */
+    public SessionTokenSigner signer() {
+        return current().signer();
+    }
+
+    public SessionKeySet keySet() {
+        return current().keySet();
+    }
+
+    public Map<String, Object> jwks() {
+        KeyState current = state;
+        return current != null ? current.jwks() : Map.of("keys", List.of());
+    }
+
+    public int getKeyCount() {
+        KeyState current = state;
+        return current != null ? current.keySet().size() : 0;
+    }
+
+    /**
+     * 키 디렉터리를 다시 읽고 필요하면 새 키를 만들거나 지난 키를 지웁니다.
+     *
+     * @throws IllegalArgumentException keyDir가 없거나, 다른 사용자 소유이거나, 그룹/다른 사용자가 쓸 수 있으면
+     */
+    public synchronized void reload() throws IOException {
+        Path dir = PrivateDirectory.prepare(config.getKeyDir(), "webauthn.session-token.key-dir");
+        Instant now = clock.instant();
+        Duration publishAhead = Duration.ofSeconds(config.getPublishAheadSeconds());
+
+        List<StoredKey> keys = readKeys(dir);
+        StoredKey newest = keys.stream().filter(key -> key.algorithm() == algorithm).findFirst().orElse(null);
+        // 키마다 생성 + publishAhead부터 다음 키 생성 + publishAhead까지 서명하므로 생성 간격 = 교체 주기
+        Duration rotateAfter = Duration.ofSeconds(config.getRotationIntervalSeconds());
+        if (newest == null || !newest.createdAt().plus(rotateAfter).isAfter(now)) {
+            StoredKey created = generate(dir, now);
+            keys.add(0, created);
+            log.info("Generated session token key {} ({}), signing after {}",
+                    created.keyId(), algorithm.jwsName(), newest == null ? now : now.plus(publishAhead));
+        }
+
+        StoredKey active = active(keys, now.minus(publishAhead));
+        int activeIndex = keys.indexOf(active);
+        Duration retention = publishAhead.plusSeconds(config.getTtlSeconds() + config.getClockSkewSeconds());
+        List<StoredKey> published = new ArrayList<>(keys.subList(0, activeIndex + 1));
+        for (int i = activeIndex + 1; i < keys.size(); i++) {
+            // 다음 키가 서명을 시작한 시각 + 토큰 최대 수명까지 보관
+            StoredKey key = keys.get(i);
+            if (keys.get(i - 1).createdAt().plus(retention).isBefore(now)) {
+                delete(dir, key);
+            } else {
+                published.add(key);
+            }
+        }
+
+        SessionKeySet keySet = SessionKeySet.of(published.stream()
+                .map(key -> new SessionKeySet.Key(key.keyId(), key.algorithm(), key.publicKey()))
+                .toList());
+        KeyState previous = state;
+        state = new KeyState(new SessionTokenSigner(active.keyId(), active.algorithm(), active.privateKey()),
+                keySet, keySet.toJwks());
+        if (previous == null || !previous.signer().keyId().equals(active.keyId())) {
+            log.info("Signing session tokens with key {} ({} keys published)", active.keyId(), keySet.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private KeyState current() {
+        KeyState current = state;
+        if (current == null) {
+            throw new IllegalStateException("Session tokens are disabled");
+        }
+        return current;
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to reload session token keys from {}, keeping current keys", config.getKeyDir(), e);
+        }
+    }
+
+    // publishAhead가 지난 설정 알고리즘 키 > 지난 다른 알고리즘 키(알고리즘 변경 직후) > 가장 최근 키(첫 시작)
+    private StoredKey active(List<StoredKey> keys, Instant publishedBefore) {
+        StoredKey fallback = null;
+        for (StoredKey key : keys) {
+            if (key.createdAt().isAfter(publishedBefore)) {
+                continue;
+            }
+            if (key.algorithm() == algorithm) {
+                return key;
+            }
+            if (fallback == null) {
+                fallback = key;
+            }
+        }
+        return fallback != null ? fallback : keys.get(0);
+    }
+
+    // 생성 시각 내림차순
+    private List<StoredKey> readKeys(Path dir) throws IOException {
+        List<StoredKey> keys = new ArrayList<>();
+        try (var files = Files.list(dir)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(KEY_SUFFIX)).toList()) {
+                try {
+                    keys.add(read(file));
+                } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                    log.warn("Ignoring unreadable session token key {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        keys.sort(Comparator.comparing(StoredKey::createdAt).reversed());
+        return keys;
+    }
+
+    private static StoredKey read(Path file) throws IOException, GeneralSecurityException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        String name = file.getFileName().toString();
+        SessionTokenAlgorithm algorithm = SessionTokenAlgorithm.fromJwsName(properties.getProperty("alg"));
+        KeyFactory keyFactory = KeyFactory.getInstance(algorithm.keyAlgorithm());
+        Base64.Decoder decoder = Base64.getDecoder();
+        return new StoredKey(
+                name.substring(0, name.length() - KEY_SUFFIX.length()),
+                algorithm,
+                Instant.ofEpochMilli(Long.parseLong(properties.getProperty("created"))),
+                keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decoder.decode(properties.getProperty("private")))),
+                keyFactory.generatePublic(new X509EncodedKeySpec(decoder.decode(properties.getProperty("public")))));
+    }
+
+    private StoredKey generate(Path dir, Instant now) throws IOException {
+        byte[] id = new byte[9];
+        secureRandom.nextBytes(id);
+        String keyId = Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+        KeyPair keyPair = algorithm.generateKeyPair();
+
+        Properties properties = new Properties();
+        properties.setProperty("alg", algorithm.jwsName());
+        properties.setProperty("created", String.valueOf(now.toEpochMilli()));
+        properties.setProperty("private", Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        properties.setProperty("public", Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        Path temp = Files.createTempFile(dir, keyId, ".tmp");
+        try {
+            restrictToOwner(temp);
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "session token signing key");
+            }
+            Files.move(temp, dir.resolve(keyId + KEY_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new StoredKey(keyId, algorithm, now, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static void restrictToOwner(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // POSIX 권한이 없는 파일 시스템
+        }
+    }
+
+    private static void delete(Path dir, StoredKey key) {
+        try {
+            Files.deleteIfExists(dir.resolve(key.keyId() + KEY_SUFFIX));
+            log.info("Removed retired session token key {}", key.keyId());
+        } catch (IOException e) {
+            log.debug("Could not delete retired session token key {}", key.keyId());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.passkey.global.token;
+
+import com.example.passkey.global.config.SessionTokenConfig;
+import com.example.passkey.token.SessionClaims;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 인증 완료 시 세션 토큰(JWS compact)을 발급합니다.
+ *
+ * 다른 서비스는 session-token 모듈의 SessionTokenVerifier와 /.well-known/jwks.json의 공개키로 서버 호출 없이 검증합니다.
+ */
+@Component
+public class SessionTokenIssuer {
+
+    private static final int TOKEN_ID_BYTES = 16;
+
+    private final SessionTokenConfig config;
+    private final SessionKeyManager keyManager;
+    private final SecureRandom secureRandom;
+    private final LongAdder issuedCount = new LongAdder();
+
+    public SessionTokenIssuer(SessionTokenConfig config, SessionKeyManager keyManager, SecureRandom secureRandom) {
+        this.config = config;
+        this.keyManager = keyManager;
+        this.secureRandom = secureRandom;
+    }
+
+    /**
+     * @return 세션 토큰이 비활성화되어 있으면 null
+     */
+    public IssuedSessionToken issue(UUID userId, String username, String credentialId) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant expiresAt = issuedAt.plusSeconds(config.getTtlSeconds());
+
+        Map<String, Object> claims = new LinkedHashMap<>(config.getClaims());
+        if (config.isIncludeUsername()) {
+            claims.put(SessionClaims.USERNAME, username);
+        }
+        if (config.isIncludeCredentialId()) {
+            claims.put(SessionClaims.CREDENTIAL_ID, credentialId);
+        }
+
+        String token = keyManager.signer().sign(new SessionClaims(tokenId(), config.getIssuer(), userId.toString(),
+                config.getAudience(), issuedAt, expiresAt, claims));
+        issuedCount.increment();
+        return new IssuedSessionToken(token, expiresAt);
+    }
+
+    public long getIssuedCount() {
+        return issuedCount.sum();
+    }
+
+    private String tokenId() {
+        byte[] id = new byte[TOKEN_ID_BYTES];
+        secureRandom.nextBytes(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+    }
+}
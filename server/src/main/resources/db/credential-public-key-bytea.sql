@@ -0,0 +1,20 @@
+-- credentials.public_key: large object(oid) -> inline bytea
+-- 컬럼이 oid일 때만 한 번 적용되며, 이미 bytea이거나 테이블이 아직 없으면 아무것도 하지 않습니다.
+-- 값은 그대로(CBOR COSE_Key) 옮기고, compact 형식 변환은 PublicKeyFormatMigrator가 이어서 처리합니다.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'credentials'
+                 AND column_name = 'public_key'
+                 AND data_type = 'oid') THEN
+        ALTER TABLE credentials ADD COLUMN public_key_inline bytea;
+        UPDATE credentials SET public_key_inline = lo_get(public_key);
+        PERFORM lo_unlink(public_key) FROM credentials WHERE public_key IS NOT NULL;
+        ALTER TABLE credentials DROP COLUMN public_key;
+        ALTER TABLE credentials RENAME COLUMN public_key_inline TO public_key;
+        ALTER TABLE credentials ALTER COLUMN public_key SET NOT NULL;
+    END IF;
+END
+$$
@@ -0,0 +1,49 @@
+-- 샤딩 사용 시 모든 shard에 적용 (ShardRouter가 시작할 때 실행, 이미 있으면 no-op)
+-- shard 0의 users/credentials는 JPA(ddl-auto)가 먼저 만들고, 여기서는 shard 1.. 에 같은 테이블을 만듭니다.
+CREATE TABLE IF NOT EXISTS users (
+    id           uuid PRIMARY KEY,
+    username     varchar(255) NOT NULL UNIQUE,
+    display_name varchar(255) NOT NULL,
+    shard_bucket integer,
+    created_at   timestamp(6) DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS credentials (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    credential_id varchar(255) NOT NULL UNIQUE,
+    public_key    bytea        NOT NULL,
+    sign_count    bigint       NOT NULL,
+    aaguid        varchar(255),
+    transports    varchar(255),
+    created_at    timestamp(6) NOT NULL,
+    last_used_at  timestamp(6),
+    user_id       uuid         NOT NULL REFERENCES users (id),
+    shard_bucket  integer
+);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS shard_bucket integer;
+ALTER TABLE credentials ADD COLUMN IF NOT EXISTS shard_bucket integer;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS created_at timestamp(6) DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_credentials_user_id ON credentials (user_id);
+-- bucket 이동 시 bucket 단위로 복사/삭제
+CREATE INDEX IF NOT EXISTS idx_users_shard_bucket ON users (shard_bucket);
+CREATE INDEX IF NOT EXISTS idx_credentials_shard_bucket ON credentials (shard_bucket);
+-- username filter 증분 반영
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
+
+-- credential ID -> 소유자 bucket (credential ID의 bucket이 배치된 shard에 저장)
+CREATE TABLE IF NOT EXISTS credential_shard_index (
+    credential_id varchar(255) PRIMARY KEY,
+    index_bucket  integer NOT NULL,
+    owner_bucket  integer NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_credential_shard_index_bucket ON credential_shard_index (index_bucket);
+
+-- bucket -> shard 배치 (shard 0의 것만 사용)
+CREATE TABLE IF NOT EXISTS shard_buckets (
+    bucket integer PRIMARY KEY,
+    shard  integer NOT NULL,
+    moving boolean NOT NULL DEFAULT false
+);
@@ -0,0 +1,88 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.auth.exception.AttestationRejectedException;
+import com.example.passkey.global.config.AttestationConfig;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.example.passkey.global.metrics.PasskeyMetrics;
+import com.webauthn4j.data.AttestationConveyancePreference;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * attestation 정책이 NONE이 아니면 statement 서명과 MDS 등록 여부를 실제로 검사하는지 확인합니다. (MDS blob 없음)
+ */
+class AttestationTrustVerifierTest {
+
+    private final PasskeyMetrics metrics = new PasskeyMetrics(new SimpleMeterRegistry());
+    private final ChallengeService challengeService = new ChallengeService(new ChallengeConfig(), new SecureRandom());
+
+    @Test
+    void metadataPolicyAcceptsValidPackedAttestation() {
+        WebAuthnVerifier verifier = TestAuthenticator.verifier(challengeService, config(AttestationConfig.Policy.METADATA));
+        TestAuthenticator authenticator = new TestAuthenticator("packed", COSEAlgorithmIdentifier.ES256);
+
+        assertNotNull(verifier.verifyRegistration(metrics.start("registration.finish"), register(authenticator)));
+    }
+
+    @Test
+    void metadataPolicyVerifiesStatementSignature() {
+        TestAuthenticator authenticator = new TestAuthenticator("forged", COSEAlgorithmIdentifier.ES256);
+
+        // clientDataJSON을 바꾸면 clientDataHash가 달라져 packed 서명만 맞지 않음 (NONE 정책은 statement를 보지 않음)
+        WebAuthnVerifier none = TestAuthenticator.verifier(challengeService, config(AttestationConfig.Policy.NONE));
+        assertNotNull(none.verifyRegistration(metrics.start("registration.finish"), forged(register(authenticator))));
+
+        WebAuthnVerifier metadata = TestAuthenticator.verifier(challengeService, config(AttestationConfig.Policy.METADATA));
+        RegistrationFinishRequest forged = forged(register(authenticator));
+        assertThrows(RuntimeException.class,
+                () -> metadata.verifyRegistration(metrics.start("registration.finish"), forged));
+    }
+
+    @Test
+    void requiredPolicyRejectsAuthenticatorMissingFromMetadata() {
+        WebAuthnVerifier verifier = TestAuthenticator.verifier(challengeService, config(AttestationConfig.Policy.REQUIRED));
+        TestAuthenticator authenticator = new TestAuthenticator("unlisted", COSEAlgorithmIdentifier.ES256);
+        RegistrationFinishRequest request = register(authenticator);
+
+        assertThrows(AttestationRejectedException.class,
+                () -> verifier.verifyRegistration(metrics.start("registration.finish"), request));
+    }
+
+    private RegistrationFinishRequest register(TestAuthenticator authenticator) {
+        return authenticator.register(
+                challengeService.issueChallenge(ChallengePurpose.REGISTRATION, authenticator.username()),
+                AttestationConveyancePreference.DIRECT);
+    }
+
+    private static RegistrationFinishRequest forged(RegistrationFinishRequest request) {
+        byte[] clientDataJSON = Base64.getUrlDecoder().decode(request.response().clientDataJSON());
+        byte[] padded = new byte[clientDataJSON.length + 1];
+        System.arraycopy(clientDataJSON, 0, padded, 0, clientDataJSON.length);
+        padded[clientDataJSON.length] = ' ';
+        return new RegistrationFinishRequest(
+                request.username(),
+                request.id(),
+                request.rawId(),
+                new RegistrationFinishRequest.AuthenticatorResponse(
+                        Base64.getUrlEncoder().withoutPadding().encodeToString(padded),
+                        request.response().attestationObject(),
+                        request.response().transports()
+                ),
+                request.type()
+        );
+    }
+
+    private static AttestationConfig config(AttestationConfig.Policy policy) {
+        AttestationConfig config = new AttestationConfig();
+        config.setPolicy(policy);
+        return config;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.passkey.domain.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChallengeStoreTest {
+
+    private static final long TTL = 1_000;
+    private static final long TICK = 100;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void removeReturnsChallengeOnce() {
+        ChallengeStore store = store(16);
+        byte[] challenge = challenge(1);
+
+        assertTrue(store.put("alice", challenge));
+        assertArrayEquals(challenge, store.get("alice"));
+        assertArrayEquals(challenge, store.remove("alice"));
+        assertNull(store.remove("alice"));
+        assertEquals(0, store.stats().size());
+    }
+
+    @Test
+    void expiresAfterTtl() {
+        ChallengeStore store = store(16);
+        store.put("alice", challenge(1));
+
+        now.addAndGet(TTL - 1);
+        assertTrue(store.contains("alice"));
+        now.addAndGet(1);
+        assertNull(store.get("alice"));
+        assertEquals(0, store.stats().size());
+    }
+
+    @Test
+    void rejectsNewKeysWhenFullButUpdatesExistingKeys() {
+        ChallengeStore store = store(2);
+        assertTrue(store.put("a", challenge(1)));
+        assertTrue(store.put("b", challenge(2)));
+
+        assertFalse(store.put("c", challenge(3)));
+        assertTrue(store.put("a", challenge(4)));
+        assertArrayEquals(challenge(4), store.get("a"));
+        assertEquals(1, store.stats().rejected());
+    }
+
+    @Test
+    void repeatedPutWithinTickDoesNotGrowWheel() {
+        ChallengeStore store = store(16);
+        for (int i = 0; i < 10_000; i++) {
+            store.put("alice", challenge(i));
+        }
+        assertEquals(1, store.scheduledEntries());
+
+        // 슬롯이 반납되고 같은 tick 안에 다시 쓰여도 마찬가지
+        for (int i = 0; i < 10_000; i++) {
+            store.remove("alice");
+            store.put("alice", challenge(i));
+        }
+        assertEquals(1, store.scheduledEntries());
+    }
+
+    @Test
+    void repeatedPutAcrossTicksStaysBoundedByWheelSize() {
+        ChallengeStore store = store(16);
+        int wheelSize = (int) (TTL / TICK) + 2;
+        for (int i = 0; i < 10_000; i++) {
+            store.put("alice", challenge(i));
+            now.addAndGet(TICK / 3);
+        }
+        assertTrue(store.scheduledEntries() <= wheelSize, "entries: " + store.scheduledEntries());
+        assertEquals(1, store.stats().size());
+    }
+
+    @Test
+    void backwardShiftDeleteKeepsCollidingKeysReachable() {
+        // "Aa"와 "BB"는 hashCode가 같으므로 조합한 key는 모두 같은 위치에서 충돌
+        List<String> keys = collidingKeys(5);
+        ChallengeStore store = store(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertTrue(store.put(keys.get(i), challenge(i)));
+        }
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertArrayEquals(challenge(i), store.remove(keys.get(i)));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if (i % 2 == 0) {
+                assertNull(store.get(keys.get(i)));
+            } else {
+                assertArrayEquals(challenge(i), store.get(keys.get(i)));
+            }
+        }
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertTrue(store.put(keys.get(i), challenge(i + 100)));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            assertArrayEquals(challenge(i % 2 == 0 ? i + 100 : i), store.get(keys.get(i)));
+        }
+    }
+
+    @Test
+    void matchesMapUnderRandomOperations() {
+        ChallengeStore store = store(64);
+        Map<String, byte[]> model = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String key = "user-" + random.nextInt(96);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    byte[] value = challenge(i);
+                    boolean stored = store.put(key, value);
+                    assertEquals(model.containsKey(key) || model.size() < 64, stored);
+                    if (stored) {
+                        model.put(key, value);
+                    }
+                }
+                case 1 -> assertArrayEquals(model.remove(key), store.remove(key));
+                default -> assertArrayEquals(model.get(key), store.get(key));
+            }
+            assertEquals(model.size(), store.stats().size());
+        }
+    }
+
+    private ChallengeStore store(int capacity) {
+        return new ChallengeStore(capacity, TTL, TICK, now::get);
+    }
+
+    private static byte[] challenge(int seed) {
+        byte[] challenge = new byte[ChallengeStore.CHALLENGE_LENGTH];
+        Arrays.fill(challenge, (byte) seed);
+        challenge[0] = (byte) (seed >>> 8);
+        challenge[1] = (byte) (seed >>> 16);
+        return challenge;
+    }
+
+    private static List<String> collidingKeys(int length) {
+        List<String> keys = new ArrayList<>();
+        keys.add("");
+        for (int i = 0; i < length; i++) {
+            List<String> next = new ArrayList<>();
+            for (String key : keys) {
+                next.add(key + "Aa");
+                next.add(key + "BB");
+            }
+            keys = next;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.service.ChallengeService.IssuedChallenge;
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.global.config.ChallengeConfig;
+import com.example.passkey.global.metrics.PasskeyMetrics;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 동시에 진행 중인 usernameless 로그인 수천 건이 서로의 challenge를 덮어쓰지 않는지 확인합니다.
+ *
+ * 스레드마다 start를 IN_FLIGHT번 먼저 호출한 뒤 역순으로 finish하므로, THREADS x IN_FLIGHT개의 challenge가 동시에 대기합니다.
+ */
+class DiscoverableCeremonyConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int IN_FLIGHT = 256;
+
+    private final PasskeyMetrics metrics = new PasskeyMetrics(new SimpleMeterRegistry());
+
+    @ParameterizedTest
+    @EnumSource(ChallengeConfig.Mode.class)
+    void concurrentUsernamelessCeremoniesAllSucceed(ChallengeConfig.Mode mode) throws Exception {
+        ChallengeConfig challengeConfig = new ChallengeConfig();
+        challengeConfig.setMode(mode);
+        challengeConfig.setMaxEntries(THREADS * IN_FLIGHT);
+        ChallengeService challengeService = new ChallengeService(challengeConfig, new SecureRandom());
+        WebAuthnVerifier verifier = TestAuthenticator.verifier(challengeService);
+
+        Set<String> handles = ConcurrentHashMap.newKeySet();
+        Set<String> challenges = ConcurrentHashMap.newKeySet();
+        LongAdder failures = new LongAdder();
+        LongAdder succeeded = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(THREADS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String username = "discoverable-" + t;
+                clients.add(executor.submit(() -> {
+                    TestAuthenticator authenticator = new TestAuthenticator(username, COSEAlgorithmIdentifier.ES256);
+                    Credential credential = verifier.verifyRegistration(metrics.start("registration.finish"),
+                            authenticator.register(challengeService.issueChallenge(
+                                    ChallengePurpose.REGISTRATION, username)));
+                    ready.countDown();
+                    await(ready);
+
+                    IssuedChallenge[] starts = new IssuedChallenge[IN_FLIGHT];
+                    for (int i = 0; i < IN_FLIGHT; i++) {
+                        starts[i] = challengeService.issueDiscoverableChallenge(ChallengePurpose.AUTHENTICATION);
+                        challenges.add(Base64.getEncoder().encodeToString(starts[i].challenge()));
+                        if (starts[i].handle() != null) {
+                            handles.add(starts[i].handle());
+                        }
+                    }
+
+                    long signCount = credential.getSignCount();
+                    for (int i = IN_FLIGHT - 1; i >= 0; i--) {
+                        AuthenticationFinishRequest request =
+                                authenticator.authenticate(starts[i].challenge(), starts[i].handle());
+                        try {
+                            VerifiedAssertion verified = verifier.verifyAssertion(
+                                    metrics.start("authentication.finish"), request, credential,
+                                    authenticator.userId(), authenticator::username, signCount);
+                            signCount = verified.signCount();
+                            succeeded.increment();
+                        } catch (RuntimeException e) {
+                            failures.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, failures.sum(), "failed ceremonies");
+        assertEquals(THREADS * IN_FLIGHT, succeeded.sum());
+        assertEquals(THREADS * IN_FLIGHT, challenges.size(), "challenge collisions");
+        if (mode == ChallengeConfig.Mode.STORE) {
+            assertEquals(THREADS * IN_FLIGHT, handles.size(), "handle collisions");
+            assertEquals(0, challengeService.getStats().size());
+        } else {
+            assertTrue(handles.isEmpty());
+            assertEquals(THREADS * IN_FLIGHT, challengeService.getUsedNonceCount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ChallengeConfig.Mode.class)
+    void challengeCannotBeReplayed(ChallengeConfig.Mode mode) {
+        ChallengeConfig challengeConfig = new ChallengeConfig();
+        challengeConfig.setMode(mode);
+        ChallengeService challengeService = new ChallengeService(challengeConfig, new SecureRandom());
+        WebAuthnVerifier verifier = TestAuthenticator.verifier(challengeService);
+
+        TestAuthenticator authenticator = new TestAuthenticator("replay", COSEAlgorithmIdentifier.ES256);
+        Credential credential = verifier.verifyRegistration(metrics.start("registration.finish"),
+                authenticator.register(challengeService.issueChallenge(ChallengePurpose.REGISTRATION, "replay")));
+
+        IssuedChallenge issued = challengeService.issueDiscoverableChallenge(ChallengePurpose.AUTHENTICATION);
+        AuthenticationFinishRequest request = authenticator.authenticate(issued.challenge(), issued.handle());
+        assertNotNull(verifier.verifyAssertion(metrics.start("authentication.finish"), request, credential,
+                authenticator.userId(), authenticator::username, credential.getSignCount()));
+
+        assertThrows(RuntimeException.class, () -> verifier.verifyAssertion(
+                metrics.start("authentication.finish"), request, credential,
+                authenticator.userId(), authenticator::username, credential.getSignCount()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.credential.cache.CredentialMaterial;
+import com.example.passkey.global.config.FastVerifyConfig;
+import com.example.passkey.global.config.WebAuthnConfig;
+import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import com.webauthn4j.data.AuthenticationData;
+import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.authenticator.Curve;
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.data.attestation.authenticator.EdDSACOSEKey;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.verifier.exception.BadSignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 assertion을 FastAssertionVerifier와 webauthn4j에 넣어, 빠른 경로가 webauthn4j가 거부한 입력을 통과시키지 않는지 확인합니다.
+ *
+ * 키를 직접 만들어 서명하므로 clientDataJSON/authenticatorData의 의미를 바꾼 변형도 올바른 서명으로 만들 수 있습니다.
+ * 서명 없이 바꾼 변형(비트 반전)은 서명 검증에서 걸러져야 합니다.
+ * 빠른 경로가 서명 불일치로 거부하면 webauthn4j도 같은 예외(BadSignatureException)로 거부해야 합니다.
+ */
+class FastAssertionVerifierDifferentialTest {
+
+    private static final String OTHER_ORIGIN = "https://evil.example";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final WebAuthnManager webAuthnManager = WebAuthnManager.createNonStrictWebAuthnManager();
+    private final WebAuthnConfig webAuthnConfig = TestAuthenticator.webAuthnConfig();
+    private final FastAssertionVerifier fast = new FastAssertionVerifier(new FastVerifyConfig(), webAuthnConfig);
+    private final SplittableRandom random = new SplittableRandom(21);
+
+    private byte[] challenge;
+    private byte[] rpIdHash;
+
+    @BeforeEach
+    void setUp() {
+        challenge = new byte[32];
+        random.nextBytes(challenge);
+        rpIdHash = sha256(TestAuthenticator.RP_ID.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void validAssertionIsVerifiedByBothPaths(KeyType type) throws Exception {
+        Key key = Key.generate(type);
+        Assertion valid = key.sign(authenticatorData(rpIdHash, 0x05, 1), clientData(TestAuthenticator.ORIGIN, ""));
+
+        VerifiedAssertion result = fast(key, valid, challenge, 0);
+        assertNotNull(result);
+        assertEquals(1, result.signCount());
+        assertTrue(result.userVerified());
+        assertNotNull(full(key, valid, challenge, 0));
+    }
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void flags(KeyType type) throws Exception {
+        Key key = Key.generate(type);
+        int fastAccepted = 0;
+        for (int flags = 0; flags < 256; flags++) {
+            Assertion assertion = key.sign(authenticatorData(rpIdHash, flags, 1),
+                    clientData(TestAuthenticator.ORIGIN, ""));
+            if (compare("flags " + Integer.toHexString(flags), key, assertion, challenge, 0)) {
+                fastAccepted++;
+                assertTrue((flags & 0x01) != 0, "accepted without user presence");
+            }
+        }
+        assertTrue(fastAccepted > 0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void rpIdHash(KeyType type) throws Exception {
+        Key key = Key.generate(type);
+        for (int i = 0; i < rpIdHash.length; i++) {
+            byte[] hash = rpIdHash.clone();
+            hash[i] ^= (byte) (1 << random.nextInt(8));
+            assertRejected("rpIdHash byte " + i, key,
+                    key.sign(authenticatorData(hash, 0x05, 1), clientData(TestAuthenticator.ORIGIN, "")), challenge, 0);
+        }
+        byte[] other = sha256("example.com".getBytes(StandardCharsets.UTF_8));
+        assertRejected("other rpId", key,
+                key.sign(authenticatorData(other, 0x05, 1), clientData(TestAuthenticator.ORIGIN, "")), challenge, 0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void clientData(KeyType type) throws Exception {
+        Key key = Key.generate(type);
+        byte[] authenticatorData = authenticatorData(rpIdHash, 0x05, 1);
+        for (String origin : new String[]{OTHER_ORIGIN, TestAuthenticator.ORIGIN + "/", "https://localhost:8080",
+                "http://localhost", "HTTP://localhost:8080", "http://localhost:8080.evil.example"}) {
+            compare("origin " + origin, key, key.sign(authenticatorData, clientData(origin, "")), challenge, 0);
+        }
+        assertRejected("other origin", key, key.sign(authenticatorData, clientData(OTHER_ORIGIN, "")), challenge, 0);
+
+        byte[] otherChallenge = new byte[challenge.length];
+        random.nextBytes(otherChallenge);
+        assertRejected("other challenge", key,
+                key.sign(authenticatorData, clientData(TestAuthenticator.ORIGIN, "")), otherChallenge, 0);
+        assertRejected("create type", key, key.sign(authenticatorData, json("webauthn.create",
+                ENCODER.encodeToString(challenge), TestAuthenticator.ORIGIN, "")), challenge, 0);
+
+        String[] extras = {
+                ",\"crossOrigin\":false", ",\"crossOrigin\":null", ",\"crossOrigin\":true",
+                ",\"crossOrigin\":true,\"topOrigin\":\"" + OTHER_ORIGIN + "\"",
+                ",\"topOrigin\":\"" + TestAuthenticator.ORIGIN + "\"", ",\"topOrigin\":null",
+                ",\"tokenBinding\":{\"status\":\"present\",\"id\":\"AAAA\"}", ",\"tokenBinding\":null",
+                ",\"origin\":\"" + OTHER_ORIGIN + "\"", ",\"challenge\":\"AAAA\"", ",\"type\":\"webauthn.get\"",
+                ",\"other\":1"
+        };
+        for (String extra : extras) {
+            boolean accepted = compare("client data " + extra, key,
+                    key.sign(authenticatorData, clientData(TestAuthenticator.ORIGIN, extra)), challenge, 0);
+            // 빠른 경로 문서: crossOrigin=true, topOrigin, tokenBinding 값, 중복 필수 키, 숫자는 항상 webauthn4j로 넘김
+            if (!extra.equals(",\"crossOrigin\":false") && !extra.equals(",\"crossOrigin\":null")
+                    && !extra.equals(",\"topOrigin\":null") && !extra.equals(",\"tokenBinding\":null")) {
+                assertFalse(accepted, "fast path accepted client data " + extra);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void counter(KeyType type) throws Exception {
+        Key key = Key.generate(type);
+        long[] stored = {0, 1, 5, 0xFFFF_FFFEL, 0xFFFF_FFFFL};
+        for (long storedSignCount : stored) {
+            for (long delta : new long[]{-2, -1, 0, 1, 2}) {
+                long signCount = storedSignCount + delta;
+                if (signCount < 0 || signCount > 0xFFFF_FFFFL) {
+                    continue;
+                }
+                Assertion assertion = key.sign(authenticatorData(rpIdHash, 0x05, signCount),
+                        clientData(TestAuthenticator.ORIGIN, ""));
+                boolean accepted = compare("sign count " + signCount + " after " + storedSignCount, key, assertion,
+                        challenge, storedSignCount);
+                if (signCount <= storedSignCount && storedSignCount > 0) {
+                    assertFalse(accepted, "fast path accepted sign count " + signCount + " after " + storedSignCount);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void bitFlips(KeyType type) throws Exception {
+        Key key = Key.generate(type);
+        Assertion valid = key.sign(authenticatorData(rpIdHash, 0x05, 1), clientData(TestAuthenticator.ORIGIN, ""));
+
+        for (int bit = 0; bit < valid.signature().length * 8; bit++) {
+            assertRejected("signature bit " + bit, key,
+                    valid.withSignature(flip(valid.signature(), bit)), challenge, 0);
+        }
+        for (int bit = 0; bit < valid.authenticatorData().length * 8; bit++) {
+            assertRejected("authenticator data bit " + bit, key,
+                    valid.withAuthenticatorData(flip(valid.authenticatorData(), bit)), challenge, 0);
+        }
+        for (int bit = 0; bit < valid.clientDataJSON().length * 8; bit++) {
+            assertRejected("client data bit " + bit, key,
+                    valid.withClientDataJSON(flip(valid.clientDataJSON(), bit)), challenge, 0);
+        }
+        assertRejected("truncated signature", key,
+                valid.withSignature(Arrays.copyOf(valid.signature(), valid.signature().length - 1)), challenge, 0);
+        assertRejected("empty signature", key, valid.withSignature(new byte[0]), challenge, 0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(KeyType.class)
+    void signatureMismatchIsRejectedWithoutFallback(KeyType type) throws Exception {
+        Key key = Key.generate(type);
+        Assertion valid = key.sign(authenticatorData(rpIdHash, 0x05, 1), clientData(TestAuthenticator.ORIGIN, ""));
+        long fallbacks = fast.getFallbackCount();
+        long rejectedBefore = fast.getRejectedCount();
+
+        for (Assertion forged : new Assertion[]{
+                valid.withSignature(flip(valid.signature(), 3)),
+                valid.withSignature(Arrays.copyOf(valid.signature(), valid.signature().length - 1)),
+                valid.withSignature(new byte[0]),
+                Key.generate(type).sign(valid.authenticatorData(), valid.clientDataJSON())}) {
+            BadSignatureException rejected = assertThrows(BadSignatureException.class, () -> fast.verify(
+                    key.material(), forged.authenticatorData(), forged.clientDataJSON(), forged.signature(),
+                    challenge, 0));
+            RuntimeException expected = fullFailure(key, forged, challenge, 0);
+            assertInstanceOf(BadSignatureException.class, expected);
+            assertEquals(expected.getMessage(), rejected.getMessage());
+        }
+        assertEquals(fallbacks, fast.getFallbackCount());
+        assertEquals(rejectedBefore + 4, fast.getRejectedCount());
+    }
+
+    /**
+     * 빠른 경로가 통과시키면 webauthn4j도 통과시켜야 하고, 결과 값이 같아야 합니다.
+     *
+     * @return 빠른 경로가 통과시켰으면 true
+     */
+    private boolean compare(String name, Key key, Assertion assertion, byte[] challenge, long storedSignCount) {
+        VerifiedAssertion fastResult = fast(key, assertion, challenge, storedSignCount);
+        AuthenticationData fullResult = full(key, assertion, challenge, storedSignCount);
+        if (fastResult == null) {
+            return false;
+        }
+        assertNotNull(fullResult, name + ": fast path accepted an assertion webauthn4j rejected");
+        assertEquals(fullResult.getAuthenticatorData().getSignCount(), fastResult.signCount(), name);
+        assertEquals(fullResult.getAuthenticatorData().isFlagUV(), fastResult.userVerified(), name);
+        return true;
+    }
+
+    // 비교 대상 자체가 잘못 만들어지지 않았는지도 확인: webauthn4j가 거부해야 하는 입력
+    private void assertRejected(String name, Key key, Assertion assertion, byte[] challenge, long storedSignCount) {
+        assertNull(full(key, assertion, challenge, storedSignCount), name + ": webauthn4j accepted");
+        assertNull(fast(key, assertion, challenge, storedSignCount), name + ": fast path accepted");
+    }
+
+    /**
+     * @return 빠른 경로가 통과시킨 결과, webauthn4j로 넘겼거나 서명 불일치로 거부했으면 null
+     */
+    private VerifiedAssertion fast(Key key, Assertion assertion, byte[] challenge, long storedSignCount) {
+        try {
+            return fast.verify(key.material(), assertion.authenticatorData(), assertion.clientDataJSON(),
+                    assertion.signature(), challenge, storedSignCount);
+        } catch (BadSignatureException e) {
+            // 서명 외의 검사를 통과했으므로 webauthn4j도 서명에서 거부해야 함
+            assertInstanceOf(BadSignatureException.class, fullFailure(key, assertion, challenge, storedSignCount));
+            return null;
+        }
+    }
+
+    private AuthenticationData full(Key key, Assertion assertion, byte[] challenge, long storedSignCount) {
+        try {
+            return verifyFull(key, assertion, challenge, storedSignCount);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private RuntimeException fullFailure(Key key, Assertion assertion, byte[] challenge, long storedSignCount) {
+        try {
+            verifyFull(key, assertion, challenge, storedSignCount);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private AuthenticationData verifyFull(Key key, Assertion assertion, byte[] challenge, long storedSignCount) {
+        AuthenticationData data = webAuthnManager.parse(new AuthenticationRequest(
+                key.credentialId(), null, assertion.authenticatorData(), assertion.clientDataJSON(), null,
+                assertion.signature()));
+        webAuthnManager.verify(data, new AuthenticationParameters(
+                webAuthnConfig.createServerProperty(challenge),
+                new AuthenticatorImpl(key.material().attestedCredentialData(), null, storedSignCount),
+                null,
+                false
+        ));
+        return data;
+    }
+
+    private byte[] clientData(String origin, String extra) {
+        return json("webauthn.get", ENCODER.encodeToString(challenge), origin, extra);
+    }
+
+    private static byte[] json(String type, String challenge, String origin, String extra) {
+        return ("{\"type\":\"" + type + "\",\"challenge\":\"" + challenge + "\",\"origin\":\"" + origin + "\"" + extra + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] authenticatorData(byte[] rpIdHash, int flags, long signCount) {
+        return ByteBuffer.allocate(37)
+                .put(rpIdHash)
+                .put((byte) flags)
+                .putInt((int) signCount)
+                .array();
+    }
+
+    private static byte[] flip(byte[] value, int bit) {
+        byte[] copy = value.clone();
+        copy[bit / 8] ^= (byte) (1 << (bit % 8));
+        return copy;
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    enum KeyType {
+        ES256, ED25519
+    }
+
+    private record Key(KeyPair keyPair, String signatureAlgorithm, CredentialMaterial material, byte[] credentialId) {
+
+        static Key generate(KeyType type) throws GeneralSecurityException {
+            byte[] credentialId = new byte[16];
+            new SplittableRandom().nextBytes(credentialId);
+            KeyPair keyPair;
+            COSEKey coseKey;
+            String signatureAlgorithm;
+            if (type == KeyType.ES256) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                keyPair = generator.generateKeyPair();
+                ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+                coseKey = new EC2COSEKey(null, COSEAlgorithmIdentifier.ES256, null, Curve.SECP256R1,
+                        coordinate(publicKey.getW().getAffineX().toByteArray()),
+                        coordinate(publicKey.getW().getAffineY().toByteArray()));
+                signatureAlgorithm = "SHA256withECDSA";
+            } else {
+                keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                byte[] spki = keyPair.getPublic().getEncoded();
+                // SubjectPublicKeyInfo 뒤 32바이트가 raw 공개키
+                byte[] x = Arrays.copyOfRange(spki, spki.length - 32, spki.length);
+                coseKey = new EdDSACOSEKey(null, COSEAlgorithmIdentifier.EdDSA, null, Curve.ED25519, x, null);
+                signatureAlgorithm = "Ed25519";
+            }
+            CredentialMaterial material = new CredentialMaterial(
+                    new AttestedCredentialData(AAGUID.ZERO, credentialId, coseKey),
+                    coseKey, keyPair.getPublic(), AAGUID.ZERO);
+            return new Key(keyPair, signatureAlgorithm, material, credentialId);
+        }
+
+        Assertion sign(byte[] authenticatorData, byte[] clientDataJSON) throws GeneralSecurityException {
+            Signature signer = Signature.getInstance(signatureAlgorithm);
+            signer.initSign(keyPair.getPrivate());
+            signer.update(authenticatorData);
+            signer.update(sha256(clientDataJSON));
+            return new Assertion(authenticatorData, clientDataJSON, signer.sign());
+        }
+
+        // BigInteger 부호 바이트를 떼고 32바이트로 맞춤
+        private static byte[] coordinate(byte[] value) {
+            byte[] coordinate = new byte[32];
+            int length = Math.min(value.length, 32);
+            System.arraycopy(value, value.length - length, coordinate, 32 - length, length);
+            return coordinate;
+        }
+    }
+
+    private record Assertion(byte[] authenticatorData, byte[] clientDataJSON, byte[] signature) {
+
+        Assertion withSignature(byte[] value) {
+            return new Assertion(authenticatorData, clientDataJSON, value);
+        }
+
+        Assertion withAuthenticatorData(byte[] value) {
+            return new Assertion(value, clientDataJSON, signature);
+        }
+
+        Assertion withClientDataJSON(byte[] value) {
+            return new Assertion(authenticatorData, value, signature);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.passkey.domain.auth.service;
+
+import com.example.passkey.domain.auth.dto.request.AuthenticationFinishRequest;
+import com.example.passkey.domain.auth.dto.request.RegistrationFinishRequest;
+import com.example.passkey.domain.credential.cache.CredentialMaterialCache;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.AttestationConfig;
+import com.example.passkey.global.config.CredentialCacheConfig;
+import com.example.passkey.global.config.FastVerifyConfig;
+import com.example.passkey.global.config.WebAuthnConfig;
+import com.example.passkey.global.metadata.MetadataService;
+import com.webauthn4j.data.AttestationConveyancePreference;
+import com.webauthn4j.data.AuthenticatorAssertionResponse;
+import com.webauthn4j.data.AuthenticatorAttestationResponse;
+import com.webauthn4j.data.PublicKeyCredential;
+import com.webauthn4j.data.PublicKeyCredentialCreationOptions;
+import com.webauthn4j.data.PublicKeyCredentialParameters;
+import com.webauthn4j.data.PublicKeyCredentialRequestOptions;
+import com.webauthn4j.data.PublicKeyCredentialRpEntity;
+import com.webauthn4j.data.PublicKeyCredentialType;
+import com.webauthn4j.data.PublicKeyCredentialUserEntity;
+import com.webauthn4j.data.UserVerificationRequirement;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
+import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.test.authenticator.webauthn.PackedAuthenticator;
+import com.webauthn4j.test.authenticator.webauthn.WebAuthnAuthenticatorAdaptor;
+import com.webauthn4j.test.client.ClientPlatform;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * webauthn4j-test 에뮬레이터(packed 인증기)로 등록/인증 요청을 만드는 테스트용 인증기
+ * 인스턴스는 스레드 안전하지 않으므로 스레드마다 하나씩 사용합니다.
+ */
+final class TestAuthenticator {
+
+    static final String RP_ID = "localhost";
+    static final String ORIGIN = "http://localhost:8080";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final ClientPlatform clientPlatform;
+    private final COSEAlgorithmIdentifier algorithm;
+    private final UUID userId = UUID.randomUUID();
+    private final String username;
+
+    TestAuthenticator(String username, COSEAlgorithmIdentifier algorithm) {
+        this.username = username;
+        this.algorithm = algorithm;
+        this.clientPlatform = new ClientPlatform(new Origin(ORIGIN),
+                new WebAuthnAuthenticatorAdaptor(new PackedAuthenticator()));
+    }
+
+    UUID userId() {
+        return userId;
+    }
+
+    String username() {
+        return username;
+    }
+
+    RegistrationFinishRequest register(byte[] challenge) {
+        return register(challenge, AttestationConveyancePreference.NONE);
+    }
+
+    /**
+     * @param conveyance DIRECT면 packed attestation(x5c 포함)을 만듦
+     */
+    RegistrationFinishRequest register(byte[] challenge, AttestationConveyancePreference conveyance) {
+        PublicKeyCredentialCreationOptions options = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(RP_ID, "Passkey Test"),
+                // 서버와 같이 user.id는 사용자 id 문자열
+                new PublicKeyCredentialUserEntity(userId.toString().getBytes(StandardCharsets.UTF_8), username, username),
+                new DefaultChallenge(challenge),
+                List.of(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, algorithm)),
+                60_000L,
+                null,
+                null,
+                conveyance,
+                null
+        );
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential =
+                clientPlatform.create(options);
+
+        String credentialId = ENCODER.encodeToString(credential.getRawId());
+        return new RegistrationFinishRequest(
+                username,
+                credentialId,
+                credentialId,
+                new RegistrationFinishRequest.AuthenticatorResponse(
+                        ENCODER.encodeToString(credential.getResponse().getClientDataJSON()),
+                        ENCODER.encodeToString(credential.getResponse().getAttestationObject()),
+                        List.of("internal")
+                ),
+                "public-key"
+        );
+    }
+
+    /**
+     * discoverable credential로 assertion을 만듭니다. (allowCredentials 없음)
+     *
+     * @param handle start 응답의 challengeHandle (SEALED 모드면 null)
+     */
+    AuthenticationFinishRequest authenticate(byte[] challenge, String handle) {
+        PublicKeyCredentialRequestOptions options = new PublicKeyCredentialRequestOptions(
+                new DefaultChallenge(challenge),
+                60_000L,
+                RP_ID,
+                null,
+                UserVerificationRequirement.PREFERRED,
+                null
+        );
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential =
+                clientPlatform.get(options);
+
+        AuthenticatorAssertionResponse response = credential.getResponse();
+        String credentialId = ENCODER.encodeToString(credential.getRawId());
+        return new AuthenticationFinishRequest(
+                credentialId,
+                credentialId,
+                new AuthenticationFinishRequest.AuthenticatorAssertionResponse(
+                        ENCODER.encodeToString(response.getClientDataJSON()),
+                        ENCODER.encodeToString(response.getAuthenticatorData()),
+                        ENCODER.encodeToString(response.getSignature()),
+                        response.getUserHandle() != null ? ENCODER.encodeToString(response.getUserHandle()) : null
+                ),
+                "public-key",
+                handle
+        );
+    }
+
+    static WebAuthnConfig webAuthnConfig() {
+        WebAuthnConfig config = new WebAuthnConfig();
+        ReflectionTestUtils.setField(config, "rpId", RP_ID);
+        ReflectionTestUtils.setField(config, "rpName", "Passkey Test");
+        ReflectionTestUtils.setField(config, "origin", ORIGIN);
+        return config;
+    }
+
+    /**
+     * Spring 컨텍스트 없이 조립한 검증기 (attestation 정책 NONE)
+     */
+    static WebAuthnVerifier verifier(ChallengeService challengeService) {
+        return verifier(challengeService, new AttestationConfig());
+    }
+
+    /**
+     * Spring 컨텍스트 없이 조립한 검증기 (MDS blob 없음: 색인이 비어 있음)
+     */
+    static WebAuthnVerifier verifier(ChallengeService challengeService, AttestationConfig attestationConfig) {
+        WebAuthnConfig webAuthnConfig = webAuthnConfig();
+        AttestationTrustVerifier attestationTrustVerifier = new AttestationTrustVerifier(attestationConfig,
+                new MetadataService(attestationConfig, WorkerThreads.platform()));
+        return new WebAuthnVerifier(
+                WebAuthnConfig.createWebAuthnManager(attestationConfig.getPolicy(), attestationTrustVerifier),
+                webAuthnConfig,
+                challengeService,
+                new CredentialMaterialCache(new CredentialCacheConfig()),
+                new FastAssertionVerifier(new FastVerifyConfig(), webAuthnConfig),
+                attestationTrustVerifier);
+    }
+}
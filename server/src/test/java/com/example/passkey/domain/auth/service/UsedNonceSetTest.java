@@ -0,0 +1,67 @@
+package com.example.passkey.domain.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsedNonceSetTest {
+
+    private static final long LIFETIME = 1_000;
+    private static final long TICK = 100;
+
+    @Test
+    void nonceIsAcceptedOnlyOnce() {
+        UsedNonceSet set = new UsedNonceSet(LIFETIME, TICK);
+        assertTrue(set.markUsed(42, 5_000));
+        assertFalse(set.markUsed(42, 5_000));
+        // 같은 tick 안의 다른 발급 시각도 같은 버킷
+        assertFalse(set.markUsed(42, 5_050));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void zeroFingerprintIsTracked() {
+        UsedNonceSet set = new UsedNonceSet(LIFETIME, TICK);
+        assertTrue(set.markUsed(0, 5_000));
+        assertFalse(set.markUsed(0, 5_000));
+    }
+
+    @Test
+    void growsWithoutLosingEntries() {
+        UsedNonceSet set = new UsedNonceSet(LIFETIME, TICK);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] nonces = new long[50_000];
+        for (int i = 0; i < nonces.length; i++) {
+            nonces[i] = random.nextLong();
+            assertTrue(set.markUsed(nonces[i], 5_000 + i % TICK));
+        }
+        for (long nonce : nonces) {
+            assertFalse(set.markUsed(nonce, 5_000));
+        }
+        assertEquals(nonces.length, set.size());
+    }
+
+    @Test
+    void bucketIsClearedWhenReusedForLaterTick() {
+        UsedNonceSet set = new UsedNonceSet(LIFETIME, TICK);
+        int buckets = (int) (LIFETIME / TICK) + 2;
+        assertTrue(set.markUsed(42, 5_000));
+
+        // 한 바퀴 뒤 같은 버킷: 이전 tick의 기록은 challenge 유효 시간이 지났으므로 비움
+        assertTrue(set.markUsed(42, 5_000 + buckets * TICK));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void bucketsOfDifferentTicksAreIndependent() {
+        UsedNonceSet set = new UsedNonceSet(LIFETIME, TICK);
+        assertTrue(set.markUsed(42, 5_000));
+        assertTrue(set.markUsed(42, 5_000 + TICK));
+        assertFalse(set.markUsed(42, 5_000));
+        assertEquals(2, set.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.passkey.domain.credential.key;
+
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.authenticator.Curve;
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.data.attestation.authenticator.EdDSACOSEKey;
+import com.webauthn4j.data.attestation.authenticator.RSACOSEKey;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicKeyCodecTest {
+
+    @Test
+    void ec2P256RoundTrip() throws Exception {
+        KeyPair keyPair = ecKeyPair("secp256r1");
+
+        assertRoundTrip(ec2(keyPair, COSEAlgorithmIdentifier.ES256, Curve.SECP256R1, 32), keyPair);
+    }
+
+    @Test
+    void ec2P384RoundTrip() throws Exception {
+        KeyPair keyPair = ecKeyPair("secp384r1");
+
+        assertRoundTrip(ec2(keyPair, COSEAlgorithmIdentifier.ES384, Curve.SECP384R1, 48), keyPair);
+    }
+
+    @Test
+    void rsaModulusWithLeadingZeroRoundTrip() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        // 최상위 비트가 켜진 modulus는 toByteArray()에 부호 바이트 0x00이 붙어 257바이트가 됨
+        byte[] n = publicKey.getModulus().toByteArray();
+        assertEquals(0, n[0]);
+        COSEKey coseKey = new RSACOSEKey(null, COSEAlgorithmIdentifier.RS256, null, n,
+                publicKey.getPublicExponent().toByteArray());
+
+        byte[] encoded = PublicKeyCodec.encode(coseKey);
+
+        // 저장 시 부호 바이트를 떼어 256바이트만 기록
+        assertEquals(256, Short.toUnsignedInt(ByteBuffer.wrap(encoded, 5, 2).getShort()));
+        PublicKeyCodec.DecodedPublicKey decoded = PublicKeyCodec.decode(encoded);
+        assertEquals(keyPair.getPublic(), decoded.publicKey());
+        RSACOSEKey decodedKey = (RSACOSEKey) decoded.coseKey();
+        assertEquals(publicKey.getModulus(), new BigInteger(1, decodedKey.getN()));
+        assertEquals(COSEAlgorithmIdentifier.RS256, decodedKey.getAlgorithm());
+    }
+
+    @Test
+    void ed25519RoundTrip() throws Exception {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        byte[] spki = keyPair.getPublic().getEncoded();
+        byte[] x = Arrays.copyOfRange(spki, spki.length - 32, spki.length);
+
+        assertRoundTrip(new EdDSACOSEKey(null, COSEAlgorithmIdentifier.EdDSA, null, Curve.ED25519, x, null), keyPair);
+    }
+
+    @Test
+    void legacyCborRowIsReadAndMigrated() throws Exception {
+        KeyPair keyPair = ecKeyPair("secp256r1");
+        COSEKey coseKey = ec2(keyPair, COSEAlgorithmIdentifier.ES256, Curve.SECP256R1, 32);
+        byte[] legacy = PublicKeyCodec.encodeCbor(coseKey);
+
+        // 마이그레이터의 SQL 조건(첫 바이트 >= 0xA0)에 걸리는 행
+        assertTrue(Byte.toUnsignedInt(legacy[0]) >= 0xA0);
+        assertFalse(PublicKeyCodec.isCompact(legacy));
+        assertEquals(keyPair.getPublic(), PublicKeyCodec.decode(legacy).publicKey());
+
+        byte[] migrated = PublicKeyCodec.migrate(legacy);
+
+        assertTrue(PublicKeyCodec.isCompact(migrated));
+        assertTrue(Byte.toUnsignedInt(migrated[0]) < 0xA0);
+        assertArrayEquals(PublicKeyCodec.encode(coseKey), migrated);
+        assertEquals(keyPair.getPublic(), PublicKeyCodec.decode(migrated).publicKey());
+        assertSame(migrated, PublicKeyCodec.migrate(migrated));
+    }
+
+    @Test
+    void corruptedCompactKeyIsRejected() throws Exception {
+        KeyPair keyPair = ecKeyPair("secp256r1");
+        byte[] encoded = PublicKeyCodec.encode(ec2(keyPair, COSEAlgorithmIdentifier.ES256, Curve.SECP256R1, 32));
+        // 비압축 point 표시(0x04) 자리
+        encoded[6] = 0x02;
+
+        assertThrows(IllegalArgumentException.class, () -> PublicKeyCodec.decode(encoded));
+    }
+
+    private static void assertRoundTrip(COSEKey coseKey, KeyPair keyPair) {
+        byte[] encoded = PublicKeyCodec.encode(coseKey);
+
+        assertTrue(PublicKeyCodec.isCompact(encoded));
+        PublicKeyCodec.DecodedPublicKey decoded = PublicKeyCodec.decode(encoded);
+        assertEquals(keyPair.getPublic(), decoded.publicKey());
+        assertEquals(coseKey.getAlgorithm(), decoded.coseKey().getAlgorithm());
+        // webauthn4j 검증에 넘기는 COSE 키도 같은 공개키를 만듦
+        assertEquals(keyPair.getPublic(), decoded.coseKey().getPublicKey());
+    }
+
+    private static KeyPair ecKeyPair(String curve) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+        return generator.generateKeyPair();
+    }
+
+    private static EC2COSEKey ec2(KeyPair keyPair, COSEAlgorithmIdentifier algorithm, Curve curve, int length) {
+        ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+        return new EC2COSEKey(null, algorithm, null, curve,
+                coordinate(publicKey.getW().getAffineX(), length),
+                coordinate(publicKey.getW().getAffineY(), length));
+    }
+
+    // BigInteger 부호 바이트를 떼고 좌표 길이로 맞춤
+    private static byte[] coordinate(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] coordinate = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, coordinate, length - copy, copy);
+        return coordinate;
+    }
+}
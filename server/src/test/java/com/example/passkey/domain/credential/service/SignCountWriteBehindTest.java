@@ -0,0 +1,137 @@
+package com.example.passkey.domain.credential.service;
+
+import com.example.passkey.domain.credential.entity.Credential;
+import com.example.passkey.domain.credential.repository.CredentialRepository;
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.ReplicaConfig;
+import com.example.passkey.global.config.SignCountConfig;
+import com.example.passkey.global.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SignCountWriteBehindTest {
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private SignCountWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void pendingValueIsUsedBeforeFlush() {
+        writeBehind = writeBehind(5_000);
+        Credential stale = credential(5);
+
+        writeBehind.record(credential(5), 10);
+        assertEquals(10, writeBehind.currentSignCount(stale));
+        assertEquals(1, writeBehind.getPendingCount());
+    }
+
+    @Test
+    void flushedValueStaysAsFloorForCredentialReadBeforeFlush() {
+        writeBehind = writeBehind(5_000);
+        // flush가 커밋되기 전에 읽은 credential
+        Credential stale = credential(5);
+
+        writeBehind.record(credential(5), 10);
+        writeBehind.flush();
+
+        assertEquals(1, jdbcTemplate.batches.size());
+        assertEquals(0, writeBehind.getPendingCount());
+        assertEquals(10, writeBehind.currentSignCount(stale));
+        // DB 값이 더 크면 DB 값
+        assertEquals(12, writeBehind.currentSignCount(credential(12)));
+    }
+
+    @Test
+    void expiredFloorIsDroppedOnNextFlush() {
+        writeBehind = writeBehind(0);
+
+        writeBehind.record(credential(5), 10);
+        writeBehind.flush();
+        assertEquals(5, writeBehind.currentSignCount(credential(5)));
+
+        writeBehind.flush();
+        assertEquals(0, writeBehind.getFlushedFloorCount());
+    }
+
+    @Test
+    void floorCoversReplicaLag() {
+        ReplicaConfig replica = new ReplicaConfig();
+        replica.setEnabled(true);
+        replica.setMaxLagMillis(60_000);
+        writeBehind = writeBehind(0, replica);
+        // replica에서 읽은 이전 값
+        Credential stale = credential(5);
+
+        writeBehind.record(credential(5), 10);
+        writeBehind.flush();
+        assertEquals(10, writeBehind.currentSignCount(stale));
+    }
+
+    @Test
+    void writeThroughKeepsSavedValueAsFloor() {
+        SignCountConfig config = new SignCountConfig();
+        config.setWriteBehind(false);
+        List<Credential> saved = new ArrayList<>();
+        writeBehind = new SignCountWriteBehind(config, savingRepository(saved), jdbcTemplate, ShardRouter.single(),
+                new ReplicaConfig(), WorkerThreads.platform());
+        Credential stale = credential(5);
+
+        writeBehind.record(credential(5), 10);
+        assertEquals(1, saved.size());
+        assertEquals(10, writeBehind.currentSignCount(stale));
+    }
+
+    private SignCountWriteBehind writeBehind(long flushedFloorMillis) {
+        return writeBehind(flushedFloorMillis, new ReplicaConfig());
+    }
+
+    private SignCountWriteBehind writeBehind(long flushedFloorMillis, ReplicaConfig replica) {
+        SignCountConfig config = new SignCountConfig();
+        // 주기 flush가 끼어들지 않도록 충분히 길게
+        config.setFlushIntervalMillis(3_600_000);
+        config.setFlushedFloorMillis(flushedFloorMillis);
+        return new SignCountWriteBehind(config, null, jdbcTemplate, ShardRouter.single(), replica,
+                WorkerThreads.platform());
+    }
+
+    // save만 기록하는 저장소 (나머지 메서드는 호출되지 않음)
+    private static CredentialRepository savingRepository(List<Credential> saved) {
+        return (CredentialRepository) Proxy.newProxyInstance(CredentialRepository.class.getClassLoader(),
+                new Class<?>[]{CredentialRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("save")) {
+                        saved.add((Credential) args[0]);
+                        return args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Credential credential(long signCount) {
+        return new Credential("credential-1", new byte[0], signCount, null);
+    }
+
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<List<?>> batches = new ArrayList<>();
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            batches.add(new ArrayList<>(batchArgs));
+            return new int[][]{new int[batchArgs.size()]};
+        }
+    }
+}
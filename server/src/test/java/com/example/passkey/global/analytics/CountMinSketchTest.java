@@ -0,0 +1,60 @@
+package com.example.passkey.global.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 2048;
+
+    @Test
+    void exactWhenThereAreNoCollisions() {
+        CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+        long hash = Hashing.hash("only");
+        for (int i = 1; i <= 1_000; i++) {
+            assertEquals(i, sketch.add(hash));
+        }
+    }
+
+    @Test
+    void neverUnderestimatesAndStaysWithinBound() {
+        CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+        Map<String, Integer> actual = new HashMap<>();
+        Map<String, Integer> estimates = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+        int total = 500_000;
+        for (int i = 0; i < total; i++) {
+            // 앞쪽 key일수록 자주 나오는 분포
+            String key = "key-" + (int) (20_000 * Math.pow(random.nextDouble(), 3));
+            actual.merge(key, 1, Integer::sum);
+            estimates.put(key, sketch.add(Hashing.hash(key)));
+        }
+
+        double bound = Math.E / WIDTH * total;
+        int outside = 0;
+        for (Map.Entry<String, Integer> entry : actual.entrySet()) {
+            int estimate = estimates.get(entry.getKey());
+            assertTrue(estimate >= entry.getValue(), entry.getKey() + " underestimated");
+            if (estimate - entry.getValue() > bound) {
+                outside++;
+            }
+        }
+        // 확률 1 - e^-4 (98%) 이상이 오차 한도 안
+        assertTrue(outside <= actual.size() * Math.exp(-DEPTH), outside + " of " + actual.size() + " outside bound");
+    }
+
+    @Test
+    void rejectsInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, WIDTH));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(DEPTH, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(DEPTH, WIDTH, new int[WIDTH]));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.passkey.global.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    private static final int PRECISION = 14;
+    // 표준 오차 1.04 / sqrt(2^14) = 0.81%의 약 4배
+    private static final double TOLERANCE = 0.033;
+
+    @Test
+    void estimatesLargeCardinalityWithinError() {
+        for (int cardinality : new int[]{10_000, 200_000, 1_000_000}) {
+            HyperLogLog hll = new HyperLogLog(PRECISION);
+            for (int i = 0; i < cardinality; i++) {
+                hll.add(Hashing.hash(new UUID(cardinality, i)));
+            }
+            assertWithin(cardinality, hll.estimate());
+        }
+    }
+
+    @Test
+    void smallCardinalityIsNearlyExact() {
+        HyperLogLog hll = new HyperLogLog(PRECISION);
+        for (int i = 0; i < 100; i++) {
+            hll.add(Hashing.hash("user-" + i));
+        }
+        assertTrue(Math.abs(hll.estimate() - 100) <= 1, "estimate " + hll.estimate());
+    }
+
+    @Test
+    void duplicatesDoNotChangeEstimate() {
+        HyperLogLog hll = new HyperLogLog(PRECISION);
+        for (int i = 0; i < 50_000; i++) {
+            hll.add(Hashing.hash("user-" + i));
+        }
+        long estimate = hll.estimate();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 50_000; i++) {
+                hll.add(Hashing.hash("user-" + i));
+            }
+        }
+        assertEquals(estimate, hll.estimate());
+    }
+
+    @Test
+    void mergeIsUnion() {
+        HyperLogLog a = new HyperLogLog(PRECISION);
+        HyperLogLog b = new HyperLogLog(PRECISION);
+        HyperLogLog union = new HyperLogLog(PRECISION);
+        for (int i = 0; i < 100_000; i++) {
+            long hash = Hashing.hash("user-" + i);
+            // 절반씩 겹치게
+            if (i < 60_000) {
+                a.add(hash);
+            }
+            if (i >= 40_000) {
+                b.add(hash);
+            }
+            union.add(hash);
+        }
+        HyperLogLog merged = a.copy();
+        merged.merge(b);
+
+        assertArrayEquals(union.registers(), merged.registers());
+        assertWithin(100_000, merged.estimate());
+        // copy는 원본과 독립
+        assertWithin(60_000, a.estimate());
+    }
+
+    @Test
+    void rejectsInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(10, new byte[512]));
+    }
+
+    private static void assertWithin(long expected, long estimate) {
+        double error = Math.abs(estimate - expected) / (double) expected;
+        assertTrue(error <= TOLERANCE, "estimate " + estimate + " for " + expected + " (error " + error + ")");
+    }
+}
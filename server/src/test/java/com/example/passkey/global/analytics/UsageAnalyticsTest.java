@@ -0,0 +1,61 @@
+package com.example.passkey.global.analytics;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.config.AnalyticsConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UsageAnalyticsTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void snapshotIsOwnerOnlyAndRestored() throws Exception {
+        AnalyticsConfig config = config(root.resolve("analytics").toString());
+        UsageAnalytics analytics = new UsageAnalytics(config);
+        analytics.on(AuthEvent.success(AuthEvent.Type.AUTHENTICATION, UUID.randomUUID(), "AAAA", null, 1, 1000));
+        analytics.shutdown();
+
+        Path snapshot = root.resolve("analytics/usage.snapshot");
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(snapshot)));
+        assertEquals("rwx------",
+                PosixFilePermissions.toString(Files.getPosixFilePermissions(snapshot.getParent())));
+
+        UsageAnalytics restored = new UsageAnalytics(config);
+        try {
+            assertEquals(1L, ((Map<?, ?>) restored.summary().get("activeUsers")).get("1d"));
+        } finally {
+            restored.shutdown();
+        }
+    }
+
+    @Test
+    void enabledAnalyticsRequiresSnapshotDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> new UsageAnalytics(config("")));
+    }
+
+    @Test
+    void refusesSnapshotDirectoryWritableByOthers() throws Exception {
+        Path shared = Files.createDirectory(root.resolve("shared"));
+        Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+        assertThrows(IllegalArgumentException.class, () -> new UsageAnalytics(config(shared.toString())));
+    }
+
+    private static AnalyticsConfig config(String snapshotDir) {
+        AnalyticsConfig config = new AnalyticsConfig();
+        config.setEnabled(true);
+        config.setSnapshotDir(snapshotDir);
+        return config;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.passkey.global.analytics;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.journal.JournalReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class UsageWindowTest {
+
+    private static final String CREDENTIAL_ID = "dGhpcy1pcy1hLWNyZWRlbnRpYWwtaWQ";
+
+    @Test
+    void topCredentialsHoldHashesOnly() throws Exception {
+        UsageWindow window = new UsageWindow(0, 10, 4, 256, 5);
+        for (int i = 0; i < 3; i++) {
+            window.record(AuthEvent.failure(AuthEvent.Type.AUTHENTICATION, CREDENTIAL_ID, 1000));
+        }
+
+        List<Map.Entry<String, Long>> top = window.topCredentials().entries();
+        assertEquals(List.of(Map.entry(JournalReader.credentialIdHash(CREDENTIAL_ID), 3L)), top);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        window.write(new DataOutputStream(bytes));
+        assertFalse(new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1).contains(CREDENTIAL_ID));
+
+        UsageWindow restored = UsageWindow.read(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), 10, 4, 256, 5);
+        assertEquals(top, restored.topCredentials().entries());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.passkey.global.captcha;
+
+import com.example.passkey.global.captcha.RecaptchaService.CaptchaResult;
+import com.example.passkey.global.config.RecaptchaConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecaptchaServiceTest {
+
+    private final RecaptchaConfig config = new RecaptchaConfig();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile double score = 0.9;
+
+    @Test
+    void passingTokenIsSpentOnFirstUse() {
+        RecaptchaService service = service();
+
+        assertEquals(CaptchaResult.PASS, service.verify("token-1", null).block());
+        assertThrows(CaptchaException.class, () -> service.verify("token-1", null).block());
+        assertEquals(1, calls.get());
+        // v2로 다시 보낸 같은 토큰은 캐시 키가 달라 Google이 중복으로 거부
+        assertThrows(CaptchaException.class, () -> service.verify(null, "token-1").block());
+        assertEquals(CaptchaResult.PASS, service.verify("token-2", null).block());
+    }
+
+    @Test
+    void failedVerdictIsServedToRetries() {
+        score = 0.1;
+        RecaptchaService service = service();
+
+        assertEquals(CaptchaResult.REQUIRE_V2, service.verify("token-1", null).block());
+        assertEquals(CaptchaResult.REQUIRE_V2, service.verify("token-1", null).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void tokenIsSpentWithoutVerdictCache() {
+        config.getVerdictCache().setEnabled(false);
+        RecaptchaService service = service();
+
+        assertEquals(CaptchaResult.PASS, service.verify("token-1", null).block());
+        // 캐시가 없으면 Google이 중복 토큰을 거부
+        assertThrows(CaptchaException.class, () -> service.verify("token-1", null).block());
+        assertEquals(2, calls.get());
+    }
+
+    private RecaptchaService service() {
+        config.setEnabled(true);
+        config.getV3().setThreshold(0.5);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        RecaptchaClient client = new RecaptchaClient(WebClient.create(), config, new SimpleMeterRegistry()) {
+            @Override
+            public Mono<RecaptchaResponse> verify(String version, String token, String secretKey) {
+                return Mono.fromSupplier(() -> {
+                    calls.incrementAndGet();
+                    boolean duplicate = seen.contains(token);
+                    seen.add(token);
+                    return duplicate
+                            ? new RecaptchaResponse(false, null, null, null, null, List.of("timeout-or-duplicate"))
+                            : new RecaptchaResponse(true, score, "login", Instant.now(), "localhost", List.of());
+                });
+            }
+        };
+        return new RecaptchaService(config, client, new SimpleMeterRegistry());
+    }
+}
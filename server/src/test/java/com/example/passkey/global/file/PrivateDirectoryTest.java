@@ -0,0 +1,62 @@
+package com.example.passkey.global.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrivateDirectoryTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void createsOwnerOnlyDirectory() throws Exception {
+        Path dir = PrivateDirectory.prepare(root.resolve("a/b").toString(), "test.dir");
+
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(dir)));
+    }
+
+    @Test
+    void rejectsMissingSetting() {
+        assertThrows(IllegalArgumentException.class, () -> PrivateDirectory.prepare(" ", "test.dir"));
+        assertThrows(IllegalArgumentException.class, () -> PrivateDirectory.prepare(null, "test.dir"));
+    }
+
+    @Test
+    void rejectsDirectoryWritableByOthers() throws Exception {
+        Path shared = Files.createDirectory(root.resolve("shared"));
+        Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+        assertThrows(IllegalArgumentException.class, () -> PrivateDirectory.prepare(shared.toString(), "test.dir"));
+
+        Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxr-x---"));
+        assertEquals(shared, PrivateDirectory.prepare(shared.toString(), "test.dir"));
+    }
+
+    @Test
+    void rejectsSymbolicLink() throws Exception {
+        Path target = Files.createDirectory(root.resolve("target"));
+        Path link = Files.createSymbolicLink(root.resolve("link"), target);
+
+        assertThrows(IllegalArgumentException.class, () -> PrivateDirectory.prepare(link.toString(), "test.dir"));
+    }
+
+    @Test
+    void writeReplacesFileWithOwnerOnlyPermissions() throws Exception {
+        Path file = root.resolve("key");
+        PrivateDirectory.write(file, new byte[]{1});
+        PrivateDirectory.write(file, new byte[]{2, 3});
+
+        assertArrayEquals(new byte[]{2, 3}, Files.readAllBytes(file));
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        try (var files = Files.list(root)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.passkey.global.journal;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import com.example.passkey.global.config.JournalConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuthEventJournalTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void longCredentialIdsWithSamePrefixStayDistinct() throws Exception {
+        // 56바이트를 넘는 ID는 예전 형식에서 앞부분만 남아 같은 기록이 되었음
+        byte[] id = new byte[200];
+        Arrays.fill(id, (byte) 7);
+        String first = base64(id);
+        id[199] = 8;
+        String second = base64(id);
+
+        List<AuthEvent> replayed = record(config(), event(first), event(second), event("not base64!"), event(null));
+
+        assertEquals(JournalReader.credentialIdHash(first), replayed.get(0).credentialId());
+        assertEquals(JournalReader.credentialIdHash(second), replayed.get(1).credentialId());
+        assertNotEquals(replayed.get(0).credentialId(), replayed.get(1).credentialId());
+        assertEquals(JournalReader.credentialIdHash("not base64!"), replayed.get(2).credentialId());
+        assertNull(replayed.get(3).credentialId());
+    }
+
+    @Test
+    void segmentDoesNotContainCredentialId() throws Exception {
+        byte[] id = new byte[32];
+        Arrays.fill(id, (byte) 0x5a);
+        JournalConfig config = config();
+        record(config, event(base64(id)));
+
+        try (var files = Files.list(Path.of(config.getDir()))) {
+            for (Path file : files.toList()) {
+                byte[] content = Files.readAllBytes(file);
+                for (int i = 0; i + id.length <= content.length; i++) {
+                    assertFalse(Arrays.equals(content, i, i + id.length, id, 0, id.length), file + " contains the ID");
+                }
+            }
+        }
+    }
+
+    @Test
+    void secondWriterOnSameDirectoryIsRejected() {
+        JournalConfig config = config();
+        AuthEventJournal first = new AuthEventJournal(config);
+        try {
+            assertThrows(IllegalStateException.class, () -> new AuthEventJournal(config));
+        } finally {
+            first.shutdown();
+        }
+        // 앞의 writer가 끝나면 lock이 풀림
+        new AuthEventJournal(config).shutdown();
+    }
+
+    @Test
+    void enabledJournalRequiresDirectory() {
+        JournalConfig config = config();
+        config.setDir("");
+
+        assertThrows(IllegalArgumentException.class, () -> new AuthEventJournal(config));
+    }
+
+    @Test
+    void rollsFullSegmentsAndResumesAfterRestart() throws Exception {
+        JournalConfig config = config();
+        config.setSegmentSizeBytes(4L * JournalSegment.RECORD_LENGTH);  // segment당 기록 3개
+        record(config, events(7));
+
+        assertEquals(List.of(1L, 4L, 7L), firstSequences(config));
+
+        // 재시작하면 마지막 segment의 다음 sequence부터 이어 씀
+        AuthEventJournal restarted = new AuthEventJournal(config);
+        assertEquals(7, restarted.getLastSequence());
+        for (AuthEvent event : events(2)) {
+            restarted.append(event);
+        }
+        restarted.shutdown();
+        assertEquals(9, restarted.getLastSequence());
+
+        List<Long> sequences = new ArrayList<>();
+        assertEquals(9, JournalReader.scan(Path.of(config.getDir()), 0, (sequence, event) -> sequences.add(sequence)));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), sequences);
+        assertEquals(List.of(1L, 4L, 7L), firstSequences(config));
+    }
+
+    @Test
+    void deletesOldestSegmentsBeyondMaxSegments() throws Exception {
+        JournalConfig config = config();
+        config.setSegmentSizeBytes(4L * JournalSegment.RECORD_LENGTH);
+        config.setMaxSegments(2);
+        AuthEventJournal journal = new AuthEventJournal(config);
+        for (AuthEvent event : events(10)) {
+            journal.append(event);
+        }
+        journal.shutdown();
+
+        assertEquals(List.of(7L, 10L), firstSequences(config));
+        List<Long> sequences = new ArrayList<>();
+        JournalReader.scan(Path.of(config.getDir()), 0, (sequence, event) -> sequences.add(sequence));
+        assertEquals(List.of(7L, 8L, 9L, 10L), sequences);
+    }
+
+    private List<AuthEvent> record(JournalConfig config, AuthEvent... events) throws Exception {
+        AuthEventJournal journal = new AuthEventJournal(config);
+        for (AuthEvent event : events) {
+            journal.append(event);
+        }
+        journal.shutdown();
+
+        List<AuthEvent> replayed = new ArrayList<>();
+        JournalReader.scan(Path.of(config.getDir()), 0, (sequence, event) -> replayed.add(event));
+        assertEquals(events.length, replayed.size());
+        return replayed;
+    }
+
+    private JournalConfig config() {
+        JournalConfig config = new JournalConfig();
+        config.setEnabled(true);
+        config.setDir(root.resolve("journal").toString());
+        config.setSegmentSizeBytes(128 * 100);
+        return config;
+    }
+
+    private static List<Long> firstSequences(JournalConfig config) throws Exception {
+        return JournalSegment.list(Path.of(config.getDir())).stream().map(JournalSegment::firstSequenceOf).toList();
+    }
+
+    private static AuthEvent[] events(int count) {
+        AuthEvent[] events = new AuthEvent[count];
+        Arrays.fill(events, event(null));
+        return events;
+    }
+
+    private static AuthEvent event(String credentialId) {
+        return AuthEvent.failure(AuthEvent.Type.AUTHENTICATION, credentialId, 1000);
+    }
+
+    private static String base64(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.passkey.global.journal;
+
+import com.example.passkey.domain.auth.event.AuthEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 작은 segment(기록 4개)로 재시작, 일부만 쓰인 기록, 가득 찬 segment를 확인합니다.
+ */
+class JournalSegmentTest {
+
+    private static final long SEGMENT_SIZE = 5L * JournalSegment.RECORD_LENGTH;
+
+    @TempDir
+    Path dir;
+
+    private final byte[] scratch = new byte[JournalSegment.RECORD_LENGTH];
+
+    @Test
+    void reopenedSegmentResumesAtNextSequence() throws Exception {
+        JournalSegment segment = JournalSegment.create(dir, 1, SEGMENT_SIZE);
+        append(segment, 1, 2);
+        assertEquals(2, segment.force());
+
+        JournalSegment reopened = JournalSegment.openForAppend(segment.file());
+        assertEquals(3, reopened.nextSequence());
+        assertTrue(reopened.append(3, event(3), scratch));
+        reopened.force();
+
+        assertEquals(List.of(1L, 2L, 3L), signCounts(segment.file(), 0));
+        // fromSequence 이후만 전달
+        assertEquals(List.of(3L), signCounts(segment.file(), 3));
+    }
+
+    @Test
+    void crcMismatchEndsSegment() throws Exception {
+        JournalSegment segment = JournalSegment.create(dir, 1, SEGMENT_SIZE);
+        append(segment, 1, 3);
+        segment.force();
+
+        // 두 번째 기록의 signCount 바이트 변경 (crc 불일치)
+        overwrite(segment.file(), 2L * JournalSegment.RECORD_LENGTH + 56, new byte[]{0x7f});
+
+        assertEquals(List.of(1L), signCounts(segment.file(), 0));
+        assertEquals(1, JournalSegment.scan(segment.file(), 0, (sequence, event) -> { }));
+        // 깨진 기록부터 다시 쓰고, 그 뒤에 남아 있던 이전 기록(sequence 3)은 다시 이어지지 않음
+        JournalSegment reopened = JournalSegment.openForAppend(segment.file());
+        assertEquals(2, reopened.nextSequence());
+        assertTrue(reopened.append(2, event(20), scratch));
+        reopened.force();
+        assertEquals(List.of(1L, 20L), signCounts(segment.file(), 0));
+        assertEquals(3, JournalSegment.openForAppend(segment.file()).nextSequence());
+    }
+
+    @Test
+    void tornRecordEndsSegment() throws Exception {
+        JournalSegment segment = JournalSegment.create(dir, 1, SEGMENT_SIZE);
+        append(segment, 1, 3);
+        segment.force();
+
+        // 비정상 종료로 세 번째 기록의 뒷부분이 쓰이지 않은 상태
+        overwrite(segment.file(), 3L * JournalSegment.RECORD_LENGTH + 64, new byte[64]);
+
+        assertEquals(List.of(1L, 2L), signCounts(segment.file(), 0));
+        assertEquals(3, JournalSegment.openForAppend(segment.file()).nextSequence());
+    }
+
+    @Test
+    void fullSegmentRejectsAppend() throws Exception {
+        JournalSegment segment = JournalSegment.create(dir, 1, SEGMENT_SIZE);
+        append(segment, 1, 4);
+
+        assertTrue(segment.isFull());
+        assertFalse(segment.append(5, event(5), scratch));
+        segment.force();
+
+        JournalSegment reopened = JournalSegment.openForAppend(segment.file());
+        assertTrue(reopened.isFull());
+        assertEquals(5, reopened.nextSequence());
+        assertEquals(List.of(1L, 2L, 3L, 4L), signCounts(segment.file(), 0));
+    }
+
+    private void append(JournalSegment segment, long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            assertTrue(segment.append(sequence, event(sequence), scratch));
+        }
+    }
+
+    // signCount에 sequence를 넣어 두고 읽은 순서를 비교
+    private static List<Long> signCounts(Path file, long fromSequence) throws IOException {
+        List<Long> signCounts = new ArrayList<>();
+        JournalSegment.scan(file, fromSequence, (sequence, event) -> signCounts.add(event.signCount()));
+        return signCounts;
+    }
+
+    private static void overwrite(Path file, long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    private static AuthEvent event(long signCount) {
+        return new AuthEvent(AuthEvent.Type.AUTHENTICATION, AuthEvent.Outcome.SUCCESS, 1000, UUID.randomUUID(),
+                null, null, signCount, 1000);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.passkey.global.random;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedSecureRandomTest {
+
+    private static final int CHALLENGE_LENGTH = 32;
+    private static final int CHALLENGES = 1 << 17;  // 4 MiB
+    private static final int THREADS = 8;
+    // 정규 근사에서 우연히 벗어날 확률이 무시할 만한 범위
+    private static final double SIGMAS = 6;
+
+    @Test
+    void bufferedOutputPassesStatisticalChecks() throws Exception {
+        // 작은 블록으로 stripe마다 예비 블록 교체가 수백 번 일어나게
+        try (StripedSecureRandom random = new StripedSecureRandom("DRBG", 4, 4096, 0, WorkerThreads.platform())) {
+            List<byte[]> challenges = generateConcurrently(random);
+
+            long[] histogram = new long[256];
+            long ones = 0;
+            Set<ByteBuffer> seen = new HashSet<>(CHALLENGES * 2);
+            for (byte[] challenge : challenges) {
+                for (byte b : challenge) {
+                    histogram[b & 0xff]++;
+                    ones += Integer.bitCount(b & 0xff);
+                }
+                assertTrue(seen.add(ByteBuffer.wrap(challenge)), "duplicate challenge");
+            }
+            assertEquals(CHALLENGES, random.bufferedRequests());
+
+            long bytes = (long) CHALLENGES * CHALLENGE_LENGTH;
+            double expected = bytes / 256.0;
+            double chiSquare = 0;
+            for (long count : histogram) {
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+            // 자유도 255인 chi-square: 평균 255, 표준편차 sqrt(510)
+            assertTrue(Math.abs(chiSquare - 255) <= SIGMAS * Math.sqrt(2 * 255), "chi-square " + chiSquare);
+
+            long bits = bytes * 8;
+            double onesRatio = (double) ones / bits;
+            assertTrue(Math.abs(onesRatio - 0.5) <= SIGMAS * 0.5 / Math.sqrt(bits), "ones ratio " + onesRatio);
+        }
+    }
+
+    @Test
+    void swapToSpareNeverRepeatsBytes() throws Exception {
+        int bufferBytes = 256;
+        int chunk = 16;
+        try (StripedSecureRandom random = new StripedSecureRandom("DRBG", 1, bufferBytes, 0, WorkerThreads.platform())) {
+            Set<ByteBuffer> seen = new HashSet<>();
+            for (int round = 0; round < 200; round++) {
+                awaitSpare(random);
+                // 블록 하나를 다 쓰고, 다음 요청에서 예비 블록으로 교체
+                for (int i = 0; i < bufferBytes / chunk; i++) {
+                    assertFresh(seen, next(random, chunk));
+                }
+            }
+            // 매번 예비 블록이 준비된 뒤 교체했으므로 요청 스레드에서 채운 적이 없음
+            assertEquals(0, random.inlineRefills());
+            assertEquals(200 * bufferBytes / chunk, seen.size());
+        }
+    }
+
+    @Test
+    void inlineRefillAfterCloseNeverRepeatsBytes() {
+        int bufferBytes = 256;
+        int chunk = 16;
+        StripedSecureRandom random = new StripedSecureRandom("DRBG", 1, bufferBytes, 0, WorkerThreads.platform());
+        random.close();
+
+        Set<ByteBuffer> seen = new HashSet<>();
+        for (int i = 0; i < 100 * bufferBytes / chunk; i++) {
+            assertFresh(seen, next(random, chunk));
+        }
+        // 첫 교체는 생성 때 채운 예비 블록, 그 뒤로는 예비 블록을 채울 스레드가 없음
+        assertEquals(99, random.inlineRefills());
+    }
+
+    @Test
+    void largeRequestsBypassBuffer() {
+        try (StripedSecureRandom random = new StripedSecureRandom("DRBG", 1, 4096, 0, WorkerThreads.platform())) {
+            next(random, StripedSecureRandom.BUFFERED_MAX_LENGTH + 1);
+            assertEquals(0, random.bufferedRequests());
+            next(random, StripedSecureRandom.BUFFERED_MAX_LENGTH);
+            assertEquals(1, random.bufferedRequests());
+        }
+    }
+
+    @Test
+    void stripeCountIsRoundedUpToPowerOfTwo() {
+        try (StripedSecureRandom random = new StripedSecureRandom("DRBG", 3, 0, 0, WorkerThreads.platform())) {
+            assertEquals(4, random.stripeCount());
+        }
+    }
+
+    private static List<byte[]> generateConcurrently(StripedSecureRandom random) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, WorkerThreads.platform().factory("sample"));
+        try {
+            List<Future<List<byte[]>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    List<byte[]> challenges = new ArrayList<>();
+                    for (int i = 0; i < CHALLENGES / THREADS; i++) {
+                        challenges.add(next(random, CHALLENGE_LENGTH));
+                    }
+                    return challenges;
+                }));
+            }
+            List<byte[]> challenges = new ArrayList<>(CHALLENGES);
+            for (Future<List<byte[]>> future : futures) {
+                challenges.addAll(future.get());
+            }
+            return challenges;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitSpare(StripedSecureRandom random) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!random.spareReady(0)) {
+            assertTrue(System.nanoTime() < deadline, "spare block was not refilled");
+            Thread.sleep(1);
+        }
+    }
+
+    // 같은 영역을 두 번 내주거나 지운(0) 영역을 내주면 겹침
+    private static void assertFresh(Set<ByteBuffer> seen, byte[] bytes) {
+        assertTrue(seen.add(ByteBuffer.wrap(bytes)), "bytes handed out twice");
+        assertTrue(ByteBuffer.wrap(bytes).getLong() != 0 || ByteBuffer.wrap(bytes).getLong(8) != 0, "zeroed bytes");
+    }
+
+    private static byte[] next(StripedSecureRandom random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
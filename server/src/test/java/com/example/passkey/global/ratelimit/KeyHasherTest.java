@@ -0,0 +1,36 @@
+package com.example.passkey.global.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class KeyHasherTest {
+
+    // SipHash-2-4 참조 구현의 테스트 벡터: key = 00..0f, message = 00..(n-1)
+    private final KeyHasher reference = new KeyHasher(0x0706050403020100L, 0x0f0e0d0c0b0a0908L);
+    private static final long SEED = 0x0706050403020100L;  // message 00..07
+
+    @Test
+    void matchesReferenceVectors() {
+        assertEquals(0x93f5f5799a932462L, reference.hash(SEED, ""));
+        // 문자는 UTF-16LE로 이어지므로 U+0908은 message 바이트 08 09
+        assertEquals(0x7a5dbbc594ddb9f3L, reference.hash(SEED, "ई"));
+        assertEquals(0x3f2acc7f57c29bdbL, reference.hash(SEED, "ईଊഌ༎"));
+    }
+
+    @Test
+    void seedSeparatesKeySpaces() {
+        KeyHasher hasher = new KeyHasher(1, 2);
+        assertNotEquals(hasher.hash(1, "alice"), hasher.hash(2, "alice"));
+    }
+
+    @Test
+    void secretChangesEveryHash() {
+        KeyHasher a = new KeyHasher(1, 2);
+        KeyHasher b = new KeyHasher(1, 3);
+        for (int i = 0; i < 1_000; i++) {
+            assertNotEquals(a.hash(0, "user-" + i), b.hash(0, "user-" + i));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.passkey.global.ratelimit;
+
+import com.example.passkey.global.config.RateLimitConfig;
+import com.example.passkey.global.config.RateLimitConfig.BucketConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimiterTest {
+
+    @Test
+    void untrackedIpIsRejected() {
+        RateLimiter limiter = limiter(new BucketConfig(1_000, 100), new BucketConfig(10, 1));
+        // 슬롯보다 많은 IP가 idle 기준 안에 몰리면 새 IP는 추적할 수 없으므로 거부
+        assertThrows(RateLimitExceededException.class, () -> {
+            for (int i = 0; i < 1_000; i++) {
+                limiter.check("login", "10.0." + (i >> 8) + "." + (i & 0xff), null);
+            }
+        });
+    }
+
+    @Test
+    void untrackedSubjectFallsBackToIpLimit() {
+        RateLimiter limiter = limiter(new BucketConfig(1_000, 100), new BucketConfig(10, 1));
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < 500; i++) {
+                limiter.check("login", "10.0.0.1", "user-" + i);
+            }
+        });
+        // IP 한도는 그대로 적용
+        assertThrows(RateLimitExceededException.class, () -> {
+            for (int i = 0; i < 1_000; i++) {
+                limiter.check("login", "10.0.0.1", "other-" + i);
+            }
+        });
+    }
+
+    @Test
+    void untrackedSubjectWithoutIpLimitIsRejected() {
+        RateLimiter limiter = limiter(new BucketConfig(0, 0), new BucketConfig(10, 1));
+        assertThrows(RateLimitExceededException.class, () -> {
+            for (int i = 0; i < 1_000; i++) {
+                limiter.check("login", "10.0.0.1", "user-" + i);
+            }
+        });
+    }
+
+    private static RateLimiter limiter(BucketConfig ip, BucketConfig subject) {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setMaxKeys(16);
+        config.getDefaults().setIp(ip);
+        config.getDefaults().setSubject(subject);
+        return new RateLimiter(config, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.passkey.global.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTableTest {
+
+    private static final long IDLE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final KeyHasher hasher = new KeyHasher(1, 2);
+
+    @Test
+    void allowsCapacityThenReportsRetryAfter() {
+        TokenBucketTable table = table(1024);
+        long key = hasher.hash(1, "alice");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, table.tryAcquire(key, 5, 1.0));
+        }
+        long retryAfter = table.tryAcquire(key, 5, 1.0);
+        assertTrue(retryAfter > 0 && retryAfter <= 1_000, "retry after " + retryAfter);
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucketTable table = table(1024);
+        long key = hasher.hash(1, "alice");
+        for (int i = 0; i < 2; i++) {
+            table.tryAcquire(key, 2, 2.0);
+        }
+        assertTrue(table.tryAcquire(key, 2, 2.0) > 0);
+
+        now.addAndGet(500);
+        assertEquals(0, table.tryAcquire(key, 2, 2.0));
+        assertTrue(table.tryAcquire(key, 2, 2.0) > 0);
+
+    }
+
+    @Test
+    void slowRefillAccumulatesAcrossFrequentCalls() {
+        TokenBucketTable table = table(1024);
+        long key = hasher.hash(1, "alice");
+        assertEquals(0, table.tryAcquire(key, 1, 0.5));
+
+        // 1ms마다 호출해도 보충 단위에 못 미친 시간이 버려지지 않아 약 2초 뒤 토큰 하나가 생김
+        int waited = 0;
+        while (table.tryAcquire(key, 1, 0.5) > 0) {
+            now.incrementAndGet();
+            waited++;
+            assertTrue(waited < 2_100, "no token after " + waited + "ms");
+        }
+        assertTrue(waited >= 1_999, "token after only " + waited + "ms");
+    }
+
+    @Test
+    void keysDoNotShareBuckets() {
+        TokenBucketTable table = table(1024);
+        long alice = hasher.hash(1, "alice");
+        long bob = hasher.hash(1, "bob");
+        assertEquals(0, table.tryAcquire(alice, 1, 1.0));
+        assertTrue(table.tryAcquire(alice, 1, 1.0) > 0);
+        assertEquals(0, table.tryAcquire(bob, 1, 1.0));
+    }
+
+    @Test
+    void reportsUntrackedThenEvictsIdleBucketWhenProbeWindowIsFull() {
+        TokenBucketTable table = table(TokenBucketTable.PROBE);
+        int untracked = 0;
+        for (int i = 0; i < table.slotCount() * 4; i++) {
+            long result = table.tryAcquire(hasher.hash(1, "user-" + i), 1, 1.0);
+            // 자리가 없다고 허용(0)으로 답하지 않음
+            if (result == TokenBucketTable.UNTRACKED) {
+                untracked++;
+            } else {
+                assertEquals(0, result);
+            }
+        }
+        assertTrue(untracked > 0);
+        assertEquals(untracked, table.overflows());
+
+        now.addAndGet(IDLE);
+        assertEquals(0, table.tryAcquire(hasher.hash(1, "late"), 1, 1.0));
+        assertTrue(table.evictions() > 0);
+    }
+
+    @Test
+    void rejectsInvalidPolicy() {
+        TokenBucketTable table = table(16);
+        assertThrows(IllegalArgumentException.class, () -> table.tryAcquire(1, 0, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.tryAcquire(1, TokenBucketTable.MAX_CAPACITY + 1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> table.tryAcquire(1, 1, 0));
+    }
+
+    private TokenBucketTable table(int maxKeys) {
+        return new TokenBucketTable(maxKeys, IDLE, now::get);
+    }
+}
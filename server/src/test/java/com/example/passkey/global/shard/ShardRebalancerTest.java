@@ -0,0 +1,204 @@
+package com.example.passkey.global.shard;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.ShardingConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 같은 Postgres의 두 schema를 shard 0/1로 두고 bucket 이동, sign count 반영, 최초 backfill을 확인합니다. (Docker 필요)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ShardRebalancerTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    private static final String[] SCHEMAS = {"shard_a", "shard_b"};
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ShardRoutingDataSource routing;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ShardRouter router;
+    private ShardRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        for (String schema : SCHEMAS) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(POSTGRES.getJdbcUrl() + "&currentSchema=" + schema);
+            pool.setUsername(POSTGRES.getUsername());
+            pool.setPassword(POSTGRES.getPassword());
+            pool.setMaximumPoolSize(4);
+            new JdbcTemplate(pool).execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE; CREATE SCHEMA " + schema);
+            pools.add(pool);
+        }
+        routing = new ShardRoutingDataSource(new ArrayList<DataSource>(pools));
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (router != null) {
+            router.shutdown();
+        }
+        routing.close();
+        pools.get(0).close();
+    }
+
+    @Test
+    void moveCopiesBucketAndRemovesItFromSource() {
+        start();
+        String username = "alice";
+        int bucket = ShardBuckets.bucketOf(username);
+        int source = router.shardOf(bucket);
+        int target = 1 - source;
+        UUID userId = insertUser(source, username, bucket);
+        String credentialId = credentialInBucket(bucket);
+        insertCredential(source, credentialId, userId, bucket, 5, LocalDateTime.now());
+        insertIndex(source, credentialId, bucket, bucket);
+
+        ShardRebalancer.MoveResult result = rebalancer.moveBucket(bucket, target);
+
+        assertEquals(1, result.users());
+        assertEquals(1, result.credentials());
+        assertEquals(1, result.indexEntries());
+        assertEquals(target, router.refreshMap().shardOf(bucket));
+        assertEquals(0, router.map().movingBuckets().size());
+        assertEquals(5L, signCount(target, credentialId));
+        assertEquals(0, count(source, "users", bucket));
+        assertEquals(0, count(source, "credentials", bucket));
+        assertEquals(1, count(target, "users", bucket));
+        // 인덱스도 옮겨져 userHandle 없는 assertion이 새 shard에서 찾아짐
+        assertEquals(target, router.shardForCredential(credentialId));
+    }
+
+    @Test
+    void reconcileKeepsLateSignCountWithOldLastUsedAt() {
+        start();
+        int bucket = ShardBuckets.bucketOf("bob");
+        int source = router.shardOf(bucket);
+        int target = 1 - source;
+        String credentialId = "late-credential";
+        LocalDateTime authenticatedAt = LocalDateTime.now().minusMinutes(10);
+        for (int shard : new int[]{source, target}) {
+            UUID userId = insertUser(shard, "bob", bucket);
+            insertCredential(shard, credentialId, userId, bucket, 5, authenticatedAt.minusMinutes(1));
+        }
+        // 복사 뒤 기존 shard에 반영된 write-behind: 인증 시각(이동 시작 전)을 last_used_at으로 씀
+        router.onShard(source, () -> jdbcTemplate.update(
+                "UPDATE credentials SET sign_count = 9, last_used_at = ? WHERE credential_id = ?",
+                Timestamp.valueOf(authenticatedAt), credentialId));
+
+        assertEquals(1, rebalancer.reconcileSignCounts(bucket, source, target));
+        assertEquals(9L, signCount(target, credentialId));
+
+        // 대상이 더 크면 유지
+        router.onShard(target, () -> jdbcTemplate.update(
+                "UPDATE credentials SET sign_count = 12 WHERE credential_id = ?", credentialId));
+        rebalancer.reconcileSignCounts(bucket, source, target);
+        assertEquals(12L, signCount(target, credentialId));
+    }
+
+    @Test
+    void backfillKeepsExistingDataOnShardZeroAndIndexesIt() {
+        // 샤딩 전 데이터: bucket 컬럼과 인덱스 없이 shard 0에만 있음
+        DatabasePopulatorUtils.execute(
+                new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")), pools.get(0));
+        UUID userId = UUID.randomUUID();
+        JdbcTemplate legacy = new JdbcTemplate(pools.get(0));
+        legacy.update("INSERT INTO users (id, username, display_name) VALUES (?, 'carol', 'carol')", userId);
+        legacy.update("""
+                INSERT INTO credentials (credential_id, public_key, sign_count, created_at, user_id)
+                VALUES ('legacy-credential', ?, 3, now(), ?)""", new byte[]{1}, userId);
+
+        start();
+
+        int bucket = ShardBuckets.bucketOf("carol");
+        assertEquals(ShardBuckets.BUCKETS, router.map().bucketCounts(2)[0]);
+        assertEquals(bucket, legacy.queryForObject("SELECT shard_bucket FROM users WHERE id = ?", Integer.class, userId));
+        assertEquals(bucket, legacy.queryForObject(
+                "SELECT shard_bucket FROM credentials WHERE credential_id = 'legacy-credential'", Integer.class));
+        assertEquals(0, router.shardForCredential("legacy-credential"));
+
+        // 이후 rebalance로 절반을 shard 1로 옮길 수 있음
+        assertEquals(ShardBuckets.BUCKETS / 2, rebalancer.plan().size());
+    }
+
+    private void start() {
+        ShardingConfig config = new ShardingConfig();
+        config.setEnabled(true);
+        config.setMapRefreshMillis(10);
+        config.setMoveBatchSize(2);
+        config.getShards().add(new ShardingConfig.Node());
+        router = new ShardRouter(config, jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                WorkerThreads.platform(), new SimpleMeterRegistry());
+        rebalancer = new ShardRebalancer(router, jdbcTemplate, config);
+    }
+
+    // credential ID의 bucket이 사용자 bucket과 같게 골라 인덱스도 같은 shard에 둠
+    private static String credentialInBucket(int bucket) {
+        for (int i = 0; ; i++) {
+            String credentialId = "credential-" + i;
+            if (ShardBuckets.bucketOf(credentialId) == bucket) {
+                return credentialId;
+            }
+        }
+    }
+
+    private UUID insertUser(int shard, String username, int bucket) {
+        UUID id = ShardBuckets.newUserId(bucket);
+        router.onShard(shard, () -> jdbcTemplate.update(
+                "INSERT INTO users (id, username, display_name, shard_bucket) VALUES (?, ?, ?, ?)",
+                id, username, username, bucket));
+        return id;
+    }
+
+    private void insertCredential(int shard, String credentialId, UUID userId, int bucket, long signCount,
+                                  LocalDateTime lastUsedAt) {
+        router.onShard(shard, () -> jdbcTemplate.update("""
+                        INSERT INTO credentials (credential_id, public_key, sign_count, created_at, last_used_at,
+                                                 user_id, shard_bucket)
+                        VALUES (?, ?, ?, now(), ?, ?, ?)""",
+                credentialId, new byte[]{1}, signCount, Timestamp.valueOf(lastUsedAt), userId, bucket));
+    }
+
+    private void insertIndex(int shard, String credentialId, int indexBucket, int ownerBucket) {
+        router.onShard(shard, () -> jdbcTemplate.update(
+                "INSERT INTO credential_shard_index (credential_id, index_bucket, owner_bucket) VALUES (?, ?, ?)",
+                credentialId, indexBucket, ownerBucket));
+    }
+
+    private long signCount(int shard, String credentialId) {
+        return router.onShard(shard, () -> jdbcTemplate.queryForObject(
+                "SELECT sign_count FROM credentials WHERE credential_id = ?", Long.class, credentialId));
+    }
+
+    private int count(int shard, String table, int bucket) {
+        return router.onShard(shard, () -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + table + " WHERE shard_bucket = ?", Integer.class, bucket));
+    }
+}
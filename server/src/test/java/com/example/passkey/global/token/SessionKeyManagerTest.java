@@ -0,0 +1,134 @@
+package com.example.passkey.global.token;
+
+import com.example.passkey.global.concurrent.WorkerThreads;
+import com.example.passkey.global.config.SessionTokenConfig;
+import com.example.passkey.token.SessionKeySet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionKeyManagerTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void createsOwnerOnlyKeyDirectory() throws Exception {
+        Path dir = root.resolve("keys");
+        SessionKeyManager manager = manager(dir.toString());
+
+        assertEquals(1, manager.getKeyCount());
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(dir)));
+    }
+
+    @Test
+    void enabledTokensRequireKeyDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> manager(null));
+    }
+
+    @Test
+    void refusesKeyDirectoryWritableByOthers() throws Exception {
+        Path dir = Files.createDirectory(root.resolve("shared"));
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+        assertThrows(IllegalArgumentException.class, () -> manager(dir.toString()));
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void publishesNewKeyAheadAndRetiresOldKeyAfterTokenLifetime() throws Exception {
+        SessionTokenConfig config = config(root.resolve("keys").toString());
+        config.setRotationIntervalSeconds(3_600);
+        config.setPublishAheadSeconds(60);
+        config.setTtlSeconds(300);
+        config.setClockSkewSeconds(30);
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        SessionKeyManager manager = new SessionKeyManager(config, WorkerThreads.platform(), new SecureRandom(), clock);
+        String first = manager.signer().keyId();
+
+        // 교체 주기가 지나면 새 키를 JWKS에 먼저 올리고 이전 키로 계속 서명
+        clock.advance(Duration.ofSeconds(3_599));
+        manager.reload();
+        assertEquals(1, manager.getKeyCount());
+        clock.advance(Duration.ofSeconds(1));
+        manager.reload();
+        assertEquals(2, manager.getKeyCount());
+        assertEquals(first, manager.signer().keyId());
+        String second = manager.keySet().keys().stream()
+                .map(SessionKeySet.Key::keyId).filter(keyId -> !keyId.equals(first)).findFirst().orElseThrow();
+
+        // publishAhead가 지나면 새 키로 서명, 이전 키는 마지막 토큰이 만료될 때까지 남김
+        clock.advance(Duration.ofSeconds(60));
+        manager.reload();
+        assertEquals(second, manager.signer().keyId());
+        clock.advance(Duration.ofSeconds(300 + 30));
+        manager.reload();
+        assertNotNull(manager.keySet().find(first));
+
+        clock.advance(Duration.ofSeconds(1));
+        manager.reload();
+        assertNull(manager.keySet().find(first));
+        assertEquals(1, manager.getKeyCount());
+        assertFalse(Files.exists(root.resolve("keys").resolve(first + ".key")));
+
+        // 같은 디렉터리를 읽는 다른 인스턴스도 같은 키로 서명
+        SessionKeyManager other = new SessionKeyManager(config, WorkerThreads.platform(), new SecureRandom(), clock);
+        assertEquals(second, other.signer().keyId());
+    }
+
+    private static SessionKeyManager manager(String keyDir) {
+        return new SessionKeyManager(config(keyDir), WorkerThreads.platform(), new SecureRandom());
+    }
+
+    private static SessionTokenConfig config(String keyDir) {
+        SessionTokenConfig config = new SessionTokenConfig();
+        config.setEnabled(true);
+        config.setKeyDir(keyDir);
+        return config;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.passkey.token;
+
+/**
+ * 세션 토큰 형식/서명/유효기간/발급자 검증 실패
+ */
+public class InvalidSessionTokenException extends RuntimeException {
+
+    public InvalidSessionTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.passkey.token;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 세션 토큰 payload
+ *
+ * @param tokenId   jti
+ * @param issuer    iss
+ * @param subject   sub (사용자 ID)
+ * @param audience  aud
+ * @param issuedAt  iat (초 단위)
+ * @param expiresAt exp (초 단위)
+ * @param claims    그 외 claim (preferred_username, credential_id, 설정으로 추가한 claim)
+ */
+public record SessionClaims(
+        String tokenId,
+        String issuer,
+        String subject,
+        String audience,
+        Instant issuedAt,
+        Instant expiresAt,
+        Map<String, Object> claims
+) {
+
+    public static final String USERNAME = "preferred_username";
+    public static final String CREDENTIAL_ID = "credential_id";
+
+    public SessionClaims {
+        claims = claims == null ? Map.of() : Collections.unmodifiableMap(claims);
+    }
+
+    public String username() {
+        return claim(USERNAME);
+    }
+
+    public String credentialId() {
+        return claim(CREDENTIAL_ID);
+    }
+
+    public String claim(String name) {
+        Object value = claims.get(name);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.passkey.token;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 세션 토큰 검증 공개키 모음 (kid -> 공개키), JWKS(RFC 7517) 형식으로 읽고 씁니다.
+ *
+ * <pre>
+ * EdDSA: {"kty":"OKP","crv":"Ed25519","x":...}
+ * ES256: {"kty":"EC","crv":"P-256","x":...,"y":...}
+ * </pre>
+ * 지원하지 않는 키(RSA 등)는 건너뜁니다.
+ */
+public final class SessionKeySet {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Ed25519 SubjectPublicKeyInfo 접두사 (뒤에 raw 공개키 32바이트가 붙음)
+    private static final byte[] ED25519_PREFIX = {
+            0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00};
+    private static final int ED25519_KEY_LENGTH = 32;
+    private static final int P256_COORDINATE_LENGTH = 32;
+    private static final ECParameterSpec P256 = p256();
+
+    private final Map<String, Key> keys;
+
+    private SessionKeySet(Map<String, Key> keys) {
+        this.keys = keys;
+    }
+
+    public record Key(String keyId, SessionTokenAlgorithm algorithm, PublicKey publicKey) {
+    }
+
+    public static SessionKeySet of(Collection<Key> keys) {
+        Map<String, Key> byId = new LinkedHashMap<>();
+        for (Key key : keys) {
+            byId.put(key.keyId(), key);
+        }
+        return new SessionKeySet(Map.copyOf(byId));
+    }
+
+    public static SessionKeySet fromJwks(Path jwksFile) throws IOException {
+        return fromJwks(Files.readString(jwksFile));
+    }
+
+    /**
+     * @throws IllegalArgumentException JWKS 형식이 아니거나 키 값이 잘못되었으면
+     */
+    public static SessionKeySet fromJwks(String jwks) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(jwks);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JWKS", e);
+        }
+        if (root == null || !root.path("keys").isArray()) {
+            throw new IllegalArgumentException("JWKS has no keys array");
+        }
+        List<Key> keys = new ArrayList<>();
+        for (JsonNode jwk : root.path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            String kty = jwk.path("kty").asText();
+            String crv = jwk.path("crv").asText();
+            if (kid == null) {
+                continue;
+            }
+            if (kty.equals("OKP") && crv.equals("Ed25519")) {
+                keys.add(new Key(kid, SessionTokenAlgorithm.EDDSA, ed25519(decode(jwk, "x"))));
+            } else if (kty.equals("EC") && crv.equals("P-256")) {
+                keys.add(new Key(kid, SessionTokenAlgorithm.ES256, p256(decode(jwk, "x"), decode(jwk, "y"))));
+            }
+        }
+        return of(keys);
+    }
+
+    public Key find(String keyId) {
+        return keys.get(keyId);
+    }
+
+    public Collection<Key> keys() {
+        return keys.values();
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * JSON으로 직렬화할 JWKS
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>(keys.size());
+        for (Key key : keys.values()) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kid", key.keyId());
+            jwk.put("use", "sig");
+            jwk.put("alg", key.algorithm().jwsName());
+            if (key.algorithm() == SessionTokenAlgorithm.EDDSA) {
+                byte[] encoded = key.publicKey().getEncoded();
+                jwk.put("kty", "OKP");
+                jwk.put("crv", "Ed25519");
+                jwk.put("x", encode(Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length)));
+            } else {
+                ECPoint point = ((ECPublicKey) key.publicKey()).getW();
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("x", encode(coordinate(point.getAffineX())));
+                jwk.put("y", encode(coordinate(point.getAffineY())));
+            }
+            jwks.add(jwk);
+        }
+        return Map.of("keys", jwks);
+    }
+
+    public String toJwksJson() {
+        try {
+            return objectMapper.writeValueAsString(toJwks());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize JWKS", e);
+        }
+    }
+
+    private static PublicKey ed25519(byte[] raw) {
+        if (raw.length != ED25519_KEY_LENGTH) {
+            throw new IllegalArgumentException("Invalid Ed25519 key length: " + raw.length);
+        }
+        byte[] encoded = Arrays.copyOf(ED25519_PREFIX, ED25519_PREFIX.length + raw.length);
+        System.arraycopy(raw, 0, encoded, ED25519_PREFIX.length, raw.length);
+        try {
+            return KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid Ed25519 key", e);
+        }
+    }
+
+    private static PublicKey p256(byte[] x, byte[] y) {
+        if (x.length != P256_COORDINATE_LENGTH || y.length != P256_COORDINATE_LENGTH) {
+            throw new IllegalArgumentException("Invalid P-256 coordinate length");
+        }
+        ECPoint point = new ECPoint(new BigInteger(1, x), new BigInteger(1, y));
+        // KeyFactory는 곡선 위의 점인지 확인하지 않음 (invalid curve 공격 방지)
+        if (!onCurve(point)) {
+            throw new IllegalArgumentException("P-256 point is not on the curve");
+        }
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid P-256 key", e);
+        }
+    }
+
+    // y^2 = x^3 + ax + b (mod p), 0 <= x, y < p
+    private static boolean onCurve(ECPoint point) {
+        BigInteger p = ((ECFieldFp) P256.getCurve().getField()).getP();
+        BigInteger x = point.getAffineX();
+        BigInteger y = point.getAffineY();
+        if (x.compareTo(p) >= 0 || y.compareTo(p) >= 0) {
+            return false;
+        }
+        BigInteger right = x.pow(3).add(P256.getCurve().getA().multiply(x)).add(P256.getCurve().getB()).mod(p);
+        return y.pow(2).mod(p).equals(right);
+    }
+
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == P256_COORDINATE_LENGTH) {
+            return bytes;
+        }
+        byte[] fixed = new byte[P256_COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, fixed, P256_COORDINATE_LENGTH - length, length);
+        return fixed;
+    }
+
+    private static byte[] decode(JsonNode jwk, String field) {
+        try {
+            return Base64.getUrlDecoder().decode(jwk.path(field).asText());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid JWK " + field + " for kid " + jwk.path("kid").asText(), e);
+        }
+    }
+
+    private static String encode(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("secp256r1 not available", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.passkey.token;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+
+/**
+ * 세션 토큰 서명 알고리즘 (JWS alg)
+ *
+ * ES256 서명은 JWS 형식(r||s 64바이트)이므로 DER 변환 없이 P1363 형식 엔진을 씁니다.
+ */
+public enum SessionTokenAlgorithm {
+
+    EDDSA("EdDSA", "Ed25519", "Ed25519"),
+    ES256("ES256", "SHA256withECDSAinP1363Format", "EC");
+
+    private static final int POOL_SIZE = 16;
+
+    private final String jwsName;
+    private final String signatureAlgorithm;
+    private final String keyAlgorithm;
+    private final SignaturePool pool;
+
+    SessionTokenAlgorithm(String jwsName, String signatureAlgorithm, String keyAlgorithm) {
+        this.jwsName = jwsName;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyAlgorithm = keyAlgorithm;
+        this.pool = new SignaturePool(POOL_SIZE, signatureAlgorithm);
+    }
+
+    public String jwsName() {
+        return jwsName;
+    }
+
+    /**
+     * KeyFactory/KeyPairGenerator 알고리즘 이름
+     */
+    public String keyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * @throws IllegalArgumentException 지원하지 않는 alg이면
+     */
+    public static SessionTokenAlgorithm fromJwsName(String name) {
+        for (SessionTokenAlgorithm algorithm : values()) {
+            if (algorithm.jwsName.equals(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported session token algorithm: " + name);
+    }
+
+    public KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+            if (this == ES256) {
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(signatureAlgorithm + " key generation not available", e);
+        }
+    }
+
+    byte[] sign(PrivateKey privateKey, byte[] data) {
+        Signature signature = pool.acquire();
+        try {
+            signature.initSign(privateKey);
+            signature.update(data);
+            return signature.sign();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign session token with " + jwsName, e);
+        } finally {
+            pool.release(signature);
+        }
+    }
+
+    boolean verify(PublicKey publicKey, byte[] data, byte[] signatureBytes) {
+        Signature signature = pool.acquire();
+        try {
+            signature.initVerify(publicKey);
+            signature.update(data);
+            return signature.verify(signatureBytes);
+        } catch (GeneralSecurityException e) {
+            // 길이가 틀린 서명 등
+            return false;
+        } finally {
+            pool.release(signature);
+        }
+    }
+}
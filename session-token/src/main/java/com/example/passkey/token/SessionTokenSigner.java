@@ -0,0 +1,68 @@
+package com.example.passkey.token;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 세션 토큰(JWS compact: header.payload.signature) 서명
+ *
+ * 키 하나에 header가 고정되므로 생성할 때 한 번만 인코딩합니다.
+ */
+public final class SessionTokenSigner {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final String keyId;
+    private final SessionTokenAlgorithm algorithm;
+    private final PrivateKey privateKey;
+    private final String encodedHeader;
+
+    public SessionTokenSigner(String keyId, SessionTokenAlgorithm algorithm, PrivateKey privateKey) {
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+        this.privateKey = privateKey;
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", algorithm.jwsName());
+        header.put("typ", "JWT");
+        header.put("kid", keyId);
+        this.encodedHeader = BASE64URL.encodeToString(json(header));
+    }
+
+    public String keyId() {
+        return keyId;
+    }
+
+    public SessionTokenAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public String sign(SessionClaims claims) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("iss", claims.issuer());
+        payload.put("sub", claims.subject());
+        payload.put("aud", claims.audience());
+        payload.put("iat", claims.issuedAt().getEpochSecond());
+        payload.put("exp", claims.expiresAt().getEpochSecond());
+        payload.put("jti", claims.tokenId());
+        claims.claims().forEach(payload::putIfAbsent);
+
+        String signingInput = encodedHeader + '.' + BASE64URL.encodeToString(json(payload));
+        byte[] signature = algorithm.sign(privateKey, signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64URL.encodeToString(signature);
+    }
+
+    private static byte[] json(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Session token claims are not serializable", e);
+        }
+    }
+}
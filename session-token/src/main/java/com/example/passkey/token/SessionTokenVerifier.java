@@ -0,0 +1,196 @@
+package com.example.passkey.token;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 네트워크 호출 없이 세션 토큰을 검증합니다.
+ *
+ * <ul>
+ *     <li>공개키는 호출하는 쪽이 JWKS 파일/설정/시작 시 한 번 받은 값으로 넘기고, 키가 바뀌면 {@link #updateKeys}로 교체합니다.
+ *         서버는 새 키를 서명에 쓰기 publish-ahead 전에 JWKS에 올리므로 그보다 짧은 주기로 교체하면 됩니다.</li>
+ *     <li>alg는 kid에 등록된 키의 알고리즘과 같아야 합니다 (header의 alg만 믿지 않음).</li>
+ *     <li>header는 키마다 하나이므로 알려진 kid의 header 문자열은 파싱 결과를 재사용합니다.</li>
+ * </ul>
+ * 스레드 안전합니다.
+ */
+public final class SessionTokenVerifier {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+    private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+    private static final Set<String> REGISTERED = Set.of("iss", "sub", "aud", "iat", "exp", "nbf", "jti");
+    private static final int MAX_CACHED_HEADERS = 64;
+
+    private final String issuer;
+    private final String audience;
+    private final Duration clockSkew;
+    private final Clock clock;
+    private final Map<String, Header> headers = new ConcurrentHashMap<>();
+    private volatile SessionKeySet keys;
+
+    private record Header(SessionTokenAlgorithm algorithm, String keyId) {
+    }
+
+    /**
+     * @param issuer   기대하는 iss (null이면 확인하지 않음)
+     * @param audience 기대하는 aud (null이면 확인하지 않음)
+     */
+    public SessionTokenVerifier(SessionKeySet keys, String issuer, String audience, Duration clockSkew) {
+        this(keys, issuer, audience, clockSkew, Clock.systemUTC());
+    }
+
+    public SessionTokenVerifier(SessionKeySet keys, String issuer, String audience, Duration clockSkew, Clock clock) {
+        this.keys = keys;
+        this.issuer = issuer;
+        this.audience = audience;
+        this.clockSkew = clockSkew;
+        this.clock = clock;
+    }
+
+    public void updateKeys(SessionKeySet keys) {
+        this.keys = keys;
+        headers.clear();
+    }
+
+    public SessionKeySet keys() {
+        return keys;
+    }
+
+    /**
+     * @throws InvalidSessionTokenException 형식, 서명, 유효기간, iss/aud 중 하나라도 맞지 않으면
+     */
+    public SessionClaims verify(String token) {
+        if (token == null) {
+            throw new InvalidSessionTokenException("Missing session token");
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (first <= 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            throw new InvalidSessionTokenException("Malformed session token");
+        }
+
+        SessionKeySet keySet = keys;
+        Header header = header(token.substring(0, first), keySet);
+        SessionKeySet.Key key = keySet.find(header.keyId());
+        if (key == null) {
+            throw new InvalidSessionTokenException("Unknown session token key: " + header.keyId());
+        }
+        if (key.algorithm() != header.algorithm()) {
+            throw new InvalidSessionTokenException("Algorithm " + header.algorithm().jwsName()
+                    + " does not match key " + header.keyId());
+        }
+        byte[] signingInput = token.substring(0, second).getBytes(StandardCharsets.US_ASCII);
+        if (!key.algorithm().verify(key.publicKey(), signingInput, decode(token.substring(second + 1)))) {
+            throw new InvalidSessionTokenException("Invalid session token signature");
+        }
+
+        return claims(readJson(decode(token.substring(first + 1, second))));
+    }
+
+    private Header header(String encoded, SessionKeySet keySet) {
+        Header cached = headers.get(encoded);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> json = readJson(decode(encoded));
+        Object alg = json.get("alg");
+        Object kid = json.get("kid");
+        if (!(alg instanceof String) || !(kid instanceof String)) {
+            throw new InvalidSessionTokenException("Session token header needs alg and kid");
+        }
+        Header header;
+        try {
+            header = new Header(SessionTokenAlgorithm.fromJwsName((String) alg), (String) kid);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSessionTokenException(e.getMessage());
+        }
+        // 임의 header로 캐시를 채우지 못하도록 알려진 kid만 보관
+        if (keySet.find(header.keyId()) != null && headers.size() < MAX_CACHED_HEADERS) {
+            headers.put(encoded, header);
+        }
+        return header;
+    }
+
+    private SessionClaims claims(Map<String, Object> payload) {
+        Instant now = clock.instant();
+        Instant expiresAt = seconds(payload, "exp");
+        if (expiresAt == null) {
+            throw new InvalidSessionTokenException("Session token has no exp");
+        }
+        if (!now.minus(clockSkew).isBefore(expiresAt)) {
+            throw new InvalidSessionTokenException("Session token expired at " + expiresAt);
+        }
+        Instant issuedAt = seconds(payload, "iat");
+        Instant notBefore = seconds(payload, "nbf");
+        Instant earliest = notBefore != null ? notBefore : issuedAt;
+        if (earliest != null && earliest.isAfter(now.plus(clockSkew))) {
+            throw new InvalidSessionTokenException("Session token is not valid before " + earliest);
+        }
+        Object iss = payload.get("iss");
+        if (issuer != null && !issuer.equals(iss)) {
+            throw new InvalidSessionTokenException("Unexpected session token issuer: " + iss);
+        }
+        Object aud = payload.get("aud");
+        if (audience != null && !(audience.equals(aud) || aud instanceof Collection<?> list && list.contains(audience))) {
+            throw new InvalidSessionTokenException("Session token is not for audience " + audience);
+        }
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        payload.forEach((name, value) -> {
+            if (!REGISTERED.contains(name)) {
+                claims.put(name, value);
+            }
+        });
+        return new SessionClaims(string(payload.get("jti")), string(iss), string(payload.get("sub")),
+                aud instanceof String value ? value : audience, issuedAt, expiresAt, claims);
+    }
+
+    private static Instant seconds(Map<String, Object> payload, String name) {
+        Object value = payload.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Number number)) {
+            throw new InvalidSessionTokenException("Session token " + name + " is not a number");
+        }
+        return Instant.ofEpochSecond(number.longValue());
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static byte[] decode(String value) {
+        try {
+            return BASE64URL.decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSessionTokenException("Session token is not base64url");
+        }
+    }
+
+    private static Map<String, Object> readJson(byte[] json) {
+        try {
+            Map<String, Object> value = objectMapper.readValue(json, MAP);
+            if (value == null) {
+                throw new InvalidSessionTokenException("Session token part is not a JSON object");
+            }
+            return value;
+        } catch (IOException e) {
+            throw new InvalidSessionTokenException("Session token part is not a JSON object");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.passkey.token;
+
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 알고리즘별 Signature 엔진 고정 크기 풀
+ *
+ * 가상 스레드에서는 ThreadLocal 캐시가 매번 비어 있으므로 슬롯 배열에서 꺼내 쓰고 돌려놓습니다.
+ * 비어 있으면 새로 만들고, 돌려놓을 자리가 없으면 버립니다.
+ */
+final class SignaturePool {
+
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<Signature> slots;
+    private final int mask;
+    private final String algorithm;
+
+    SignaturePool(int size, String algorithm) {
+        int capacity = Integer.highestOneBit(Math.max(1, size * 2 - 1));
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.algorithm = algorithm;
+    }
+
+    Signature acquire() {
+        int start = start();
+        for (int i = 0; i < Math.min(PROBES, slots.length()); i++) {
+            Signature signature = slots.getAndSet((start + i) & mask, null);
+            if (signature != null) {
+                return signature;
+            }
+        }
+        try {
+            return Signature.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(algorithm + " not available", e);
+        }
+    }
+
+    void release(Signature signature) {
+        int start = start();
+        for (int i = 0; i < Math.min(PROBES, slots.length()); i++) {
+            if (slots.compareAndSet((start + i) & mask, null, signature)) {
+                return;
+            }
+        }
+    }
+
+    private int start() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.passkey.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionKeySetTest {
+
+    @Test
+    void jwksRoundTrip() {
+        List<SessionKeySet.Key> keys = new ArrayList<>();
+        // P-256 좌표는 32바이트 고정 길이로 써야 하므로 앞자리가 0인 좌표가 나올 만큼 여러 개 생성
+        for (int i = 0; i < 16; i++) {
+            SessionTokenAlgorithm algorithm = i % 2 == 0 ? SessionTokenAlgorithm.EDDSA : SessionTokenAlgorithm.ES256;
+            keys.add(new SessionKeySet.Key("key-" + i, algorithm, algorithm.generateKeyPair().getPublic()));
+        }
+        SessionKeySet keySet = SessionKeySet.of(keys);
+
+        SessionKeySet parsed = SessionKeySet.fromJwks(keySet.toJwksJson());
+
+        assertEquals(keys.size(), parsed.size());
+        for (SessionKeySet.Key key : keys) {
+            assertEquals(key, parsed.find(key.keyId()));
+        }
+    }
+
+    @Test
+    void unsupportedKeysAreSkipped() {
+        SessionKeySet parsed = SessionKeySet.fromJwks("""
+                {"keys":[{"kid":"rsa","kty":"RSA","n":"AQAB","e":"AQAB"},
+                         {"kty":"OKP","crv":"Ed25519","x":"11qYAYKxCrfVS_7TyWQHOg7hcvPapiMlrwIaaPcHURo"}]}""");
+
+        assertEquals(0, parsed.size());
+        assertNull(parsed.find("rsa"));
+    }
+
+    @Test
+    void invalidKeyMaterialIsRejected() {
+        // 곡선 위에 있지 않은 점
+        String zero = "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+        assertThrows(IllegalArgumentException.class, () -> SessionKeySet.fromJwks(
+                "{\"keys\":[{\"kid\":\"ec\",\"kty\":\"EC\",\"crv\":\"P-256\",\"x\":\"" + zero + "\",\"y\":\"" + zero + "\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> SessionKeySet.fromJwks(
+                "{\"keys\":[{\"kid\":\"ed\",\"kty\":\"OKP\",\"crv\":\"Ed25519\",\"x\":\"AAAA\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> SessionKeySet.fromJwks("{}"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.passkey.token;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionTokenVerifierTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration SKEW = Duration.ofSeconds(30);
+
+    private final KeyPair edKey = SessionTokenAlgorithm.EDDSA.generateKeyPair();
+    private final KeyPair ecKey = SessionTokenAlgorithm.ES256.generateKeyPair();
+    private final SessionKeySet keys = SessionKeySet.of(List.of(
+            new SessionKeySet.Key("ed", SessionTokenAlgorithm.EDDSA, edKey.getPublic()),
+            new SessionKeySet.Key("ec", SessionTokenAlgorithm.ES256, ecKey.getPublic())));
+    private final SessionTokenVerifier verifier = new SessionTokenVerifier(keys, "passkey", "passkey", SKEW,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @ParameterizedTest
+    @EnumSource(SessionTokenAlgorithm.class)
+    void signedTokenVerifies(SessionTokenAlgorithm algorithm) {
+        KeyPair keyPair = algorithm == SessionTokenAlgorithm.EDDSA ? edKey : ecKey;
+        SessionTokenSigner signer = new SessionTokenSigner(
+                algorithm == SessionTokenAlgorithm.EDDSA ? "ed" : "ec", algorithm, keyPair.getPrivate());
+
+        String token = signer.sign(new SessionClaims("jti-1", "passkey", "user-1", "passkey",
+                NOW, NOW.plusSeconds(900), Map.of(SessionClaims.USERNAME, "alice")));
+        SessionClaims claims = verifier.verify(token);
+
+        assertEquals("jti-1", claims.tokenId());
+        assertEquals("user-1", claims.subject());
+        assertEquals("passkey", claims.audience());
+        assertEquals(NOW, claims.issuedAt());
+        assertEquals(NOW.plusSeconds(900), claims.expiresAt());
+        assertEquals("alice", claims.username());
+        // 두 번째 검증은 캐시한 header를 사용
+        assertEquals("user-1", verifier.verify(token).subject());
+    }
+
+    @Test
+    void algorithmMustMatchRegisteredKey() {
+        // ES256 키로 서명하고 EdDSA 키의 kid를 붙인 토큰
+        String token = token(header("ES256", "ed"), payload(), SessionTokenAlgorithm.ES256, ecKey);
+
+        InvalidSessionTokenException e = assertThrows(InvalidSessionTokenException.class, () -> verifier.verify(token));
+        assertTrue(e.getMessage().contains("does not match"), e.getMessage());
+    }
+
+    @Test
+    void unknownKeyIdIsRejected() {
+        String token = token(header("EdDSA", "retired"), payload(), SessionTokenAlgorithm.EDDSA, edKey);
+
+        InvalidSessionTokenException e = assertThrows(InvalidSessionTokenException.class, () -> verifier.verify(token));
+        assertTrue(e.getMessage().startsWith("Unknown session token key"), e.getMessage());
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = token(header("EdDSA", "ed"), payload(), SessionTokenAlgorithm.EDDSA, edKey);
+        Map<String, Object> forged = payload();
+        forged.put("sub", "admin");
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + '.' + BASE64URL.encodeToString(json(forged)) + '.' + parts[2];
+
+        assertThrows(InvalidSessionTokenException.class, () -> verifier.verify(tampered));
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        for (KeyPair keyPair : List.of(edKey, ecKey)) {
+            boolean ed = keyPair == edKey;
+            String token = token(header(ed ? "EdDSA" : "ES256", ed ? "ed" : "ec"), payload(),
+                    ed ? SessionTokenAlgorithm.EDDSA : SessionTokenAlgorithm.ES256, keyPair);
+            int dot = token.lastIndexOf('.');
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            signature[signature.length / 2] ^= 1;
+
+            assertThrows(InvalidSessionTokenException.class,
+                    () -> verifier.verify(token.substring(0, dot + 1) + BASE64URL.encodeToString(signature)));
+            // 잘린 서명도 예외 없이 거부
+            assertThrows(InvalidSessionTokenException.class,
+                    () -> verifier.verify(token.substring(0, dot + 1) + BASE64URL.encodeToString(new byte[8])));
+        }
+    }
+
+    @Test
+    void expiryAndNotBeforeAllowClockSkew() {
+        assertDoesNotThrow(() -> verify(payloadExpiringAt(NOW.minus(SKEW).plusSeconds(1))));
+        assertThrows(InvalidSessionTokenException.class, () -> verify(payloadExpiringAt(NOW.minus(SKEW))));
+
+        Map<String, Object> notYet = payload();
+        notYet.put("nbf", NOW.plus(SKEW).getEpochSecond());
+        assertDoesNotThrow(() -> verify(notYet));
+        notYet.put("nbf", NOW.plus(SKEW).plusSeconds(1).getEpochSecond());
+        assertThrows(InvalidSessionTokenException.class, () -> verify(notYet));
+
+        // nbf가 없으면 iat 기준
+        Map<String, Object> issuedLater = payload();
+        issuedLater.put("iat", NOW.plus(SKEW).plusSeconds(1).getEpochSecond());
+        assertThrows(InvalidSessionTokenException.class, () -> verify(issuedLater));
+
+        Map<String, Object> noExpiry = payload();
+        noExpiry.remove("exp");
+        assertThrows(InvalidSessionTokenException.class, () -> verify(noExpiry));
+    }
+
+    @Test
+    void audienceMayBeStringOrList() {
+        Map<String, Object> payload = payload();
+        assertEquals("passkey", verify(payload).audience());
+
+        payload.put("aud", List.of("billing", "passkey"));
+        assertEquals("passkey", verify(payload).audience());
+
+        payload.put("aud", "billing");
+        assertThrows(InvalidSessionTokenException.class, () -> verify(payload));
+        payload.put("aud", List.of("billing"));
+        assertThrows(InvalidSessionTokenException.class, () -> verify(payload));
+    }
+
+    private SessionClaims verify(Map<String, Object> payload) {
+        return verifier.verify(token(header("EdDSA", "ed"), payload, SessionTokenAlgorithm.EDDSA, edKey));
+    }
+
+    private static Map<String, Object> header(String alg, String kid) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", alg);
+        header.put("typ", "JWT");
+        header.put("kid", kid);
+        return header;
+    }
+
+    private static Map<String, Object> payload() {
+        return payloadExpiringAt(NOW.plusSeconds(900));
+    }
+
+    private static Map<String, Object> payloadExpiringAt(Instant expiresAt) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("iss", "passkey");
+        payload.put("sub", "user-1");
+        payload.put("aud", "passkey");
+        payload.put("iat", NOW.getEpochSecond());
+        payload.put("exp", expiresAt.getEpochSecond());
+        payload.put("jti", "jti-1");
+        return payload;
+    }
+
+    private static String token(Map<String, Object> header, Map<String, Object> payload,
+                                SessionTokenAlgorithm algorithm, KeyPair keyPair) {
+        String signingInput = BASE64URL.encodeToString(json(header)) + '.' + BASE64URL.encodeToString(json(payload));
+        byte[] signature = algorithm.sign(keyPair.getPrivate(), signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64URL.encodeToString(signature);
+    }
+
+    private static byte[] json(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsBytes(new LinkedHashMap<>(value));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}